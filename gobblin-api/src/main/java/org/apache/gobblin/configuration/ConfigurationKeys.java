@@ -82,6 +82,13 @@ public class ConfigurationKeys {
   public static final String STATE_STORE_DB_PASSWORD_KEY = "state.store.db.password";
   public static final String STATE_STORE_DB_TABLE_KEY = "state.store.db.table";
   public static final String DEFAULT_STATE_STORE_DB_TABLE = "gobblin_job_state";
+  public static final String STATE_STORE_DB_BATCH_SIZE_KEY = "state.store.db.batchSize";
+  public static final int DEFAULT_STATE_STORE_DB_BATCH_SIZE = 100;
+  public static final String STATE_STORE_DB_FETCH_SIZE_KEY = "state.store.db.fetchSize";
+  // Integer.MIN_VALUE makes the MySQL driver stream result sets row by row
+  public static final int DEFAULT_STATE_STORE_DB_FETCH_SIZE = Integer.MIN_VALUE;
+  public static final String STATE_STORE_DB_DESERIALIZATION_THREADS_KEY = "state.store.db.deserializationThreads";
+  public static final int DEFAULT_STATE_STORE_DB_DESERIALIZATION_THREADS = 1;
 
   public static final String DATASETURN_STATESTORE_NAME_PARSER = "state.store.datasetUrnStateStoreNameParser";
 
@@ -173,6 +180,9 @@ public class ConfigurationKeys {
   /** Only applicable if {@link #PARALLELIZE_DATASET_COMMIT} is true. */
   public static final String DATASET_COMMIT_THREADS = "job.commit.parallelCommits";
   public static final int DEFAULT_DATASET_COMMIT_THREADS = 20;
+  // If true, the dataset states of a job are persisted together once all datasets are committed
+  public static final String PERSIST_DATASET_STATES_IN_BATCH = "job.commit.persistDatasetStatesInBatch";
+  public static final boolean DEFAULT_PERSIST_DATASET_STATES_IN_BATCH = true;
 
   public static final String WORK_UNIT_RETRY_POLICY_KEY = "workunit.retry.policy";
   public static final String WORK_UNIT_RETRY_ENABLED_KEY = "workunit.retry.enabled";
@@ -332,12 +342,17 @@ public class ConfigurationKeys {
   public static final String FORK_BRANCH_NAME_KEY = "fork.branch.name";
   public static final String FORK_BRANCH_ID_KEY = "fork.branch.id";
   public static final String DEFAULT_FORK_BRANCH_NAME = "fork_";
+  public static final String FORK_BRANCH_READ_ONLY_KEY = "fork.branch.readOnly";
   public static final String FORK_RECORD_QUEUE_CAPACITY_KEY = "fork.record.queue.capacity";
   public static final int DEFAULT_FORK_RECORD_QUEUE_CAPACITY = 100;
   public static final String FORK_RECORD_QUEUE_TIMEOUT_KEY = "fork.record.queue.timeout";
   public static final long DEFAULT_FORK_RECORD_QUEUE_TIMEOUT = 1000;
   public static final String FORK_RECORD_QUEUE_TIMEOUT_UNIT_KEY = "fork.record.queue.timeout.unit";
   public static final String DEFAULT_FORK_RECORD_QUEUE_TIMEOUT_UNIT = TimeUnit.MILLISECONDS.name();
+  public static final String FORK_RECORD_QUEUE_TYPE_KEY = "fork.record.queue.type";
+  public static final String DEFAULT_FORK_RECORD_QUEUE_TYPE = "BLOCKING";
+  public static final String FORK_RECORD_QUEUE_WAIT_STRATEGY_KEY = "fork.record.queue.waitStrategy";
+  public static final String DEFAULT_FORK_RECORD_QUEUE_WAIT_STRATEGY = "YIELD";
   public static final String FORK_MAX_WAIT_MININUTES = "fork.max.wait.minutes";
   public static final long DEFAULT_FORK_MAX_WAIT_MININUTES = 60;
 
@@ -518,6 +533,16 @@ public class ConfigurationKeys {
   public static final String SOURCE_QUERYBASED_IS_COMPRESSION_ENABLED = "source.querybased.is.compression.enabled";
   public static final String SOURCE_QUERYBASED_JDBC_RESULTSET_FETCH_SIZE =
       "source.querybased.jdbc.resultset.fetch.size";
+  public static final String SOURCE_QUERYBASED_JDBC_PARALLEL_READS = "source.querybased.jdbc.parallelReads";
+  public static final int DEFAULT_SOURCE_QUERYBASED_JDBC_PARALLEL_READS = 1;
+  public static final String SOURCE_QUERYBASED_JDBC_PARALLEL_READS_SPLIT_COLUMN =
+      "source.querybased.jdbc.parallelReads.splitColumn";
+  public static final String SOURCE_QUERYBASED_JDBC_PARALLEL_READS_QUEUE_SIZE =
+      "source.querybased.jdbc.parallelReads.queueSize";
+  public static final int DEFAULT_SOURCE_QUERYBASED_JDBC_PARALLEL_READS_QUEUE_SIZE = 10000;
+  public static final String SOURCE_QUERYBASED_JDBC_MAX_PARALLEL_CONNECTIONS_PER_HOST =
+      "source.querybased.jdbc.parallelReads.maxConnectionsPerHost";
+  public static final int DEFAULT_SOURCE_QUERYBASED_JDBC_MAX_PARALLEL_CONNECTIONS_PER_HOST = 16;
   public static final String SOURCE_QUERYBASED_ALLOW_REMOVE_UPPER_BOUNDS = "source.querybased.allowRemoveUpperBounds";
 
   public static final String SOURCE_QUERYBASED_PROMOTE_UNSIGNED_INT_TO_BIGINT =
@@ -787,6 +812,8 @@ public class ConfigurationKeys {
   public static final int KAFKA_SOURCE_WORK_UNITS_CREATION_DEFAULT_THREAD_COUNT = 30;
   public static final String KAFKA_SOURCE_SHARE_CONSUMER_CLIENT = "kafka.source.shareConsumerClient";
   public static final boolean DEFAULT_KAFKA_SOURCE_SHARE_CONSUMER_CLIENT = false;
+  public static final String KAFKA_SOURCE_BATCH_OFFSET_FETCH = "kafka.source.batchOffsetFetch";
+  public static final boolean DEFAULT_KAFKA_SOURCE_BATCH_OFFSET_FETCH = true;
   public static final String KAFKA_SOURCE_AVG_FETCH_TIME_CAP = "kakfa.source.avgFetchTimeCap";
   public static final int DEFAULT_KAFKA_SOURCE_AVG_FETCH_TIME_CAP = 100;
   public static final String SHARED_KAFKA_CONFIG_PREFIX = "gobblin.kafka.sharedConfig";
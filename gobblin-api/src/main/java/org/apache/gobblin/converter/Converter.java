@@ -20,6 +20,7 @@ package org.apache.gobblin.converter;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.Iterator;
+import java.util.List;
 
 import org.apache.gobblin.configuration.State;
 import org.apache.gobblin.configuration.WorkUnitState;
@@ -37,6 +38,8 @@ import org.apache.gobblin.stream.StreamEntity;
 import org.apache.gobblin.util.FinalState;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
 
 import io.reactivex.Flowable;
 
@@ -110,6 +113,48 @@ public abstract class Converter<SI, SO, DI, DO> implements Closeable, FinalState
   public abstract Iterable<DO> convertRecord(SO outputSchema, DI inputRecord, WorkUnitState workUnit)
       throws DataConversionException;
 
+  /**
+   * Whether this {@link Converter} may modify input records in place.
+   *
+   * <p>
+   *   This is used to verify that a fork branch declared as non-mutating by its
+   *   {@link org.apache.gobblin.fork.ForkOperator} can safely share records with other branches. {@link Converter}s
+   *   that never modify their input records (e.g. because they always build new output records) should override
+   *   this to return {@code false}.
+   * </p>
+   *
+   * @return {@code true} if input records may be modified in place, which is the default
+   */
+  public boolean mutatesInputRecords() {
+    return true;
+  }
+
+  /**
+   * Convert a batch of input data records to a {@link List} of output records conforming to the output schema of
+   * {@link Converter#convertSchema}.
+   *
+   * <p>
+   *   This is used by tasks running with record batching enabled. The default implementation simply calls
+   *   {@link #convertRecord} for each input record in order; {@link Converter}s that can amortize per-record
+   *   overhead across a batch may override this method, as long as the output records are returned in the same
+   *   order as {@link #convertRecord} would produce them.
+   * </p>
+   *
+   * @param outputSchema output schema converted using the {@link Converter#convertSchema} method
+   * @param inputRecords input data records to be converted
+   * @param workUnit a {@link WorkUnitState} object carrying configuration properties
+   * @return converted data records
+   * @throws DataConversionException if it fails to convert any of the input data records
+   */
+  public List<DO> convertRecordBatch(SO outputSchema, List<DI> inputRecords, WorkUnitState workUnit)
+      throws DataConversionException {
+    List<DO> outputRecords = Lists.newArrayListWithCapacity(inputRecords.size());
+    for (DI inputRecord : inputRecords) {
+      Iterables.addAll(outputRecords, convertRecord(outputSchema, inputRecord, workUnit));
+    }
+    return outputRecords;
+  }
+
   /**
    * Converts a {@link RecordEnvelope}. This method can be overridden by implementations that need to manipulate the
    * {@link RecordEnvelope}, such as to set watermarks or metadata.
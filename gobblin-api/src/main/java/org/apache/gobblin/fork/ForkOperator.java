@@ -68,4 +68,22 @@ public interface ForkOperator<S, D> extends Closeable {
    * @return list of {@link java.lang.Boolean}s
    */
   public List<Boolean> forkDataRecord(WorkUnitState workUnitState, D input);
+
+  /**
+   * Whether the given branch may mutate the data records it receives.
+   *
+   * <p>
+   *   When a record goes to more than one branch, each branch normally gets its own copy of the record. Branches
+   *   declared as non-mutating instead share a single instance of the record, which avoids the copies. A branch
+   *   should only be declared as non-mutating if none of its converters, quality checkers or writer modify records
+   *   in place. The default is to assume every branch mutates records.
+   * </p>
+   *
+   * @param workUnitState {@link WorkUnitState} carrying the configuration
+   * @param branchIndex index of the branch
+   * @return {@code true} if the branch may mutate records, {@code false} if records can be shared with it
+   */
+  default boolean isBranchMutating(WorkUnitState workUnitState, int branchIndex) {
+    return true;
+  }
 }
@@ -18,6 +18,7 @@
 package org.apache.gobblin.fork;
 
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
@@ -39,7 +40,9 @@ import lombok.Data;
 /**
  * Forks a {@link RecordStreamWithMetadata} into multiple branches specified by a {@link ForkOperator}.
  *
- * Each forked stream is a mirror of the original stream.
+ * Each forked stream is a mirror of the original stream. When a record goes to multiple branches, branches that the
+ * {@link ForkOperator} declares as non-mutating (see {@link ForkOperator#isBranchMutating}) share a single instance
+ * of the record, while every other branch gets its own copy.
  */
 public class Forker {
 
@@ -83,13 +86,15 @@ public class Forker {
     }
 
     List<RecordStreamWithMetadata<D, S>> forkStreams = Lists.newArrayList();
+    AtomicLong avoidedCopies = new AtomicLong();
 
     boolean mustCopy = mustCopy(forkedSchemas);
     for(int i = 0; i < forkedSchemas.size(); i++) {
       if (forkedSchemas.get(i)) {
         final int idx = i;
+        final boolean shareRecords = !forkOperator.isBranchMutating(workUnitState, idx);
         Flowable<StreamEntity<D>> thisStream =
-            forkedStream.filter(new ForkFilter<>(idx)).map(RecordWithForkMap::getRecordCopyIfNecessary);
+            forkedStream.filter(new ForkFilter<>(idx)).map(r -> r.getRecordCopyIfNecessary(shareRecords, avoidedCopies));
         forkStreams.add(inputStream.withRecordStream(thisStream,
             mustCopy ? (GlobalMetadata<S>) CopyHelper.copy(inputStream.getGlobalMetadata()) :
                 inputStream.getGlobalMetadata()));
@@ -98,7 +103,7 @@ public class Forker {
       }
     }
 
-    return new ForkedStream<>(forkStreams);
+    return new ForkedStream<>(forkStreams, avoidedCopies);
   }
 
   private static boolean mustCopy(List<Boolean> forkMap) {
@@ -113,6 +118,8 @@ public class Forker {
   public static class ForkedStream<D, S> {
     /** A list of forked streams. Note some of the forks may be null if the {@link ForkOperator} marks them as disabled. */
     private final List<RecordStreamWithMetadata<D, S>> forkedStreams;
+    /** Number of record copies avoided by sharing records with non-mutating branches. */
+    private final AtomicLong avoidedCopies;
   }
 
   /**
@@ -162,9 +169,19 @@ public class Forker {
       }
     }
 
-    private synchronized StreamEntity<D> getRecordCopyIfNecessary() throws CopyNotSupportedException {
+    private synchronized StreamEntity<D> getRecordCopyIfNecessary(boolean shareRecord, AtomicLong avoidedCopies)
+        throws CopyNotSupportedException {
       if(this.mustCopy) {
-        StreamEntity<D> clone = this.cloner.getClone();
+        StreamEntity<D> clone;
+        if (shareRecord) {
+          clone = this.cloner.getSharedClone();
+          // Only data records count, control messages such as watermarks and flushes are not records
+          if (this.record instanceof RecordEnvelope) {
+            avoidedCopies.incrementAndGet();
+          }
+        } else {
+          clone = this.cloner.getClone();
+        }
         this.copiesLeft--;
         if (this.copiesLeft <= 0) {
           this.cloner.close();
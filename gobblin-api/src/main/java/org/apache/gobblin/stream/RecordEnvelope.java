@@ -155,6 +155,11 @@ public class RecordEnvelope<D> extends StreamEntity<D> {
     }
   }
 
+  @Override
+  protected StreamEntity<D> buildSharedClone() {
+    return new RecordEnvelope<>(_record, this, false);
+  }
+
   /**
    * Obtain a {@link ForkRecordBuilder} to create derivative records to this record.
    */
@@ -121,6 +121,15 @@ public abstract class StreamEntity<D> implements Ackable {
    */
   protected abstract StreamEntity<D> buildClone();
 
+  /**
+   * @return a clone of this {@link StreamEntity} that may share its payload with this {@link StreamEntity} instead of
+   * copying it. Only used for consumers that declare they will not mutate the payload. By default this is the same as
+   * {@link #buildClone()}. Implementations need not worry about the callbacks, they will be set automatically.
+   */
+  protected StreamEntity<D> buildSharedClone() {
+    return buildClone();
+  }
+
   /**
    * @return a {@link ForkCloner} to generate multiple clones of this {@link StreamEntity}.
    */
@@ -144,6 +153,17 @@ public abstract class StreamEntity<D> implements Ackable {
       return entity;
     }
 
+    /**
+     * Like {@link #getClone()}, but the clone may share its payload with the original {@link StreamEntity} and any
+     * other shared clones. The clone still gets its own callbacks, so the original is only acked once all clones
+     * are acked.
+     */
+    public StreamEntity<D> getSharedClone() {
+      StreamEntity<D> entity = buildSharedClone();
+      entity.setCallbacks(_forkedEntityBuilder.getChildCallback());
+      return entity;
+    }
+
     @Override
     public void close() {
       _forkedEntityBuilder.close();
@@ -88,6 +88,48 @@ public class ForkerTest {
     flowable._subscriber.onComplete();
   }
 
+  @Test
+  public void testSharedRecordsForNonMutatingBranches() throws Exception {
+    Forker forker = new Forker();
+    MyFlowable<StreamEntity<byte[]>> flowable = new MyFlowable<>();
+
+    RecordStreamWithMetadata<byte[], String> stream =
+        new RecordStreamWithMetadata<>(flowable, GlobalMetadata.<String>builder().schema("schema").build());
+
+    WorkUnitState workUnitState = new WorkUnitState();
+    workUnitState.setProp(ConfigurationKeys.FORK_BRANCHES_KEY, "3");
+    // Branches 1 and 2 do not mutate records
+    Forker.ForkedStream<byte[], String> forkedStream = forker.forkStream(stream, new MyForkOperator() {
+      @Override
+      public boolean isBranchMutating(WorkUnitState workUnitState, int branchIndex) {
+        return branchIndex == 0;
+      }
+    }, workUnitState);
+
+    Queue<StreamEntity<byte[]>> output0 = new LinkedList<>();
+    forkedStream.getForkedStreams().get(0).getRecordStream().subscribe(output0::add);
+    Queue<StreamEntity<byte[]>> output1 = new LinkedList<>();
+    forkedStream.getForkedStreams().get(1).getRecordStream().subscribe(output1::add);
+    Queue<StreamEntity<byte[]>> output2 = new LinkedList<>();
+    forkedStream.getForkedStreams().get(2).getRecordStream().subscribe(output2::add);
+
+    byte[] record = new byte[]{1, 1, 1};
+    flowable._subscriber.onNext(new RecordEnvelope<>(record));
+    Assert.assertNotSame(((RecordEnvelope<byte[]>) output0.poll()).getRecord(), record);
+    Assert.assertSame(((RecordEnvelope<byte[]>) output1.poll()).getRecord(), record);
+    Assert.assertSame(((RecordEnvelope<byte[]>) output2.poll()).getRecord(), record);
+    Assert.assertEquals(forkedStream.getAvoidedCopies().get(), 2);
+
+    // Control messages are not counted as avoided record copies
+    flowable._subscriber.onNext(new BasicTestControlMessage<byte[]>("control"));
+    Assert.assertTrue(output0.poll() instanceof BasicTestControlMessage);
+    Assert.assertTrue(output1.poll() instanceof BasicTestControlMessage);
+    Assert.assertTrue(output2.poll() instanceof BasicTestControlMessage);
+    Assert.assertEquals(forkedStream.getAvoidedCopies().get(), 2);
+
+    flowable._subscriber.onComplete();
+  }
+
   public static class MyForkOperator implements ForkOperator<String, byte[]> {
     @Override
     public void init(WorkUnitState workUnitState) throws Exception {
@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.cluster;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Objects;
+import com.google.common.base.Throwables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.gobblin.broker.SharedResourcesBrokerFactory;
+import org.apache.gobblin.broker.gobblin_scopes.GobblinScopeTypes;
+import org.apache.gobblin.broker.gobblin_scopes.JobScopeInstance;
+import org.apache.gobblin.broker.iface.SharedResourcesBroker;
+import org.apache.gobblin.runtime.JobState;
+
+
+/**
+ * A container wide cache of the {@link JobState} and job scope {@link SharedResourcesBroker} of the jobs whose tasks
+ * run in the container.
+ *
+ * <p>
+ *   Without it, every {@link SingleTask} deserializes the {@link JobState} of its job and creates its own brokers,
+ *   which is costly for jobs with many small work units packed onto a few containers. With it, the first task of a
+ *   job loads the {@link JobState} and creates the brokers, and the following tasks of the same job reuse them, like
+ *   the tasks of a job running in a single JVM share one {@link JobState}.
+ * </p>
+ *
+ * <p>
+ *   Tasks get the cached job context through {@link #acquire(String, Callable)} and must close the returned
+ *   {@link JobContext} once done. The entry of a job is dropped, and its brokers closed once no task uses it
+ *   anymore, when:
+ * </p>
+ * <ul>
+ *   <li>the job is explicitly invalidated with {@link #invalidate(String)}, e.g. because a task was cancelled,</li>
+ *   <li>a newer execution of the same job starts running tasks in the container,</li>
+ *   <li>no task of the job ran for {@link GobblinClusterConfigurationKeys#JOB_STATE_CACHE_IDLE_TIME_SECONDS}, which
+ *   is checked by the periodic calls to {@link #evictIdleEntries()},</li>
+ *   <li>the container shuts down and calls {@link #invalidateAll()}.</li>
+ * </ul>
+ */
+@Slf4j
+public class ContainerJobStateCache {
+
+  private final long maxIdleTimeMillis;
+  private final Map<String, Entry> entries = Maps.newHashMap();
+
+  public ContainerJobStateCache(long maxIdleTimeMillis) {
+    this.maxIdleTimeMillis = maxIdleTimeMillis;
+  }
+
+  /**
+   * Get the cached context of a job, loading the {@link JobState} with the given loader if it is not cached yet.
+   * The returned {@link JobContext} must be closed once the caller is done with it.
+   */
+  public JobContext acquire(String jobId, Callable<JobState> jobStateLoader) throws IOException {
+    Entry entry;
+    synchronized (this) {
+      entry = this.entries.get(jobId);
+      if (entry == null) {
+        entry = new Entry(jobId);
+        this.entries.put(jobId, entry);
+      }
+      entry.users++;
+    }
+
+    try {
+      JobContext context = entry.getOrLoad(jobStateLoader);
+      evictPreviousExecutions(context.getJobState());
+      return context;
+    } catch (IOException | RuntimeException e) {
+      release(entry);
+      throw e;
+    }
+  }
+
+  /**
+   * Drop the cached context of a job. Tasks currently using it keep doing so, the following tasks of the job will
+   * load the {@link JobState} again.
+   */
+  public void invalidate(String jobId) {
+    Entry entry;
+    synchronized (this) {
+      entry = this.entries.remove(jobId);
+      if (entry == null) {
+        return;
+      }
+      entry.invalidated = true;
+      if (entry.users > 0) {
+        return;
+      }
+    }
+    entry.close();
+  }
+
+  /**
+   * Drop the cached contexts of all jobs.
+   */
+  public void invalidateAll() {
+    List<Entry> evictedEntries = Lists.newArrayList();
+    synchronized (this) {
+      for (Entry entry : this.entries.values()) {
+        entry.invalidated = true;
+        if (entry.users == 0) {
+          evictedEntries.add(entry);
+        }
+      }
+      this.entries.clear();
+    }
+    closeEntries(evictedEntries);
+  }
+
+  @VisibleForTesting
+  synchronized String[] getCachedJobIds() {
+    return this.entries.keySet().toArray(new String[0]);
+  }
+
+  private void release(Entry entry) {
+    synchronized (this) {
+      entry.users--;
+      entry.lastReleaseTime = System.currentTimeMillis();
+      if (entry.users > 0 || !entry.invalidated) {
+        return;
+      }
+    }
+    entry.close();
+  }
+
+  /**
+   * A new execution of a job means that the previous ones are done, so their unused entries can be dropped.
+   */
+  private void evictPreviousExecutions(JobState jobState) {
+    List<Entry> evictedEntries = Lists.newArrayList();
+    synchronized (this) {
+      Iterator<Entry> iterator = this.entries.values().iterator();
+      while (iterator.hasNext()) {
+        Entry entry = iterator.next();
+        if (entry.context != null && entry.users == 0 && !entry.jobId.equals(jobState.getJobId())
+            && Objects.equal(entry.context.getJobState().getJobName(), jobState.getJobName())) {
+          iterator.remove();
+          evictedEntries.add(entry);
+        }
+      }
+    }
+    closeEntries(evictedEntries);
+  }
+
+  /**
+   * Drop the entries of the jobs none of whose tasks ran for the maximum idle time. This is expected to be called
+   * periodically by the owner of the cache.
+   */
+  public void evictIdleEntries() {
+    long now = System.currentTimeMillis();
+    List<Entry> evictedEntries = Lists.newArrayList();
+    synchronized (this) {
+      Iterator<Entry> iterator = this.entries.values().iterator();
+      while (iterator.hasNext()) {
+        Entry entry = iterator.next();
+        if (entry.users == 0 && now - entry.lastReleaseTime > this.maxIdleTimeMillis) {
+          iterator.remove();
+          evictedEntries.add(entry);
+        }
+      }
+    }
+    closeEntries(evictedEntries);
+  }
+
+  /**
+   * Close evicted entries, outside of the cache lock since closing the brokers may be slow.
+   */
+  private static void closeEntries(List<Entry> evictedEntries) {
+    for (Entry entry : evictedEntries) {
+      entry.close();
+    }
+  }
+
+  /**
+   * The cached state of a single job. {@link #users} and {@link #invalidated} are guarded by the cache lock,
+   * {@link #context} by the entry lock so that loading a job does not block the tasks of other jobs.
+   */
+  private class Entry {
+    private final String jobId;
+    private int users = 0;
+    private boolean invalidated = false;
+    private long lastReleaseTime = System.currentTimeMillis();
+    private volatile JobContext context;
+    private SharedResourcesBroker<GobblinScopeTypes> globalBroker;
+
+    private Entry(String jobId) {
+      this.jobId = jobId;
+    }
+
+    private synchronized JobContext getOrLoad(Callable<JobState> jobStateLoader) throws IOException {
+      if (this.context == null) {
+        JobState jobState;
+        try {
+          jobState = jobStateLoader.call();
+        } catch (Exception e) {
+          Throwables.propagateIfPossible(e, IOException.class);
+          throw new IOException("Failed to load the job state of job " + this.jobId, e);
+        }
+        Properties jobProperties = jobState.getProperties();
+        Config jobConfig = ConfigFactory.parseProperties(jobProperties);
+        this.globalBroker = SharedResourcesBrokerFactory
+            .createDefaultTopLevelBroker(jobConfig, GobblinScopeTypes.GLOBAL.defaultScopeInstance());
+        SharedResourcesBroker<GobblinScopeTypes> jobBroker = this.globalBroker
+            .newSubscopedBuilder(new JobScopeInstance(jobState.getJobName(), jobState.getJobId())).build();
+        this.context = new JobContext(this, jobState, jobConfig, jobBroker);
+        log.info("Cached the job state of job {}", this.jobId);
+      }
+      return this.context;
+    }
+
+    private synchronized void close() {
+      if (this.globalBroker != null) {
+        try {
+          this.globalBroker.close();
+        } catch (IOException e) {
+          log.warn("Failed to close the brokers of job " + this.jobId, e);
+        }
+        this.globalBroker = null;
+        log.info("Evicted the job state of job {}", this.jobId);
+      }
+      this.context = null;
+    }
+  }
+
+  /**
+   * The {@link JobState}, job config and job scope broker of a job, shared by all its tasks running in the
+   * container. Closing it releases it, it must not be used afterwards.
+   */
+  public class JobContext implements Closeable {
+    private final Entry entry;
+    @Getter
+    private final JobState jobState;
+    @Getter
+    private final Config jobConfig;
+    @Getter
+    private final SharedResourcesBroker<GobblinScopeTypes> jobBroker;
+
+    private JobContext(Entry entry, JobState jobState, Config jobConfig,
+        SharedResourcesBroker<GobblinScopeTypes> jobBroker) {
+      this.entry = entry;
+      this.jobState = jobState;
+      this.jobConfig = jobConfig;
+      this.jobBroker = jobBroker;
+    }
+
+    @Override
+    public void close() {
+      release(this.entry);
+    }
+  }
+}
@@ -156,4 +156,10 @@ public class GobblinClusterConfigurationKeys {
   public static final String KILL_DUPLICATE_PLANNING_JOB = GOBBLIN_CLUSTER_PREFIX + "kill.duplicate.planningJob";
   public static final boolean DEFAULT_KILL_DUPLICATE_PLANNING_JOB = true;
 
+  // Container wide cache of job states and job scope brokers, shared by the Helix tasks of a job
+  public static final String JOB_STATE_CACHE_ENABLED = GOBBLIN_CLUSTER_PREFIX + "jobStateCache.enabled";
+  public static final boolean DEFAULT_JOB_STATE_CACHE_ENABLED = true;
+  public static final String JOB_STATE_CACHE_IDLE_TIME_SECONDS = GOBBLIN_CLUSTER_PREFIX + "jobStateCache.idleTimeSeconds";
+  public static final long DEFAULT_JOB_STATE_CACHE_IDLE_TIME_SECONDS = 600;
+
 }
@@ -28,6 +28,7 @@ import org.apache.helix.task.TaskConfig;
 import org.apache.helix.task.TaskResult;
 import org.slf4j.MDC;
 
+import com.google.common.base.Optional;
 import com.google.common.base.Throwables;
 import com.google.common.io.Closer;
 
@@ -78,6 +79,16 @@ public class GobblinHelixTask implements Task {
                           TaskAttemptBuilder taskAttemptBuilder,
                           StateStores stateStores,
                           GobblinHelixTaskMetrics taskMetrics) {
+    this(builder, taskCallbackContext, taskAttemptBuilder, stateStores, taskMetrics,
+        Optional.<ContainerJobStateCache>absent());
+  }
+
+  public GobblinHelixTask(TaskRunnerSuiteBase.Builder builder,
+                          TaskCallbackContext taskCallbackContext,
+                          TaskAttemptBuilder taskAttemptBuilder,
+                          StateStores stateStores,
+                          GobblinHelixTaskMetrics taskMetrics,
+                          Optional<ContainerJobStateCache> jobStateCache) {
     this.taskConfig = taskCallbackContext.getTaskConfig();
     this.applicationName = builder.getApplicationName();
     this.instanceName = builder.getInstanceName();
@@ -94,7 +105,8 @@ public class GobblinHelixTask implements Task {
                                jobStateFilePath,
                                builder.getFs(),
                                taskAttemptBuilder,
-                               stateStores);
+                               stateStores,
+                               jobStateCache);
   }
 
   private void getInfoFromTaskConfig() {
@@ -17,6 +17,8 @@
 
 package org.apache.gobblin.cluster;
 
+import java.util.concurrent.TimeUnit;
+
 import org.apache.hadoop.fs.Path;
 import org.apache.helix.HelixManager;
 import org.apache.helix.task.Task;
@@ -27,6 +29,8 @@ import org.slf4j.LoggerFactory;
 
 import com.codahale.metrics.Counter;
 import com.google.common.base.Optional;
+import com.google.common.util.concurrent.AbstractScheduledService;
+import com.google.common.util.concurrent.Service;
 import com.typesafe.config.Config;
 
 import lombok.Getter;
@@ -68,6 +72,12 @@ public class GobblinHelixTaskFactory implements TaskFactory {
   private final Path appWorkDir;
   private final StateStores stateStores;
   private final TaskAttemptBuilder taskAttemptBuilder;
+  private final Optional<ContainerJobStateCache> jobStateCache;
+  /**
+   * A {@link Service} evicting the idle entries of the {@link #jobStateCache} and invalidating all of them on shutdown.
+   */
+  @Getter
+  private final Optional<Service> jobStateCacheService;
 
   public GobblinHelixTaskFactory(TaskRunnerSuiteBase.Builder builder,
                                  MetricContext metricContext,
@@ -98,6 +108,21 @@ public class GobblinHelixTaskFactory implements TaskFactory {
         appWorkDir,
         GobblinClusterConfigurationKeys.JOB_STATE_DIR_NAME);
     this.taskAttemptBuilder = createTaskAttemptBuilder();
+
+    Config config = builder.getConfig();
+    if (ConfigUtils.getBoolean(config, GobblinClusterConfigurationKeys.JOB_STATE_CACHE_ENABLED,
+        GobblinClusterConfigurationKeys.DEFAULT_JOB_STATE_CACHE_ENABLED)) {
+      long idleTimeSeconds = ConfigUtils.getLong(config,
+          GobblinClusterConfigurationKeys.JOB_STATE_CACHE_IDLE_TIME_SECONDS,
+          GobblinClusterConfigurationKeys.DEFAULT_JOB_STATE_CACHE_IDLE_TIME_SECONDS);
+      ContainerJobStateCache cache = new ContainerJobStateCache(TimeUnit.SECONDS.toMillis(idleTimeSeconds));
+      this.jobStateCache = Optional.of(cache);
+      this.jobStateCacheService =
+          Optional.<Service>of(new JobStateCacheService(cache, Math.max(1, idleTimeSeconds / 2)));
+    } else {
+      this.jobStateCache = Optional.absent();
+      this.jobStateCacheService = Optional.absent();
+    }
   }
 
   private TaskAttemptBuilder createTaskAttemptBuilder() {
@@ -113,6 +138,41 @@ public class GobblinHelixTaskFactory implements TaskFactory {
     if (this.newTasksCounter.isPresent()) {
       this.newTasksCounter.get().inc();
     }
-    return new GobblinHelixTask(builder, context, this.taskAttemptBuilder, this.stateStores, this.taskMetrics);
+    return new GobblinHelixTask(builder, context, this.taskAttemptBuilder, this.stateStores, this.taskMetrics,
+        this.jobStateCache);
+  }
+
+  /**
+   * Periodically evicts the idle entries of a {@link ContainerJobStateCache}, and drops all of them on shutdown so
+   * that the job brokers get closed.
+   */
+  private static class JobStateCacheService extends AbstractScheduledService {
+    private final ContainerJobStateCache cache;
+    private final long evictionIntervalSeconds;
+
+    private JobStateCacheService(ContainerJobStateCache cache, long evictionIntervalSeconds) {
+      this.cache = cache;
+      this.evictionIntervalSeconds = evictionIntervalSeconds;
+    }
+
+    @Override
+    protected void runOneIteration() {
+      try {
+        this.cache.evictIdleEntries();
+      } catch (RuntimeException e) {
+        LOGGER.warn("Failed to evict idle job states", e);
+      }
+    }
+
+    @Override
+    protected void shutDown() {
+      this.cache.invalidateAll();
+    }
+
+    @Override
+    protected Scheduler scheduler() {
+      return Scheduler.newFixedDelaySchedule(this.evictionIntervalSeconds, this.evictionIntervalSeconds,
+          TimeUnit.SECONDS);
+    }
   }
 }
@@ -26,6 +26,7 @@ import org.apache.hadoop.fs.Path;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.base.Optional;
 import com.google.common.collect.Lists;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
@@ -55,36 +56,59 @@ public class SingleTask {
   private FileSystem _fs;
   private TaskAttemptBuilder _taskAttemptBuilder;
   private StateStores _stateStores;
+  private Optional<ContainerJobStateCache> _jobStateCache;
 
   SingleTask(String jobId, Path workUnitFilePath, Path jobStateFilePath, FileSystem fs,
       TaskAttemptBuilder taskAttemptBuilder, StateStores stateStores) {
+    this(jobId, workUnitFilePath, jobStateFilePath, fs, taskAttemptBuilder, stateStores,
+        Optional.<ContainerJobStateCache>absent());
+  }
+
+  /**
+   * @param jobStateCache if present, the {@link JobState} and job scope broker are taken from this cache, and shared
+   *                      with the other tasks of the job running in the same container.
+   */
+  SingleTask(String jobId, Path workUnitFilePath, Path jobStateFilePath, FileSystem fs,
+      TaskAttemptBuilder taskAttemptBuilder, StateStores stateStores, Optional<ContainerJobStateCache> jobStateCache) {
     _jobId = jobId;
     _workUnitFilePath = workUnitFilePath;
     _jobStateFilePath = jobStateFilePath;
     _fs = fs;
     _taskAttemptBuilder = taskAttemptBuilder;
     _stateStores = stateStores;
+    _jobStateCache = jobStateCache;
   }
 
   public void run()
       throws IOException, InterruptedException {
     List<WorkUnit> workUnits = getWorkUnits();
 
+    if (_jobStateCache.isPresent()) {
+      try (ContainerJobStateCache.JobContext jobContext = _jobStateCache.get().acquire(_jobId, this::getJobState)) {
+        runTaskAttempt(workUnits, jobContext.getJobState(), jobContext.getJobConfig(), jobContext.getJobBroker());
+      }
+      return;
+    }
+
     JobState jobState = getJobState();
     Config jobConfig = getConfigFromJobState(jobState);
 
-    _logger.debug("SingleTask.run: jobId {} workUnitFilePath {} jobStateFilePath {} jobState {} jobConfig {}",
-        _jobId, _workUnitFilePath, _jobStateFilePath, jobState, jobConfig);
-
     try (SharedResourcesBroker<GobblinScopeTypes> globalBroker = SharedResourcesBrokerFactory
         .createDefaultTopLevelBroker(jobConfig, GobblinScopeTypes.GLOBAL.defaultScopeInstance())) {
-      SharedResourcesBroker<GobblinScopeTypes> jobBroker = getJobBroker(jobState, globalBroker);
-
-      _taskattempt = _taskAttemptBuilder.build(workUnits.iterator(), _jobId, jobState, jobBroker);
-      _taskattempt.runAndOptionallyCommitTaskAttempt(GobblinMultiTaskAttempt.CommitPolicy.IMMEDIATE);
+      runTaskAttempt(workUnits, jobState, jobConfig, getJobBroker(jobState, globalBroker));
     }
   }
 
+  private void runTaskAttempt(List<WorkUnit> workUnits, JobState jobState, Config jobConfig,
+      SharedResourcesBroker<GobblinScopeTypes> jobBroker)
+      throws IOException, InterruptedException {
+    _logger.debug("SingleTask.run: jobId {} workUnitFilePath {} jobStateFilePath {} jobState {} jobConfig {}",
+        _jobId, _workUnitFilePath, _jobStateFilePath, jobState, jobConfig);
+
+    _taskattempt = _taskAttemptBuilder.build(workUnits.iterator(), _jobId, jobState, jobBroker);
+    _taskattempt.runAndOptionallyCommitTaskAttempt(GobblinMultiTaskAttempt.CommitPolicy.IMMEDIATE);
+  }
+
   private SharedResourcesBroker<GobblinScopeTypes> getJobBroker(JobState jobState,
       SharedResourcesBroker<GobblinScopeTypes> globalBroker) {
     return globalBroker.newSubscopedBuilder(new JobScopeInstance(jobState.getJobName(), jobState.getJobId())).build();
@@ -119,9 +143,9 @@ public class SingleTask {
     WorkUnit workUnit;
 
     if (_workUnitFilePath.getName().endsWith(AbstractJobLauncher.MULTI_WORK_UNIT_FILE_EXTENSION)) {
-      workUnit = _stateStores.getMwuStateStore().getAll(storeName, fileName).get(0);
+      workUnit = _stateStores.getMwuStateStore().getFirst(storeName, fileName);
     } else {
-      workUnit = _stateStores.getWuStateStore().getAll(storeName, fileName).get(0);
+      workUnit = _stateStores.getWuStateStore().getFirst(storeName, fileName);
     }
 
     // The list of individual WorkUnits (flattened) to run
@@ -138,6 +162,10 @@ public class SingleTask {
   }
 
   public void cancel() {
+    if (_jobStateCache.isPresent()) {
+      // A cancelled task usually means a cancelled job, don't keep its state around
+      _jobStateCache.get().invalidate(_jobId);
+    }
     if (_taskattempt != null) {
       try {
         _logger.info("Task cancelled: Shutdown starting for tasks with jobId: {}", _jobId);
@@ -91,6 +91,9 @@ class TaskRunnerSuiteThreadModel extends TaskRunnerSuiteBase {
 
     services.add(taskFactory.getTaskExecutor());
     services.add(taskStateTracker);
+    if (taskFactory.getJobStateCacheService().isPresent()) {
+      services.add(taskFactory.getJobStateCacheService().get());
+    }
     services.add(new JMXReportingService(
         ImmutableMap.of("task.executor", taskFactory.getTaskExecutor().getTaskExecutorQueueMetricSet())));
 
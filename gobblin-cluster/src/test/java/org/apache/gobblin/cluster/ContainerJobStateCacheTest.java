@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.cluster;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import org.apache.gobblin.runtime.JobState;
+
+
+@Test(groups = {"gobblin.cluster"})
+public class ContainerJobStateCacheTest {
+
+  private static final long ONE_HOUR = 3600 * 1000L;
+
+  @Test
+  public void testJobStateIsSharedByTasks() throws Exception {
+    ContainerJobStateCache cache = new ContainerJobStateCache(ONE_HOUR);
+    CountingLoader loader = new CountingLoader("job", "job_1");
+
+    ContainerJobStateCache.JobContext first = cache.acquire("job_1", loader);
+    ContainerJobStateCache.JobContext second = cache.acquire("job_1", loader);
+    Assert.assertSame(first.getJobState(), second.getJobState());
+    Assert.assertSame(first.getJobBroker(), second.getJobBroker());
+    first.close();
+    second.close();
+
+    try (ContainerJobStateCache.JobContext third = cache.acquire("job_1", loader)) {
+      Assert.assertSame(third.getJobState(), first.getJobState());
+    }
+    Assert.assertEquals(loader.loads.get(), 1);
+  }
+
+  @Test
+  public void testInvalidate() throws Exception {
+    ContainerJobStateCache cache = new ContainerJobStateCache(ONE_HOUR);
+    CountingLoader loader = new CountingLoader("job", "job_1");
+
+    ContainerJobStateCache.JobContext first = cache.acquire("job_1", loader);
+    cache.invalidate("job_1");
+    Assert.assertEquals(cache.getCachedJobIds().length, 0);
+
+    // The invalidated context stays usable by the task holding it, new tasks get a new one
+    try (ContainerJobStateCache.JobContext second = cache.acquire("job_1", loader)) {
+      Assert.assertNotSame(second.getJobState(), first.getJobState());
+      Assert.assertEquals(first.getJobState().getJobId(), "job_1");
+    }
+    first.close();
+    Assert.assertEquals(loader.loads.get(), 2);
+  }
+
+  @Test
+  public void testNewExecutionEvictsPreviousOne() throws Exception {
+    ContainerJobStateCache cache = new ContainerJobStateCache(ONE_HOUR);
+
+    cache.acquire("job_1", new CountingLoader("job", "job_1")).close();
+    ContainerJobStateCache.JobContext otherJob = cache.acquire("other_1", new CountingLoader("other", "other_1"));
+    cache.acquire("job_2", new CountingLoader("job", "job_2")).close();
+
+    Assert.assertEqualsNoOrder(cache.getCachedJobIds(), new String[]{"other_1", "job_2"});
+    otherJob.close();
+  }
+
+  @Test
+  public void testIdleEviction() throws Exception {
+    ContainerJobStateCache cache = new ContainerJobStateCache(-1);
+
+    ContainerJobStateCache.JobContext inUse = cache.acquire("job_1", new CountingLoader("job", "job_1"));
+    cache.acquire("other_1", new CountingLoader("other", "other_1")).close();
+    Assert.assertEqualsNoOrder(cache.getCachedJobIds(), new String[]{"job_1", "other_1"});
+
+    // Only unused entries are evicted
+    cache.evictIdleEntries();
+    Assert.assertEquals(cache.getCachedJobIds(), new String[]{"job_1"});
+    inUse.close();
+    cache.evictIdleEntries();
+    Assert.assertEquals(cache.getCachedJobIds().length, 0);
+  }
+
+  @Test
+  public void testInvalidateAll() throws Exception {
+    ContainerJobStateCache cache = new ContainerJobStateCache(ONE_HOUR);
+    CountingLoader loader = new CountingLoader("job", "job_1");
+
+    ContainerJobStateCache.JobContext inUse = cache.acquire("job_1", loader);
+    cache.acquire("other_1", new CountingLoader("other", "other_1")).close();
+    cache.invalidateAll();
+    Assert.assertEquals(cache.getCachedJobIds().length, 0);
+
+    // The context in use is only released by its last user
+    Assert.assertEquals(inUse.getJobState().getJobId(), "job_1");
+    inUse.close();
+    cache.acquire("job_1", loader).close();
+    Assert.assertEquals(loader.loads.get(), 2);
+  }
+
+  @Test
+  public void testLoadFailure() throws Exception {
+    ContainerJobStateCache cache = new ContainerJobStateCache(ONE_HOUR);
+    try {
+      cache.acquire("job_1", new Callable<JobState>() {
+        @Override
+        public JobState call() throws Exception {
+          throw new IOException("Failed");
+        }
+      });
+      Assert.fail();
+    } catch (IOException ioe) {
+      Assert.assertEquals(ioe.getMessage(), "Failed");
+    }
+
+    CountingLoader loader = new CountingLoader("job", "job_1");
+    cache.acquire("job_1", loader).close();
+    Assert.assertEquals(loader.loads.get(), 1);
+  }
+
+  private static class CountingLoader implements Callable<JobState> {
+    private final String jobName;
+    private final String jobId;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private CountingLoader(String jobName, String jobId) {
+      this.jobName = jobName;
+      this.jobId = jobId;
+    }
+
+    @Override
+    public JobState call() {
+      this.loads.incrementAndGet();
+      return new JobState(this.jobName, this.jobId);
+    }
+  }
+}
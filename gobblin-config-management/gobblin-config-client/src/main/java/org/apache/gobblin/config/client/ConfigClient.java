@@ -17,6 +17,7 @@
 
 package org.apache.gobblin.config.client;
 
+import java.io.File;
 import java.lang.annotation.Annotation;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -34,9 +35,11 @@ import com.google.common.base.Optional;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
 import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
 
 import org.apache.gobblin.config.client.api.ConfigStoreFactoryDoesNotExistsException;
 import org.apache.gobblin.config.client.api.VersionStabilityPolicy;
+import org.apache.gobblin.config.common.impl.CompiledConfigCache;
 import org.apache.gobblin.config.common.impl.ConfigStoreBackedTopology;
 import org.apache.gobblin.config.common.impl.ConfigStoreBackedValueInspector;
 import org.apache.gobblin.config.common.impl.ConfigStoreTopologyInspector;
@@ -49,11 +52,19 @@ import org.apache.gobblin.config.store.api.ConfigStoreCreationException;
 import org.apache.gobblin.config.store.api.ConfigStoreFactory;
 import org.apache.gobblin.config.store.api.ConfigStoreWithStableVersioning;
 import org.apache.gobblin.config.store.api.VersionDoesNotExistException;
+import org.apache.gobblin.util.ConfigUtils;
 
 
 /**
  * This class is used by Client to access the Configuration Management core library.
  *
+ * <p>
+ *   For {@link ConfigStore}s with stable versioning, the compiled configs can be cached on the local disk by setting
+ *   {@link #COMPILED_CONFIG_CACHE_DIR_KEY}. The cache is keyed by store version, so it can be shared by all the JVMs
+ *   of a host. Only the {@link #COMPILED_CONFIG_CACHE_MAX_VERSIONS_KEY} most recently used versions of a store are
+ *   kept on disk. {@link #RESOLUTION_THREADS_KEY} sets the number of threads used to resolve batches of configs.
+ *   Unless a client config is given, both are read from the system properties.
+ * </p>
  *
  * @author mitu
  *
@@ -61,7 +72,16 @@ import org.apache.gobblin.config.store.api.VersionDoesNotExistException;
 public class ConfigClient {
   private static final Logger LOG = Logger.getLogger(ConfigClient.class);
 
+  public static final String CONFIG_CLIENT_PREFIX = "gobblin.config.client.";
+  public static final String COMPILED_CONFIG_CACHE_DIR_KEY = CONFIG_CLIENT_PREFIX + "compiledConfigCache.dir";
+  public static final String COMPILED_CONFIG_CACHE_MAX_VERSIONS_KEY = CONFIG_CLIENT_PREFIX + "compiledConfigCache.maxVersions";
+  public static final String RESOLUTION_THREADS_KEY = CONFIG_CLIENT_PREFIX + "resolution.threads";
+  public static final int DEFAULT_RESOLUTION_THREADS = 1;
+
   private final VersionStabilityPolicy policy;
+  private final Optional<File> compiledConfigCacheDir;
+  private final int compiledConfigCacheMaxVersions;
+  private final int resolutionThreads;
 
   /** Normally key is the ConfigStore.getStoreURI(), value is the ConfigStoreAccessor
    *
@@ -80,15 +100,26 @@ public class ConfigClient {
 
   private final ConfigStoreFactoryRegister configStoreFactoryRegister;
 
-  private ConfigClient(VersionStabilityPolicy policy) {
-    this(policy, new ConfigStoreFactoryRegister());
+  private ConfigClient(VersionStabilityPolicy policy, Config clientConfig) {
+    this(policy, new ConfigStoreFactoryRegister(), clientConfig);
   }
 
   @VisibleForTesting
   ConfigClient(VersionStabilityPolicy policy, ConfigStoreFactoryRegister register) {
+    this(policy, register, ConfigFactory.empty());
+  }
+
+  @VisibleForTesting
+  ConfigClient(VersionStabilityPolicy policy, ConfigStoreFactoryRegister register, Config clientConfig) {
     this.policy = policy;
 
     this.configStoreFactoryRegister = register;
+
+    String cacheDir = ConfigUtils.getString(clientConfig, COMPILED_CONFIG_CACHE_DIR_KEY, null);
+    this.compiledConfigCacheDir = cacheDir == null ? Optional.<File>absent() : Optional.of(new File(cacheDir));
+    this.compiledConfigCacheMaxVersions = ConfigUtils.getInt(clientConfig, COMPILED_CONFIG_CACHE_MAX_VERSIONS_KEY,
+        CompiledConfigCache.DEFAULT_MAX_VERSIONS);
+    this.resolutionThreads = ConfigUtils.getInt(clientConfig, RESOLUTION_THREADS_KEY, DEFAULT_RESOLUTION_THREADS);
   }
 
   /**
@@ -97,7 +128,17 @@ public class ConfigClient {
    * @return       - {@link ConfigClient} for client to use to access the {@link ConfigStore}
    */
   public static ConfigClient createConfigClient(VersionStabilityPolicy policy) {
-    return new ConfigClient(policy);
+    return createConfigClient(policy, ConfigFactory.systemProperties());
+  }
+
+  /**
+   * Create the {@link ConfigClient} based on the {@link VersionStabilityPolicy} and a client config.
+   * @param policy       - {@link VersionStabilityPolicy} to specify the stability policy which control the caching layer creation
+   * @param clientConfig - {@link Config} with the {@link ConfigClient} settings, e.g. {@link #COMPILED_CONFIG_CACHE_DIR_KEY}
+   * @return             - {@link ConfigClient} for client to use to access the {@link ConfigStore}
+   */
+  public static ConfigClient createConfigClient(VersionStabilityPolicy policy, Config clientConfig) {
+    return new ConfigClient(policy, clientConfig);
   }
 
   /**
@@ -306,9 +347,15 @@ public class ConfigClient {
     ConfigStoreBackedTopology csTopology = new ConfigStoreBackedTopology(cs, currentVersion);
     InMemoryTopology inMemoryTopology = new InMemoryTopology(csTopology);
 
-    // value related
-    ConfigStoreBackedValueInspector rawValueInspector =
-        new ConfigStoreBackedValueInspector(cs, currentVersion, inMemoryTopology);
+    // value related, the compiled configs can only be cached on disk if a version never changes
+    Optional<CompiledConfigCache> compiledConfigCache = Optional.absent();
+    if (this.compiledConfigCacheDir.isPresent() && isConfigStoreWithStableVersion(cs)) {
+      compiledConfigCache =
+          Optional.of(new CompiledConfigCache(this.compiledConfigCacheDir.get(), cs.getStoreURI(), currentVersion,
+              this.compiledConfigCacheMaxVersions));
+    }
+    ConfigStoreBackedValueInspector rawValueInspector = new ConfigStoreBackedValueInspector(cs, currentVersion,
+        inMemoryTopology, compiledConfigCache, this.resolutionThreads);
     InMemoryValueInspector inMemoryValueInspector;
 
     // ConfigStoreWithStableVersioning always create Soft reference cache
@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.config.common.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.apache.log4j.Logger;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.Hashing;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigException;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigParseOptions;
+import com.typesafe.config.ConfigRenderOptions;
+import com.typesafe.config.ConfigSyntax;
+
+import org.apache.gobblin.config.store.api.ConfigKeyPath;
+import org.apache.gobblin.config.store.api.ConfigStore;
+
+
+/**
+ * A disk backed cache of compiled {@link Config}s, i.e. the {@link Config} of a {@link ConfigKeyPath} with all its
+ * ancestors and imports merged in, for a single version of a {@link ConfigStore}.
+ *
+ * <p>
+ *   Entries are stored as one HOCON file per config key under {@code <rootDir>/<store>/<version>}. Files are written
+ *   to a temporary file first and then atomically renamed, so several JVMs on the same host can share the same root
+ *   directory. Since entries are keyed by version, the cache must only be used for stores whose versions are
+ *   immutable, see {@link org.apache.gobblin.config.store.api.ConfigStoreWithStableVersioning}.
+ * </p>
+ *
+ * <p>
+ *   The cached {@link Config}s are not resolved, substitutions are kept as is and resolved by the caller.
+ * </p>
+ *
+ * <p>
+ *   Creating a cache marks its version as the most recently used one of the store, and deletes the files of the
+ *   versions of the store beyond the {@code maxVersions} most recently used ones.
+ * </p>
+ */
+public class CompiledConfigCache {
+  private static final Logger LOG = Logger.getLogger(CompiledConfigCache.class);
+
+  private static final String FILE_EXTENSION = ".conf";
+  private static final ConfigParseOptions PARSE_OPTIONS = ConfigParseOptions.defaults().setSyntax(ConfigSyntax.CONF);
+  public static final int DEFAULT_MAX_VERSIONS = 5;
+
+  private final File storeDir;
+  private final File versionDir;
+
+  /**
+   * @param rootDir  - local directory shared by all the caches
+   * @param storeURI - URI of the {@link ConfigStore}
+   * @param version  - version of the {@link ConfigStore}
+   */
+  public CompiledConfigCache(File rootDir, URI storeURI, String version) {
+    this(rootDir, storeURI, version, DEFAULT_MAX_VERSIONS);
+  }
+
+  /**
+   * @param rootDir     - local directory shared by all the caches
+   * @param storeURI    - URI of the {@link ConfigStore}
+   * @param version     - version of the {@link ConfigStore}
+   * @param maxVersions - number of versions of the {@link ConfigStore} kept on disk, including this one
+   */
+  public CompiledConfigCache(File rootDir, URI storeURI, String version, int maxVersions) {
+    Preconditions.checkArgument(maxVersions > 0, "Number of cached versions must be positive");
+    this.storeDir = new File(rootDir, hash(storeURI.toString()));
+    this.versionDir = new File(this.storeDir, hash(version));
+    markUsed();
+    deleteOldVersions(maxVersions);
+  }
+
+  private void markUsed() {
+    try {
+      Files.createDirectories(this.versionDir.toPath());
+      if (!this.versionDir.setLastModified(System.currentTimeMillis())) {
+        LOG.warn("Failed to update the modification time of " + this.versionDir);
+      }
+    } catch (IOException e) {
+      LOG.warn("Failed to create compiled config cache directory " + this.versionDir, e);
+    }
+  }
+
+  /**
+   * Delete the files of the least recently used versions of the store, keeping {@code maxVersions} of them.
+   */
+  private void deleteOldVersions(int maxVersions) {
+    File[] versionDirs = this.storeDir.listFiles();
+    if (versionDirs == null || versionDirs.length <= maxVersions) {
+      return;
+    }
+
+    Arrays.sort(versionDirs, new Comparator<File>() {
+      @Override
+      public int compare(File f1, File f2) {
+        return Long.compare(f2.lastModified(), f1.lastModified());
+      }
+    });
+    int keptVersions = 1;
+    for (File dir : versionDirs) {
+      if (dir.equals(this.versionDir)) {
+        continue;
+      }
+      if (keptVersions < maxVersions) {
+        keptVersions++;
+        continue;
+      }
+      LOG.info("Deleting compiled config cache directory " + dir);
+      deleteDirectory(dir);
+    }
+  }
+
+  private static void deleteDirectory(File dir) {
+    File[] files = dir.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        if (!file.delete()) {
+          LOG.warn("Failed to delete compiled config " + file);
+        }
+      }
+    }
+    if (!dir.delete()) {
+      LOG.warn("Failed to delete compiled config cache directory " + dir);
+    }
+  }
+
+  /**
+   * @return the cached compiled {@link Config} for the input config key, or absent if it is not in the cache.
+   */
+  public Optional<Config> get(ConfigKeyPath configKey) {
+    File file = getFile(configKey);
+    if (!file.exists()) {
+      return Optional.absent();
+    }
+
+    try {
+      String rendered = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+      return Optional.of(ConfigFactory.parseString(rendered, PARSE_OPTIONS));
+    } catch (IOException | ConfigException e) {
+      LOG.warn("Ignoring unreadable compiled config " + file + " for " + configKey, e);
+      return Optional.absent();
+    }
+  }
+
+  /**
+   * Store the compiled {@link Config} of the input config key. Failures are logged and otherwise ignored.
+   */
+  public void put(ConfigKeyPath configKey, Config compiledConfig) {
+    File file = getFile(configKey);
+    File tmpFile = null;
+    try {
+      Files.createDirectories(this.versionDir.toPath());
+      tmpFile = File.createTempFile(file.getName(), ".tmp", this.versionDir);
+      String rendered = compiledConfig.root().render(ConfigRenderOptions.concise());
+      Files.write(tmpFile.toPath(), rendered.getBytes(StandardCharsets.UTF_8));
+      Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      LOG.warn("Failed to write compiled config for " + configKey + " to " + file, e);
+      if (tmpFile != null && !tmpFile.delete()) {
+        LOG.warn("Failed to delete temporary file " + tmpFile);
+      }
+    }
+  }
+
+  private File getFile(ConfigKeyPath configKey) {
+    return new File(this.versionDir, hash(configKey.getAbsolutePathString()) + FILE_EXTENSION);
+  }
+
+  private static String hash(String value) {
+    return Hashing.sha256().hashString(value, StandardCharsets.UTF_8).toString();
+  }
+}
@@ -17,36 +17,58 @@
 
 package org.apache.gobblin.config.common.impl;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Function;
 import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.Sets;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 
-import edu.umd.cs.findbugs.annotations.SuppressWarnings;
-
 import org.apache.gobblin.config.store.api.ConfigKeyPath;
 import org.apache.gobblin.config.store.api.ConfigStore;
 import org.apache.gobblin.config.store.api.ConfigStoreWithBatchFetches;
 import org.apache.gobblin.config.store.api.ConfigStoreWithResolution;
+import org.apache.gobblin.util.ExecutorsUtils;
 
 
 /**
  * ConfigStoreBackedValueInspector always query the underline {@link ConfigStore} to get the freshest
  * {@link com.typesafe.config.Config}
+ *
+ * <p>
+ *   If a {@link CompiledConfigCache} is provided, the compiled configs, i.e. the configs with all ancestors and imports
+ *   merged in but not resolved yet, are looked up in and stored into that cache.
+ * </p>
  * @author mitu
  *
  */
 public class ConfigStoreBackedValueInspector implements ConfigStoreValueInspector {
+  private static final Logger LOG = LoggerFactory.getLogger(ConfigStoreBackedValueInspector.class);
 
   private final ConfigStore cs;
   private final String version;
   private final ConfigStoreTopologyInspector topology;
+  private final Optional<CompiledConfigCache> compiledConfigCache;
+  private final int resolutionThreads;
 
   /**
    * @param cs       - internal {@link ConfigStore} to retrieve configuration
@@ -54,9 +76,25 @@ public class ConfigStoreBackedValueInspector implements ConfigStoreValueInspecto
    * @param topology - corresponding {@link ConfigStoreTopologyInspector} for the input {@link ConfigStore}
    */
   public ConfigStoreBackedValueInspector(ConfigStore cs, String version, ConfigStoreTopologyInspector topology) {
+    this(cs, version, topology, Optional.<CompiledConfigCache>absent(), 1);
+  }
+
+  /**
+   * @param cs                  - internal {@link ConfigStore} to retrieve configuration
+   * @param version             - version of the {@link ConfigStore}
+   * @param topology            - corresponding {@link ConfigStoreTopologyInspector} for the input {@link ConfigStore}
+   * @param compiledConfigCache - optional {@link CompiledConfigCache} for the version of the input {@link ConfigStore}
+   * @param resolutionThreads   - number of threads used by {@link #getResolvedConfigs(Collection)}, the
+   *                              {@link ConfigStoreTopologyInspector} must be thread safe if more than one
+   */
+  public ConfigStoreBackedValueInspector(ConfigStore cs, String version, ConfigStoreTopologyInspector topology,
+      Optional<CompiledConfigCache> compiledConfigCache, int resolutionThreads) {
+    Preconditions.checkArgument(resolutionThreads > 0, "Number of resolution threads must be positive");
     this.cs = cs;
     this.version = version;
     this.topology = topology;
+    this.compiledConfigCache = compiledConfigCache;
+    this.resolutionThreads = resolutionThreads;
   }
 
   public ConfigStore getConfigStore() {
@@ -103,13 +141,29 @@ public class ConfigStoreBackedValueInspector implements ConfigStoreValueInspecto
     return result;
   }
 
-  @SuppressWarnings
-  private Config getResolvedConfigRecursive(ConfigKeyPath configKey, Set<String> alreadyLoadedPaths) {
-    return getResolvedConfigRecursive(configKey, alreadyLoadedPaths, Optional.<Config>absent());
+  /**
+   * Get the compiled {@link Config} of the input config key, from the {@link CompiledConfigCache} if possible.
+   * A compiled config depends on the runtime config through the imports, so it is only cached without one.
+   */
+  private Config getCompiledConfig(ConfigKeyPath configKey, Optional<Config> runtimeConfig,
+      Function<ConfigKeyPath, Config> ownConfigLoader) {
+    if (!this.compiledConfigCache.isPresent() || runtimeConfig.isPresent()) {
+      return getResolvedConfigRecursive(configKey, Sets.<String>newHashSet(), runtimeConfig, ownConfigLoader);
+    }
+
+    Optional<Config> cachedConfig = this.compiledConfigCache.get().get(configKey);
+    if (cachedConfig.isPresent()) {
+      return cachedConfig.get();
+    }
+
+    Config compiledConfig =
+        getResolvedConfigRecursive(configKey, Sets.<String>newHashSet(), runtimeConfig, ownConfigLoader);
+    this.compiledConfigCache.get().put(configKey, compiledConfig);
+    return compiledConfig;
   }
 
   private Config getResolvedConfigRecursive(ConfigKeyPath configKey, Set<String> alreadyLoadedPaths,
-      Optional<Config> runtimeConfig) {
+      Optional<Config> runtimeConfig, Function<ConfigKeyPath, Config> ownConfigLoader) {
 
     if (this.cs instanceof ConfigStoreWithResolution) {
       return ((ConfigStoreWithResolution) this.cs).getResolvedConfig(configKey, this.version);
@@ -119,7 +173,7 @@ public class ConfigStoreBackedValueInspector implements ConfigStoreValueInspecto
       return ConfigFactory.empty();
     }
 
-    Config initialConfig = this.getOwnConfig(configKey);
+    Config initialConfig = ownConfigLoader.apply(configKey);
     if (configKey.isRootPath()) {
       return initialConfig;
     }
@@ -129,13 +183,15 @@ public class ConfigStoreBackedValueInspector implements ConfigStoreValueInspecto
     if (ownImports != null) {
       for (ConfigKeyPath p : ownImports) {
         initialConfig =
-            initialConfig.withFallback(this.getResolvedConfigRecursive(p, alreadyLoadedPaths, runtimeConfig));
+            initialConfig.withFallback(this.getResolvedConfigRecursive(p, alreadyLoadedPaths, runtimeConfig,
+                ownConfigLoader));
       }
     }
 
     // merge with configs from parent for Non root
     initialConfig = initialConfig
-        .withFallback(this.getResolvedConfigRecursive(configKey.getParent(), alreadyLoadedPaths, runtimeConfig));
+        .withFallback(this.getResolvedConfigRecursive(configKey.getParent(), alreadyLoadedPaths, runtimeConfig,
+            ownConfigLoader));
 
     return initialConfig;
   }
@@ -152,8 +208,17 @@ public class ConfigStoreBackedValueInspector implements ConfigStoreValueInspecto
    * </p>
    */
   public Config getResolvedConfig(ConfigKeyPath configKey, Optional<Config> runtimeConfig) {
-    return getResolvedConfigRecursive(configKey, Sets.<String>newHashSet(), runtimeConfig)
-        .withFallback(ConfigFactory.defaultOverrides()).withFallback(ConfigFactory.systemEnvironment()).resolve();
+    return resolve(getCompiledConfig(configKey, runtimeConfig, new Function<ConfigKeyPath, Config>() {
+      @Override
+      public Config apply(ConfigKeyPath input) {
+        return getOwnConfig(input);
+      }
+    }));
+  }
+
+  private static Config resolve(Config compiledConfig) {
+    return compiledConfig.withFallback(ConfigFactory.defaultOverrides())
+        .withFallback(ConfigFactory.systemEnvironment()).resolve();
   }
 
   @Override
@@ -165,24 +230,90 @@ public class ConfigStoreBackedValueInspector implements ConfigStoreValueInspecto
    * {@inheritDoc}.
    *
    * <p>
-   *   This implementation simply delegate the functionality to the internal {@link ConfigStore}/version
-   *   if the internal {@link ConfigStore} is {@link ConfigStoreWithBatchFetches}, otherwise, will call
-   *   configuration store for each config key path and put the result into {@link Map}
+   *   Config keys found in the {@link CompiledConfigCache} are resolved from it. The remaining ones are delegated to
+   *   the internal {@link ConfigStore}/version if the internal {@link ConfigStore} is {@link ConfigStoreWithBatchFetches},
+   *   otherwise they are resolved by up to {@link #resolutionThreads} threads. The own configs of the ancestors and
+   *   imports shared by the config keys are only fetched once per call. Batch fetched configs are already resolved,
+   *   so they are not stored in the {@link CompiledConfigCache}.
    * </p>
    */
   @Override
   public Map<ConfigKeyPath, Config> getResolvedConfigs(Collection<ConfigKeyPath> configKeys) {
+    Map<ConfigKeyPath, Config> result = new HashMap<>();
+    Collection<ConfigKeyPath> configKeysNotInCache = configKeys;
+
+    if (this.compiledConfigCache.isPresent()) {
+      configKeysNotInCache = new ArrayList<>();
+      for (ConfigKeyPath configKey : configKeys) {
+        Optional<Config> cachedConfig = this.compiledConfigCache.get().get(configKey);
+        if (cachedConfig.isPresent()) {
+          result.put(configKey, resolve(cachedConfig.get()));
+        } else {
+          configKeysNotInCache.add(configKey);
+        }
+      }
+    }
+
     if (this.cs instanceof ConfigStoreWithBatchFetches) {
-      ConfigStoreWithBatchFetches batchStore = (ConfigStoreWithBatchFetches) this.cs;
-      return batchStore.getResolvedConfigs(configKeys, this.version);
+      if (!configKeysNotInCache.isEmpty()) {
+        ConfigStoreWithBatchFetches batchStore = (ConfigStoreWithBatchFetches) this.cs;
+        result.putAll(batchStore.getResolvedConfigs(configKeysNotInCache, this.version));
+      }
+      return result;
     }
 
+    result.putAll(resolveConfigs(configKeysNotInCache));
+    return result;
+  }
+
+  private Map<ConfigKeyPath, Config> resolveConfigs(Collection<ConfigKeyPath> configKeys) {
+    final LoadingCache<ConfigKeyPath, Config> ownConfigs =
+        CacheBuilder.newBuilder().build(new CacheLoader<ConfigKeyPath, Config>() {
+          @Override
+          public Config load(ConfigKeyPath key) {
+            return getOwnConfig(key);
+          }
+        });
+    final Function<ConfigKeyPath, Config> ownConfigLoader = new Function<ConfigKeyPath, Config>() {
+      @Override
+      public Config apply(ConfigKeyPath input) {
+        return ownConfigs.getUnchecked(input);
+      }
+    };
+
     Map<ConfigKeyPath, Config> result = new HashMap<>();
-    for (ConfigKeyPath configKey : configKeys) {
-      result.put(configKey, this.getResolvedConfig(configKey));
+    if (this.resolutionThreads == 1 || configKeys.size() <= 1) {
+      for (ConfigKeyPath configKey : configKeys) {
+        result.put(configKey, resolve(getCompiledConfig(configKey, Optional.<Config>absent(), ownConfigLoader)));
+      }
+      return result;
     }
 
-    return result;
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.resolutionThreads, configKeys.size()),
+        ExecutorsUtils.newDaemonThreadFactory(Optional.of(LOG), Optional.of("ConfigResolver-%d")));
+    try {
+      Map<ConfigKeyPath, Future<Config>> futures = new HashMap<>();
+      for (final ConfigKeyPath configKey : configKeys) {
+        futures.put(configKey, executor.submit(new Callable<Config>() {
+          @Override
+          public Config call() {
+            return resolve(getCompiledConfig(configKey, Optional.<Config>absent(), ownConfigLoader));
+          }
+        }));
+      }
+      for (Map.Entry<ConfigKeyPath, Future<Config>> entry : futures.entrySet()) {
+        result.put(entry.getKey(), entry.getValue().get());
+      }
+      return result;
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while resolving configs", ie);
+    } catch (ExecutionException ee) {
+      LOG.error("Failed to resolve configs for store " + this.cs.getStoreURI(), ee.getCause());
+      throw Throwables.propagate(ee.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
   }
 
 }
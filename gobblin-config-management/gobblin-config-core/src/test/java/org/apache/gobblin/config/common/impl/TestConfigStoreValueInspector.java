@@ -17,17 +17,34 @@
 
 package org.apache.gobblin.config.common.impl;
 
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyCollectionOf;
+import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
+import java.net.URI;
+import java.util.Map;
+
+import org.apache.commons.io.FileUtils;
 import org.apache.gobblin.config.TestEnvironment;
 import org.apache.gobblin.config.store.api.ConfigKeyPath;
 import org.apache.gobblin.config.store.api.ConfigStore;
+import org.apache.gobblin.config.store.api.ConfigStoreWithBatchFetches;
 
 import org.mockito.Mockito;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.Files;
+import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 
 
@@ -83,4 +100,103 @@ public class TestConfigStoreValueInspector {
     Assert.assertEquals(valueInspector.getResolvedConfig(keyPathA_Slash_B).getString("key2"), "value1InB");
 
   }
+
+  @Test
+  public void testResolveConfigsWithCompiledConfigCache() throws Exception {
+    File cacheDir = Files.createTempDir();
+    try {
+      ConfigKeyPath keyPathA = SingleLinkedListConfigKeyPath.ROOT.createChild("a");
+      ConfigKeyPath keyPathA_Slash_B = keyPathA.createChild("b");
+      ConfigKeyPath keyPathA_Slash_C = keyPathA.createChild("c");
+
+      ConfigStore mockConfigStore = mock(ConfigStore.class, Mockito.RETURNS_SMART_NULLS);
+      when(mockConfigStore.getStoreURI()).thenReturn(new URI("mock:///store"));
+      when(mockConfigStore.getOwnConfig(keyPathA.getParent(), version)).thenReturn(ConfigFactory.empty());
+      when(mockConfigStore.getOwnConfig(keyPathA, version)).thenReturn(
+          ConfigFactory.parseString("key1 = value1InA \n key2 = ${key1}"));
+      when(mockConfigStore.getOwnConfig(keyPathA_Slash_B, version)).thenReturn(
+          ConfigFactory.parseString("key1 = value1InB"));
+      when(mockConfigStore.getOwnConfig(keyPathA_Slash_C, version)).thenReturn(ConfigFactory.empty());
+
+      ConfigStoreTopologyInspector mockTopology = mock(ConfigStoreTopologyInspector.class, Mockito.RETURNS_SMART_NULLS);
+      ConfigStoreBackedValueInspector valueInspector = new ConfigStoreBackedValueInspector(mockConfigStore, version,
+          mockTopology, Optional.of(new CompiledConfigCache(cacheDir, new URI("mock:///store"), version)), 2);
+
+      Map<ConfigKeyPath, Config> configs =
+          valueInspector.getResolvedConfigs(ImmutableList.of(keyPathA_Slash_B, keyPathA_Slash_C));
+      Assert.assertEquals(configs.get(keyPathA_Slash_B).getString("key2"), "value1InB");
+      Assert.assertEquals(configs.get(keyPathA_Slash_C).getString("key2"), "value1InA");
+      // The shared parent is only fetched once per batch
+      verify(mockConfigStore, times(1)).getOwnConfig(keyPathA, version);
+
+      // A new inspector on the same version reads the compiled configs from disk without touching the store
+      ConfigStore emptyConfigStore = mock(ConfigStore.class, Mockito.RETURNS_SMART_NULLS);
+      ConfigStoreBackedValueInspector cachedValueInspector = new ConfigStoreBackedValueInspector(emptyConfigStore,
+          version, mockTopology, Optional.of(new CompiledConfigCache(cacheDir, new URI("mock:///store"), version)), 1);
+
+      Assert.assertEquals(cachedValueInspector.getResolvedConfig(keyPathA_Slash_B).getString("key2"), "value1InB");
+      Assert.assertEquals(cachedValueInspector.getResolvedConfigs(ImmutableList.of(keyPathA_Slash_C))
+          .get(keyPathA_Slash_C).getString("key2"), "value1InA");
+      verify(emptyConfigStore, times(0)).getOwnConfig(keyPathA_Slash_B, version);
+    } finally {
+      FileUtils.deleteDirectory(cacheDir);
+    }
+  }
+
+  @Test
+  public void testBatchFetchesWithCompiledConfigCache() throws Exception {
+    File cacheDir = Files.createTempDir();
+    try {
+      ConfigKeyPath keyPathA = SingleLinkedListConfigKeyPath.ROOT.createChild("a");
+      ConfigKeyPath keyPathB = SingleLinkedListConfigKeyPath.ROOT.createChild("b");
+      CompiledConfigCache compiledConfigCache = new CompiledConfigCache(cacheDir, new URI("mock:///store"), version);
+      compiledConfigCache.put(keyPathA, ConfigFactory.parseString("key1 = value1InA \n key2 = ${key1}"));
+
+      ConfigStoreWithBatchFetches mockConfigStore = mock(ConfigStoreWithBatchFetches.class, Mockito.RETURNS_SMART_NULLS);
+      when(mockConfigStore.getResolvedConfigs(anyCollectionOf(ConfigKeyPath.class), eq(version))).thenReturn(
+          ImmutableMap.of(keyPathB, ConfigFactory.parseString("key1 = value1InB")));
+
+      ConfigStoreTopologyInspector mockTopology = mock(ConfigStoreTopologyInspector.class, Mockito.RETURNS_SMART_NULLS);
+      ConfigStoreBackedValueInspector valueInspector = new ConfigStoreBackedValueInspector(mockConfigStore, version,
+          mockTopology, Optional.of(compiledConfigCache), 1);
+
+      Map<ConfigKeyPath, Config> configs = valueInspector.getResolvedConfigs(ImmutableList.of(keyPathA, keyPathB));
+      // Cache hits are resolved, batch fetched configs are returned as is and not cached
+      Assert.assertEquals(configs.get(keyPathA).getString("key2"), "value1InA");
+      Assert.assertEquals(configs.get(keyPathB).getString("key1"), "value1InB");
+      Assert.assertFalse(compiledConfigCache.get(keyPathB).isPresent());
+      verify(mockConfigStore, times(1)).getResolvedConfigs(ImmutableList.of(keyPathB), version);
+      verify(mockConfigStore, never()).getOwnConfig(any(ConfigKeyPath.class), eq(version));
+    } finally {
+      FileUtils.deleteDirectory(cacheDir);
+    }
+  }
+
+  @Test
+  public void testCompiledConfigCacheDeletesOldVersions() throws Exception {
+    File cacheDir = Files.createTempDir();
+    try {
+      URI storeURI = new URI("mock:///store");
+      ConfigKeyPath keyPathA = SingleLinkedListConfigKeyPath.ROOT.createChild("a");
+      Config config = ConfigFactory.parseString("key1 = value1");
+
+      CompiledConfigCache version1 = new CompiledConfigCache(cacheDir, storeURI, "1", 2);
+      version1.put(keyPathA, config);
+      CompiledConfigCache version2 = new CompiledConfigCache(cacheDir, storeURI, "2", 2);
+      version2.put(keyPathA, config);
+      Assert.assertTrue(version1.get(keyPathA).isPresent());
+
+      // Make version 1 the least recently used one, so that it is deleted once a third version is cached
+      for (File versionDir : cacheDir.listFiles()[0].listFiles()) {
+        versionDir.setLastModified(System.currentTimeMillis() - 10000L);
+      }
+      new CompiledConfigCache(cacheDir, storeURI, "1", 2);
+      new CompiledConfigCache(cacheDir, storeURI, "3", 2);
+      Assert.assertEquals(cacheDir.listFiles()[0].listFiles().length, 2);
+      Assert.assertTrue(version1.get(keyPathA).isPresent());
+      Assert.assertFalse(version2.get(keyPathA).isPresent());
+    } finally {
+      FileUtils.deleteDirectory(cacheDir);
+    }
+  }
 }
@@ -30,6 +30,7 @@ import org.openjdk.jmh.annotations.Group;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -60,11 +61,15 @@ public class FineGrainedWatermarkTrackerBenchmark {
     private long _index;
     private final Random _random = new Random();
 
+    @Param({WatermarkTrackerFactory.DEQUE_TRACKER_TYPE, WatermarkTrackerFactory.OFFSET_TRACKER_TYPE})
+    public String _trackerType;
+
     @Setup
     public void setup() throws Exception {
       Properties properties = new Properties();
+      properties.setProperty(WatermarkTrackerFactory.FINE_GRAINED_TRACKER_TYPE, _trackerType);
       Config config = ConfigFactory.parseProperties(properties);
-      _watermarkTracker = new FineGrainedWatermarkTracker(config);
+      _watermarkTracker = WatermarkTrackerFactory.getFineGrainedInstance(config);
       _index = 0;
       _executorService = new ScheduledThreadPoolExecutor(40,
           ExecutorsUtils.newThreadFactory(Optional.of(LoggerFactory.getLogger(FineGrainedWatermarkTrackerBenchmark.class))));
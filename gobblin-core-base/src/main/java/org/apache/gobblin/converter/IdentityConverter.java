@@ -34,4 +34,9 @@ public class IdentityConverter<S, D> extends Converter<S, S, D, D> {
       throws DataConversionException {
     return new SingleRecordIterable<>(inputRecord);
   }
+
+  @Override
+  public boolean mutatesInputRecords() {
+    return false;
+  }
 }
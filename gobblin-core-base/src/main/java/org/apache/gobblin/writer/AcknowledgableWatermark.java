@@ -17,6 +17,7 @@
 package org.apache.gobblin.writer;
 
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import org.apache.gobblin.ack.Ackable;
 import org.apache.gobblin.source.extractor.CheckpointableWatermark;
@@ -27,8 +28,23 @@ import org.apache.gobblin.source.extractor.CheckpointableWatermark;
  */
 public class AcknowledgableWatermark implements Comparable<AcknowledgableWatermark>, Ackable {
 
+  private static final AtomicReferenceFieldUpdater<AcknowledgableWatermark, AckListener> LISTENER_UPDATER =
+      AtomicReferenceFieldUpdater.newUpdater(AcknowledgableWatermark.class, AckListener.class, "_listener");
+
   private final CheckpointableWatermark _checkpointableWatermark;
   private final AtomicInteger _acked;
+  private volatile AckListener _listener;
+  private long _sequence;
+
+  /**
+   * Notified when a tracked watermark is fully acknowledged.
+   */
+  interface AckListener {
+    /**
+     * @param sequence the sequence number given to the watermark when it started being tracked
+     */
+    void acked(long sequence);
+  }
 
   public AcknowledgableWatermark(CheckpointableWatermark watermark) {
     _acked = new AtomicInteger(1); // default number of acks needed is 1
@@ -41,6 +57,28 @@ public class AcknowledgableWatermark implements Comparable<AcknowledgableWaterma
     if (ackValue < 0) {
       throw new AssertionError("The acknowledgement counter for this watermark went negative. Please file a bug!");
     }
+    if (ackValue == 0) {
+      notifyListener();
+    }
+  }
+
+  /**
+   * Notify a listener once this watermark is fully acknowledged, or right away if it already is.
+   */
+  void setAckListener(AckListener listener, long sequence) {
+    _sequence = sequence;
+    _listener = listener;
+    if (isAcked()) {
+      notifyListener();
+    }
+  }
+
+  private void notifyListener() {
+    // Clearing the listener guarantees it is notified only once, even if ack races with setAckListener
+    AckListener listener = LISTENER_UPDATER.getAndSet(this, null);
+    if (listener != null) {
+      listener.acked(_sequence);
+    }
   }
 
   public AcknowledgableWatermark incrementAck() {
@@ -0,0 +1,435 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.writer;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedList;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codahale.metrics.Histogram;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Futures;
+import com.typesafe.config.Config;
+
+import org.apache.gobblin.annotation.Alpha;
+import org.apache.gobblin.instrumented.Instrumented;
+import org.apache.gobblin.metrics.MetricContext;
+import org.apache.gobblin.util.ConfigUtils;
+
+
+/**
+ * A {@link BatchAccumulator} that adapts its batch size and TTL to the observed latency of the sink.
+ *
+ * <p>
+ *   Records are accumulated in the same way as in {@link SequentialBasedBatchAccumulator}, but the size limit of new
+ *   batches follows an AIMD (additive increase, multiplicative decrease) policy: every time a batch is acknowledged
+ *   within {@link #TARGET_LATENCY_MS}, the size limit grows by {@link #SIZE_INCREMENT}; every time a batch fails or
+ *   takes longer than the target latency, the size limit is multiplied by {@link #DECREASE_FACTOR}. The size limit
+ *   always stays between {@link #MIN_BATCH_SIZE} and {@link #MAX_BATCH_SIZE}, and the TTL of new batches is scaled
+ *   with it, from {@link #MIN_BATCH_TTL} up to {@link Batch#BATCH_TTL}, so that small batches are not held back
+ *   waiting for records.
+ * </p>
+ *
+ * <p>
+ *   Up to {@link #MAX_IN_FLIGHT_BATCHES} batches can be sent without being acknowledged.
+ *   {@link #getNextAvailableBatch()} blocks while that many batches are in flight, and otherwise waits for the head
+ *   batch to be full or to expire instead of polling.
+ * </p>
+ *
+ * <p>
+ *   The size in bytes, number of records and latency of acknowledged batches are reported as histograms in the
+ *   {@link MetricContext} of this accumulator.
+ * </p>
+ */
+@Alpha
+public class AdaptiveBatchAccumulator<D> extends BatchAccumulator<D> {
+
+  public static final String PREFIX = "writer.batch.adaptive.";
+  public static final String ENABLED = PREFIX + "enabled";
+  public static final boolean ENABLED_DEFAULT = false;
+  public static final String MIN_BATCH_SIZE = PREFIX + "minSize";
+  public static final long MIN_BATCH_SIZE_DEFAULT = 16 * 1024; // 16KB
+  public static final String MAX_BATCH_SIZE = PREFIX + "maxSize";
+  public static final long MAX_BATCH_SIZE_DEFAULT = 4 * 1024 * 1024; // 4MB
+  public static final String MIN_BATCH_TTL = PREFIX + "minTtl";
+  public static final long MIN_BATCH_TTL_DEFAULT = 10;
+  public static final String TARGET_LATENCY_MS = PREFIX + "targetLatencyMs";
+  public static final long TARGET_LATENCY_MS_DEFAULT = 500;
+  public static final String SIZE_INCREMENT = PREFIX + "sizeIncrement";
+  public static final long SIZE_INCREMENT_DEFAULT = 16 * 1024; // 16KB
+  public static final String DECREASE_FACTOR = PREFIX + "decreaseFactor";
+  public static final double DECREASE_FACTOR_DEFAULT = 0.5;
+  public static final String MAX_IN_FLIGHT_BATCHES = PREFIX + "maxInFlightBatches";
+  public static final int MAX_IN_FLIGHT_BATCHES_DEFAULT = 4;
+
+  public static final String BATCH_SIZE_HISTOGRAM = "gobblin.writer.batch.sizeInBytes";
+  public static final String BATCH_RECORDS_HISTOGRAM = "gobblin.writer.batch.records";
+  public static final String BATCH_LATENCY_HISTOGRAM = "gobblin.writer.batch.latencyMillis";
+
+  private static final Logger LOG = LoggerFactory.getLogger(AdaptiveBatchAccumulator.class);
+  private static final LargeMessagePolicy DEFAULT_LARGE_MESSAGE_POLICY = LargeMessagePolicy.FAIL;
+  private static final double TOLERANCE = 0.95;
+
+  private final long minBatchSize;
+  private final long maxBatchSize;
+  private final long minTtl;
+  private final long maxTtl;
+  private final long targetLatencyMillis;
+  private final long sizeIncrement;
+  private final double decreaseFactor;
+  private final int maxInFlightBatches;
+  private final long capacity;
+  private final LargeMessagePolicy largeMessagePolicy;
+
+  private final Deque<AdaptiveBatch> dq = new LinkedList<>();
+  private final Set<AdaptiveBatch> incomplete = ConcurrentHashMap.newKeySet();
+  private final ReentrantLock dqLock = new ReentrantLock();
+  private final Condition notEmpty = this.dqLock.newCondition();
+  private final Condition notFull = this.dqLock.newCondition();
+  private final Condition notBusy = this.dqLock.newCondition();
+  private int inFlightBatches = 0;
+  private volatile long batchSizeLimit;
+
+  private final MetricContext metricContext;
+  private final Histogram batchSizeHistogram;
+  private final Histogram batchRecordsHistogram;
+  private final Histogram batchLatencyHistogram;
+
+  public AdaptiveBatchAccumulator(Properties properties) {
+    this(ConfigUtils.propertiesToConfig(properties));
+  }
+
+  public AdaptiveBatchAccumulator(Config config) {
+    this(config, DEFAULT_LARGE_MESSAGE_POLICY);
+  }
+
+  public AdaptiveBatchAccumulator(Config config, LargeMessagePolicy largeMessagePolicy) {
+    this.minBatchSize = ConfigUtils.getLong(config, MIN_BATCH_SIZE, MIN_BATCH_SIZE_DEFAULT);
+    this.maxBatchSize = ConfigUtils.getLong(config, MAX_BATCH_SIZE, MAX_BATCH_SIZE_DEFAULT);
+    this.minTtl = ConfigUtils.getLong(config, MIN_BATCH_TTL, MIN_BATCH_TTL_DEFAULT);
+    this.maxTtl = ConfigUtils.getLong(config, Batch.BATCH_TTL, Batch.BATCH_TTL_DEFAULT);
+    this.targetLatencyMillis = ConfigUtils.getLong(config, TARGET_LATENCY_MS, TARGET_LATENCY_MS_DEFAULT);
+    this.sizeIncrement = ConfigUtils.getLong(config, SIZE_INCREMENT, SIZE_INCREMENT_DEFAULT);
+    this.decreaseFactor = ConfigUtils.getDouble(config, DECREASE_FACTOR, DECREASE_FACTOR_DEFAULT);
+    this.maxInFlightBatches = ConfigUtils.getInt(config, MAX_IN_FLIGHT_BATCHES, MAX_IN_FLIGHT_BATCHES_DEFAULT);
+    this.capacity = ConfigUtils.getLong(config, Batch.BATCH_QUEUE_CAPACITY, Batch.BATCH_QUEUE_CAPACITY_DEFAULT);
+    this.largeMessagePolicy = largeMessagePolicy;
+
+    Preconditions.checkArgument(this.minBatchSize > 0 && this.minBatchSize <= this.maxBatchSize,
+        "Invalid batch size range [%s, %s]", this.minBatchSize, this.maxBatchSize);
+    Preconditions.checkArgument(this.minTtl <= this.maxTtl, "Invalid batch ttl range [%s, %s]", this.minTtl,
+        this.maxTtl);
+    Preconditions.checkArgument(this.decreaseFactor > 0 && this.decreaseFactor < 1,
+        "Decrease factor must be between 0 and 1");
+    Preconditions.checkArgument(this.maxInFlightBatches > 0, "Maximum number of in flight batches must be positive");
+
+    this.batchSizeLimit = Math.max(this.minBatchSize,
+        Math.min(this.maxBatchSize, ConfigUtils.getLong(config, Batch.BATCH_SIZE, Batch.BATCH_SIZE_DEFAULT)));
+
+    this.metricContext = Instrumented.getMetricContext(ConfigUtils.configToState(config), this.getClass());
+    this.batchSizeHistogram = this.metricContext.histogram(BATCH_SIZE_HISTOGRAM);
+    this.batchRecordsHistogram = this.metricContext.histogram(BATCH_RECORDS_HISTOGRAM);
+    this.batchLatencyHistogram = this.metricContext.histogram(BATCH_LATENCY_HISTOGRAM);
+  }
+
+  /**
+   * @return the size limit in bytes of new batches.
+   */
+  public long getBatchSizeLimit() {
+    return this.batchSizeLimit;
+  }
+
+  /**
+   * @return the TTL in milliseconds of new batches.
+   */
+  public long getBatchTtl() {
+    return getBatchTtl(this.batchSizeLimit);
+  }
+
+  private long getBatchTtl(long sizeLimit) {
+    return Math.max(this.minTtl, (long) ((double) this.maxTtl * sizeLimit / this.maxBatchSize));
+  }
+
+  public long getNumOfBatches() {
+    this.dqLock.lock();
+    try {
+      return this.dq.size();
+    } finally {
+      this.dqLock.unlock();
+    }
+  }
+
+  @VisibleForTesting
+  int getNumOfInFlightBatches() {
+    this.dqLock.lock();
+    try {
+      return this.inFlightBatches;
+    } finally {
+      this.dqLock.unlock();
+    }
+  }
+
+  public MetricContext getMetricContext() {
+    return this.metricContext;
+  }
+
+  /**
+   * Add a data to internal deque data structure
+   */
+  @Override
+  public final Future<RecordMetadata> enqueue(D record, WriteCallback callback) throws InterruptedException {
+    final ReentrantLock lock = this.dqLock;
+    lock.lock();
+    try {
+      AdaptiveBatch last = this.dq.peekLast();
+      if (last != null) {
+        Future<RecordMetadata> future = null;
+        try {
+          future = last.tryAppend(record, callback, this.largeMessagePolicy);
+        } catch (RecordTooLargeException e) {
+          // Ok if the record was too large for the current batch
+        }
+        if (future != null) {
+          if (!last.hasRoomForMore()) {
+            // The batch is full, no need to wait for its TTL before sending it
+            this.notEmpty.signal();
+          }
+          return future;
+        }
+      }
+
+      // Create a new batch because previous one has no space
+      long sizeLimit = this.batchSizeLimit;
+      AdaptiveBatch batch = new AdaptiveBatch((long) (TOLERANCE * sizeLimit), getBatchTtl(sizeLimit));
+      LOG.debug("Batch " + batch.getId() + " is generated with size limit " + sizeLimit);
+      Future<RecordMetadata> future = null;
+      try {
+        future = batch.tryAppend(record, callback, this.largeMessagePolicy);
+      } catch (RecordTooLargeException e) {
+        // If a new batch also wasn't able to accomodate the new message
+        throw new RuntimeException("Failed due to a message that was too large", e);
+      }
+
+      // The future might be null, since the largeMessagePolicy might be set to DROP
+      if (future == null) {
+        LOG.error("Batch " + batch.getId() + " is silently marked as complete, dropping a huge record: " + record);
+        future = Futures.immediateFuture(new RecordMetadata(0));
+        callback.onSuccess(WriteResponse.EMPTY);
+        return future;
+      }
+
+      // if queue is full, we should not add more
+      while (this.dq.size() >= this.capacity) {
+        LOG.debug("Accumulator size {} is greater than capacity {}, waiting", this.dq.size(), this.capacity);
+        this.notFull.await();
+      }
+      this.dq.addLast(batch);
+      this.incomplete.add(batch);
+      this.notEmpty.signal();
+      return future;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * If accumulator has been closed, remove and return the first batch if available, or return null if the queue is
+   * empty. If accumulator has not been closed, block until a batch is available, then remove and return it if there
+   * are other batches behind it, if it is full or if its TTL has expired, otherwise return null once the TTL expires.
+   *
+   * In both cases, block first while {@link #MAX_IN_FLIGHT_BATCHES} batches are waiting to be acknowledged.
+   */
+  @Override
+  public Batch<D> getNextAvailableBatch() {
+    final ReentrantLock lock = this.dqLock;
+    lock.lock();
+    try {
+      while (this.inFlightBatches >= this.maxInFlightBatches) {
+        LOG.debug("{} batches are in flight, waiting", this.inFlightBatches);
+        this.notBusy.await();
+      }
+
+      if (isClosed()) {
+        return dispatch(this.dq.poll());
+      }
+
+      while (this.dq.isEmpty()) {
+        LOG.debug("ready to sleep because of queue is empty");
+        this.notEmpty.await();
+        if (isClosed()) {
+          return dispatch(this.dq.poll());
+        }
+      }
+
+      AdaptiveBatch first = this.dq.peekFirst();
+      if (this.dq.size() == 1 && first.hasRoomForMore()) {
+        long remainingMillis = first.getRemainingTtl();
+        if (remainingMillis > 0) {
+          // Wait for the batch to expire, to fill up or for the accumulator to be closed
+          this.notEmpty.await(remainingMillis, TimeUnit.MILLISECONDS);
+          if (!isClosed() && this.dq.size() == 1 && first.hasRoomForMore() && first.getRemainingTtl() > 0) {
+            return null;
+          }
+        }
+      }
+      return dispatch(this.dq.poll());
+    } catch (InterruptedException e) {
+      LOG.error("Wait for next batch is interrupted. " + e.toString());
+      Thread.currentThread().interrupt();
+    } finally {
+      lock.unlock();
+    }
+
+    return null;
+  }
+
+  /**
+   * Mark a batch removed from the queue as in flight. Must be called while holding {@link #dqLock}.
+   */
+  private AdaptiveBatch dispatch(AdaptiveBatch batch) {
+    if (batch != null) {
+      LOG.debug("retrieve batch " + batch.getId());
+      batch.dispatchTime = System.nanoTime();
+      this.inFlightBatches++;
+      this.notFull.signal();
+    }
+    return batch;
+  }
+
+  @Override
+  public void close() {
+    super.close();
+    this.dqLock.lock();
+    try {
+      this.notEmpty.signalAll();
+    } finally {
+      this.dqLock.unlock();
+    }
+    try {
+      this.metricContext.close();
+    } catch (IOException e) {
+      LOG.warn("Failed to close metric context", e);
+    }
+  }
+
+  /**
+   * This will block until all the incomplete batches are acknowledged
+   */
+  @Override
+  public void flush() {
+    try {
+      ArrayList<AdaptiveBatch> batches = new ArrayList<>(this.incomplete);
+      LOG.debug("Flush called on {} batches", batches.size());
+      for (Batch batch : batches) {
+        batch.await();
+      }
+    } catch (InterruptedException e) {
+      LOG.error("Error happened while flushing batches");
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Once batch is acknowledged, remove it from incomplete list and adapt the size of new batches to its latency
+   */
+  @Override
+  public void deallocate(Batch<D> batch) {
+    AdaptiveBatch adaptiveBatch = (AdaptiveBatch) batch;
+    if (!this.incomplete.remove(adaptiveBatch)) {
+      throw new IllegalStateException("Remove from the incomplete set failed. This should be impossible.");
+    }
+
+    long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - adaptiveBatch.dispatchTime);
+    this.batchSizeHistogram.update(adaptiveBatch.getCurrentSizeInByte());
+    this.batchRecordsHistogram.update(adaptiveBatch.getRecords().size());
+    this.batchLatencyHistogram.update(latencyMillis);
+
+    this.dqLock.lock();
+    try {
+      this.inFlightBatches--;
+      this.notBusy.signal();
+      adapt(latencyMillis, adaptiveBatch.failed);
+    } finally {
+      this.dqLock.unlock();
+    }
+  }
+
+  /**
+   * Adjust the size limit of new batches given the outcome of a batch.
+   */
+  @VisibleForTesting
+  void adapt(long latencyMillis, boolean failed) {
+    long newLimit;
+    if (failed || latencyMillis > this.targetLatencyMillis) {
+      newLimit = Math.max(this.minBatchSize, (long) (this.batchSizeLimit * this.decreaseFactor));
+    } else {
+      newLimit = Math.min(this.maxBatchSize, this.batchSizeLimit + this.sizeIncrement);
+    }
+    if (newLimit != this.batchSizeLimit) {
+      LOG.debug("Batch size limit changed from {} to {} after a batch {} in {} ms", this.batchSizeLimit, newLimit,
+          failed ? "failure" : "success", latencyMillis);
+      this.batchSizeLimit = newLimit;
+    }
+  }
+
+  /**
+   * A {@link BytesBoundedBatch} that records when it was sent and whether it failed.
+   */
+  private class AdaptiveBatch extends BytesBoundedBatch<D> {
+    private final long creationTime = System.currentTimeMillis();
+    private final long memSizeLimit;
+    private final long ttlInMilliSeconds;
+    private volatile long dispatchTime;
+    private volatile boolean failed = false;
+
+    private AdaptiveBatch(long memSizeLimit, long ttlInMilliSeconds) {
+      super(memSizeLimit, ttlInMilliSeconds);
+      this.memSizeLimit = memSizeLimit;
+      this.ttlInMilliSeconds = ttlInMilliSeconds;
+    }
+
+    private long getRemainingTtl() {
+      return this.ttlInMilliSeconds - (System.currentTimeMillis() - this.creationTime);
+    }
+
+    /**
+     * @return false if no more records can be expected to fit in this batch.
+     */
+    private boolean hasRoomForMore() {
+      return getCurrentSizeInByte() + BytesBoundedBatch.OVERHEAD_SIZE_IN_BYTES < this.memSizeLimit;
+    }
+
+    @Override
+    public void onFailure(Throwable throwable) {
+      this.failed = true;
+      super.onFailure(throwable);
+    }
+  }
+}
@@ -18,6 +18,7 @@ package org.apache.gobblin.writer;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -29,8 +30,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.Timer;
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Throwables;
@@ -68,7 +71,13 @@ import org.apache.gobblin.util.FinalState;
  * 4. Support a fixed number of retries on failure of individual records (TODO: retry strategies)
  * 5. Support a max number of outstanding / unacknowledged writes
  * 6. TODO: Support ordered / unordered write semantics
+ * 7. Optionally stripe records across several underlying writers by a key derived from each record
  *
+ * In striped mode, every record is dispatched to the writer whose index is the hash of its stripe key modulo the
+ * number of writers, so records with the same key are written in order by the same writer. Each stripe has its own
+ * share of the outstanding write permits, its own retry queue and its own success / failure meters. Records are
+ * acked individually whichever stripe writes them, so a {@link FineGrainedWatermarkTracker} tracking the acks of
+ * the written records only commits watermarks of records that every stripe has written.
  *
  */
 public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWriter<D>, Instrumentable, Closeable, FinalState {
@@ -80,6 +89,7 @@ public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWrite
   public static final int NUM_RETRIES_DEFAULT = 5;
   public static final int MIN_RETRY_INTERVAL_MILLIS_DEFAULT = 3;
   public static final int MAX_OUTSTANDING_WRITES_DEFAULT = 1000;
+  public static final String STRIPE_METRIC_SUFFIX = "stripe";
 
   private final boolean instrumentationEnabled;
 
@@ -101,15 +111,18 @@ public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWrite
   private final long commitTimeoutMillis;
   private final long commitStepWaitTimeMillis;
   private final double failureAllowanceRatio;
-  private final AsyncDataWriter asyncDataWriter;
+  private final List<Stripe> stripes;
+  private final Function<? super D, ?> stripeKeyFunction;
   private final int numRetries;
   private final int minRetryIntervalMillis;
   private final Optional<ScheduledThreadPoolExecutor> retryThreadPool;
   private final Logger log;
+  /**
+   * The retry queue of the first stripe, which is the only stripe unless striping is enabled.
+   */
   @VisibleForTesting
   final Optional<LinkedBlockingQueue<Attempt>> retryQueue;
   private final int maxOutstandingWrites;
-  private final Semaphore writePermits;
   private volatile Throwable cachedWriteException = null;
 
   @Override
@@ -124,6 +137,7 @@ public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWrite
   class Attempt {
     private final D record;
     private final Ackable ackable;
+    private final Stripe stripe;
     private int attemptNum;
     @Setter
     private Throwable prevAttemptFailure; // Any failure
@@ -134,15 +148,43 @@ public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWrite
       ++this.attemptNum;
     }
 
-    Attempt(D record, Ackable ackable) {
+    Attempt(D record, Ackable ackable, Stripe stripe) {
       this.record = record;
       this.ackable = ackable;
+      this.stripe = stripe;
       this.attemptNum = 1;
       this.prevAttemptFailure = null;
       this.prevAttemptTimestampNanos = -1;
     }
   }
 
+  /**
+   * One of the underlying {@link AsyncDataWriter}s, with its own write permits, retry queue and metrics.
+   */
+  class Stripe {
+    private final int index;
+    private final AsyncDataWriter asyncDataWriter;
+    private final Semaphore writePermits;
+    private final Optional<LinkedBlockingQueue<Attempt>> retryQueue;
+    private Optional<Meter> recordsSuccess = Optional.absent();
+    private Optional<Meter> recordsFailed = Optional.absent();
+
+    Stripe(int index, AsyncDataWriter asyncDataWriter, int maxOutstandingWrites, boolean retriesEnabled) {
+      this.index = index;
+      this.asyncDataWriter = asyncDataWriter;
+      this.writePermits = new Semaphore(maxOutstandingWrites);
+      this.retryQueue = retriesEnabled ? Optional.of(new LinkedBlockingQueue<Attempt>())
+          : Optional.<LinkedBlockingQueue<Attempt>>absent();
+    }
+
+    private void regenerateMetrics(MetricContext metricContext) {
+      this.recordsSuccess = Optional.of(metricContext.meter(MetricRegistry
+          .name(MetricNames.DataWriterMetrics.SUCCESSFUL_WRITES_METER, STRIPE_METRIC_SUFFIX + this.index)));
+      this.recordsFailed = Optional.of(metricContext.meter(MetricRegistry
+          .name(MetricNames.DataWriterMetrics.FAILED_WRITES_METER, STRIPE_METRIC_SUFFIX + this.index)));
+    }
+  }
+
   @Override
   public void switchMetricContext(List<Tag<?>> tags) {
     this.metricContext = this.closer
@@ -200,11 +242,34 @@ public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWrite
     } else {
       this.dataWriterTimer = Optional.absent();
     }
+
+    // Per stripe metrics are only useful when there is more than one stripe
+    if (this.stripes != null && this.stripes.size() > 1) {
+      for (Stripe stripe : this.stripes) {
+        stripe.regenerateMetrics(this.metricContext);
+      }
+    }
   }
 
   protected AsyncWriterManager(Config config, long commitTimeoutMillis, long commitStepWaitTimeMillis,
       double failureAllowanceRatio, boolean retriesEnabled, int numRetries, int minRetryIntervalMillis,
       int maxOutstandingWrites, AsyncDataWriter asyncDataWriter, Optional<Logger> loggerOptional) {
+    this(config, commitTimeoutMillis, commitStepWaitTimeMillis, failureAllowanceRatio, retriesEnabled, numRetries,
+        minRetryIntervalMillis, maxOutstandingWrites, Collections.singletonList(asyncDataWriter), null,
+        loggerOptional);
+  }
+
+  /**
+   * Create a manager that stripes records across several {@link AsyncDataWriter}s.
+   * @param asyncDataWriters the underlying writers, one per stripe
+   * @param stripeKeyFunction derives the stripe key of a record, required if there is more than one writer
+   * @param maxOutstandingWrites the maximum number of outstanding writes across all stripes, which is evenly
+   *                             divided between the stripes
+   */
+  protected AsyncWriterManager(Config config, long commitTimeoutMillis, long commitStepWaitTimeMillis,
+      double failureAllowanceRatio, boolean retriesEnabled, int numRetries, int minRetryIntervalMillis,
+      int maxOutstandingWrites, List<? extends AsyncDataWriter> asyncDataWriters,
+      Function<? super D, ?> stripeKeyFunction, Optional<Logger> loggerOptional) {
     Preconditions.checkArgument(commitTimeoutMillis > 0, "Commit timeout must be greater than 0");
     Preconditions.checkArgument(commitStepWaitTimeMillis > 0, "Commit step wait time must be greater than 0");
     Preconditions.checkArgument(commitStepWaitTimeMillis < commitTimeoutMillis, "Commit step wait time must be less "
@@ -212,13 +277,28 @@ public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWrite
     Preconditions.checkArgument((failureAllowanceRatio <= 1.0 && failureAllowanceRatio >= 0),
         "Failure Allowance must be a ratio between 0 and 1");
     Preconditions.checkArgument(maxOutstandingWrites > 0, "Max outstanding writes must be greater than 0");
-    Preconditions.checkNotNull(asyncDataWriter, "Async Data Writer cannot be null");
+    Preconditions.checkArgument(asyncDataWriters != null && !asyncDataWriters.isEmpty(),
+        "Async Data Writer cannot be null");
+    Preconditions.checkArgument(asyncDataWriters.size() == 1 || stripeKeyFunction != null,
+        "A stripe key function is required with more than one Async Data Writer");
 
     this.log = loggerOptional.isPresent()? loggerOptional.get() : LoggerFactory.getLogger(AsyncWriterManager.class);
     this.closer = Closer.create();
     State state = ConfigUtils.configToState(config);
     this.instrumentationEnabled = GobblinMetrics.isEnabled(state);
-    this.metricContext = this.closer.register(Instrumented.getMetricContext(state, asyncDataWriter.getClass()));
+    this.metricContext =
+        this.closer.register(Instrumented.getMetricContext(state, asyncDataWriters.get(0).getClass()));
+
+    int maxOutstandingWritesPerStripe =
+        (maxOutstandingWrites + asyncDataWriters.size() - 1) / asyncDataWriters.size();
+    List<Stripe> stripeList = Lists.newArrayListWithCapacity(asyncDataWriters.size());
+    for (AsyncDataWriter asyncDataWriter : asyncDataWriters) {
+      Preconditions.checkNotNull(asyncDataWriter, "Async Data Writer cannot be null");
+      stripeList.add(new Stripe(stripeList.size(), asyncDataWriter, maxOutstandingWritesPerStripe, retriesEnabled));
+    }
+    this.stripes = Collections.unmodifiableList(stripeList);
+    this.stripeKeyFunction = stripeKeyFunction;
+    this.retryQueue = this.stripes.get(0).retryQueue;
 
     regenerateMetrics();
 
@@ -228,19 +308,19 @@ public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWrite
     this.minRetryIntervalMillis = minRetryIntervalMillis;
     if (retriesEnabled) {
       this.numRetries = numRetries;
-      this.retryQueue = Optional.of(new LinkedBlockingQueue<Attempt>());
-      this.retryThreadPool = Optional.of(new ScheduledThreadPoolExecutor(1,
+      this.retryThreadPool = Optional.of(new ScheduledThreadPoolExecutor(this.stripes.size(),
           ExecutorsUtils.newDaemonThreadFactory(Optional.of(this.log), Optional.of("AsyncWriteManagerRetry-%d"))));
-      this.retryThreadPool.get().execute(new RetryRunner());
+      for (Stripe stripe : this.stripes) {
+        this.retryThreadPool.get().execute(new RetryRunner(stripe));
+      }
     } else {
       this.numRetries = 0;
-      this.retryQueue = Optional.absent();
       this.retryThreadPool = Optional.absent();
     }
     this.maxOutstandingWrites = maxOutstandingWrites;
-    this.writePermits = new Semaphore(maxOutstandingWrites);
-    this.asyncDataWriter = asyncDataWriter;
-    this.closer.register(asyncDataWriter);
+    for (Stripe stripe : this.stripes) {
+      this.closer.register(stripe.asyncDataWriter);
+    }
   }
 
   @Override
@@ -259,21 +339,33 @@ public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWrite
   private void write(final D record, Ackable ackable)
       throws IOException {
     maybeThrow();
+    Stripe stripe = getStripe(record);
     int spinNum = 0;
     try {
-      while (!this.writePermits.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+      while (!stripe.writePermits.tryAcquire(100, TimeUnit.MILLISECONDS)) {
         ++spinNum;
         if (spinNum % 50 == 0) {
           log.info("Spinning due to pending writes, in = " + this.recordsIn.getCount() +
               ", success = " + this.recordsSuccess.getCount() + ", failed = " + this.recordsFailed.getCount() +
-              ", maxOutstandingWrites = " + this.maxOutstandingWrites);
+              ", maxOutstandingWrites = " + this.maxOutstandingWrites + ", stripe = " + stripe.index);
         }
       }
     } catch (InterruptedException e) {
       Throwables.propagate(e);
     }
     this.recordsIn.mark();
-    attemptWrite(new Attempt(record, ackable));
+    attemptWrite(new Attempt(record, ackable, stripe));
+  }
+
+  /**
+   * @return the stripe writing the given record.
+   */
+  private Stripe getStripe(D record) {
+    if (this.stripes.size() == 1) {
+      return this.stripes.get(0);
+    }
+    Object key = this.stripeKeyFunction.apply(record);
+    return this.stripes.get(Math.floorMod(key == null ? 0 : key.hashCode(), this.stripes.size()));
   }
 
 
@@ -303,13 +395,16 @@ public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWrite
   private void attemptWrite(final Attempt attempt) {
     this.recordsAttempted.mark();
     attempt.setPrevAttemptTimestampNanos(System.nanoTime());
-    this.asyncDataWriter.write(attempt.record, new WriteCallback<Object>() {
+    attempt.stripe.asyncDataWriter.write(attempt.record, new WriteCallback<Object>() {
 
       @Override
       public void onSuccess(WriteResponse writeResponse) {
         try {
           attempt.ackable.ack();
           AsyncWriterManager.this.recordsSuccess.mark();
+          if (attempt.stripe.recordsSuccess.isPresent()) {
+            attempt.stripe.recordsSuccess.get().mark();
+          }
           if (writeResponse.bytesWritten() > 0) {
             AsyncWriterManager.this.bytesWritten.mark(writeResponse.bytesWritten());
           }
@@ -318,7 +413,7 @@ public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWrite
                 .update(System.nanoTime() - attempt.getPrevAttemptTimestampNanos(), TimeUnit.NANOSECONDS);
           }
         } finally {
-          AsyncWriterManager.this.writePermits.release();
+          attempt.stripe.writePermits.release();
         }
       }
 
@@ -334,10 +429,13 @@ public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWrite
               attempt.getRecord().toString());
           attempt.incAttempt();
           attempt.setPrevAttemptFailure(throwable);
-          AsyncWriterManager.this.retryQueue.get().add(attempt);
+          attempt.stripe.retryQueue.get().add(attempt);
         } else {
           try {
             AsyncWriterManager.this.recordsFailed.mark();
+            if (attempt.stripe.recordsFailed.isPresent()) {
+              attempt.stripe.recordsFailed.get().mark();
+            }
             log.debug("Failed to write record : {}", attempt.getRecord().toString(), throwable);
             // If this failure is fatal, set the writer to throw an exception at this point
             if (isFailureFatal()) {
@@ -347,7 +445,7 @@ public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWrite
               attempt.ackable.ack();
             }
           } finally {
-            AsyncWriterManager.this.writePermits.release();
+            attempt.stripe.writePermits.release();
           }
         }
       }
@@ -359,10 +457,9 @@ public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWrite
     private final LinkedBlockingQueue<Attempt> retryQueue;
     private final long minRetryIntervalNanos;
 
-    public RetryRunner() {
-      Preconditions
-          .checkArgument(AsyncWriterManager.this.retryQueue.isPresent(), "RetryQueue must be present for RetryRunner");
-      this.retryQueue = AsyncWriterManager.this.retryQueue.get();
+    public RetryRunner(Stripe stripe) {
+      Preconditions.checkArgument(stripe.retryQueue.isPresent(), "RetryQueue must be present for RetryRunner");
+      this.retryQueue = stripe.retryQueue.get();
       this.minRetryIntervalNanos =
           AsyncWriterManager.this.minRetryIntervalMillis * MILLIS_TO_NANOS; // 3 milliseconds in nanos
     }
@@ -434,7 +531,7 @@ public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWrite
     log.info("Commit called, will wait for commitTimeout : {} ms", this.commitTimeoutMillis);
     long commitTimeoutNanos = commitTimeoutMillis * MILLIS_TO_NANOS;
     long commitStartTime = System.nanoTime();
-    this.asyncDataWriter.flush();
+    flushStripes();
     while (((System.nanoTime() - commitStartTime) < commitTimeoutNanos) && (this.recordsIn.getCount() != (
         this.recordsSuccess.getCount() + this.recordsFailed.getCount()))) {
       log.debug("Commit waiting... records produced: {}, written: {}, failed: {}", this.recordsIn.getCount(),
@@ -480,7 +577,13 @@ public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWrite
    */
   @Override
   public void flush() throws IOException {
-    this.asyncDataWriter.flush();
+    flushStripes();
+  }
+
+  private void flushStripes() throws IOException {
+    for (Stripe stripe : this.stripes) {
+      stripe.asyncDataWriter.flush();
+    }
   }
 
   public static AsyncWriterManagerBuilder builder() {
@@ -496,6 +599,8 @@ public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWrite
     private int numRetries = NUM_RETRIES_DEFAULT;
     private int maxOutstandingWrites = MAX_OUTSTANDING_WRITES_DEFAULT;
     private AsyncDataWriter asyncDataWriter;
+    private List<AsyncDataWriter> asyncDataWriters;
+    private Function<Object, ?> stripeKeyFunction;
     private Optional<Logger> logger = Optional.absent();
 
     public AsyncWriterManagerBuilder config(Config config) {
@@ -525,6 +630,20 @@ public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWrite
       return this;
     }
 
+    /**
+     * Stripe records across several {@link AsyncDataWriter}s by the key returned by the stripe key function.
+     * Takes precedence over {@link #asyncDataWriter(AsyncDataWriter)}.
+     */
+    public AsyncWriterManagerBuilder asyncDataWriters(List<AsyncDataWriter> asyncDataWriters) {
+      this.asyncDataWriters = asyncDataWriters;
+      return this;
+    }
+
+    public AsyncWriterManagerBuilder stripeKeyFunction(Function<Object, ?> stripeKeyFunction) {
+      this.stripeKeyFunction = stripeKeyFunction;
+      return this;
+    }
+
     public AsyncWriterManagerBuilder retriesEnabled(boolean retriesEnabled) {
       this.retriesEnabled = retriesEnabled;
       return this;
@@ -546,10 +665,12 @@ public class AsyncWriterManager<D> implements WatermarkAwareWriter<D>, DataWrite
     }
 
     public AsyncWriterManager build() {
+      List<AsyncDataWriter> writers = this.asyncDataWriters != null ? this.asyncDataWriters
+          : Collections.singletonList(this.asyncDataWriter);
       return new AsyncWriterManager(this.config, this.commitTimeoutMillis, this.commitStepWaitTimeMillis,
           this.failureAllowanceRatio, this.retriesEnabled, this.numRetries, MIN_RETRY_INTERVAL_MILLIS_DEFAULT,
           // TODO: Make this configurable
-          this.maxOutstandingWrites, this.asyncDataWriter, this.logger);
+          this.maxOutstandingWrites, writers, this.stripeKeyFunction, this.logger);
     }
   }
 }
@@ -67,8 +67,8 @@ public class FineGrainedWatermarkTracker implements Instrumentable, Closeable {
   public static final Long WATERMARK_TRACKER_SWEEP_INTERVAL_MS_DEFAULT = 100L; // 100 milliseconds
   private static final String WATERMARK_TRACKER_STABILITY_CHECK_INTERVAL_MS = "watermark.tracker.stabilityCheckIntervalMillis";
   private static final Long WATERMARK_TRACKER_STABILITY_CHECK_INTERVAL_MS_DEFAULT = 10000L; // 10 seconds
-  private static final String WATERMARK_TRACKER_LAG_THRESHOLD = "watermark.tracker.lagThreshold";
-  private static final Long WATERMARK_TRACKER_LAG_THRESHOLD_DEFAULT = 100000L; // 100,000 unacked watermarks
+  static final String WATERMARK_TRACKER_LAG_THRESHOLD = "watermark.tracker.lagThreshold";
+  static final Long WATERMARK_TRACKER_LAG_THRESHOLD_DEFAULT = 100000L; // 100,000 unacked watermarks
 
   private static final String WATERMARKS_INSERTED_METER = "watermark.tracker.inserted";
   private static final String WATERMARKS_SWEPT_METER = "watermark.tracker.swept";
@@ -87,8 +87,8 @@ public class FineGrainedWatermarkTracker implements Instrumentable, Closeable {
 
   private MetricContext _metricContext;
   protected final Closer _closer;
-  private Meter _watermarksInserted;
-  private Meter _watermarksSwept;
+  protected Meter _watermarksInserted;
+  protected Meter _watermarksSwept;
 
   private final AtomicBoolean _started;
   private final AtomicBoolean _abort;
@@ -147,9 +147,7 @@ public class FineGrainedWatermarkTracker implements Instrumentable, Closeable {
    * progressively increasing.
    */
   public void track(AcknowledgableWatermark acknowledgableWatermark) {
-    if (!_started.get() && _autoStart) {
-      start();
-    }
+    maybeStart();
     maybeAbort();
     String source = acknowledgableWatermark.getCheckpointableWatermark().getSource();
     Deque<AcknowledgableWatermark> sourceWatermarks = _watermarksMap.get(source);
@@ -161,7 +159,13 @@ public class FineGrainedWatermarkTracker implements Instrumentable, Closeable {
     _watermarksInserted.mark();
   }
 
-  private void maybeAbort() throws RuntimeException {
+  protected void maybeStart() {
+    if (!_started.get() && _autoStart) {
+      start();
+    }
+  }
+
+  protected void maybeAbort() throws RuntimeException {
     if (_abort.get()) {
       throw new RuntimeException("Aborting Watermark tracking");
     }
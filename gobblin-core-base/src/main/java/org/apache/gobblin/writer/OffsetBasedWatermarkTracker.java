@@ -0,0 +1,251 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.writer;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+import com.typesafe.config.Config;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.gobblin.source.extractor.CheckpointableWatermark;
+import org.apache.gobblin.util.ConfigUtils;
+
+
+/**
+ * A {@link FineGrainedWatermarkTracker} that tracks the acknowledgement of watermarks by their offset in each
+ * source, instead of keeping a queue of {@link AcknowledgableWatermark}s.
+ *
+ * <p>
+ *   Every source gets a ring of {@link #CAPACITY} slots: the watermarks being tracked, and a bitset of which of
+ *   them are acknowledged. Acknowledging a watermark sets its bit without taking any lock, and the lowest
+ *   unacknowledged offset of a source is advanced over the acknowledged bits, a whole word of 64 watermarks at a time
+ *   when possible, by whichever thread sweeps or asks for the committable watermarks. Only one thread advances a given
+ *   source at a time; the others simply read the last computed values instead of waiting.
+ * </p>
+ *
+ * <p>
+ *   As with {@link FineGrainedWatermarkTracker}, {@link #track(AcknowledgableWatermark)} must be called from a single
+ *   thread with increasing watermarks. If the ring of a source is full, tracking waits for the oldest watermarks to
+ *   be acknowledged.
+ * </p>
+ */
+@Slf4j
+public class OffsetBasedWatermarkTracker extends FineGrainedWatermarkTracker {
+
+  public static final String CAPACITY = "watermark.tracker.offsetBased.capacity";
+  public static final int CAPACITY_DEFAULT = 16384;
+
+  private static final int BITS_PER_WORD = 64;
+  private static final long FULL_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+  private final int _capacity;
+  private final int _mask;
+  private final ConcurrentMap<String, SourceTracker> _sources = Maps.newConcurrentMap();
+  // Only used by the tracking thread
+  private SourceTracker _lastSource;
+
+  public OffsetBasedWatermarkTracker(Config config) {
+    super(config);
+    int capacity = ConfigUtils.getInt(config, CAPACITY, CAPACITY_DEFAULT);
+    Preconditions.checkArgument(capacity > 0, "Capacity must be positive");
+    // Round up to a power of two of at least a whole word
+    _capacity = Math.max(BITS_PER_WORD, Integer.highestOneBit(capacity - 1) << 1);
+    _mask = _capacity - 1;
+  }
+
+  @Override
+  public void track(AcknowledgableWatermark acknowledgableWatermark) {
+    maybeStart();
+    maybeAbort();
+    CheckpointableWatermark watermark = acknowledgableWatermark.getCheckpointableWatermark();
+    SourceTracker source = getSourceTracker(watermark.getSource());
+    long offset = source.add(watermark);
+    acknowledgableWatermark.setAckListener(source, offset);
+    _watermarksInserted.mark();
+  }
+
+  private SourceTracker getSourceTracker(String name) {
+    SourceTracker source = _lastSource;
+    if (source == null || !source._name.equals(name)) {
+      source = _sources.get(name);
+      if (source == null) {
+        source = new SourceTracker(name);
+        _sources.put(name, source);
+      }
+      _lastSource = source;
+    }
+    return source;
+  }
+
+  @Override
+  public Map<String, CheckpointableWatermark> getCommittableWatermarks() {
+    Map<String, CheckpointableWatermark> committableWatermarks = new HashMap<>(_sources.size());
+    for (SourceTracker source : _sources.values()) {
+      source.advance();
+      CheckpointableWatermark committable = source._committable;
+      if (committable != null) {
+        committableWatermarks.put(source._name, committable);
+      }
+    }
+    return committableWatermarks;
+  }
+
+  @Override
+  public Map<String, CheckpointableWatermark> getUnacknowledgedWatermarks() {
+    Map<String, CheckpointableWatermark> unackedWatermarks = new HashMap<>(_sources.size());
+    for (SourceTracker source : _sources.values()) {
+      source.advance();
+      CheckpointableWatermark lowestUnacked = source.getLowestUnacked();
+      if (lowestUnacked != null) {
+        unackedWatermarks.put(source._name, lowestUnacked);
+      }
+    }
+    return unackedWatermarks;
+  }
+
+  /**
+   * Advance the lowest unacknowledged offset of every source. Unlike {@link FineGrainedWatermarkTracker#sweep()}, the
+   * highest contiguous acknowledged watermark is not kept around, since it is remembered separately.
+   * @return number of watermarks released
+   */
+  @Override
+  int sweep() {
+    int swept = 0;
+    for (SourceTracker source : _sources.values()) {
+      swept += source.advance();
+    }
+    log.debug("Swept {} watermarks", swept);
+    return swept;
+  }
+
+  /**
+   * The watermarks of a single source. Offsets are assigned sequentially by {@link #add(CheckpointableWatermark)}
+   * and map to the slot {@code offset & _mask} of the ring.
+   */
+  private class SourceTracker implements AcknowledgableWatermark.AckListener {
+    private final String _name;
+    private final CheckpointableWatermark[] _watermarks = new CheckpointableWatermark[_capacity];
+    private final AtomicLongArray _acked = new AtomicLongArray(_capacity / BITS_PER_WORD);
+    private final AtomicBoolean _advancing = new AtomicBoolean(false);
+    // Next offset to assign, only written by the tracking thread
+    private volatile long _tail = 0;
+    // Lowest offset that is not known to be acknowledged, only written while holding _advancing
+    private volatile long _head = 0;
+    // Watermark at offset _head - 1
+    private volatile CheckpointableWatermark _committable;
+
+    private SourceTracker(String name) {
+      _name = name;
+    }
+
+    private long add(CheckpointableWatermark watermark) {
+      long offset = _tail;
+      while (offset - _head >= _capacity) {
+        // The ring is full, release acknowledged slots or wait for acknowledgements
+        if (advance() == 0) {
+          maybeAbort();
+          LockSupport.parkNanos(FULL_WAIT_NANOS);
+        }
+      }
+      _watermarks[(int) (offset & _mask)] = watermark;
+      _tail = offset + 1;
+      return offset;
+    }
+
+    @Override
+    public void acked(long offset) {
+      int slot = (int) (offset & _mask);
+      int word = slot / BITS_PER_WORD;
+      long bit = 1L << slot;
+      long current;
+      do {
+        current = _acked.get(word);
+      } while (!_acked.compareAndSet(word, current, current | bit));
+    }
+
+    private CheckpointableWatermark getLowestUnacked() {
+      long head = _head;
+      if (head >= _tail) {
+        return null;
+      }
+      CheckpointableWatermark watermark = _watermarks[(int) (head & _mask)];
+      // The slot may have been released concurrently
+      return head == _head ? watermark : null;
+    }
+
+    /**
+     * Advance {@link #_head} over acknowledged offsets, releasing their slots.
+     * @return the number of offsets advanced over, 0 if another thread is already advancing this source
+     */
+    private int advance() {
+      if (!_advancing.compareAndSet(false, true)) {
+        return 0;
+      }
+      try {
+        long head = _head;
+        long tail = _tail;
+        CheckpointableWatermark committable = null;
+        while (head < tail) {
+          int slot = (int) (head & _mask);
+          int word = slot / BITS_PER_WORD;
+          long bits = _acked.get(word);
+          if (slot % BITS_PER_WORD == 0 && bits == -1L && tail - head >= BITS_PER_WORD) {
+            // All 64 watermarks of the word are acknowledged, and no other offset maps to it before it is released
+            committable = _watermarks[slot + BITS_PER_WORD - 1];
+            Arrays.fill(_watermarks, slot, slot + BITS_PER_WORD, null);
+            _acked.set(word, 0L);
+            head += BITS_PER_WORD;
+            continue;
+          }
+          long bit = 1L << slot;
+          if ((bits & bit) == 0) {
+            break;
+          }
+          committable = _watermarks[slot];
+          _watermarks[slot] = null;
+          do {
+            bits = _acked.get(word);
+          } while (!_acked.compareAndSet(word, bits, bits & ~bit));
+          head++;
+        }
+        int advanced = (int) (head - _head);
+        if (committable != null) {
+          _committable = committable;
+        }
+        _head = head;
+        if (advanced > 0) {
+          // Every release counts as swept, whichever call advanced, so that the stability check sees the real lag
+          _watermarksSwept.mark(advanced);
+        }
+        return advanced;
+      } finally {
+        _advancing.set(false);
+      }
+    }
+  }
+}
@@ -17,6 +17,9 @@
 package org.apache.gobblin.writer;
 
 import com.google.common.base.Preconditions;
+import com.typesafe.config.Config;
+
+import org.apache.gobblin.util.ConfigUtils;
 
 
 /**
@@ -24,6 +27,11 @@ import com.google.common.base.Preconditions;
  */
 public class WatermarkTrackerFactory {
 
+  public static final String FINE_GRAINED_TRACKER_TYPE = "watermark.tracker.type";
+  public static final String DEQUE_TRACKER_TYPE = "deque";
+  public static final String OFFSET_TRACKER_TYPE = "offset";
+  public static final String FINE_GRAINED_TRACKER_TYPE_DEFAULT = DEQUE_TRACKER_TYPE;
+
   public static class TrackerBehavior {
     boolean trackAll = true;
     boolean trackLast = false;
@@ -86,4 +94,21 @@ public class WatermarkTrackerFactory {
         + trackerBehavior.toString());
   }
 
+  /**
+   * Get the {@link FineGrainedWatermarkTracker} configured by {@link #FINE_GRAINED_TRACKER_TYPE}:
+   * {@link #DEQUE_TRACKER_TYPE} for a {@link FineGrainedWatermarkTracker}, {@link #OFFSET_TRACKER_TYPE} for an
+   * {@link OffsetBasedWatermarkTracker}.
+   */
+  public static FineGrainedWatermarkTracker getFineGrainedInstance(Config config) {
+    String trackerType = ConfigUtils.getString(config, FINE_GRAINED_TRACKER_TYPE, FINE_GRAINED_TRACKER_TYPE_DEFAULT);
+    switch (trackerType.toLowerCase()) {
+      case DEQUE_TRACKER_TYPE:
+        return new FineGrainedWatermarkTracker(config);
+      case OFFSET_TRACKER_TYPE:
+        return new OffsetBasedWatermarkTracker(config);
+      default:
+        throw new IllegalArgumentException("Unknown watermark tracker type: " + trackerType);
+    }
+  }
+
 }
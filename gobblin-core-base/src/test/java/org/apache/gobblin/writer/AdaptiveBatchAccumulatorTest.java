@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.writer;
+
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.apache.commons.lang3.StringUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+@Test
+public class AdaptiveBatchAccumulatorTest {
+
+  private static final WriteCallback NO_OP_CALLBACK = WriteCallback.EMPTY;
+
+  private static AdaptiveBatchAccumulator<String> createAccumulator(int maxInFlightBatches) {
+    Properties props = new Properties();
+    props.setProperty(AdaptiveBatchAccumulator.MIN_BATCH_SIZE, "100");
+    props.setProperty(AdaptiveBatchAccumulator.MAX_BATCH_SIZE, "1000");
+    props.setProperty(AdaptiveBatchAccumulator.SIZE_INCREMENT, "100");
+    props.setProperty(AdaptiveBatchAccumulator.DECREASE_FACTOR, "0.5");
+    props.setProperty(AdaptiveBatchAccumulator.TARGET_LATENCY_MS, "100");
+    props.setProperty(AdaptiveBatchAccumulator.MIN_BATCH_TTL, "10");
+    props.setProperty(AdaptiveBatchAccumulator.MAX_IN_FLIGHT_BATCHES, String.valueOf(maxInFlightBatches));
+    props.setProperty(Batch.BATCH_TTL, "1000");
+    props.setProperty(Batch.BATCH_SIZE, "500");
+    return new AdaptiveBatchAccumulator<>(props);
+  }
+
+  public void testAdapt() {
+    AdaptiveBatchAccumulator<String> accumulator = createAccumulator(1);
+    Assert.assertEquals(accumulator.getBatchSizeLimit(), 500);
+    Assert.assertEquals(accumulator.getBatchTtl(), 500);
+
+    // Additive increase while latency is below target
+    accumulator.adapt(10, false);
+    Assert.assertEquals(accumulator.getBatchSizeLimit(), 600);
+    Assert.assertEquals(accumulator.getBatchTtl(), 600);
+
+    // Multiplicative decrease on slow batches and failures
+    accumulator.adapt(500, false);
+    Assert.assertEquals(accumulator.getBatchSizeLimit(), 300);
+    accumulator.adapt(10, true);
+    Assert.assertEquals(accumulator.getBatchSizeLimit(), 150);
+    accumulator.adapt(10, true);
+    Assert.assertEquals(accumulator.getBatchSizeLimit(), 100);
+    Assert.assertEquals(accumulator.getBatchTtl(), 100);
+
+    for (int i = 0; i < 20; i++) {
+      accumulator.adapt(10, false);
+    }
+    Assert.assertEquals(accumulator.getBatchSizeLimit(), 1000);
+    Assert.assertEquals(accumulator.getBatchTtl(), 1000);
+    accumulator.close();
+  }
+
+  public void testMaxInFlightBatches() throws Exception {
+    final AdaptiveBatchAccumulator<String> accumulator = createAccumulator(1);
+    // Each record takes more than half of a 500 bytes batch
+    String record = StringUtils.repeat("a", 300);
+    for (int i = 0; i < 3; i++) {
+      accumulator.append(record, NO_OP_CALLBACK);
+    }
+    Assert.assertEquals(accumulator.getNumOfBatches(), 3);
+
+    Batch<String> first = accumulator.getNextAvailableBatch();
+    Assert.assertNotNull(first);
+    Assert.assertEquals(accumulator.getNumOfInFlightBatches(), 1);
+
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Batch<String>> second = executor.submit(new Callable<Batch<String>>() {
+        @Override
+        public Batch<String> call() {
+          return accumulator.getNextAvailableBatch();
+        }
+      });
+      try {
+        second.get(200, TimeUnit.MILLISECONDS);
+        Assert.fail("Should block while a batch is in flight");
+      } catch (TimeoutException e) {
+        // expected
+      }
+
+      first.onSuccess(WriteResponse.EMPTY);
+      first.done();
+      accumulator.deallocate(first);
+      Assert.assertNotNull(second.get(5, TimeUnit.SECONDS));
+      Assert.assertEquals(accumulator.getNumOfBatches(), 1);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    Assert.assertEquals(
+        accumulator.getMetricContext().histogram(AdaptiveBatchAccumulator.BATCH_RECORDS_HISTOGRAM).getCount(), 1);
+    accumulator.close();
+  }
+
+  public void testIncompleteBatchWaitsForTtl() throws Exception {
+    AdaptiveBatchAccumulator<String> accumulator = createAccumulator(1);
+    accumulator.append("record", NO_OP_CALLBACK);
+
+    long start = System.currentTimeMillis();
+    Batch<String> batch = null;
+    while (batch == null) {
+      batch = accumulator.getNextAvailableBatch();
+    }
+    Assert.assertTrue(System.currentTimeMillis() - start >= 400);
+    Assert.assertEquals(batch.getRecords().size(), 1);
+    accumulator.close();
+  }
+}
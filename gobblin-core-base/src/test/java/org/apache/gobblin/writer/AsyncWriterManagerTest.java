@@ -18,7 +18,12 @@
 package org.apache.gobblin.writer;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Properties;
+import java.util.Random;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
@@ -29,6 +34,7 @@ import org.apache.avro.generic.GenericRecord;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import com.google.common.base.Function;
 import com.google.common.base.Throwables;
 import com.typesafe.config.ConfigFactory;
 
@@ -36,6 +42,10 @@ import lombok.extern.slf4j.Slf4j;
 
 import org.apache.gobblin.metrics.RootMetricContext;
 import org.apache.gobblin.metrics.reporter.OutputStreamReporter;
+import org.apache.gobblin.source.extractor.CheckpointableWatermark;
+import org.apache.gobblin.source.extractor.DefaultCheckpointableWatermark;
+import org.apache.gobblin.source.extractor.extract.LongWatermark;
+import org.apache.gobblin.stream.RecordEnvelope;
 import org.apache.gobblin.test.ConstantTimingType;
 import org.apache.gobblin.test.ErrorManager;
 import org.apache.gobblin.test.NthTimingType;
@@ -309,4 +319,106 @@ public class AsyncWriterManagerTest {
     Assert.assertTrue(recordsAttempted > recordsIn, "There must have been a bunch of failures");
     Assert.assertTrue(retryQueue.size() == 0, "Retry queue should be empty");
   }
+
+  /**
+   * An async writer that records the records it receives and acknowledges them after a random delay.
+   */
+  public class RecordingAsyncWriter implements AsyncDataWriter<Integer> {
+
+    final List<Integer> records = Collections.synchronizedList(new ArrayList<Integer>());
+    private final Random random = new Random();
+
+    @Override
+    public Future<WriteResponse> write(final Integer record, WriteCallback callback) {
+      this.records.add(record);
+      final long delay = this.random.nextInt(5);
+      final FutureWrappedWriteCallback futureWrappedWriteCallback = new FutureWrappedWriteCallback(callback);
+      Thread t = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            Thread.sleep(delay);
+          } catch (InterruptedException e) {
+          }
+          futureWrappedWriteCallback.onSuccess(new GenericWriteResponse(record));
+        }
+      });
+      t.setDaemon(true);
+      t.start();
+      return futureWrappedWriteCallback;
+    }
+
+    @Override
+    public void flush()
+        throws IOException {
+
+    }
+
+    @Override
+    public void close()
+        throws IOException {
+
+    }
+  }
+
+  @Test
+  public void testStripedWrites()
+      throws Exception {
+    final int numStripes = 4;
+    final int numKeys = 10;
+    final int numRecords = 200;
+
+    List<AsyncDataWriter> writers = new ArrayList<>();
+    for (int i = 0; i < numStripes; i++) {
+      writers.add(new RecordingAsyncWriter());
+    }
+
+    AsyncWriterManager asyncWriterManager = AsyncWriterManager.builder().asyncDataWriters(writers)
+        .stripeKeyFunction(new Function<Object, Integer>() {
+          @Override
+          public Integer apply(Object record) {
+            return (Integer) record % numKeys;
+          }
+        }).maxOutstandingWrites(20).retriesEnabled(false).build();
+
+    FineGrainedWatermarkTracker tracker = new FineGrainedWatermarkTracker(ConfigFactory.empty());
+    tracker.setAutoStart(false);
+    for (int i = 0; i < numRecords; i++) {
+      AcknowledgableWatermark watermark =
+          new AcknowledgableWatermark(new DefaultCheckpointableWatermark("default", new LongWatermark(i)));
+      tracker.track(watermark);
+      RecordEnvelope<Integer> envelope = new RecordEnvelope<>(i);
+      envelope.addCallBack(watermark);
+      asyncWriterManager.writeEnvelope(envelope);
+    }
+
+    asyncWriterManager.commit();
+    asyncWriterManager.close();
+    Assert.assertEquals(asyncWriterManager.recordsSuccess.getCount(), numRecords);
+
+    // Every key is written by a single writer, in the order the records came in
+    int recordsWritten = 0;
+    for (AsyncDataWriter writer : writers) {
+      List<Integer> records = ((RecordingAsyncWriter) writer).records;
+      recordsWritten += records.size();
+      int[] lastRecordOfKey = new int[numKeys];
+      Arrays.fill(lastRecordOfKey, -1);
+      for (int record : records) {
+        Assert.assertTrue(record > lastRecordOfKey[record % numKeys]);
+        lastRecordOfKey[record % numKeys] = record;
+      }
+      for (AsyncDataWriter otherWriter : writers) {
+        if (otherWriter != writer) {
+          for (int record : ((RecordingAsyncWriter) otherWriter).records) {
+            Assert.assertTrue(records.isEmpty() || record % numKeys != records.get(0) % numKeys);
+          }
+        }
+      }
+    }
+    Assert.assertEquals(recordsWritten, numRecords);
+
+    // All records were acked across the stripes, so the last watermark is committable
+    CheckpointableWatermark committable = tracker.getCommittableWatermarks().get("default");
+    Assert.assertEquals(((LongWatermark) committable.getWatermark()).getValue(), numRecords - 1);
+  }
 }
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.writer;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import org.apache.gobblin.source.extractor.CheckpointableWatermark;
+import org.apache.gobblin.source.extractor.DefaultCheckpointableWatermark;
+import org.apache.gobblin.source.extractor.extract.LongWatermark;
+
+
+@Test
+public class OffsetBasedWatermarkTrackerTest {
+
+  private static Config capacityConfig(int capacity) {
+    return ConfigFactory.parseMap(ImmutableMap.of(OffsetBasedWatermarkTracker.CAPACITY, capacity));
+  }
+
+  private static AcknowledgableWatermark track(FineGrainedWatermarkTracker tracker, String source, long value) {
+    AcknowledgableWatermark ackable =
+        new AcknowledgableWatermark(new DefaultCheckpointableWatermark(source, new LongWatermark(value)));
+    tracker.track(ackable);
+    return ackable;
+  }
+
+  private static void verify(FineGrainedWatermarkTracker tracker, String source, Long committable, Long unacked) {
+    Map<String, CheckpointableWatermark> committables = tracker.getCommittableWatermarks();
+    Map<String, CheckpointableWatermark> unackeds = tracker.getUnacknowledgedWatermarks();
+    if (committable == null) {
+      Assert.assertFalse(committables.containsKey(source));
+    } else {
+      Assert.assertEquals(((LongWatermark) committables.get(source).getWatermark()).getValue(),
+          committable.longValue());
+    }
+    if (unacked == null) {
+      Assert.assertFalse(unackeds.containsKey(source));
+    } else {
+      Assert.assertEquals(((LongWatermark) unackeds.get(source).getWatermark()).getValue(), unacked.longValue());
+    }
+  }
+
+  /**
+   * Acknowledges watermarks with random holes and checks the committable and unacknowledged watermarks.
+   */
+  @Test
+  public void testRandomHoles() throws Exception {
+    Random random = new Random();
+    for (int j = 0; j < 100; ++j) {
+      try (OffsetBasedWatermarkTracker tracker = new OffsetBasedWatermarkTracker(ConfigFactory.empty())) {
+        tracker.setAutoStart(false);
+        int numWatermarks = 1 + random.nextInt(1000);
+        AcknowledgableWatermark[] ackables = new AcknowledgableWatermark[numWatermarks];
+        for (int i = 0; i < numWatermarks; ++i) {
+          ackables[i] = track(tracker, "default", i);
+        }
+
+        SortedSet<Integer> holes = new TreeSet<>();
+        int numMissingAcks = random.nextInt(numWatermarks);
+        for (int i = 0; i < numMissingAcks; ++i) {
+          holes.add(random.nextInt(numWatermarks));
+        }
+        for (int i = 0; i < numWatermarks; ++i) {
+          if (!holes.contains(i)) {
+            ackables[i].ack();
+          }
+        }
+
+        if (holes.isEmpty()) {
+          verify(tracker, "default", (long) numWatermarks - 1, null);
+        } else {
+          int firstHole = holes.first();
+          verify(tracker, "default", firstHole == 0 ? null : (long) firstHole - 1, (long) firstHole);
+        }
+      }
+    }
+  }
+
+  /**
+   * Tracks many more watermarks than the capacity of the ring, acknowledging them in order.
+   */
+  @Test
+  public void testWrapAround() throws Exception {
+    try (OffsetBasedWatermarkTracker tracker = new OffsetBasedWatermarkTracker(capacityConfig(64))) {
+      tracker.setAutoStart(false);
+      for (int i = 0; i < 1000; ++i) {
+        AcknowledgableWatermark ackable = track(tracker, "default", i);
+        track(tracker, "other", i).ack();
+        ackable.ack();
+      }
+      verify(tracker, "default", 999L, null);
+      verify(tracker, "other", 999L, null);
+
+      AcknowledgableWatermark pending = track(tracker, "default", 1000);
+      track(tracker, "default", 1001).ack();
+      verify(tracker, "default", 999L, 1000L);
+      pending.ack();
+      verify(tracker, "default", 1001L, null);
+    }
+  }
+
+  /**
+   * Acknowledges watermarks from several threads while the ring is much smaller than the number of watermarks.
+   */
+  @Test
+  public void testConcurrentAcks() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try (OffsetBasedWatermarkTracker tracker = new OffsetBasedWatermarkTracker(capacityConfig(128))) {
+      tracker.setAutoStart(false);
+      int numWatermarks = 10000;
+      for (int i = 0; i < numWatermarks; ++i) {
+        final AcknowledgableWatermark ackable = track(tracker, "default", i);
+        executor.submit(ackable::ack);
+      }
+      executor.shutdown();
+      Assert.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+      verify(tracker, "default", (long) numWatermarks - 1, null);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testSweep() throws Exception {
+    try (OffsetBasedWatermarkTracker tracker = new OffsetBasedWatermarkTracker(ConfigFactory.empty())) {
+      tracker.setAutoStart(false);
+      AcknowledgableWatermark[] ackables = new AcknowledgableWatermark[200];
+      for (int i = 0; i < ackables.length; ++i) {
+        ackables[i] = track(tracker, "default", i);
+      }
+      for (int i = 0; i < ackables.length; ++i) {
+        if (i != 150) {
+          ackables[i].ack();
+        }
+      }
+      Assert.assertEquals(tracker.sweep(), 150);
+      Assert.assertEquals(tracker.sweep(), 0);
+      ackables[150].ack();
+      Assert.assertEquals(tracker.sweep(), 50);
+      verify(tracker, "default", 199L, null);
+    }
+  }
+
+  @Test
+  public void testFactory() throws Exception {
+    Config config = ConfigFactory.parseMap(ImmutableMap.of(WatermarkTrackerFactory.FINE_GRAINED_TRACKER_TYPE,
+        WatermarkTrackerFactory.OFFSET_TRACKER_TYPE));
+    try (FineGrainedWatermarkTracker tracker = WatermarkTrackerFactory.getFineGrainedInstance(config)) {
+      Assert.assertTrue(tracker instanceof OffsetBasedWatermarkTracker);
+    }
+    try (FineGrainedWatermarkTracker tracker = WatermarkTrackerFactory.getFineGrainedInstance(ConfigFactory.empty())) {
+      Assert.assertEquals(tracker.getClass(), FineGrainedWatermarkTracker.class);
+    }
+  }
+}
@@ -629,6 +629,13 @@ public class JsonElementConversionFactory {
       return avroSchema;
     }
 
+    /**
+     * @return the converter of the given field, or null if this record has no such field
+     */
+    public JsonElementConverter getConverter(String fieldName) {
+      return this.converters.get(fieldName);
+    }
+
     @Override
     Object convertField(JsonElement value) {
       GenericRecord avroRecord = new GenericData.Record(_schema);
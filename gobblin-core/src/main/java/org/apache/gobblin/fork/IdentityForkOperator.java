@@ -24,6 +24,7 @@ import com.google.common.collect.Lists;
 
 import org.apache.gobblin.configuration.ConfigurationKeys;
 import org.apache.gobblin.configuration.WorkUnitState;
+import org.apache.gobblin.util.ForkOperatorUtils;
 
 
 /**
@@ -31,6 +32,12 @@ import org.apache.gobblin.configuration.WorkUnitState;
  * and data record into each forked branch. This class is useful if a converted
  * data record needs to be written to different destinations.
  *
+ * <p>
+ *   A branch can be declared as not mutating records by setting {@link ConfigurationKeys#FORK_BRANCH_READ_ONLY_KEY}
+ *   for the branch to {@code true}, in which case the branch shares records with other branches instead of getting
+ *   its own copy.
+ * </p>
+ *
  * @author Yinan Li
  */
 public class IdentityForkOperator<S, D> implements ForkOperator<S, D> {
@@ -69,6 +76,12 @@ public class IdentityForkOperator<S, D> implements ForkOperator<S, D> {
     return this.records;
   }
 
+  @Override
+  public boolean isBranchMutating(WorkUnitState workUnitState, int branchIndex) {
+    return !workUnitState.getPropAsBoolean(ForkOperatorUtils.getPropertyNameForBranch(
+        ConfigurationKeys.FORK_BRANCH_READ_ONLY_KEY, getBranches(workUnitState), branchIndex), false);
+  }
+
   @Override
   public void close()
       throws IOException {
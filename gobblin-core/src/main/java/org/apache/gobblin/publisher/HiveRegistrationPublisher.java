@@ -19,6 +19,7 @@ package org.apache.gobblin.publisher;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletionService;
@@ -33,6 +34,7 @@ import org.apache.hadoop.fs.Path;
 import com.codahale.metrics.Timer;
 import com.google.common.base.Optional;
 import com.google.common.base.Splitter;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import com.google.common.io.Closer;
 
@@ -74,6 +76,12 @@ public class HiveRegistrationPublisher extends DataPublisher {
   public static final String HIVE_SPEC_COMPUTATION_TIMER = "hiveSpecComputationTimer";
   private static final String PATH_DEDUPE_ENABLED = "hive.registration.path.dedupe.enabled";
   private static final boolean DEFAULT_PATH_DEDUPE_ENABLED = true;
+  /**
+   * If enabled, all {@link HiveSpec}s are computed before registration and registered with
+   * {@link HiveRegister#register(Collection)}, which groups them by table and registers partitions in batches.
+   */
+  static final String BATCH_REGISTRATION_ENABLED = "hive.registration.batch.enabled";
+  private static final boolean DEFAULT_BATCH_REGISTRATION_ENABLED = false;
 
   private final Closer closer = Closer.create();
   private final HiveRegister hiveRegister;
@@ -90,6 +98,8 @@ public class HiveRegistrationPublisher extends DataPublisher {
    */
   private boolean isPathDedupeEnabled;
 
+  private final boolean isBatchRegistrationEnabled;
+
   /**
    * Make the deduplication of path to be registered in the Publisher level,
    * So that each invocation of {@link #publishData(Collection)} contribute paths registered to this set.
@@ -107,6 +117,7 @@ public class HiveRegistrationPublisher extends DataPublisher {
     this.metricContext = Instrumented.getMetricContext(state, HiveRegistrationPublisher.class);
 
     isPathDedupeEnabled = state.getPropAsBoolean(PATH_DEDUPE_ENABLED, this.DEFAULT_PATH_DEDUPE_ENABLED);
+    this.isBatchRegistrationEnabled = state.getPropAsBoolean(BATCH_REGISTRATION_ENABLED, DEFAULT_BATCH_REGISTRATION_ENABLED);
   }
 
   @Override
@@ -171,16 +182,24 @@ public class HiveRegistrationPublisher extends DataPublisher {
       }
       else continue;
     }
+    List<HiveSpec> specsToRegister = Lists.newArrayList();
     for (int i = 0; i < toRegisterPathCount; i++) {
       try {
         for (HiveSpec spec : completionService.take().get()) {
-          this.hiveRegister.register(spec);
+          if (this.isBatchRegistrationEnabled) {
+            specsToRegister.add(spec);
+          } else {
+            this.hiveRegister.register(spec);
+          }
         }
       } catch (InterruptedException | ExecutionException e) {
         log.info("Failed to generate HiveSpec", e);
         throw new IOException(e);
       }
     }
+    if (!specsToRegister.isEmpty()) {
+      this.hiveRegister.register(specsToRegister);
+    }
     log.info("Finished registering all HiveSpecs");
   }
 
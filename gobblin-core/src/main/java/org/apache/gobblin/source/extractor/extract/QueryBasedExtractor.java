@@ -152,9 +152,7 @@ public abstract class QueryBasedExtractor<S, D> implements Extractor<S, D>, Prot
       if (isInitialPull()) {
         log.info("Initial pull");
 
-        if (shouldRemoveDataPullUpperBounds()) {
-          this.removeDataPullUpperBounds();
-        }
+        this.prepareInitialPull();
         this.iterator = this.getIterator();
       }
 
@@ -175,6 +173,16 @@ public abstract class QueryBasedExtractor<S, D> implements Extractor<S, D>, Prot
     return nextElement;
   }
 
+  /**
+   * Prepare the predicates of the first data pull. Subclasses that pull data without going through
+   * {@link #readRecord(Object)} should call this once before building their data query.
+   */
+  protected void prepareInitialPull() {
+    if (shouldRemoveDataPullUpperBounds()) {
+      this.removeDataPullUpperBounds();
+    }
+  }
+
   /**
    * Check if it's appropriate to remove data pull upper bounds in the last work unit, fetching as much data as possible
    * from the source. As between the time when data query was created and that was executed, there might be some
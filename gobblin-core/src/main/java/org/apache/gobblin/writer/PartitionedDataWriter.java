@@ -18,9 +18,12 @@
 package org.apache.gobblin.writer;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Supplier;
 
@@ -35,7 +38,12 @@ import com.google.common.base.Strings;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.google.common.io.Closer;
 
 import lombok.extern.slf4j.Slf4j;
@@ -45,8 +53,11 @@ import org.apache.gobblin.configuration.ConfigurationKeys;
 import org.apache.gobblin.configuration.State;
 import org.apache.gobblin.dataset.Descriptor;
 import org.apache.gobblin.dataset.PartitionDescriptor;
+import org.apache.gobblin.instrumented.Instrumented;
 import org.apache.gobblin.instrumented.writer.InstrumentedDataWriterDecorator;
 import org.apache.gobblin.instrumented.writer.InstrumentedPartitionedDataWriterDecorator;
+import org.apache.gobblin.metrics.GobblinMetrics;
+import org.apache.gobblin.metrics.MetricContext;
 import org.apache.gobblin.records.ControlMessageHandler;
 import org.apache.gobblin.source.extractor.CheckpointableWatermark;
 import org.apache.gobblin.stream.ControlMessage;
@@ -61,12 +72,27 @@ import org.apache.gobblin.writer.partitioner.WriterPartitioner;
 /**
  * {@link DataWriter} that partitions data using a partitioner, instantiates appropriate writers, and sends records to
  * the chosen writer.
+ *
+ * <p>
+ *   By default, the writer of every partition stays open until this writer is closed. If
+ *   {@link #MAX_OPEN_PARTITION_WRITERS} is set, at most that many partition writers are kept open: the least recently
+ *   used partition writer is committed and closed when a new one is needed, and a record for a partition whose writer
+ *   was evicted is written to a new writer, and therefore to a new file, for that partition.
+ * </p>
+ *
  * @param <S> schema type.
  * @param <D> record type.
  */
 @Slf4j
 public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements FinalState, SpeculativeAttemptAwareConstruct, WatermarkAwareWriter<D> {
 
+  public static final String MAX_OPEN_PARTITION_WRITERS = ConfigurationKeys.WRITER_PREFIX + ".partitioned.maxOpenWriters";
+  public static final int DEFAULT_MAX_OPEN_PARTITION_WRITERS = -1;
+
+  public static final String OPEN_PARTITION_WRITERS_GAUGE = "gobblin.writer.partitioned.openWriters";
+  public static final String EVICTED_PARTITION_WRITERS_COUNTER = "gobblin.writer.partitioned.evictedWriters";
+  public static final String REOPENED_PARTITION_WRITERS_COUNTER = "gobblin.writer.partitioned.reopenedWriters";
+
   private static final GenericRecord NON_PARTITIONED_WRITER_KEY =
       new GenericData.Record(SchemaBuilder.record("Dummy").fields().endRecord());
 
@@ -85,6 +111,18 @@ public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements Fin
   private boolean isSpeculativeAttemptSafe;
   private boolean isWatermarkCapable;
 
+  // Writers evicted from partitionWriters that still need to be committed and closed
+  private final Queue<Map.Entry<GenericRecord, DataWriter<D>>> evictedWriters = new ArrayDeque<>();
+  // What is still needed from the writers that have been evicted, committed and closed, which are not kept
+  private long retiredRecordsWritten = 0;
+  private long retiredBytesWritten = 0;
+  private final State retiredFinalState = new State();
+  private final List<PartitionDescriptor> retiredDescriptors = Lists.newArrayList();
+  private final Set<GenericRecord> evictedPartitions = Sets.newHashSet();
+  private final Optional<MetricContext> metricContext;
+  private long evictedWriterCount = 0;
+  private long reopenedWriterCount = 0;
+
   public PartitionedDataWriter(DataWriterBuilder<S, D> builder, final State state)
       throws IOException {
     this.state = state;
@@ -96,13 +134,19 @@ public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements Fin
     this.closer = Closer.create();
     this.writerBuilder = builder;
     this.controlMessageHandler = new PartitionDataWriterMessageHandler();
-    this.partitionWriters = CacheBuilder.newBuilder().build(new CacheLoader<GenericRecord, DataWriter<D>>() {
+    CacheLoader<GenericRecord, DataWriter<D>> writerLoader = new CacheLoader<GenericRecord, DataWriter<D>>() {
       @Override
       public DataWriter<D> load(final GenericRecord key)
           throws Exception {
+        if (PartitionedDataWriter.this.evictedPartitions.contains(key)) {
+          PartitionedDataWriter.this.reopenedWriterCount++;
+          if (PartitionedDataWriter.this.metricContext.isPresent()) {
+            PartitionedDataWriter.this.metricContext.get().counter(REOPENED_PARTITION_WRITERS_COUNTER).inc();
+          }
+        }
         /* wrap the data writer to allow the option to close the writer on flush */
-        return PartitionedDataWriter.this.closer
-            .register(new InstrumentedPartitionedDataWriterDecorator<>(
+        // Not registered with the closer, which would keep evicted writers around: open writers are closed in close()
+        return new InstrumentedPartitionedDataWriterDecorator<>(
                 new CloseOnFlushWriterWrapper<D>(new Supplier<DataWriter<D>>() {
                   @Override
                   public DataWriter<D> get() {
@@ -112,9 +156,35 @@ public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements Fin
                       throw new RuntimeException("Error creating writer", e);
                     }
                   }
-                }, state), state, key));
+                }, state), state, key);
       }
-    });
+    };
+
+    int maxOpenWriters = state.getPropAsInt(MAX_OPEN_PARTITION_WRITERS, DEFAULT_MAX_OPEN_PARTITION_WRITERS);
+    if (maxOpenWriters > 0) {
+      // A single segment makes the cache evict in exact least-recently-used order
+      this.partitionWriters = CacheBuilder.newBuilder().concurrencyLevel(1).maximumSize(maxOpenWriters)
+          .removalListener(new RemovalListener<GenericRecord, DataWriter<D>>() {
+            @Override
+            public void onRemoval(RemovalNotification<GenericRecord, DataWriter<D>> notification) {
+              if (notification.wasEvicted()) {
+                // Exceptions thrown by removal listeners are swallowed by the cache, so defer the commit and close
+                PartitionedDataWriter.this.evictedWriters.add(
+                    Maps.immutableEntry(notification.getKey(), notification.getValue()));
+              }
+            }
+          }).build(writerLoader);
+    } else {
+      this.partitionWriters = CacheBuilder.newBuilder().build(writerLoader);
+    }
+
+    if (maxOpenWriters > 0 && GobblinMetrics.isEnabled(state)) {
+      this.metricContext = Optional.of(Instrumented.getMetricContext(state, getClass()));
+      this.metricContext.get().register(this.metricContext.get().newContextAwareGauge(OPEN_PARTITION_WRITERS_GAUGE,
+          () -> this.partitionWriters.size()));
+    } else {
+      this.metricContext = Optional.absent();
+    }
 
     if (state.contains(ConfigurationKeys.WRITER_PARTITIONER_CLASS)) {
       Preconditions.checkArgument(builder instanceof PartitionAwareDataWriterBuilder, String
@@ -151,8 +221,7 @@ public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements Fin
           }, state);
       DataWriter<D> dataWriter = (DataWriter)closeOnFlushWriterWrapper.getDecoratedObject();
 
-      InstrumentedDataWriterDecorator<D> writer =
-          this.closer.register(new InstrumentedDataWriterDecorator<>(closeOnFlushWriterWrapper, state));
+      InstrumentedDataWriterDecorator<D> writer = new InstrumentedDataWriterDecorator<>(closeOnFlushWriterWrapper, state);
 
       this.isSpeculativeAttemptSafe = this.isDataWriterForPartitionSafe(dataWriter);
       this.isWatermarkCapable = this.isDataWriterWatermarkCapable(dataWriter);
@@ -174,6 +243,44 @@ public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements Fin
     } catch (ExecutionException ee) {
       throw new IOException(ee);
     }
+    retireEvictedWriters();
+  }
+
+  /**
+   * Commit and close the partition writers evicted from {@link #partitionWriters}. Only the record and byte counts,
+   * the final state and the partition descriptor of a retired writer are kept, not the writer itself.
+   */
+  private void retireEvictedWriters() throws IOException {
+    Map.Entry<GenericRecord, DataWriter<D>> entry;
+    while ((entry = this.evictedWriters.poll()) != null) {
+      log.info(String.format("Committing and closing evicted writer for partition %s.", entry.getKey()));
+      DataWriter<D> writer = entry.getValue();
+      // Commit then close, the same way the writer is handled when closed on flush
+      try {
+        writer.commit();
+      } finally {
+        writer.close();
+      }
+      this.retiredRecordsWritten += writer.recordsWritten();
+      this.retiredBytesWritten += writer.bytesWritten();
+      addFinalState(this.retiredFinalState, entry.getKey(), writer);
+      Optional<PartitionDescriptor> descriptor = getPartitionDescriptor(writer);
+      if (descriptor.isPresent() && !this.retiredDescriptors.contains(descriptor.get())) {
+        this.retiredDescriptors.add(descriptor.get());
+      }
+      this.evictedPartitions.add(entry.getKey());
+      this.evictedWriterCount++;
+      if (this.metricContext.isPresent()) {
+        this.metricContext.get().counter(EVICTED_PARTITION_WRITERS_COUNTER).inc();
+      }
+    }
+  }
+
+  /**
+   * @return all partition writers that are not retired yet, including the evicted ones.
+   */
+  private Iterable<Map.Entry<GenericRecord, DataWriter<D>>> allPartitionWriters() {
+    return Iterables.concat(this.evictedWriters, this.partitionWriters.asMap().entrySet());
   }
 
   private DataWriter<D> getDataWriterForRecord(D record)
@@ -186,6 +293,7 @@ public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements Fin
   @Override
   public void commit()
       throws IOException {
+    retireEvictedWriters();
     int writersCommitted = 0;
     for (Map.Entry<GenericRecord, DataWriter<D>> entry : this.partitionWriters.asMap().entrySet()) {
       try {
@@ -204,7 +312,9 @@ public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements Fin
   public void cleanup()
       throws IOException {
     int writersCleanedUp = 0;
-    for (Map.Entry<GenericRecord, DataWriter<D>> entry : this.partitionWriters.asMap().entrySet()) {
+    int writersToCleanUp = 0;
+    for (Map.Entry<GenericRecord, DataWriter<D>> entry : allPartitionWriters()) {
+      writersToCleanUp++;
       try {
         entry.getValue().cleanup();
         writersCleanedUp++;
@@ -212,15 +322,15 @@ public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements Fin
         log.error(String.format("Failed to cleanup writer for partition %s.", entry.getKey()));
       }
     }
-    if (writersCleanedUp < this.partitionWriters.asMap().size()) {
+    if (writersCleanedUp < writersToCleanUp) {
       throw new IOException("Failed to clean up all writers.");
     }
   }
 
   @Override
   public long recordsWritten() {
-    long totalRecords = 0;
-    for (Map.Entry<GenericRecord, DataWriter<D>> entry : this.partitionWriters.asMap().entrySet()) {
+    long totalRecords = this.retiredRecordsWritten;
+    for (Map.Entry<GenericRecord, DataWriter<D>> entry : allPartitionWriters()) {
       totalRecords += entry.getValue().recordsWritten();
     }
     return totalRecords;
@@ -229,8 +339,8 @@ public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements Fin
   @Override
   public long bytesWritten()
       throws IOException {
-    long totalBytes = 0;
-    for (Map.Entry<GenericRecord, DataWriter<D>> entry : this.partitionWriters.asMap().entrySet()) {
+    long totalBytes = this.retiredBytesWritten;
+    for (Map.Entry<GenericRecord, DataWriter<D>> entry : allPartitionWriters()) {
       totalBytes += entry.getValue().bytesWritten();
     }
     return totalBytes;
@@ -240,8 +350,13 @@ public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements Fin
   public void close()
       throws IOException {
     try {
+      retireEvictedWriters();
       serializePartitionInfoToState();
     } finally {
+      // Also close the evicted writers left behind if retiring them failed
+      for (Map.Entry<GenericRecord, DataWriter<D>> entry : allPartitionWriters()) {
+        this.closer.register(entry.getValue());
+      }
       this.closer.close();
     }
   }
@@ -263,24 +378,16 @@ public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements Fin
 
     State state = new State();
     try {
-      for (Map.Entry<GenericRecord, DataWriter<D>> entry : this.partitionWriters.asMap().entrySet()) {
-        if (entry.getValue() instanceof FinalState) {
-
-          State partitionFinalState = ((FinalState) entry.getValue()).getFinalState();
-
-          if (this.shouldPartition) {
-            for (String key : partitionFinalState.getPropertyNames()) {
-              // Prevent overwriting final state across writers
-              partitionFinalState.setProp(key + "_" + AvroUtils.serializeAsPath(entry.getKey(), false, true),
-                  partitionFinalState.getProp(key));
-            }
-          }
-
-          state.addAll(partitionFinalState);
-        }
+      state.addAll(this.retiredFinalState);
+      for (Map.Entry<GenericRecord, DataWriter<D>> entry : allPartitionWriters()) {
+        addFinalState(state, entry.getKey(), entry.getValue());
       }
       state.setProp("RecordsWritten", recordsWritten());
       state.setProp("BytesWritten", bytesWritten());
+      if (this.evictedWriterCount > 0) {
+        state.setProp("EvictedPartitionWriters", this.evictedWriterCount);
+        state.setProp("ReopenedPartitionWriters", this.reopenedWriterCount);
+      }
     } catch (Exception exception) {
       log.warn("Failed to get final state." + exception.getMessage());
       // If Writer fails to return bytesWritten, it might not be implemented, or implemented incorrectly.
@@ -289,6 +396,26 @@ public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements Fin
     return state;
   }
 
+  /**
+   * Add the final state of the writer of a partition to the given {@link State}.
+   */
+  private void addFinalState(State state, GenericRecord partition, DataWriter<D> writer) {
+    if (writer instanceof FinalState) {
+
+      State partitionFinalState = ((FinalState) writer).getFinalState();
+
+      if (this.shouldPartition) {
+        for (String key : partitionFinalState.getPropertyNames()) {
+          // Prevent overwriting final state across writers
+          partitionFinalState.setProp(key + "_" + AvroUtils.serializeAsPath(partition, false, true),
+              partitionFinalState.getProp(key));
+        }
+      }
+
+      state.addAll(partitionFinalState);
+    }
+  }
+
   @Override
   public boolean isSpeculativeAttemptSafe() {
     return this.isSpeculativeAttemptSafe;
@@ -343,21 +470,14 @@ public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements Fin
    * Serialize partitions info to {@link #state} if they are any
    */
   private void serializePartitionInfoToState() {
-    List<PartitionDescriptor> descriptors = new ArrayList<>();
-
-    for (DataWriter writer : partitionWriters.asMap().values()) {
-      Descriptor descriptor = writer.getDataDescriptor();
-      if (null == descriptor) {
-        log.warn("Drop partition info as writer {} returns a null PartitionDescriptor", writer.toString());
-        continue;
-      }
+    List<PartitionDescriptor> descriptors = new ArrayList<>(this.retiredDescriptors);
 
-      if (!(descriptor instanceof PartitionDescriptor)) {
-        log.warn("Drop partition info as writer {} does not return a PartitionDescriptor", writer.toString());
-        continue;
+    for (Map.Entry<GenericRecord, DataWriter<D>> entry : allPartitionWriters()) {
+      Optional<PartitionDescriptor> descriptor = getPartitionDescriptor(entry.getValue());
+      // A partition whose writer was evicted and reopened has several writers
+      if (descriptor.isPresent() && !descriptors.contains(descriptor.get())) {
+        descriptors.add(descriptor.get());
       }
-
-      descriptors.add((PartitionDescriptor)descriptor);
     }
 
     if (descriptors.size() > 0) {
@@ -367,6 +487,20 @@ public class PartitionedDataWriter<S, D> extends WriterWrapper<D> implements Fin
     }
   }
 
+  private static Optional<PartitionDescriptor> getPartitionDescriptor(DataWriter<?> writer) {
+    Descriptor descriptor = writer.getDataDescriptor();
+    if (null == descriptor) {
+      log.warn("Drop partition info as writer {} returns a null PartitionDescriptor", writer.toString());
+      return Optional.absent();
+    }
+
+    if (!(descriptor instanceof PartitionDescriptor)) {
+      log.warn("Drop partition info as writer {} does not return a PartitionDescriptor", writer.toString());
+      return Optional.absent();
+    }
+    return Optional.of((PartitionDescriptor) descriptor);
+  }
+
   /**
    * Get the partition info of a work unit from the {@code state}. Then partition info will be removed from the
    * {@code state} to avoid persisting useless information
@@ -54,4 +54,15 @@ public class IdentityForkOperatorTest {
     Assert.assertTrue(records.isEmpty());
     Assert.assertEquals(dummyForkOperator.getBranches(workUnitState), 0);
   }
+
+  @Test
+  public void testIsBranchMutating() {
+    ForkOperator<String, String> dummyForkOperator = new IdentityForkOperator<String, String>();
+    WorkUnitState workUnitState = new WorkUnitState();
+
+    workUnitState.setProp(ConfigurationKeys.FORK_BRANCHES_KEY, 2);
+    workUnitState.setProp(ConfigurationKeys.FORK_BRANCH_READ_ONLY_KEY + ".1", true);
+    Assert.assertTrue(dummyForkOperator.isBranchMutating(workUnitState, 0));
+    Assert.assertFalse(dummyForkOperator.isBranchMutating(workUnitState, 1));
+  }
 }
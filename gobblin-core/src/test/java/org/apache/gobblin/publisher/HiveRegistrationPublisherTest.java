@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.publisher;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.hadoop.fs.Path;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.configuration.State;
+import org.apache.gobblin.configuration.WorkUnitState;
+import org.apache.gobblin.hive.HiveRegister;
+import org.apache.gobblin.hive.HiveTable;
+import org.apache.gobblin.hive.metastore.HiveMetaStoreBasedRegister;
+import org.apache.gobblin.hive.policy.HiveRegistrationPolicy;
+import org.apache.gobblin.hive.spec.HiveSpec;
+import org.apache.gobblin.hive.spec.SimpleHiveSpec;
+
+
+/**
+ * Unit tests for {@link HiveRegistrationPublisher}.
+ */
+@Test(singleThreaded = true)
+public class HiveRegistrationPublisherTest {
+
+  @BeforeMethod
+  public void setUp() {
+    RecordingHiveRegister.SINGLE_REGISTRATIONS.clear();
+    RecordingHiveRegister.BATCH_REGISTRATIONS.clear();
+  }
+
+  @Test
+  public void testPublishWithoutBatchRegistration() throws IOException {
+    List<String> paths = ImmutableList.of("/data/nonbatch/table1", "/data/nonbatch/table2");
+    publish(false, paths);
+
+    Assert.assertTrue(RecordingHiveRegister.BATCH_REGISTRATIONS.isEmpty());
+    Assert.assertEquals(getPaths(RecordingHiveRegister.SINGLE_REGISTRATIONS), paths);
+  }
+
+  @Test
+  public void testPublishWithBatchRegistration() throws IOException {
+    List<String> paths = ImmutableList.of("/data/batch/table1", "/data/batch/table2");
+    publish(true, paths);
+
+    Assert.assertTrue(RecordingHiveRegister.SINGLE_REGISTRATIONS.isEmpty());
+    Assert.assertEquals(RecordingHiveRegister.BATCH_REGISTRATIONS.size(), 1);
+    Assert.assertEquals(getPaths(RecordingHiveRegister.BATCH_REGISTRATIONS.get(0)), paths);
+  }
+
+  private static void publish(boolean batchEnabled, List<String> paths) throws IOException {
+    State jobState = new State();
+    jobState.setProp(HiveRegister.HIVE_REGISTER_TYPE, RecordingHiveRegister.class.getName());
+    jobState.setProp(HiveRegistrationPublisher.BATCH_REGISTRATION_ENABLED, batchEnabled);
+
+    List<WorkUnitState> taskStates = Lists.newArrayList();
+    for (String path : paths) {
+      WorkUnitState taskState = new WorkUnitState();
+      taskState.setProp(ConfigurationKeys.PUBLISHER_DIRS, path);
+      taskState.setProp(ConfigurationKeys.HIVE_REGISTRATION_POLICY, PathNamePolicy.class.getName());
+      taskStates.add(taskState);
+    }
+
+    try (HiveRegistrationPublisher publisher = new HiveRegistrationPublisher(jobState)) {
+      publisher.publishData(taskStates);
+    }
+  }
+
+  private static List<String> getPaths(Collection<? extends HiveSpec> specs) {
+    List<String> paths = Lists.newArrayList();
+    for (HiveSpec spec : specs) {
+      paths.add(spec.getPath().toString());
+    }
+    // Specs are computed concurrently, so their order is not deterministic
+    Collections.sort(paths);
+    return paths;
+  }
+
+  /**
+   * A {@link HiveRegistrationPolicy} that returns one {@link HiveSpec} per path, for a table named after the path.
+   */
+  public static class PathNamePolicy implements HiveRegistrationPolicy {
+
+    public PathNamePolicy(State state) {
+    }
+
+    @Override
+    public Collection<HiveSpec> getHiveSpecs(Path path) throws IOException {
+      HiveTable table = new HiveTable.Builder().withDbName("testdb").withTableName(path.getName()).build();
+      return ImmutableList.<HiveSpec>of(new SimpleHiveSpec.Builder<>(path).withTable(table).build());
+    }
+  }
+
+  /**
+   * A {@link HiveRegister} that records the registration requests instead of registering anything.
+   */
+  public static class RecordingHiveRegister extends HiveMetaStoreBasedRegister {
+
+    private static final List<HiveSpec> SINGLE_REGISTRATIONS = Lists.newCopyOnWriteArrayList();
+    private static final List<Collection<? extends HiveSpec>> BATCH_REGISTRATIONS = Lists.newCopyOnWriteArrayList();
+
+    public RecordingHiveRegister(State state, Optional<String> metastoreURI) throws IOException {
+      super(state, metastoreURI);
+    }
+
+    @Override
+    public ListenableFuture<Void> register(HiveSpec spec) {
+      SINGLE_REGISTRATIONS.add(spec);
+      return Futures.immediateFuture(null);
+    }
+
+    @Override
+    public List<ListenableFuture<Void>> register(Collection<? extends HiveSpec> specs) {
+      BATCH_REGISTRATIONS.add(ImmutableList.<HiveSpec>copyOf(specs));
+      return ImmutableList.of(Futures.<Void>immediateFuture(null));
+    }
+  }
+}
@@ -141,6 +141,67 @@ public class PartitionedWriterTest {
   }
 
 
+  @Test
+  public void testMaxOpenWriters() throws IOException {
+
+    State state = new State();
+    state.setProp(ConfigurationKeys.WRITER_PARTITIONER_CLASS, TestPartitioner.class.getCanonicalName());
+    state.setProp(PartitionedDataWriter.MAX_OPEN_PARTITION_WRITERS, 1);
+
+    TestPartitionAwareWriterBuilder builder = new TestPartitionAwareWriterBuilder();
+
+    PartitionedDataWriter writer = new PartitionedDataWriter<String, String>(builder, state);
+
+    String record1 = "abc";
+    writer.writeEnvelope(new RecordEnvelope(record1));
+    Assert.assertEquals(builder.actions.size(), 2);
+    builder.actions.clear();
+
+    // Opening a writer for a second partition evicts the writer of the first one
+    String record2 = "123";
+    writer.writeEnvelope(new RecordEnvelope(record2));
+
+    Assert.assertEquals(builder.actions.size(), 4);
+    assertAction(builder.actions.poll(), TestPartitionAwareWriterBuilder.Actions.BUILD, "1");
+    assertAction(builder.actions.poll(), TestPartitionAwareWriterBuilder.Actions.WRITE, "1");
+    assertAction(builder.actions.poll(), TestPartitionAwareWriterBuilder.Actions.COMMIT, "a");
+    assertAction(builder.actions.poll(), TestPartitionAwareWriterBuilder.Actions.CLOSE, "a");
+
+    // Writing to the first partition again reopens a writer for it
+    writer.writeEnvelope(new RecordEnvelope(record1));
+
+    Assert.assertEquals(builder.actions.size(), 4);
+    assertAction(builder.actions.poll(), TestPartitionAwareWriterBuilder.Actions.BUILD, "a");
+    assertAction(builder.actions.poll(), TestPartitionAwareWriterBuilder.Actions.WRITE, "a");
+    assertAction(builder.actions.poll(), TestPartitionAwareWriterBuilder.Actions.COMMIT, "1");
+    assertAction(builder.actions.poll(), TestPartitionAwareWriterBuilder.Actions.CLOSE, "1");
+
+    // Records written by evicted writers are still accounted for
+    Assert.assertEquals(writer.recordsWritten(), 3);
+    Assert.assertEquals(writer.bytesWritten(), 3);
+
+    State finalState = writer.getFinalState();
+    Assert.assertEquals(finalState.getPropAsLong("EvictedPartitionWriters"), 2);
+    Assert.assertEquals(finalState.getPropAsLong("ReopenedPartitionWriters"), 1);
+
+    // Only the open writer is committed
+    writer.commit();
+    Assert.assertEquals(builder.actions.size(), 1);
+    assertAction(builder.actions.poll(), TestPartitionAwareWriterBuilder.Actions.COMMIT, "a");
+
+    // Retired writers are not kept around, so only the open writer is closed again
+    writer.close();
+    Assert.assertEquals(builder.actions.size(), 1);
+    assertAction(builder.actions.poll(), TestPartitionAwareWriterBuilder.Actions.CLOSE, "a");
+    Assert.assertEquals(PartitionedDataWriter.getPartitionInfoAndClean(state, 0).size(), 2);
+  }
+
+  private static void assertAction(TestPartitionAwareWriterBuilder.Action action,
+      TestPartitionAwareWriterBuilder.Actions type, String partition) {
+    Assert.assertEquals(action.getType(), type);
+    Assert.assertEquals(action.getPartition(), partition);
+  }
+
   @Test
   public void testControlMessageHandler() throws IOException {
 
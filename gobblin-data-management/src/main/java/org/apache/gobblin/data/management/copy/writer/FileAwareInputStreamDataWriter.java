@@ -40,6 +40,7 @@ import org.apache.hadoop.fs.permission.FsAction;
 import org.apache.hadoop.fs.permission.FsPermission;
 
 import com.codahale.metrics.Meter;
+import com.google.common.base.Function;
 import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
 import com.google.common.base.Strings;
@@ -71,6 +72,9 @@ import org.apache.gobblin.util.FinalState;
 import org.apache.gobblin.util.ForkOperatorUtils;
 import org.apache.gobblin.util.PathUtils;
 import org.apache.gobblin.util.WriterUtils;
+import org.apache.gobblin.util.io.FilterStreamUnpacker;
+import org.apache.gobblin.util.io.MeteredInputStream;
+import org.apache.gobblin.util.io.ParallelStreamCopier;
 import org.apache.gobblin.util.io.StreamCopier;
 import org.apache.gobblin.util.io.StreamThrottler;
 import org.apache.gobblin.util.io.ThrottledInputStream;
@@ -84,10 +88,20 @@ import org.apache.gobblin.writer.DataWriter;
 public class FileAwareInputStreamDataWriter extends InstrumentedDataWriter<FileAwareInputStream> implements FinalState, SpeculativeAttemptAwareConstruct {
 
   public static final String GOBBLIN_COPY_BYTES_COPIED_METER = "gobblin.copy.bytesCopiedMeter";
+  /** Prefix of the meters counting the bytes copied through each {@link StreamCopier.CopyPath}. */
+  public static final String GOBBLIN_COPY_BYTES_COPIED_METER_PREFIX = "gobblin.copy.bytesCopiedMeter.";
   public static final String GOBBLIN_COPY_CHECK_FILESIZE = "gobblin.copy.checkFileSize";
   public static final boolean DEFAULT_GOBBLIN_COPY_CHECK_FILESIZE = false;
   public static final String GOBBLIN_COPY_TASK_OVERWRITE_ON_COMMIT = "gobblin.copy.task.overwrite.on.commit";
   public static final boolean DEFAULT_GOBBLIN_COPY_TASK_OVERWRITE_ON_COMMIT = false;
+  /** Number of threads used to copy a single large file. A value of 1 disables parallel copies. */
+  public static final String GOBBLIN_COPY_PARALLEL_THREADS = "gobblin.copy.parallel.threads";
+  public static final int DEFAULT_GOBBLIN_COPY_PARALLEL_THREADS = 1;
+  public static final String GOBBLIN_COPY_PARALLEL_CHUNK_SIZE = "gobblin.copy.parallel.chunkSize";
+  public static final int DEFAULT_GOBBLIN_COPY_PARALLEL_CHUNK_SIZE = ParallelStreamCopier.DEFAULT_CHUNK_SIZE;
+  /** Files smaller than this are always copied on a single thread. */
+  public static final String GOBBLIN_COPY_PARALLEL_MIN_FILE_SIZE = "gobblin.copy.parallel.minFileSize";
+  public static final long DEFAULT_GOBBLIN_COPY_PARALLEL_MIN_FILE_SIZE = 1024L * 1024 * 1024;
 
   protected final AtomicLong bytesWritten = new AtomicLong();
   protected final AtomicLong filesWritten = new AtomicLong();
@@ -101,6 +115,9 @@ public class FileAwareInputStreamDataWriter extends InstrumentedDataWriter<FileA
   protected final SharedResourcesBroker<GobblinScopeTypes> taskBroker;
   protected final int bufferSize;
   private final boolean checkFileSize;
+  private final int parallelCopyThreads;
+  private final int parallelCopyChunkSize;
+  private final long parallelCopyMinFileSize;
   private final Options.Rename renameOptions;
   private final FileContext fileContext;
 
@@ -156,6 +173,11 @@ public class FileAwareInputStreamDataWriter extends InstrumentedDataWriter<FileA
         .getConfigForBranch(EncryptionConfigParser.EntityType.WRITER, this.state, numBranches, branchId);
 
     this.checkFileSize = state.getPropAsBoolean(GOBBLIN_COPY_CHECK_FILESIZE, DEFAULT_GOBBLIN_COPY_CHECK_FILESIZE);
+    this.parallelCopyThreads = state.getPropAsInt(GOBBLIN_COPY_PARALLEL_THREADS, DEFAULT_GOBBLIN_COPY_PARALLEL_THREADS);
+    this.parallelCopyChunkSize =
+        state.getPropAsInt(GOBBLIN_COPY_PARALLEL_CHUNK_SIZE, DEFAULT_GOBBLIN_COPY_PARALLEL_CHUNK_SIZE);
+    this.parallelCopyMinFileSize =
+        state.getPropAsLong(GOBBLIN_COPY_PARALLEL_MIN_FILE_SIZE, DEFAULT_GOBBLIN_COPY_PARALLEL_MIN_FILE_SIZE);
     boolean taskOverwriteOnCommit = state.getPropAsBoolean(GOBBLIN_COPY_TASK_OVERWRITE_ON_COMMIT, DEFAULT_GOBBLIN_COPY_TASK_OVERWRITE_ON_COMMIT);
     if (taskOverwriteOnCommit) {
       this.renameOptions = Options.Rename.OVERWRITE;
@@ -252,19 +274,47 @@ public class FileAwareInputStreamDataWriter extends InstrumentedDataWriter<FileA
       }
       try {
         FileSystem defaultFS = FileSystem.get(new Configuration());
-        StreamThrottler<GobblinScopeTypes> throttler =
+        final StreamThrottler<GobblinScopeTypes> throttler =
             this.taskBroker.getSharedResource(new StreamThrottler.Factory<GobblinScopeTypes>(), new EmptyKey());
-        ThrottledInputStream throttledInputStream = throttler.throttleInputStream().inputStream(inputStream)
-            .sourceURI(copyableFile.getOrigin().getPath().makeQualified(defaultFS.getUri(), defaultFS.getWorkingDirectory()).toUri())
-            .targetURI(this.fs.makeQualified(writeAt).toUri()).build();
-        StreamCopier copier = new StreamCopier(throttledInputStream, os, maxBytes).withBufferSize(this.bufferSize);
-
-        log.info("File {}: Starting copy", copyableFile.getOrigin().getPath());
-
-        if (isInstrumentationEnabled()) {
-          copier.withCopySpeedMeter(this.copySpeedMeter);
+        final URI sourceURI = copyableFile.getOrigin().getPath()
+            .makeQualified(defaultFS.getUri(), defaultFS.getWorkingDirectory()).toUri();
+        final URI targetURI = this.fs.makeQualified(writeAt).toUri();
+
+        long numBytes;
+        Optional<FSDataInputStream> positionedInputStream = getPositionedInputStream(inputStream);
+        if (this.parallelCopyThreads > 1 && fileSize >= this.parallelCopyMinFileSize && !record.getSplit().isPresent()
+            && positionedInputStream.isPresent()) {
+          log.info("File {}: Starting parallel copy with {} threads", copyableFile.getOrigin().getPath(),
+              this.parallelCopyThreads);
+
+          ParallelStreamCopier copier = new ParallelStreamCopier(positionedInputStream.get(), 0, fileSize, os)
+              .withThreads(this.parallelCopyThreads).withChunkSize(this.parallelCopyChunkSize)
+              .withChunkStreamDecorator(new Function<InputStream, InputStream>() {
+                @Override
+                public InputStream apply(InputStream chunkStream) {
+                  return throttler.throttleInputStream().inputStream(chunkStream).sourceURI(sourceURI)
+                      .targetURI(targetURI).build();
+                }
+              });
+          if (isInstrumentationEnabled()) {
+            copier.withCopySpeedMeter(this.copySpeedMeter);
+          }
+          numBytes = copier.copy();
+        } else {
+          ThrottledInputStream throttledInputStream = throttler.throttleInputStream().inputStream(inputStream)
+              .sourceURI(sourceURI).targetURI(targetURI).build();
+          StreamCopier copier = new StreamCopier(throttledInputStream, os, maxBytes).withBufferSize(this.bufferSize);
+
+          log.info("File {}: Starting copy", copyableFile.getOrigin().getPath());
+
+          if (isInstrumentationEnabled()) {
+            copier.withCopySpeedMeter(this.copySpeedMeter);
+          }
+          numBytes = copier.copy();
+          if (isInstrumentationEnabled()) {
+            getMetricContext().meter(getCopyPathMeterName(copier.getCopyPath())).mark(numBytes);
+          }
         }
-        long numBytes = copier.copy();
         if ((this.checkFileSize || mustMatchMaxBytes) && numBytes != expectedBytes) {
           throw new IOException(String.format("Incomplete write: expected %d, wrote %d bytes.",
               expectedBytes, numBytes));
@@ -285,6 +335,27 @@ public class FileAwareInputStreamDataWriter extends InstrumentedDataWriter<FileA
     }
   }
 
+  /**
+   * Get the {@link FSDataInputStream} of the source file if <code>inputStream</code> reads it unmodified, i.e. it is
+   * the (metered) stream opened by the extractor. Streams modified by converters (e.g. decrypted or decompressed) do
+   * not support the positional reads needed by {@link ParallelStreamCopier}.
+   */
+  private static Optional<FSDataInputStream> getPositionedInputStream(InputStream inputStream) {
+    try {
+      if (inputStream instanceof MeteredInputStream) {
+        inputStream = FilterStreamUnpacker.unpackFilterInputStream((MeteredInputStream) inputStream);
+      }
+    } catch (IllegalAccessException iae) {
+      return Optional.absent();
+    }
+    return inputStream instanceof FSDataInputStream ? Optional.of((FSDataInputStream) inputStream)
+        : Optional.<FSDataInputStream>absent();
+  }
+
+  public static String getCopyPathMeterName(StreamCopier.CopyPath copyPath) {
+    return GOBBLIN_COPY_BYTES_COPIED_METER_PREFIX + copyPath.name().toLowerCase();
+  }
+
   /**
    * Sets the owner/group and permission for the file in the task staging directory
    */
@@ -17,11 +17,13 @@
 
 package org.apache.gobblin.hive;
 
+import java.util.List;
 import java.util.concurrent.locks.Lock;
 
 import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.collect.Lists;
 import com.google.common.util.concurrent.Striped;
 
 import org.apache.gobblin.util.AutoCloseableLock;
@@ -29,7 +31,8 @@ import org.apache.gobblin.util.AutoCloseableLock;
 
 /**
  * A striped lock class for Hive databases or tables. To get a lock, use {@link #getDbLock}, {@link #getTableLock}
- * or {@link #getPartitionLock}, which returns a {@link AutoCloseableLock} object that is already locked.
+ * or {@link #getPartitionLock}, which returns a {@link AutoCloseableLock} object that is already locked. To lock
+ * several partitions of a table at once, use {@link #getPartitionLocks}.
  *
  * <p>
  *   Obtaining a table lock does <em>not</em> lock the database, which permits concurrent operations on different
@@ -63,4 +66,43 @@ public class HiveLock {
     return new AutoCloseableLock(this.locks.get(JOINER.join(dbName, tableName, JOINER.join(partitionValues))));
   }
 
+  /**
+   * Lock the given partitions of a table. The underlying locks are acquired in a consistent order, so that concurrent
+   * callers locking overlapping sets of partitions cannot deadlock. The locks are the same as those returned by
+   * {@link #getPartitionLock}, and are all unlocked by {@link PartitionLocks#close()}.
+   */
+  public PartitionLocks getPartitionLocks(String dbName, String tableName,
+      Iterable<? extends Iterable<String>> partitionValues) {
+    Preconditions.checkArgument(!Strings.isNullOrEmpty(dbName));
+    Preconditions.checkArgument(!Strings.isNullOrEmpty(tableName));
+
+    List<String> keys = Lists.newArrayList();
+    for (Iterable<String> values : partitionValues) {
+      Preconditions.checkArgument(values.iterator().hasNext());
+      keys.add(JOINER.join(dbName, tableName, JOINER.join(values)));
+    }
+    return new PartitionLocks(this.locks.bulkGet(keys));
+  }
+
+  /**
+   * A set of partition locks, which are locked in the constructor and unlocked in reverse order in {@link #close()}.
+   */
+  public static class PartitionLocks implements AutoCloseable {
+
+    private final List<AutoCloseableLock> locks = Lists.newArrayList();
+
+    private PartitionLocks(Iterable<Lock> locks) {
+      for (Lock lock : locks) {
+        this.locks.add(new AutoCloseableLock(lock));
+      }
+    }
+
+    @Override
+    public void close() {
+      for (AutoCloseableLock lock : Lists.reverse(this.locks)) {
+        lock.close();
+      }
+    }
+  }
+
 }
@@ -20,6 +20,7 @@ package org.apache.gobblin.hive;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
@@ -104,26 +105,86 @@ public abstract class HiveRegister implements Closeable {
           return null;
         }
 
-        if (spec instanceof HiveSpecWithPreActivities) {
-          for (Activity activity : ((HiveSpecWithPreActivities) spec).getPreActivities()) {
-            activity.execute(HiveRegister.this);
+        executePreActivities(spec);
+        registerPath(spec);
+        executePostActivities(spec);
+        return null;
+      }
+
+    });
+    this.futures.put(getSpecId(spec), future);
+    return future;
+  }
+
+  /**
+   * Register a collection of {@link HiveSpec}s. This method is asynchronous and returns immediately.
+   *
+   * <p>
+   *   The {@link HiveSpec}s are grouped by table, and the specs of each table are registered together by
+   *   {@link #registerPaths(List)}, which allows subclasses to use bulk metastore operations. Different tables are
+   *   registered concurrently in the same thread pool as {@link #register(HiveSpec)}. As in
+   *   {@link #register(HiveSpec)}, the {@link Predicate}s and {@link Activity}s of each {@link HiveSpec} are evaluated
+   *   and executed: all pre-activities of a table run before its specs are registered, and all post-activities after.
+   * </p>
+   *
+   * @return a {@link ListenableFuture} for the registration of each table.
+   */
+  public List<ListenableFuture<Void>> register(Collection<? extends HiveSpec> specs) {
+    Map<String, List<HiveSpec>> specsByTable = Maps.newLinkedHashMap();
+    for (HiveSpec spec : specs) {
+      String tableId = String.format("%s.%s", spec.getTable().getDbName(), spec.getTable().getTableName());
+      specsByTable.computeIfAbsent(tableId, k -> Lists.newArrayList()).add(spec);
+    }
+
+    List<ListenableFuture<Void>> tableFutures = Lists.newArrayList();
+    for (final List<HiveSpec> tableSpecs : specsByTable.values()) {
+      ListenableFuture<Void> future = this.executor.submit(new Callable<Void>() {
+
+        @Override
+        public Void call() throws Exception {
+          List<HiveSpec> specsToRegister = Lists.newArrayList();
+          for (HiveSpec spec : tableSpecs) {
+            if (spec instanceof HiveSpecWithPredicates && !evaluatePredicates((HiveSpecWithPredicates) spec)) {
+              log.info("Skipping " + spec + " since predicates return false");
+              continue;
+            }
+            executePreActivities(spec);
+            specsToRegister.add(spec);
           }
-        }
 
-        registerPath(spec);
+          if (!specsToRegister.isEmpty()) {
+            registerPaths(specsToRegister);
+          }
 
-        if (spec instanceof HiveSpecWithPostActivities) {
-          for (Activity activity : ((HiveSpecWithPostActivities) spec).getPostActivities()) {
-            activity.execute(HiveRegister.this);
+          for (HiveSpec spec : specsToRegister) {
+            executePostActivities(spec);
           }
+          return null;
         }
 
-        return null;
+      });
+      for (HiveSpec spec : tableSpecs) {
+        this.futures.put(getSpecId(spec), future);
       }
+      tableFutures.add(future);
+    }
+    return tableFutures;
+  }
 
-    });
-    this.futures.put(getSpecId(spec), future);
-    return future;
+  private void executePreActivities(HiveSpec spec) throws IOException {
+    if (spec instanceof HiveSpecWithPreActivities) {
+      for (Activity activity : ((HiveSpecWithPreActivities) spec).getPreActivities()) {
+        activity.execute(this);
+      }
+    }
+  }
+
+  private void executePostActivities(HiveSpec spec) throws IOException {
+    if (spec instanceof HiveSpecWithPostActivities) {
+      for (Activity activity : ((HiveSpecWithPostActivities) spec).getPostActivities()) {
+        activity.execute(this);
+      }
+    }
   }
 
   private String getSpecId(HiveSpec spec) {
@@ -155,6 +216,21 @@ public abstract class HiveRegister implements Closeable {
    */
   protected abstract void registerPath(HiveSpec spec) throws IOException;
 
+  /**
+   * Register the paths specified in the given {@link HiveSpec}s, which all belong to the same table.
+   *
+   * <p>
+   *   The default implementation calls {@link #registerPath(HiveSpec)} for each {@link HiveSpec}. Subclasses may
+   *   override this method to register the specs with fewer calls to the metastore. As with
+   *   {@link #registerPath(HiveSpec)}, this method should not evaluate {@link Predicate}s or execute {@link Activity}s.
+   * </p>
+   */
+  protected void registerPaths(List<HiveSpec> specs) throws IOException {
+    for (HiveSpec spec : specs) {
+      registerPath(spec);
+    }
+  }
+
   /**
    * Create a Hive database if not exists.
    *
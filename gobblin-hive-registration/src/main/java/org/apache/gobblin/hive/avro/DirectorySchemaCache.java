@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.hive.avro;
+
+import org.apache.avro.Schema;
+import org.apache.hadoop.fs.FileStatus;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+
+/**
+ * A cache of the Avro {@link Schema}s read by {@link HiveAvroSerDeManager} from the data files of registered
+ * directories.
+ *
+ * <p>
+ *   Entries are keyed by a fingerprint of the data file the schema was read from, i.e. its path, modification time and
+ *   length, so a rewritten or newer data file is read again, while registering many paths whose latest data file did
+ *   not change only reads it once. The cache is shared through a
+ *   {@link org.apache.gobblin.broker.iface.SharedResourcesBroker}, see {@link DirectorySchemaCacheFactory}.
+ * </p>
+ */
+public class DirectorySchemaCache {
+
+  private final Cache<String, Schema> cache;
+
+  public DirectorySchemaCache(long maxSize) {
+    this.cache = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+  }
+
+  /**
+   * @return the cached {@link Schema} of the given data file, or null if it is not cached.
+   */
+  public Schema getIfPresent(FileStatus dataFile) {
+    return this.cache.getIfPresent(getFingerprint(dataFile));
+  }
+
+  public void put(FileStatus dataFile, Schema schema) {
+    this.cache.put(getFingerprint(dataFile), schema);
+  }
+
+  private static String getFingerprint(FileStatus dataFile) {
+    return dataFile.getPath().toString() + ":" + dataFile.getModificationTime() + ":" + dataFile.getLen();
+  }
+}
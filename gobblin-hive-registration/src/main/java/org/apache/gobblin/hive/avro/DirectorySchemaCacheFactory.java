@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.hive.avro;
+
+import org.apache.gobblin.broker.EmptyKey;
+import org.apache.gobblin.broker.ResourceInstance;
+import org.apache.gobblin.broker.iface.ConfigView;
+import org.apache.gobblin.broker.iface.NotConfiguredException;
+import org.apache.gobblin.broker.iface.ScopeType;
+import org.apache.gobblin.broker.iface.ScopedConfigView;
+import org.apache.gobblin.broker.iface.SharedResourceFactory;
+import org.apache.gobblin.broker.iface.SharedResourceFactoryResponse;
+import org.apache.gobblin.broker.iface.SharedResourcesBroker;
+import org.apache.gobblin.util.ConfigUtils;
+
+
+/**
+ * The factory that creates a {@link DirectorySchemaCache} as shared resource. The maximum number of cached schemas
+ * can be configured with the broker config key {@link #MAX_SIZE_KEY}.
+ */
+public class DirectorySchemaCacheFactory<S extends ScopeType<S>>
+    implements SharedResourceFactory<DirectorySchemaCache, EmptyKey, S> {
+  static final String FACTORY_NAME = "directorySchemaCache";
+  public static final String MAX_SIZE_KEY = "maxSize";
+  public static final long DEFAULT_MAX_SIZE = 10000;
+
+  @Override
+  public String getName() {
+    return FACTORY_NAME;
+  }
+
+  @Override
+  public SharedResourceFactoryResponse<DirectorySchemaCache> createResource(SharedResourcesBroker<S> broker,
+      ScopedConfigView<S, EmptyKey> config)
+      throws NotConfiguredException {
+    return new ResourceInstance<>(
+        new DirectorySchemaCache(ConfigUtils.getLong(config.getConfig(), MAX_SIZE_KEY, DEFAULT_MAX_SIZE)));
+  }
+
+  @Override
+  public S getAutoScope(SharedResourcesBroker<S> broker, ConfigView<S, EmptyKey> config) {
+    return broker.selfScope().getType().rootScope();
+  }
+}
@@ -21,15 +21,21 @@ import java.io.IOException;
 import java.net.URI;
 
 import org.apache.avro.Schema;
+import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 
 import com.codahale.metrics.Timer;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
 
 import lombok.extern.slf4j.Slf4j;
 
 import org.apache.gobblin.annotation.Alpha;
+import org.apache.gobblin.broker.EmptyKey;
+import org.apache.gobblin.broker.SharedResourcesBrokerFactory;
+import org.apache.gobblin.broker.iface.NotConfiguredException;
 import org.apache.gobblin.configuration.State;
 import org.apache.gobblin.hive.HiveRegistrationUnit;
 import org.apache.gobblin.hive.HiveSerDeManager;
@@ -64,6 +70,20 @@ public class HiveAvroSerDeManager extends HiveSerDeManager {
   public static final int DEFAULT_SCHEMA_LITERAL_LENGTH_LIMIT = 4000;
   public static final String HIVE_SPEC_SCHEMA_READING_TIMER = "hiveAvroSerdeManager.schemaReadTimer";
   public static final String HIVE_SPEC_SCHEMA_WRITING_TIMER = "hiveAvroSerdeManager.schemaWriteTimer";
+  public static final String HIVE_SPEC_SCHEMA_CACHE_HIT_COUNTER = "hiveAvroSerdeManager.schemaCacheHit";
+  public static final String HIVE_SPEC_SCHEMA_CACHE_MISS_COUNTER = "hiveAvroSerdeManager.schemaCacheMiss";
+  /**
+   * If true, directory schemas are cached in the {@link DirectorySchemaCache} of the implicit
+   * {@link org.apache.gobblin.broker.iface.SharedResourcesBroker}, keyed by the data file they are read from.
+   */
+  public static final String SCHEMA_CACHE_ENABLED = "schema.cache.enabled";
+  public static final boolean DEFAULT_SCHEMA_CACHE_ENABLED = false;
+  /**
+   * If true, directory schemas are read with {@link AvroUtils#getSchemaFromDataFileHeader(Path, FileSystem)}, which
+   * only reads the header of the data file.
+   */
+  public static final String SCHEMA_READ_HEADER_ONLY = "schema.read.header.only";
+  public static final boolean DEFAULT_SCHEMA_READ_HEADER_ONLY = false;
 
   protected final FileSystem fs;
   protected final boolean useSchemaFile;
@@ -71,9 +91,12 @@ public class HiveAvroSerDeManager extends HiveSerDeManager {
   protected final boolean useSchemaTempFile;
   protected final String schemaTempFileName;
   protected final int schemaLiteralLengthLimit;
+  protected final boolean schemaReadHeaderOnly;
+  protected final Optional<DirectorySchemaCache> schemaCache;
   protected final HiveSerDeWrapper serDeWrapper = HiveSerDeWrapper.get("AVRO");
 
-  private final MetricContext metricContext ;
+  @VisibleForTesting
+  final MetricContext metricContext;
 
   public HiveAvroSerDeManager(State props) throws IOException {
     super(props);
@@ -90,6 +113,17 @@ public class HiveAvroSerDeManager extends HiveSerDeManager {
     this.schemaTempFileName = props.getProp(SCHEMA_TEMP_FILE_NAME, DEFAULT_SCHEMA_TEMP_FILE_NAME);
     this.schemaLiteralLengthLimit =
         props.getPropAsInt(SCHEMA_LITERAL_LENGTH_LIMIT, DEFAULT_SCHEMA_LITERAL_LENGTH_LIMIT);
+    this.schemaReadHeaderOnly = props.getPropAsBoolean(SCHEMA_READ_HEADER_ONLY, DEFAULT_SCHEMA_READ_HEADER_ONLY);
+    if (props.getPropAsBoolean(SCHEMA_CACHE_ENABLED, DEFAULT_SCHEMA_CACHE_ENABLED)) {
+      try {
+        this.schemaCache = Optional.of(SharedResourcesBrokerFactory.getImplicitBroker()
+            .getSharedResource(new DirectorySchemaCacheFactory<>(), EmptyKey.INSTANCE));
+      } catch (NotConfiguredException nce) {
+        throw new IOException(nce);
+      }
+    } else {
+      this.schemaCache = Optional.absent();
+    }
 
     this.metricContext = Instrumented.getMetricContext(props, HiveAvroSerDeManager.class);
   }
@@ -158,9 +192,45 @@ public class HiveAvroSerDeManager extends HiveSerDeManager {
 
   /**
    * Get schema for a directory using {@link AvroUtils#getDirectorySchema(Path, FileSystem, boolean)}.
+   *
+   * <p>
+   *   If {@link #SCHEMA_CACHE_ENABLED} or {@link #SCHEMA_READ_HEADER_ONLY} is true, the schema is read from the same
+   *   data file, but it is looked up in the {@link DirectorySchemaCache} first and only the header of the data file is
+   *   read, respectively.
+   * </p>
    */
   protected Schema getDirectorySchema(Path directory) throws IOException {
-    return AvroUtils.getDirectorySchema(directory, this.fs, true);
+    if (!this.schemaCache.isPresent() && !this.schemaReadHeaderOnly) {
+      return AvroUtils.getDirectorySchema(directory, this.fs, true);
+    }
+
+    try {
+      Optional<FileStatus> dataFile = AvroUtils.getDirectorySchemaFile(directory, this.fs, true);
+      if (!dataFile.isPresent()) {
+        log.warn("There is no previous avro file in the directory: " + directory);
+        return null;
+      }
+
+      Schema schema;
+      if (this.schemaCache.isPresent()) {
+        schema = this.schemaCache.get().getIfPresent(dataFile.get());
+        if (schema != null) {
+          this.metricContext.counter(HIVE_SPEC_SCHEMA_CACHE_HIT_COUNTER).inc();
+          return schema;
+        }
+        this.metricContext.counter(HIVE_SPEC_SCHEMA_CACHE_MISS_COUNTER).inc();
+      }
+
+      log.debug("Path to get the avro schema: " + dataFile.get());
+      schema = this.schemaReadHeaderOnly ? AvroUtils.getSchemaFromDataFileHeader(dataFile.get().getPath(), this.fs)
+          : AvroUtils.getSchemaFromDataFile(dataFile.get().getPath(), this.fs);
+      if (this.schemaCache.isPresent()) {
+        this.schemaCache.get().put(dataFile.get(), schema);
+      }
+      return schema;
+    } catch (IOException ioe) {
+      throw new IOException("Cannot get the schema for directory " + directory, ioe);
+    }
   }
 
   /**
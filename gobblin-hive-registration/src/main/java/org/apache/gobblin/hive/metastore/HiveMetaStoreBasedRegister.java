@@ -23,6 +23,7 @@ import com.google.common.cache.CacheLoader;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
@@ -31,6 +32,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hive.metastore.IMetaStoreClient;
+import org.apache.hadoop.hive.metastore.Warehouse;
 import org.apache.hadoop.hive.metastore.api.AlreadyExistsException;
 import org.apache.hadoop.hive.metastore.api.Database;
 import org.apache.hadoop.hive.metastore.api.NoSuchObjectException;
@@ -40,8 +42,11 @@ import org.apache.thrift.TException;
 import org.joda.time.DateTime;
 
 import com.codahale.metrics.Timer;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.primitives.Ints;
 
 import org.apache.gobblin.annotation.Alpha;
@@ -95,6 +100,10 @@ public class HiveMetaStoreBasedRegister extends HiveRegister {
   public static final String GET_HIVE_TABLE = HIVE_REGISTER_METRICS_PREFIX + "getTableTimer";
   public static final String DROP_TABLE = HIVE_REGISTER_METRICS_PREFIX + "dropTableTimer";
   public static final String PATH_REGISTER_TIMER = HIVE_REGISTER_METRICS_PREFIX + "pathRegisterTimer";
+  public static final String BATCH_PATH_REGISTER_TIMER = HIVE_REGISTER_METRICS_PREFIX + "batchPathRegisterTimer";
+  public static final String ADD_PARTITIONS_TIMER = HIVE_REGISTER_METRICS_PREFIX + "addPartitionsTimer";
+  public static final String GET_HIVE_PARTITIONS = HIVE_REGISTER_METRICS_PREFIX + "getPartitionsTimer";
+  public static final String ALTER_PARTITIONS = HIVE_REGISTER_METRICS_PREFIX + "alterPartitionsTimer";
   /**
    * To reduce lock aquisition and RPC to metaStoreClient, we cache the result of query regarding to
    * the existence of databases and tables in {@link #tableAndDbExistenceCache},
@@ -103,6 +112,11 @@ public class HiveMetaStoreBasedRegister extends HiveRegister {
    * We make this optimization configurable by setting {@link #OPTIMIZED_CHECK_ENABLED} to be true.
    */
   public static final String OPTIMIZED_CHECK_ENABLED = "hiveRegister.cacheDbTableExistence";
+  /**
+   * Maximum number of partitions fetched, added or altered in a single metastore call by {@link #registerPaths(List)}.
+   */
+  public static final String PARTITION_BATCH_SIZE = "hiveRegister.partitionBatchSize";
+  public static final int DEFAULT_PARTITION_BATCH_SIZE = 100;
 
   private final HiveMetastoreClientPool clientPool;
   private final HiveLock locks = new HiveLock();
@@ -128,11 +142,14 @@ public class HiveMetaStoreBasedRegister extends HiveRegister {
 
 
   private final boolean optimizedChecks;
+  private final int partitionBatchSize;
 
   public HiveMetaStoreBasedRegister(State state, Optional<String> metastoreURI) throws IOException {
     super(state);
 
     this.optimizedChecks = state.getPropAsBoolean(this.OPTIMIZED_CHECK_ENABLED, true);
+    this.partitionBatchSize = state.getPropAsInt(PARTITION_BATCH_SIZE, DEFAULT_PARTITION_BATCH_SIZE);
+    Preconditions.checkArgument(this.partitionBatchSize > 0, PARTITION_BATCH_SIZE + " must be positive");
 
     GenericObjectPoolConfig config = new GenericObjectPoolConfig();
     config.setMaxTotal(this.props.getNumThreads());
@@ -165,6 +182,47 @@ public class HiveMetaStoreBasedRegister extends HiveRegister {
     }
   }
 
+  /**
+   * Register the {@link HiveSpec}s of a single table. The database and table are created or altered as in
+   * {@link #registerPath(HiveSpec)}, but partitions are registered in batches of {@link #PARTITION_BATCH_SIZE}:
+   * each batch fetches the existing partitions with one call, then adds the missing ones and alters the outdated ones
+   * with one call each.
+   */
+  @Override
+  protected void registerPaths(List<HiveSpec> specs) throws IOException {
+    if (specs.size() == 1) {
+      registerPath(specs.get(0));
+      return;
+    }
+
+    try (Timer.Context context = this.metricContext.timer(BATCH_PATH_REGISTER_TIMER).time();
+        AutoReturnableObject<IMetaStoreClient> client = this.clientPool.getClient()) {
+      Table table = HiveMetaStoreUtils.getTable(specs.get(0).getTable());
+      createDbIfNotExists(client.get(), table.getDbName());
+
+      List<HivePartition> partitions = Lists.newArrayList();
+      for (HiveSpec spec : specs) {
+        table = HiveMetaStoreUtils.getTable(spec.getTable());
+        createOrAlterTable(client.get(), table, spec);
+        if (spec.getPartition().isPresent()) {
+          partitions.add(spec.getPartition().get());
+        }
+      }
+
+      for (List<HivePartition> batch : Lists.partition(partitions, this.partitionBatchSize)) {
+        addOrAlterPartitions(client.get(), table, batch);
+      }
+      for (HiveSpec spec : specs) {
+        HiveMetaStoreEventHelper.submitSuccessfulPathRegistration(eventSubmitter, spec);
+      }
+    } catch (TException e) {
+      for (HiveSpec spec : specs) {
+        HiveMetaStoreEventHelper.submitFailedPathRegistration(eventSubmitter, spec, e);
+      }
+      throw new IOException(e);
+    }
+  }
+
   /**
    * If table existed on Hive side will return false;
    * Or will create the table thru. RPC and return retVal from remote MetaStore.
@@ -502,6 +560,104 @@ public class HiveMetaStoreBasedRegister extends HiveRegister {
     }
   }
 
+  /**
+   * Add or alter a batch of partitions of a table with bulk metastore calls. The partitions are locked with the same
+   * per-partition locks as {@link #addOrAlterPartition}. If the bulk add or the bulk alter fails, e.g. because some of
+   * the partitions were added concurrently, the partitions of that call fall back to {@link #addOrAlterPartition} one
+   * by one.
+   */
+  @VisibleForTesting
+  void addOrAlterPartitions(IMetaStoreClient client, Table table, List<HivePartition> partitions)
+      throws TException {
+    String dbName = table.getDbName();
+    String tableName = table.getTableName();
+
+    // If a partition appears more than once, the last one wins
+    Map<List<String>, HivePartition> partitionsByValues = Maps.newLinkedHashMap();
+    for (HivePartition partition : partitions) {
+      Preconditions.checkArgument(table.getPartitionKeysSize() == partition.getValues().size(),
+          String.format("Partition key size is %s but partition value size is %s", table.getPartitionKeys().size(),
+              partition.getValues().size()));
+      partitionsByValues.put(partition.getValues(), partition);
+    }
+
+    try (HiveLock.PartitionLocks lock = this.locks.getPartitionLocks(dbName, tableName, partitionsByValues.keySet())) {
+      List<String> partitionNames = Lists.newArrayList();
+      for (List<String> values : partitionsByValues.keySet()) {
+        partitionNames.add(Warehouse.makePartName(table.getPartitionKeys(), values));
+      }
+      Map<List<String>, Partition> existingPartitions = Maps.newHashMap();
+      try (Timer.Context context = this.metricContext.timer(GET_HIVE_PARTITIONS).time()) {
+        for (Partition existingPartition : client.getPartitionsByNames(dbName, tableName, partitionNames)) {
+          existingPartitions.put(existingPartition.getValues(), existingPartition);
+        }
+      }
+
+      List<Partition> partitionsToAdd = Lists.newArrayList();
+      List<Partition> partitionsToAlter = Lists.newArrayList();
+      for (Map.Entry<List<String>, HivePartition> entry : partitionsByValues.entrySet()) {
+        Partition nativePartition = HiveMetaStoreUtils.getPartition(entry.getValue());
+        Partition existingNativePartition = existingPartitions.get(entry.getKey());
+        if (existingNativePartition == null) {
+          partitionsToAdd.add(getPartitionWithCreateTimeNow(nativePartition));
+          continue;
+        }
+        HivePartition existingPartition = HiveMetaStoreUtils.getHivePartition(existingNativePartition);
+        if (needToUpdatePartition(existingPartition, entry.getValue())) {
+          partitionsToAlter.add(getPartitionWithCreateTime(nativePartition, existingPartition));
+        } else {
+          log.info(String.format("Partition %s in table %s with location %s already exists and no need to update",
+              stringifyPartition(nativePartition), tableName, nativePartition.getSd().getLocation()));
+        }
+      }
+
+      if (!partitionsToAdd.isEmpty()) {
+        try (Timer.Context context = this.metricContext.timer(ADD_PARTITIONS_TIMER).time()) {
+          client.add_partitions(partitionsToAdd, false, false);
+          log.info(String.format("Added %d partitions to table %s in db %s", partitionsToAdd.size(), tableName, dbName));
+        } catch (TException e) {
+          log.warn(String.format("Unable to add %d partitions to table %s in db %s in a batch, adding them one by one",
+              partitionsToAdd.size(), tableName, dbName), e);
+          addOrAlterPartitionsOneByOne(client, table, partitionsToAdd, partitionsByValues);
+        }
+      }
+
+      if (!partitionsToAlter.isEmpty()) {
+        try (Timer.Context context = this.metricContext.timer(ALTER_PARTITIONS).time()) {
+          client.alter_partitions(dbName, tableName, partitionsToAlter);
+          log.info(String.format("Updated %d partitions in table %s in db %s", partitionsToAlter.size(), tableName,
+              dbName));
+        } catch (TException e) {
+          log.warn(String.format(
+              "Unable to alter %d partitions in table %s in db %s in a batch, altering them one by one",
+              partitionsToAlter.size(), tableName, dbName), e);
+          addOrAlterPartitionsOneByOne(client, table, partitionsToAlter, partitionsByValues);
+        }
+      }
+    }
+  }
+
+  /**
+   * Call {@link #addOrAlterPartition} for each of the given partitions. All partitions are attempted even if some of
+   * them fail, and the first failure is rethrown at the end.
+   */
+  private void addOrAlterPartitionsOneByOne(IMetaStoreClient client, Table table, List<Partition> partitions,
+      Map<List<String>, HivePartition> partitionsByValues) throws TException {
+    TException firstException = null;
+    for (Partition partition : partitions) {
+      try {
+        addOrAlterPartition(client, table, partitionsByValues.get(partition.getValues()));
+      } catch (TException e) {
+        if (firstException == null) {
+          firstException = e;
+        }
+      }
+    }
+    if (firstException != null) {
+      throw firstException;
+    }
+  }
+
   private static String stringifyPartition(Partition partition) {
     if (log.isDebugEnabled()) {
       return stringifyPartitionVerbose(partition);
@@ -24,6 +24,7 @@ import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 
+import org.apache.avro.Schema;
 import org.apache.commons.io.IOUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
@@ -33,9 +34,12 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import com.codahale.metrics.Counter;
+
 import org.apache.gobblin.configuration.State;
 import org.apache.gobblin.hive.HiveRegistrationUnit;
 import org.apache.gobblin.hive.HiveTable;
+import org.apache.gobblin.util.AvroUtils;
 
 
 @Test(singleThreaded = true)
@@ -71,6 +75,30 @@ public class HiveAvroSerDeManagerTest {
     Assert.assertTrue(registrationUnit.getSerDeProps().getProp(HiveAvroSerDeManager.SCHEMA_LITERAL).contains("example.avro"));
   }
 
+  @Test
+  public void testSchemaLiteralWithSchemaCacheAndHeaderOnlyRead() throws IOException {
+    State state = new State();
+    state.setProp(HiveAvroSerDeManager.SCHEMA_CACHE_ENABLED, "true");
+    state.setProp(HiveAvroSerDeManager.SCHEMA_READ_HEADER_ONLY, "true");
+    HiveAvroSerDeManager manager = new HiveAvroSerDeManager(state);
+
+    Schema expectedSchema = AvroUtils.getDirectorySchema(this.testBasePath, FileSystem.getLocal(new Configuration()), true);
+    Counter hits = manager.metricContext.counter(HiveAvroSerDeManager.HIVE_SPEC_SCHEMA_CACHE_HIT_COUNTER);
+    Counter misses = manager.metricContext.counter(HiveAvroSerDeManager.HIVE_SPEC_SCHEMA_CACHE_MISS_COUNTER);
+    long initialHits = hits.getCount();
+    long initialMisses = misses.getCount();
+
+    // The first registration reads the schema from the data file, the second one from the cache
+    for (int i = 0; i < 2; i++) {
+      HiveRegistrationUnit registrationUnit = (new HiveTable.Builder()).withDbName(TEST_DB).withTableName(TEST_TABLE).build();
+      manager.addSerDeProperties(this.testBasePath, registrationUnit);
+      Assert.assertEquals(registrationUnit.getSerDeProps().getProp(HiveAvroSerDeManager.SCHEMA_LITERAL),
+          expectedSchema.toString());
+      Assert.assertEquals(hits.getCount() - initialHits, i);
+      Assert.assertEquals(misses.getCount() - initialMisses, 1);
+    }
+  }
+
   @Test
   public void testSchemaUrl() throws IOException {
     State state = new State();
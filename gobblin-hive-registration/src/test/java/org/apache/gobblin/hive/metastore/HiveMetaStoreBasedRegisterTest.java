@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.hive.metastore;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hive.metastore.IMetaStoreClient;
+import org.apache.hadoop.hive.metastore.api.AlreadyExistsException;
+import org.apache.hadoop.hive.metastore.api.InvalidOperationException;
+import org.apache.hadoop.hive.metastore.api.MetaException;
+import org.apache.hadoop.hive.metastore.api.Partition;
+import org.apache.hadoop.hive.metastore.api.Table;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.apache.gobblin.configuration.State;
+import org.apache.gobblin.hive.HivePartition;
+import org.apache.gobblin.hive.HiveRegistrationUnit.Column;
+import org.apache.gobblin.hive.HiveTable;
+import org.apache.gobblin.hive.spec.HiveSpec;
+import org.apache.gobblin.hive.spec.SimpleHiveSpec;
+
+
+/**
+ * Unit tests for the batch registration path of {@link HiveMetaStoreBasedRegister}.
+ */
+public class HiveMetaStoreBasedRegisterTest {
+
+  private static final String DB_NAME = "testdb";
+  private static final String TABLE_NAME = "testtable";
+
+  @Test
+  public void testRegisterGroupsSpecsByTable() throws IOException {
+    RecordingRegister register = new RecordingRegister(new State());
+
+    HiveSpec spec1 = getSpec(TABLE_NAME, "2019-01-01");
+    HiveSpec spec2 = getSpec("othertable", "2019-01-01");
+    HiveSpec spec3 = getSpec(TABLE_NAME, "2019-01-02");
+    Assert.assertEquals(register.register(ImmutableList.of(spec1, spec2, spec3)).size(), 2);
+    register.close();
+
+    Assert.assertEquals(register.registeredSpecs.size(), 2);
+    Assert.assertEquals(register.registeredSpecs.get(TABLE_NAME), ImmutableList.of(spec1, spec3));
+    Assert.assertEquals(register.registeredSpecs.get("othertable"), ImmutableList.of(spec2));
+  }
+
+  @Test
+  public void testAddOrAlterPartitions() throws Exception {
+    HiveMetaStoreBasedRegister register = new HiveMetaStoreBasedRegister(new State(), Optional.<String>absent());
+    Table table = HiveMetaStoreUtils.getTable(getTable(TABLE_NAME));
+    HivePartition newPartition = getPartition(TABLE_NAME, "2019-01-01", "/data/2019-01-01");
+    HivePartition unchangedPartition = getPartition(TABLE_NAME, "2019-01-02", "/data/2019-01-02");
+    HivePartition movedPartition = getPartition(TABLE_NAME, "2019-01-03", "/data/2019-01-03/v2");
+
+    IMetaStoreClient client = Mockito.mock(IMetaStoreClient.class);
+    Mockito.when(client.getPartitionsByNames(DB_NAME, TABLE_NAME,
+        ImmutableList.of("datepartition=2019-01-01", "datepartition=2019-01-02", "datepartition=2019-01-03")))
+        .thenReturn(ImmutableList.of(HiveMetaStoreUtils.getPartition(unchangedPartition),
+            HiveMetaStoreUtils.getPartition(getPartition(TABLE_NAME, "2019-01-03", "/data/2019-01-03/v1"))));
+
+    register.addOrAlterPartitions(client, table, ImmutableList.of(newPartition, unchangedPartition, movedPartition));
+
+    Assert.assertEquals(getValues(captureAddedPartitions(client)), ImmutableList.of(newPartition.getValues()));
+    List<Partition> alteredPartitions = captureAlteredPartitions(client);
+    Assert.assertEquals(getValues(alteredPartitions), ImmutableList.of(movedPartition.getValues()));
+    Assert.assertEquals(alteredPartitions.get(0).getSd().getLocation(), "/data/2019-01-03/v2");
+    Mockito.verify(client, Mockito.never()).add_partition(Mockito.any(Partition.class));
+    Mockito.verify(client, Mockito.never())
+        .alter_partition(Mockito.anyString(), Mockito.anyString(), Mockito.any(Partition.class));
+  }
+
+  @Test
+  public void testAddPartitionsFallsBackToSinglePartitions() throws Exception {
+    HiveMetaStoreBasedRegister register = new HiveMetaStoreBasedRegister(new State(), Optional.<String>absent());
+    Table table = HiveMetaStoreUtils.getTable(getTable(TABLE_NAME));
+    HivePartition partition1 = getPartition(TABLE_NAME, "2019-01-01", "/data/2019-01-01");
+    HivePartition partition2 = getPartition(TABLE_NAME, "2019-01-02", "/data/2019-01-02");
+
+    IMetaStoreClient client = Mockito.mock(IMetaStoreClient.class);
+    Mockito.when(
+        client.getPartitionsByNames(Mockito.eq(DB_NAME), Mockito.eq(TABLE_NAME), Mockito.anyListOf(String.class)))
+        .thenReturn(Collections.<Partition>emptyList());
+    Mockito.when(client.add_partitions(Mockito.anyListOf(Partition.class), Mockito.eq(false), Mockito.eq(false)))
+        .thenThrow(new AlreadyExistsException());
+    // The first partition fails on its own as well, which must not prevent adding the second one
+    Mockito.when(client.add_partition(Mockito.any(Partition.class)))
+        .thenThrow(new MetaException()).thenReturn(new Partition());
+    Mockito.when(client.getPartition(DB_NAME, TABLE_NAME, partition1.getValues())).thenThrow(new MetaException());
+
+    try {
+      register.addOrAlterPartitions(client, table, ImmutableList.of(partition1, partition2));
+      Assert.fail("Expected the failure of the first partition to be rethrown");
+    } catch (MetaException e) {
+      // expected
+    }
+
+    ArgumentCaptor<Partition> captor = ArgumentCaptor.forClass(Partition.class);
+    Mockito.verify(client, Mockito.times(2)).add_partition(captor.capture());
+    Assert.assertEquals(getValues(captor.getAllValues()),
+        ImmutableList.of(partition1.getValues(), partition2.getValues()));
+  }
+
+  @Test
+  public void testAlterPartitionsFallsBackToSinglePartitions() throws Exception {
+    HiveMetaStoreBasedRegister register = new HiveMetaStoreBasedRegister(new State(), Optional.<String>absent());
+    Table table = HiveMetaStoreUtils.getTable(getTable(TABLE_NAME));
+    HivePartition partition = getPartition(TABLE_NAME, "2019-01-01", "/data/2019-01-01/v2");
+    Partition existingPartition =
+        HiveMetaStoreUtils.getPartition(getPartition(TABLE_NAME, "2019-01-01", "/data/2019-01-01/v1"));
+
+    IMetaStoreClient client = Mockito.mock(IMetaStoreClient.class);
+    Mockito.when(
+        client.getPartitionsByNames(Mockito.eq(DB_NAME), Mockito.eq(TABLE_NAME), Mockito.anyListOf(String.class)))
+        .thenReturn(ImmutableList.of(existingPartition));
+    Mockito.doThrow(new InvalidOperationException()).when(client)
+        .alter_partitions(Mockito.eq(DB_NAME), Mockito.eq(TABLE_NAME), Mockito.anyListOf(Partition.class));
+    Mockito.when(client.add_partition(Mockito.any(Partition.class))).thenThrow(new AlreadyExistsException());
+    Mockito.when(client.getPartition(DB_NAME, TABLE_NAME, partition.getValues())).thenReturn(existingPartition);
+
+    register.addOrAlterPartitions(client, table, ImmutableList.of(partition));
+
+    ArgumentCaptor<Partition> captor = ArgumentCaptor.forClass(Partition.class);
+    Mockito.verify(client).alter_partition(Mockito.eq(DB_NAME), Mockito.eq(TABLE_NAME), captor.capture());
+    Assert.assertEquals(captor.getValue().getSd().getLocation(), "/data/2019-01-01/v2");
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<Partition> captureAddedPartitions(IMetaStoreClient client) throws Exception {
+    ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+    Mockito.verify(client).add_partitions(captor.capture(), Mockito.eq(false), Mockito.eq(false));
+    return captor.getValue();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static List<Partition> captureAlteredPartitions(IMetaStoreClient client) throws Exception {
+    ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+    Mockito.verify(client).alter_partitions(Mockito.eq(DB_NAME), Mockito.eq(TABLE_NAME), captor.capture());
+    return captor.getValue();
+  }
+
+  private static List<List<String>> getValues(List<Partition> partitions) {
+    List<List<String>> values = Lists.newArrayList();
+    for (Partition partition : partitions) {
+      values.add(partition.getValues());
+    }
+    return values;
+  }
+
+  private static HiveTable getTable(String tableName) {
+    HiveTable table = new HiveTable.Builder().withDbName(DB_NAME).withTableName(tableName)
+        .withPartitionKeys(ImmutableList.of(new Column("datepartition", "string", ""))).build();
+    table.setLocation("/data");
+    return table;
+  }
+
+  private static HivePartition getPartition(String tableName, String value, String location) {
+    HivePartition partition = new HivePartition.Builder().withDbName(DB_NAME).withTableName(tableName)
+        .withPartitionValues(ImmutableList.of(value)).build();
+    partition.setLocation(location);
+    return partition;
+  }
+
+  private static HiveSpec getSpec(String tableName, String value) {
+    String location = "/data/" + tableName + "/" + value;
+    return new SimpleHiveSpec.Builder<>(new Path(location)).withTable(getTable(tableName))
+        .withPartition(Optional.of(getPartition(tableName, value, location))).build();
+  }
+
+  /**
+   * A {@link HiveMetaStoreBasedRegister} that records the specs passed to {@link #registerPaths(List)} by table
+   * instead of registering them.
+   */
+  private static class RecordingRegister extends HiveMetaStoreBasedRegister {
+
+    private final Map<String, List<HiveSpec>> registeredSpecs = Maps.newConcurrentMap();
+
+    private RecordingRegister(State state) throws IOException {
+      super(state, Optional.<String>absent());
+    }
+
+    @Override
+    protected void registerPaths(List<HiveSpec> specs) throws IOException {
+      this.registeredSpecs.put(specs.get(0).getTable().getTableName(), ImmutableList.copyOf(specs));
+    }
+  }
+}
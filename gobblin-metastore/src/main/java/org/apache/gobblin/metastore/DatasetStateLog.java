@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.metastore;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.Lists;
+
+import lombok.Getter;
+
+
+/**
+ * The files of the dataset state log of a job, as written by a dataset state store that persists dataset states
+ * incrementally: a snapshot holding the latest state of every dataset, and the delta segments written after it.
+ *
+ * <p>
+ *   Log files are hidden {@link IndexedStateFile}s in the directory of the job, named after their prefix and a key
+ *   that sorts in the order they were written. A snapshot covers every segment whose key is not greater than its own,
+ *   so older snapshots, the segments they cover and temporary files left behind by failed writes are superseded and
+ *   can safely be deleted.
+ * </p>
+ */
+@Getter
+public class DatasetStateLog {
+
+  public static final String DELTA_SEGMENT_PREFIX = "_delta-";
+  public static final String SNAPSHOT_PREFIX = "_snapshot-";
+  public static final String LOG_FILE_SUFFIX = ".dsl";
+
+  private static final Comparator<FileStatus> BY_NAME = new Comparator<FileStatus>() {
+    @Override
+    public int compare(FileStatus status1, FileStatus status2) {
+      return status1.getPath().getName().compareTo(status2.getPath().getName());
+    }
+  };
+
+  /** The latest snapshot, if any */
+  private final Optional<FileStatus> snapshot;
+  /** The delta segments written after the latest snapshot, in the order they were written */
+  private final List<FileStatus> segments;
+  /** The log files superseded by the latest snapshot */
+  private final List<FileStatus> supersededFiles;
+
+  private DatasetStateLog(Optional<FileStatus> snapshot, List<FileStatus> segments, List<FileStatus> supersededFiles) {
+    this.snapshot = snapshot;
+    this.segments = segments;
+    this.supersededFiles = supersededFiles;
+  }
+
+  /**
+   * List the dataset state log in the given job directory.
+   *
+   * @param fs the {@link FileSystem} of the job directory
+   * @param storePath the job directory
+   * @return the {@link DatasetStateLog}, which is empty if the directory does not exist
+   * @throws IOException if the job directory cannot be listed
+   */
+  public static DatasetStateLog list(FileSystem fs, Path storePath) throws IOException {
+    if (!fs.exists(storePath)) {
+      return new DatasetStateLog(Optional.<FileStatus>absent(), Collections.<FileStatus>emptyList(),
+          Collections.<FileStatus>emptyList());
+    }
+
+    List<FileStatus> snapshots = Lists.newArrayList();
+    List<FileStatus> segments = Lists.newArrayList();
+    List<FileStatus> supersededFiles = Lists.newArrayList();
+    for (FileStatus status : fs.listStatus(storePath)) {
+      String name = status.getPath().getName();
+      if (!name.endsWith(LOG_FILE_SUFFIX)) {
+        continue;
+      }
+      if (name.startsWith(SNAPSHOT_PREFIX)) {
+        snapshots.add(status);
+      } else if (name.startsWith(DELTA_SEGMENT_PREFIX)) {
+        segments.add(status);
+      } else if (name.startsWith(FsStateStore.TMP_FILE_PREFIX)) {
+        supersededFiles.add(status);
+      }
+    }
+
+    Optional<FileStatus> snapshot = Optional.absent();
+    if (!snapshots.isEmpty()) {
+      snapshot = Optional.of(Collections.max(snapshots, BY_NAME));
+      snapshots.remove(snapshot.get());
+      supersededFiles.addAll(snapshots);
+    }
+
+    String snapshotKey = snapshot.isPresent() ? getKey(snapshot.get().getPath(), SNAPSHOT_PREFIX) : "";
+    List<FileStatus> newSegments = Lists.newArrayList();
+    for (FileStatus segment : segments) {
+      if (getKey(segment.getPath(), DELTA_SEGMENT_PREFIX).compareTo(snapshotKey) > 0) {
+        newSegments.add(segment);
+      } else {
+        supersededFiles.add(segment);
+      }
+    }
+    Collections.sort(newSegments, BY_NAME);
+    return new DatasetStateLog(snapshot, newSegments, supersededFiles);
+  }
+
+  /**
+   * Get the key of a log file, which is its name without its prefix and suffix.
+   */
+  public static String getKey(Path logFile, String prefix) {
+    String name = logFile.getName();
+    return name.substring(prefix.length(), name.length() - LOG_FILE_SUFFIX.length());
+  }
+}
@@ -53,6 +53,23 @@ public interface DatasetStateStore<T extends State> extends StateStore<T> {
 
   public void persistDatasetState(String datasetUrn, T datasetState) throws IOException;
 
+  /**
+   * Persist the {@link State}s of several datasets, typically all the datasets committed by a job run.
+   *
+   * <p>
+   *     Implementations may override this method to persist all the states at once instead of calling
+   *     {@link #persistDatasetState(String, State)} once per dataset.
+   * </p>
+   *
+   * @param datasetStatesByUrns map from dataset URN to the {@link State} to persist for that dataset
+   * @throws IOException
+   */
+  default void persistDatasetStates(Map<String, T> datasetStatesByUrns) throws IOException {
+    for (Map.Entry<String, T> entry : datasetStatesByUrns.entrySet()) {
+      persistDatasetState(entry.getKey(), entry.getValue());
+    }
+  }
+
   public void persistDatasetURNs(String storeName, Collection<String> datasetUrns) throws IOException;
 
   @Override
@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.metastore;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import com.google.common.collect.Lists;
+
+import org.apache.gobblin.configuration.State;
+
+
+/**
+ * An extension of {@link FsStateStore} that writes tables in the {@link IndexedStateFile} format.
+ *
+ * <p>
+ *   Each table file carries an index of the state ids it contains, so {@link #get(String, String, String)} only
+ *   deserializes the requested {@link State} instead of the whole table, and {@link #iterateAll(String, String)}
+ *   deserializes the {@link State}s one at a time. Tables written by {@link FsStateStore} as
+ *   {@link org.apache.hadoop.io.SequenceFile}s can still be read, so an existing state store can be switched to this
+ *   implementation and migrated table by table with {@code StateStoreMigrationCli}.
+ * </p>
+ *
+ * @param <T> state object type
+ */
+public class IndexedFsStateStore<T extends State> extends FsStateStore<T> {
+
+  public IndexedFsStateStore(String fsUri, String storeRootDir, Class<T> stateClass) throws IOException {
+    super(fsUri, storeRootDir, stateClass);
+  }
+
+  public IndexedFsStateStore(FileSystem fs, String storeRootDir, Class<T> stateClass) {
+    super(fs, storeRootDir, stateClass);
+  }
+
+  public IndexedFsStateStore(String storeUrl, Class<T> stateClass) throws IOException {
+    super(storeUrl, stateClass);
+  }
+
+  @Override
+  public void put(String storeName, String tableName, T state) throws IOException {
+    putAll(storeName, tableName, Collections.singletonList(state));
+  }
+
+  @Override
+  public void putAll(String storeName, String tableName, Collection<T> states) throws IOException {
+    String tmpTableName = this.useTmpFileForPut ? TMP_FILE_PREFIX + tableName : tableName;
+    Path tmpTablePath = new Path(new Path(this.storeRootDir, storeName), tmpTableName);
+
+    if (!create(storeName)) {
+      throw new IOException("Failed to create a state store directory for store " + storeName);
+    }
+    IndexedStateFile.write(this.fs, tmpTablePath, this.stateClass, states);
+
+    if (this.useTmpFileForPut) {
+      Path tablePath = new Path(new Path(this.storeRootDir, storeName), tableName);
+      renamePath(tmpTablePath, tablePath);
+    }
+  }
+
+  @Override
+  public T get(String storeName, String tableName, String stateId) throws IOException {
+    Path tablePath = new Path(new Path(this.storeRootDir, storeName), tableName);
+    if (!this.fs.exists(tablePath)) {
+      return null;
+    }
+
+    try (IndexedStateFile.Reader reader = IndexedStateFile.openIfIndexed(this.fs, tablePath)) {
+      if (reader == null) {
+        return super.get(storeName, tableName, stateId);
+      }
+      int entry = reader.indexOf(stateId);
+      return entry < 0 ? null : reader.read(entry, newState());
+    }
+  }
+
+  @Override
+  public List<T> getAll(String storeName, String tableName) throws IOException {
+    Path tablePath = new Path(new Path(this.storeRootDir, storeName), tableName);
+    if (!this.fs.exists(tablePath)) {
+      return Lists.newArrayList();
+    }
+
+    try (IndexedStateFile.Reader reader = IndexedStateFile.openIfIndexed(this.fs, tablePath)) {
+      if (reader == null) {
+        return super.getAll(storeName, tableName);
+      }
+      List<T> states = Lists.newArrayListWithCapacity(reader.size());
+      for (int i = 0; i < reader.size(); i++) {
+        states.add(reader.read(i, newState()));
+      }
+      return states;
+    }
+  }
+
+  /**
+   * See {@link StateStore#iterateAll(String, String)}.
+   *
+   * <p>
+   *   For tables in the {@link IndexedStateFile} format, {@link State}s are deserialized as the returned
+   *   {@link Iterator} advances. The table file stays open until the iterator is exhausted or closed.
+   * </p>
+   */
+  @Override
+  public Iterator<T> iterateAll(String storeName, String tableName) throws IOException {
+    Path tablePath = new Path(new Path(this.storeRootDir, storeName), tableName);
+    if (!this.fs.exists(tablePath)) {
+      return Collections.emptyIterator();
+    }
+
+    IndexedStateFile.Reader reader = IndexedStateFile.openIfIndexed(this.fs, tablePath);
+    if (reader == null) {
+      return super.getAll(storeName, tableName).iterator();
+    }
+    return reader.iterator(this.stateClass);
+  }
+
+  private T newState() throws IOException {
+    try {
+      return this.stateClass.newInstance();
+    } catch (ReflectiveOperationException e) {
+      throw new IOException("Failed to instantiate " + this.stateClass.getName(), e);
+    }
+  }
+}
@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.metastore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.Writable;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.apache.gobblin.configuration.State;
+
+
+/**
+ * Reads and writes state files in an indexed format that supports reading a single {@link State} by id
+ * without deserializing the rest of the file.
+ *
+ * <p>
+ *   The file starts with a header holding a magic number, the format version and the name of the value class.
+ *   It is followed by one entry per {@link State}, each entry being the individually deflated serialization of the
+ *   {@link State}. An index footer maps every state id (see {@link State#getId()}) to the offset and length of its
+ *   entry, and the file ends with the offset of the index followed by the magic number again.
+ * </p>
+ *
+ * <p>
+ *   Readers load the index only, and deserialize entries on demand.
+ * </p>
+ */
+public class IndexedStateFile {
+
+  private static final byte[] MAGIC = { 'G', 'I', 'S', 'F' };
+  private static final byte VERSION = 1;
+  // Offset of the index followed by the magic number
+  private static final int TRAILER_LENGTH = 8 + MAGIC.length;
+
+  private IndexedStateFile() {
+  }
+
+  /**
+   * Write the given {@link State}s to an indexed state file, overwriting the file if it already exists.
+   *
+   * @param fs the {@link FileSystem} of the file
+   * @param path the path of the file
+   * @param valueClass the class of the {@link State}s, recorded in the header
+   * @param states the {@link State}s to write
+   */
+  public static void write(FileSystem fs, Path path, Class<?> valueClass, Collection<? extends State> states)
+      throws IOException {
+    List<String> keys = Lists.newArrayListWithCapacity(states.size());
+    List<Long> offsets = Lists.newArrayListWithCapacity(states.size());
+    List<Integer> lengths = Lists.newArrayListWithCapacity(states.size());
+    ByteArrayOutputStream entryBytes = new ByteArrayOutputStream();
+
+    try (FSDataOutputStream out = fs.create(path, true)) {
+      out.write(MAGIC);
+      out.writeByte(VERSION);
+      Text.writeString(out, valueClass.getName());
+
+      for (State state : states) {
+        entryBytes.reset();
+        try (DataOutputStream entryOut = new DataOutputStream(new DeflaterOutputStream(entryBytes))) {
+          state.write(entryOut);
+        }
+        keys.add(Strings.nullToEmpty(state.getId()));
+        offsets.add(out.getPos());
+        lengths.add(entryBytes.size());
+        entryBytes.writeTo(out);
+      }
+
+      long indexOffset = out.getPos();
+      out.writeInt(keys.size());
+      for (int i = 0; i < keys.size(); i++) {
+        Text.writeString(out, keys.get(i));
+        out.writeLong(offsets.get(i));
+        out.writeInt(lengths.get(i));
+      }
+      out.writeLong(indexOffset);
+      out.write(MAGIC);
+    }
+  }
+
+  /**
+   * Open an indexed state file for reading.
+   *
+   * @param fs the {@link FileSystem} of the file
+   * @param path the path of the file
+   * @return a {@link Reader} for the file, or <em>null</em> if the file is not an indexed state file, e.g. a state
+   *         file written as a {@link org.apache.hadoop.io.SequenceFile} by {@link FsStateStore}
+   */
+  public static Reader openIfIndexed(FileSystem fs, Path path) throws IOException {
+    long fileLength = fs.getFileStatus(path).getLen();
+    if (fileLength < MAGIC.length + 1 + TRAILER_LENGTH) {
+      return null;
+    }
+
+    FSDataInputStream in = fs.open(path);
+    try {
+      byte[] magic = new byte[MAGIC.length];
+      in.readFully(0, magic);
+      if (!Arrays.equals(magic, MAGIC)) {
+        in.close();
+        return null;
+      }
+      return new Reader(path, in, fileLength);
+    } catch (IOException | RuntimeException e) {
+      in.close();
+      throw e;
+    }
+  }
+
+  /**
+   * A reader of an indexed state file. Only the index is loaded when the reader is opened.
+   */
+  public static class Reader implements Closeable {
+    private final Path path;
+    private final FSDataInputStream in;
+    private final String valueClassName;
+    private final List<String> keys;
+    private final long[] offsets;
+    private final int[] lengths;
+    private final Map<String, Integer> firstEntryByKey;
+
+    private Reader(Path path, FSDataInputStream in, long fileLength) throws IOException {
+      this.path = path;
+      this.in = in;
+
+      in.seek(MAGIC.length);
+      byte version = in.readByte();
+      if (version != VERSION) {
+        throw new IOException(String.format("Unsupported version %d of indexed state file %s", version, path));
+      }
+      this.valueClassName = Text.readString(in);
+
+      in.seek(fileLength - TRAILER_LENGTH);
+      long indexOffset = in.readLong();
+      byte[] magic = new byte[MAGIC.length];
+      in.readFully(magic);
+      if (!Arrays.equals(magic, MAGIC) || indexOffset < 0 || indexOffset > fileLength - TRAILER_LENGTH) {
+        throw new IOException("Indexed state file " + path + " is truncated or corrupted");
+      }
+
+      in.seek(indexOffset);
+      int entries = in.readInt();
+      this.keys = Lists.newArrayListWithCapacity(entries);
+      this.offsets = new long[entries];
+      this.lengths = new int[entries];
+      this.firstEntryByKey = Maps.newHashMapWithExpectedSize(entries);
+      for (int i = 0; i < entries; i++) {
+        String key = Text.readString(in);
+        this.keys.add(key);
+        this.offsets[i] = in.readLong();
+        this.lengths[i] = in.readInt();
+        if (!this.firstEntryByKey.containsKey(key)) {
+          this.firstEntryByKey.put(key, i);
+        }
+      }
+    }
+
+    /**
+     * @return the name of the class of the {@link State}s stored in the file.
+     */
+    public String getValueClassName() {
+      return this.valueClassName;
+    }
+
+    /**
+     * @return the number of entries in the file.
+     */
+    public int size() {
+      return this.keys.size();
+    }
+
+    /**
+     * @return the state ids of all entries, in the order they were written.
+     */
+    public List<String> getKeys() {
+      return Collections.unmodifiableList(this.keys);
+    }
+
+    /**
+     * @return the index of the first entry with the given state id, or -1 if there is no such entry.
+     */
+    public int indexOf(String key) {
+      Integer entry = this.firstEntryByKey.get(key);
+      return entry == null ? -1 : entry;
+    }
+
+    /**
+     * Deserialize an entry into the given {@link Writable}.
+     *
+     * @param entry index of the entry
+     * @param value the {@link Writable} to deserialize the entry into
+     * @return <code>value</code>
+     */
+    public <W extends Writable> W read(int entry, W value) throws IOException {
+      byte[] bytes = new byte[this.lengths[entry]];
+      this.in.readFully(this.offsets[entry], bytes);
+      try (DataInputStream entryIn = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)))) {
+        value.readFields(entryIn);
+      } catch (IOException ioe) {
+        throw new IOException(String.format("Failed to read entry %d of indexed state file %s", entry, this.path), ioe);
+      }
+      return value;
+    }
+
+    /**
+     * Get an {@link Iterator} that deserializes the entries one at a time into new instances of
+     * <code>valueClass</code>. The iterator is {@link Closeable}, and closes this reader when it is exhausted
+     * or closed.
+     */
+    public <W extends Writable> Iterator<W> iterator(Class<W> valueClass) {
+      return new EntryIterator<>(this, valueClass);
+    }
+
+    @Override
+    public void close() throws IOException {
+      this.in.close();
+    }
+  }
+
+  private static class EntryIterator<W extends Writable> extends AbstractIterator<W> implements Closeable {
+    private final Reader reader;
+    private final Class<W> valueClass;
+    private int nextEntry = 0;
+
+    private EntryIterator(Reader reader, Class<W> valueClass) {
+      this.reader = reader;
+      this.valueClass = valueClass;
+    }
+
+    @Override
+    protected W computeNext() {
+      try {
+        if (this.nextEntry >= this.reader.size()) {
+          close();
+          return endOfData();
+        }
+        return this.reader.read(this.nextEntry++, this.valueClass.newInstance());
+      } catch (IOException | ReflectiveOperationException e) {
+        try {
+          close();
+        } catch (IOException closeException) {
+          e.addSuppressed(closeException);
+        }
+        throw new RuntimeException(e);
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      this.reader.close();
+    }
+  }
+}
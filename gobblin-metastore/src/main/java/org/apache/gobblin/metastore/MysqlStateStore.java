@@ -17,8 +17,10 @@
 
 package org.apache.gobblin.metastore;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
 import java.io.DataInputStream;
 import java.io.DataOutput;
 import java.io.DataOutputStream;
@@ -34,7 +36,14 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
@@ -42,10 +51,16 @@ import org.apache.commons.dbcp.BasicDataSource;
 import org.apache.hadoop.io.Text;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Optional;
 import com.google.common.base.Predicate;
 import com.google.common.base.Strings;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.Lists;
+import com.google.common.io.Closer;
 import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import lombok.extern.slf4j.Slf4j;
 
 import org.apache.gobblin.configuration.ConfigurationKeys;
 import org.apache.gobblin.configuration.State;
@@ -54,6 +69,7 @@ import org.apache.gobblin.metastore.predicates.StateStorePredicate;
 import org.apache.gobblin.metastore.predicates.StoreNamePredicate;
 import org.apache.gobblin.password.PasswordManager;
 import org.apache.gobblin.util.ConfigUtils;
+import org.apache.gobblin.util.ExecutorsUtils;
 import org.apache.gobblin.util.io.StreamUtils;
 
 import javax.sql.DataSource;
@@ -71,14 +87,25 @@ import javax.sql.DataSource;
  *     {@link MysqlStateStore#get(String, String, String)} method may not work.
  * </p>
  *
+ * <p>
+ *     Multiple tables can be written with batched statements through {@link #putAll(String, Map)}, and
+ *     {@link #iterateAll(String, String)} streams rows from the database instead of loading them all in memory.
+ *     When reading several tables at once, the states of each row can be deserialized in parallel, see
+ *     {@link ConfigurationKeys#STATE_STORE_DB_DESERIALIZATION_THREADS_KEY}.
+ * </p>
+ *
  * @param <T> state object type
  **/
+@Slf4j
 public class MysqlStateStore<T extends State> implements StateStore<T> {
 
   // Class of the state objects to be put into the store
   private final Class<T> stateClass;
   private final DataSource dataSource;
   private final boolean compressedValues;
+  private final int batchSize;
+  private final int fetchSize;
+  private final int deserializationThreads;
 
   private static final String UPSERT_JOB_STATE_TEMPLATE =
       "INSERT INTO $TABLE$ (store_name, table_name, state) VALUES(?,?,?)"
@@ -142,9 +169,30 @@ public class MysqlStateStore<T extends State> implements StateStore<T> {
    */
   public MysqlStateStore(DataSource dataSource, String stateStoreTableName, boolean compressedValues,
       Class<T> stateClass) throws IOException {
+    this(dataSource, stateStoreTableName, compressedValues, stateClass, ConfigFactory.empty());
+  }
+
+  /**
+   * Manages the persistence and retrieval of {@link State} in a MySQL database
+   * @param dataSource the {@link DataSource} object for connecting to MySQL
+   * @param stateStoreTableName the table for storing the state in rows keyed by two levels (store_name, table_name)
+   * @param compressedValues should values be compressed for storage?
+   * @param stateClass class of the {@link State}s stored in this state store
+   * @param config configuration for batching, fetching and deserialization
+   * @throws IOException
+   */
+  public MysqlStateStore(DataSource dataSource, String stateStoreTableName, boolean compressedValues,
+      Class<T> stateClass, Config config) throws IOException {
     this.dataSource = dataSource;
     this.stateClass = stateClass;
     this.compressedValues = compressedValues;
+    this.batchSize = Math.max(1, ConfigUtils.getInt(config, ConfigurationKeys.STATE_STORE_DB_BATCH_SIZE_KEY,
+        ConfigurationKeys.DEFAULT_STATE_STORE_DB_BATCH_SIZE));
+    this.fetchSize = ConfigUtils.getInt(config, ConfigurationKeys.STATE_STORE_DB_FETCH_SIZE_KEY,
+        ConfigurationKeys.DEFAULT_STATE_STORE_DB_FETCH_SIZE);
+    this.deserializationThreads = ConfigUtils.getInt(config,
+        ConfigurationKeys.STATE_STORE_DB_DESERIALIZATION_THREADS_KEY,
+        ConfigurationKeys.DEFAULT_STATE_STORE_DB_DESERIALIZATION_THREADS);
 
     UPSERT_JOB_STATE_SQL = UPSERT_JOB_STATE_TEMPLATE.replace("$TABLE$", stateStoreTableName);
     SELECT_JOB_STATE_SQL = SELECT_JOB_STATE_TEMPLATE.replace("$TABLE$", stateStoreTableName);
@@ -260,24 +308,32 @@ public class MysqlStateStore<T extends State> implements StateStore<T> {
     putAll(storeName, tableName, Collections.singleton(state));
   }
 
+  /**
+   * Serializes the states into the value stored in a table row
+   * @param states the states to serialize
+   * @return the serialized, possibly compressed, states
+   * @throws IOException
+   */
+  private byte[] serializeStates(Collection<T> states) throws IOException {
+    ByteArrayOutputStream byteArrayOs = new ByteArrayOutputStream();
+    try (OutputStream os = compressedValues ? new GZIPOutputStream(byteArrayOs) : byteArrayOs;
+        DataOutputStream dataOutput = new DataOutputStream(os)) {
+      for (T state : states) {
+        addStateToDataOutputStream(dataOutput, state);
+      }
+    }
+    return byteArrayOs.toByteArray();
+  }
+
   @Override
   public void putAll(String storeName, String tableName, Collection<T> states) throws IOException {
     try (Connection connection = dataSource.getConnection();
-        PreparedStatement insertStatement = connection.prepareStatement(UPSERT_JOB_STATE_SQL);
-        ByteArrayOutputStream byteArrayOs = new ByteArrayOutputStream();
-        OutputStream os = compressedValues ? new GZIPOutputStream(byteArrayOs) : byteArrayOs;
-        DataOutputStream dataOutput = new DataOutputStream(os)) {
+        PreparedStatement insertStatement = connection.prepareStatement(UPSERT_JOB_STATE_SQL)) {
 
       int index = 0;
       insertStatement.setString(++index, storeName);
       insertStatement.setString(++index, tableName);
-
-      for (T state : states) {
-        addStateToDataOutputStream(dataOutput, state);
-      }
-
-      dataOutput.close();
-      insertStatement.setBlob(++index, new ByteArrayInputStream(byteArrayOs.toByteArray()));
+      insertStatement.setBlob(++index, new ByteArrayInputStream(serializeStates(states)));
 
       insertStatement.executeUpdate();
       connection.commit();
@@ -286,6 +342,37 @@ public class MysqlStateStore<T extends State> implements StateStore<T> {
     }
   }
 
+  /**
+   * Put the states of several tables using batched statements of up to
+   * {@link ConfigurationKeys#STATE_STORE_DB_BATCH_SIZE_KEY} rows, committed in a single transaction.
+   */
+  @Override
+  public void putAll(String storeName, Map<String, ? extends Collection<T>> statesByTable) throws IOException {
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement insertStatement = connection.prepareStatement(UPSERT_JOB_STATE_SQL)) {
+
+      int batchedRows = 0;
+      for (Map.Entry<String, ? extends Collection<T>> entry : statesByTable.entrySet()) {
+        int index = 0;
+        insertStatement.setString(++index, storeName);
+        insertStatement.setString(++index, entry.getKey());
+        insertStatement.setBlob(++index, new ByteArrayInputStream(serializeStates(entry.getValue())));
+        insertStatement.addBatch();
+
+        if (++batchedRows == this.batchSize) {
+          insertStatement.executeBatch();
+          batchedRows = 0;
+        }
+      }
+      if (batchedRows > 0) {
+        insertStatement.executeBatch();
+      }
+      connection.commit();
+    } catch (SQLException e) {
+      throw new IOException("Failure storing states of " + statesByTable.size() + " tables to store " + storeName, e);
+    }
+  }
+
   @Override
   public T get(String storeName, String tableName, String stateId) throws IOException {
     try (Connection connection = dataSource.getConnection();
@@ -328,7 +415,7 @@ public class MysqlStateStore<T extends State> implements StateStore<T> {
   }
 
   protected List<T> getAll(String storeName, String tableName, boolean useLike) throws IOException {
-    List<T> states = Lists.newArrayList();
+    List<byte[]> rows = Lists.newArrayList();
 
     try (Connection connection = dataSource.getConnection();
         PreparedStatement queryStatement = connection.prepareStatement(useLike ?
@@ -339,21 +426,7 @@ public class MysqlStateStore<T extends State> implements StateStore<T> {
       try (ResultSet rs = queryStatement.executeQuery()) {
         while (rs.next()) {
           Blob blob = rs.getBlob(1);
-          Text key = new Text();
-
-          try (InputStream is = StreamUtils.isCompressed(blob.getBytes(1, 2)) ?
-              new GZIPInputStream(blob.getBinaryStream()) : blob.getBinaryStream();
-              DataInputStream dis = new DataInputStream(is)) {
-            // keep deserializing while we have data
-            while (dis.available() > 0) {
-              T state = this.stateClass.newInstance();
-              key.readString(dis);
-              state.readFields(dis);
-              states.add(state);
-            }
-          } catch (EOFException e) {
-            // no more data. GZIPInputStream.available() doesn't return 0 until after EOF.
-          }
+          rows.add(blob.getBytes(1, (int) blob.length()));
         }
       }
     } catch (RuntimeException re) {
@@ -362,7 +435,111 @@ public class MysqlStateStore<T extends State> implements StateStore<T> {
       throw new IOException("failure retrieving state from storeName " + storeName + " tableName " + tableName, e);
     }
 
-    return states;
+    try {
+      return deserializeRows(rows);
+    } catch (RuntimeException re) {
+      throw re;
+    } catch (Exception e) {
+      throw new IOException("failure retrieving state from storeName " + storeName + " tableName " + tableName, e);
+    }
+  }
+
+  /**
+   * Deserializes the states of all rows, in parallel if several rows were read and
+   * {@link ConfigurationKeys#STATE_STORE_DB_DESERIALIZATION_THREADS_KEY} is larger than 1.
+   */
+  private List<T> deserializeRows(List<byte[]> rows) throws Exception {
+    List<T> states = Lists.newArrayList();
+    if (this.deserializationThreads <= 1 || rows.size() <= 1) {
+      for (byte[] row : rows) {
+        deserializeRow(new ByteArrayInputStream(row), states);
+      }
+      return states;
+    }
+
+    ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.deserializationThreads, rows.size()),
+        ExecutorsUtils.newDaemonThreadFactory(Optional.of(log), Optional.of("MysqlStateStore-deserializer-%d")));
+    try {
+      List<Future<List<T>>> futures = Lists.newArrayListWithCapacity(rows.size());
+      for (final byte[] row : rows) {
+        futures.add(executor.submit(new Callable<List<T>>() {
+          @Override
+          public List<T> call() throws Exception {
+            List<T> rowStates = Lists.newArrayList();
+            deserializeRow(new ByteArrayInputStream(row), rowStates);
+            return rowStates;
+          }
+        }));
+      }
+      // Collect in row order so the result does not depend on the number of threads
+      for (Future<List<T>> future : futures) {
+        try {
+          states.addAll(future.get());
+        } catch (ExecutionException ee) {
+          throw ee.getCause() instanceof Exception ? (Exception) ee.getCause() : ee;
+        }
+      }
+      return states;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Deserializes all the states stored in a row and adds them to <code>states</code>
+   * @param rowStream the stored, possibly compressed, value of the row
+   * @param states the list receiving the states
+   */
+  private void deserializeRow(InputStream rowStream, List<T> states) throws Exception {
+    DataInputStream dis = openRow(rowStream);
+    try {
+      T state;
+      while ((state = readNextState(dis)) != null) {
+        states.add(state);
+      }
+    } finally {
+      dis.close();
+    }
+  }
+
+  private static DataInputStream openRow(InputStream rowStream) throws IOException {
+    InputStream is = rowStream.markSupported() ? rowStream : new BufferedInputStream(rowStream);
+    is.mark(2);
+    byte[] header = new byte[2];
+    int headerLength = is.read(header);
+    is.reset();
+    boolean compressed = headerLength == 2 && StreamUtils.isCompressed(header);
+    return new DataInputStream(compressed ? new GZIPInputStream(is) : is);
+  }
+
+  /**
+   * @return the next state read from the row, or null if the row has no more states.
+   */
+  private T readNextState(DataInputStream dis) throws Exception {
+    try {
+      // keep deserializing while we have data
+      if (dis.available() <= 0) {
+        return null;
+      }
+      T state = this.stateClass.newInstance();
+      Text.readString(dis);
+      state.readFields(dis);
+      return state;
+    } catch (EOFException e) {
+      // no more data. GZIPInputStream.available() doesn't return 0 until after EOF.
+      return null;
+    }
+  }
+
+  /**
+   * Returns an {@link Iterator} that streams the rows of the table from the database, fetching
+   * {@link ConfigurationKeys#STATE_STORE_DB_FETCH_SIZE_KEY} rows at a time, and deserializes states lazily.
+   * The returned iterator is {@link Closeable}; the database connection is released when the iterator is exhausted
+   * or closed.
+   */
+  @Override
+  public Iterator<T> iterateAll(String storeName, String tableName) throws IOException {
+    return new StreamingStateIterator(storeName, tableName);
   }
 
   @Override
@@ -535,4 +712,98 @@ public class MysqlStateStore<T extends State> implements StateStore<T> {
       throw new IOException("Could not set timestamp " + timestamp, e);
     }
   }
+
+  /**
+   * An {@link Iterator} over the states of a table that keeps its {@link ResultSet} open while iterating.
+   */
+  private class StreamingStateIterator extends AbstractIterator<T> implements Closeable {
+    private final String storeName;
+    private final String tableName;
+    private final Closer closer = Closer.create();
+    private final ResultSet resultSet;
+    private DataInputStream currentRow;
+
+    private StreamingStateIterator(String storeName, String tableName) throws IOException {
+      this.storeName = storeName;
+      this.tableName = tableName;
+      try {
+        final Connection connection = dataSource.getConnection();
+        this.closer.register(new Closeable() {
+          @Override
+          public void close() throws IOException {
+            try {
+              connection.close();
+            } catch (SQLException e) {
+              throw new IOException(e);
+            }
+          }
+        });
+        final PreparedStatement queryStatement = connection.prepareStatement(SELECT_JOB_STATE_SQL,
+            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        queryStatement.setFetchSize(fetchSize);
+        queryStatement.setString(1, storeName);
+        queryStatement.setString(2, tableName);
+        this.resultSet = queryStatement.executeQuery();
+        this.closer.register(new Closeable() {
+          @Override
+          public void close() throws IOException {
+            try {
+              resultSet.close();
+              queryStatement.close();
+            } catch (SQLException e) {
+              throw new IOException(e);
+            }
+          }
+        });
+      } catch (SQLException e) {
+        this.closer.close();
+        throw new IOException("failure retrieving state from storeName " + storeName + " tableName " + tableName, e);
+      }
+    }
+
+    @Override
+    protected T computeNext() {
+      try {
+        while (true) {
+          if (this.currentRow != null) {
+            T state = readNextState(this.currentRow);
+            if (state != null) {
+              return state;
+            }
+            this.currentRow.close();
+            this.currentRow = null;
+          }
+          if (!this.resultSet.next()) {
+            close();
+            return endOfData();
+          }
+          this.currentRow = openRow(this.resultSet.getBlob(1).getBinaryStream());
+        }
+      } catch (RuntimeException re) {
+        closeQuietly();
+        throw re;
+      } catch (Exception e) {
+        closeQuietly();
+        throw new RuntimeException("failure retrieving state from storeName " + this.storeName + " tableName "
+            + this.tableName, e);
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (this.currentRow != null) {
+        this.closer.register(this.currentRow);
+        this.currentRow = null;
+      }
+      this.closer.close();
+    }
+
+    private void closeQuietly() {
+      try {
+        close();
+      } catch (IOException ioe) {
+        log.warn("Failed to release database resources", ioe);
+      }
+    }
+  }
 }
@@ -17,9 +17,12 @@
 
 package org.apache.gobblin.metastore;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 import com.google.common.base.Predicate;
 import com.typesafe.config.Config;
@@ -127,6 +130,25 @@ public interface StateStore<T extends State> {
   public void putAll(String storeName, String tableName, Collection<T> states)
       throws IOException;
 
+  /**
+   * Put collections of {@link State}s into several tables of a store.
+   *
+   * <p>
+   *     Implementations may override this method to write all the tables in fewer round trips
+   *     than calling {@link #putAll(String, String, Collection)} once per table.
+   * </p>
+   *
+   * @param storeName store name
+   * @param statesByTable map from table name to the collection of {@link State}s to be put into that table
+   * @throws IOException
+   */
+  default void putAll(String storeName, Map<String, ? extends Collection<T>> statesByTable)
+      throws IOException {
+    for (Map.Entry<String, ? extends Collection<T>> entry : statesByTable.entrySet()) {
+      putAll(storeName, entry.getKey(), entry.getValue());
+    }
+  }
+
   /**
    * Get a {@link State} with a given state ID from a table.
    *
@@ -151,6 +173,49 @@ public interface StateStore<T extends State> {
   public List<T> getAll(String storeName, String tableName)
       throws IOException;
 
+  /**
+   * Iterate over all {@link State}s of a table.
+   *
+   * <p>
+   *     Implementations may override this method to read the {@link State}s lazily instead of loading the whole
+   *     table in memory. If the returned {@link Iterator} is also {@link java.io.Closeable}, callers that stop
+   *     iterating early should close it.
+   * </p>
+   *
+   * @param storeName store name
+   * @param tableName table name
+   * @return an {@link Iterator} over the {@link State}s of the given table
+   * @throws IOException
+   */
+  default Iterator<T> iterateAll(String storeName, String tableName)
+      throws IOException {
+    return getAll(storeName, tableName).iterator();
+  }
+
+  /**
+   * Get the first {@link State} of a table, e.g. the only {@link State} of a table holding a single work unit or
+   * task state. Only the first {@link State} is read if {@link #iterateAll(String, String)} reads lazily.
+   *
+   * @param storeName store name
+   * @param tableName table name
+   * @return the first {@link State} of the given table
+   * @throws IOException if the table is empty or cannot be read
+   */
+  default T getFirst(String storeName, String tableName)
+      throws IOException {
+    Iterator<T> states = iterateAll(storeName, tableName);
+    try {
+      if (!states.hasNext()) {
+        throw new IOException(String.format("No state found in table %s of store %s", tableName, storeName));
+      }
+      return states.next();
+    } finally {
+      if (states instanceof Closeable) {
+        ((Closeable) states).close();
+      }
+    }
+  }
+
   /**
    * Get all {@link State}s from a store.
    *
@@ -21,6 +21,7 @@ import java.io.Closeable;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.net.URI;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.ExecutionException;
@@ -45,13 +46,14 @@ import com.google.common.io.Closer;
 import com.google.common.io.Files;
 
 import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.metastore.DatasetStateLog;
 import org.apache.gobblin.metastore.nameParser.GuidDatasetUrnStateStoreNameParser;
 import org.apache.gobblin.util.ExecutorsUtils;
 
 
 /**
  * A utility class for cleaning up old state store files created by {@link org.apache.gobblin.metastore.FsStateStore}
- * based on a configured retention.
+ * based on a configured retention. Superseded {@link DatasetStateLog} files are cleaned up too.
  * @deprecated Please use Gobblin-retention instead: http://gobblin.readthedocs.io/en/latest/data-management/Gobblin-Retention/.
  *
  * @author Yinan Li
@@ -164,8 +166,15 @@ public class StateStoreCleaner implements Closeable {
     @Override
     public void run() {
       try {
-        FileStatus[] stateStoreFiles = this.fs.listStatus(this.stateStoreDir, new StateStoreFileFilter());
-        if (stateStoreFiles == null || stateStoreFiles.length == 0) {
+        List<FileStatus> stateStoreFiles = Lists.newArrayList();
+        FileStatus[] tableFiles = this.fs.listStatus(this.stateStoreDir, new StateStoreFileFilter());
+        if (tableFiles != null) {
+          stateStoreFiles.addAll(Arrays.asList(tableFiles));
+        }
+        // The live snapshot and segments of a dataset state log hold the latest state of every dataset of the job,
+        // so only the log files they supersede are subject to the retention
+        stateStoreFiles.addAll(DatasetStateLog.list(this.fs, this.stateStoreDir).getSupersededFiles());
+        if (stateStoreFiles.isEmpty()) {
           LOGGER.warn("No state store files found in directory: " + this.stateStoreDir);
           return;
         }
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.metastore;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.Lists;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.configuration.State;
+import org.apache.gobblin.util.ClassAliasResolver;
+
+
+/**
+ * Unit tests for {@link IndexedFsStateStore}.
+ */
+@Test(groups = { "gobblin.metastore" })
+public class IndexedFsStateStoreTest {
+  private static final String ROOT_DIR = "indexed-metastore-test";
+
+  private StateStore<State> stateStore;
+  private StateStore.Factory stateStoreFactory;
+  private Config config;
+
+  @BeforeClass
+  public void setUp() throws Exception {
+    ClassAliasResolver<StateStore.Factory> resolver =
+        new ClassAliasResolver<>(StateStore.Factory.class);
+
+    stateStoreFactory = resolver.resolveClass("indexedFs").newInstance();
+
+    config = ConfigFactory.empty().withValue(ConfigurationKeys.STATE_STORE_FS_URI_KEY,
+        ConfigValueFactory.fromAnyRef("file:///")).withValue(ConfigurationKeys.STATE_STORE_ROOT_DIR_KEY,
+        ConfigValueFactory.fromAnyRef(ROOT_DIR)).withValue("fs.permissions.umask-mode",
+        ConfigValueFactory.fromAnyRef("022"));
+
+    this.stateStore = stateStoreFactory.createStateStore(config, State.class);
+    Assert.assertTrue(this.stateStore instanceof IndexedFsStateStore);
+
+    // cleanup in case files left behind by a prior run
+    this.stateStore.delete("testStore");
+  }
+
+  @Test
+  public void testPut() throws IOException {
+    List<State> states = Lists.newArrayList();
+    for (int i = 0; i < 100; i++) {
+      State state = new State();
+      state.setId("s" + i);
+      state.setProp("k" + i, "v" + i);
+      states.add(state);
+    }
+
+    Assert.assertFalse(this.stateStore.exists("testStore", "testTable"));
+    this.stateStore.putAll("testStore", "testTable", states);
+    Assert.assertTrue(this.stateStore.exists("testStore", "testTable"));
+
+    FileSystem fs = FileSystem.getLocal(new Configuration(false));
+    try (IndexedStateFile.Reader reader =
+        IndexedStateFile.openIfIndexed(fs, new Path(new Path(ROOT_DIR, "testStore"), "testTable"))) {
+      Assert.assertNotNull(reader);
+      Assert.assertEquals(reader.size(), 100);
+      Assert.assertEquals(reader.getValueClassName(), State.class.getName());
+      Assert.assertEquals(reader.indexOf("s42"), 42);
+      Assert.assertEquals(reader.indexOf("missing"), -1);
+    }
+  }
+
+  @Test(dependsOnMethods = { "testPut" })
+  public void testGet() throws IOException {
+    State state = this.stateStore.get("testStore", "testTable", "s42");
+    Assert.assertEquals(state.getId(), "s42");
+    Assert.assertEquals(state.getProp("k42"), "v42");
+
+    Assert.assertNull(this.stateStore.get("testStore", "testTable", "missing"));
+    Assert.assertNull(this.stateStore.get("testStore", "missingTable", "s42"));
+  }
+
+  @Test(dependsOnMethods = { "testPut" })
+  public void testGetAll() throws IOException {
+    List<State> states = this.stateStore.getAll("testStore", "testTable");
+    Assert.assertEquals(states.size(), 100);
+    for (int i = 0; i < 100; i++) {
+      Assert.assertEquals(states.get(i).getProp("k" + i), "v" + i);
+    }
+
+    Iterator<State> iterator = this.stateStore.iterateAll("testStore", "testTable");
+    for (int i = 0; i < 100; i++) {
+      Assert.assertTrue(iterator.hasNext());
+      Assert.assertEquals(iterator.next().getId(), "s" + i);
+    }
+    Assert.assertFalse(iterator.hasNext());
+  }
+
+  @Test(dependsOnMethods = { "testPut" })
+  public void testCreateAlias() throws IOException {
+    this.stateStore.createAlias("testStore", "testTable", "testTable1");
+    Assert.assertEquals(this.stateStore.get("testStore", "testTable1", "s7").getProp("k7"), "v7");
+  }
+
+  @Test
+  public void testReadSequenceFileTables() throws IOException {
+    // Tables written by FsStateStore are still readable
+    URL path = getClass().getResource("/backwardsCompatTestStore");
+    Assert.assertNotNull(path);
+
+    StateStore<State> bwStateStore = stateStoreFactory.createStateStore(config.withValue(
+        ConfigurationKeys.STATE_STORE_ROOT_DIR_KEY, ConfigValueFactory.fromAnyRef(path.toString())), State.class);
+
+    List<State> states = bwStateStore.getAll("testStore", "testTable");
+    Assert.assertEquals(states.size(), 3);
+    Assert.assertEquals(states.get(0).getProp("k1"), "v1");
+    Assert.assertEquals(states.get(1).getProp("k2"), "v2");
+    Assert.assertEquals(states.get(2).getProp("k3"), "v3");
+
+    Assert.assertTrue(bwStateStore.iterateAll("testStore", "testTable").hasNext());
+  }
+
+  @AfterClass
+  public void tearDown() throws IOException {
+    FileSystem fs = FileSystem.getLocal(new Configuration(false));
+    Path rootDir = new Path(ROOT_DIR);
+    if (fs.exists(rootDir)) {
+      fs.delete(rootDir, true);
+    }
+  }
+}
@@ -18,9 +18,13 @@
 package org.apache.gobblin.couchbase.writer;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Properties;
 
+import com.couchbase.client.java.document.AbstractDocument;
 import com.couchbase.client.java.env.CouchbaseEnvironment;
+import com.google.common.base.Function;
+import com.google.common.collect.Lists;
 import com.typesafe.config.Config;
 
 import org.apache.gobblin.configuration.State;
@@ -52,10 +56,22 @@ public class CouchbaseWriterBuilder extends DataWriterBuilder {
     int maxRetries = ConfigUtils.getInt(config, CouchbaseWriterConfigurationKeys.MAX_RETRIES,
         CouchbaseWriterConfigurationKeys.MAX_RETRIES_DEFAULT);
 
-    // build an async couchbase writer
-    AsyncDataWriter couchbaseWriter = new CouchbaseWriter(couchbaseEnvironment, config);
+    int numStripes = ConfigUtils.getInt(config, CouchbaseWriterConfigurationKeys.NUM_STRIPES,
+        CouchbaseWriterConfigurationKeys.NUM_STRIPES_DEFAULT);
+
+    // build async couchbase writers, updates to the same document always go through the same writer
+    List<AsyncDataWriter> couchbaseWriters = Lists.newArrayListWithCapacity(numStripes);
+    for (int i = 0; i < numStripes; i++) {
+      couchbaseWriters.add(new CouchbaseWriter(couchbaseEnvironment, config));
+    }
     return AsyncWriterManager.builder()
-        .asyncDataWriter(couchbaseWriter)
+        .asyncDataWriters(couchbaseWriters)
+        .stripeKeyFunction(new Function<Object, String>() {
+          @Override
+          public String apply(Object record) {
+            return ((AbstractDocument) record).id();
+          }
+        })
         .failureAllowanceRatio(failureAllowance)
         .retriesEnabled(retriesEnabled)
         .numRetries(maxRetries)
@@ -50,6 +50,10 @@ public class CouchbaseWriterConfigurationKeys {
   public static final String MAX_RETRIES = prefix("maxRetries");
   public static final int MAX_RETRIES_DEFAULT = 5;
 
+  /** Number of parallel writers, documents are striped across them by id **/
+  public static final String NUM_STRIPES = prefix("numStripes");
+  public static final int NUM_STRIPES_DEFAULT = 1;
+
   static final String FAILURE_ALLOWANCE_PCT_CONFIG = prefix("failureAllowancePercentage");
   static final double FAILURE_ALLOWANCE_PCT_DEFAULT = 0.0;
 
@@ -20,7 +20,9 @@ import java.io.IOException;
 import java.util.Properties;
 
 import org.apache.gobblin.util.ConfigUtils;
+import org.apache.gobblin.writer.AdaptiveBatchAccumulator;
 import org.apache.gobblin.writer.AsyncWriterManager;
+import org.apache.gobblin.writer.BatchAccumulator;
 import org.apache.gobblin.writer.BatchAsyncDataWriter;
 import org.apache.gobblin.writer.BufferedAsyncDataWriter;
 import org.apache.gobblin.writer.DataWriter;
@@ -41,7 +43,10 @@ public class ElasticsearchDataWriterBuilder extends DataWriterBuilder {
     Properties taskProps = state.getProperties();
     Config config = ConfigUtils.propertiesToConfig(taskProps);
 
-    SequentialBasedBatchAccumulator<JsonObject> batchAccumulator = new SequentialBasedBatchAccumulator<>(taskProps);
+    BatchAccumulator<JsonObject> batchAccumulator =
+        ConfigUtils.getBoolean(config, AdaptiveBatchAccumulator.ENABLED, AdaptiveBatchAccumulator.ENABLED_DEFAULT)
+            ? new AdaptiveBatchAccumulator<JsonObject>(config)
+            : new SequentialBasedBatchAccumulator<JsonObject>(taskProps);
 
     BatchAsyncDataWriter asyncDataWriter;
     switch (ElasticsearchWriterConfigurationKeys.ClientType.valueOf(
@@ -19,6 +19,7 @@ package org.apache.gobblin.kafka.client;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -28,6 +29,7 @@ import java.util.regex.Pattern;
 
 import kafka.api.PartitionFetchInfo;
 import kafka.api.PartitionOffsetRequestInfo;
+import kafka.common.ErrorMapping;
 import kafka.common.TopicAndPartition;
 import kafka.javaapi.FetchRequest;
 import kafka.javaapi.FetchResponse;
@@ -43,9 +45,11 @@ import lombok.extern.slf4j.Slf4j;
 
 import com.google.common.base.Function;
 import com.google.common.base.Splitter;
+import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
 import com.google.common.net.HostAndPort;
 import com.typesafe.config.Config;
 
@@ -202,6 +206,80 @@ public class Kafka08ConsumerClient extends AbstractBaseKafkaConsumerClient {
     return getOffset(partition, offsetRequestInfo);
   }
 
+  /**
+   * Get the earliest offsets of <code>partitions</code> with a single offset request per leader broker.
+   */
+  @Override
+  public Map<KafkaPartition, Long> getEarliestOffsets(Collection<KafkaPartition> partitions) {
+    return getOffsets(partitions, kafka.api.OffsetRequest.EarliestTime());
+  }
+
+  /**
+   * Get the latest offsets of <code>partitions</code> with a single offset request per leader broker.
+   */
+  @Override
+  public Map<KafkaPartition, Long> getLatestOffsets(Collection<KafkaPartition> partitions) {
+    return getOffsets(partitions, kafka.api.OffsetRequest.LatestTime());
+  }
+
+  private Map<KafkaPartition, Long> getOffsets(Collection<KafkaPartition> partitions, long time) {
+    Multimap<HostAndPort, KafkaPartition> partitionsByLeader = ArrayListMultimap.create();
+    for (KafkaPartition partition : partitions) {
+      partitionsByLeader.put(partition.getLeader().getHostAndPort(), partition);
+    }
+
+    Map<KafkaPartition, Long> offsets = Maps.newHashMap();
+    for (Map.Entry<HostAndPort, Collection<KafkaPartition>> entry : partitionsByLeader.asMap().entrySet()) {
+      offsets.putAll(getOffsetsFromLeader(entry.getKey(), entry.getValue(), time));
+    }
+    return offsets;
+  }
+
+  private Map<KafkaPartition, Long> getOffsetsFromLeader(HostAndPort leader, Collection<KafkaPartition> partitions,
+      long time) {
+    Map<TopicAndPartition, PartitionOffsetRequestInfo> offsetRequestInfo = Maps.newHashMap();
+    for (KafkaPartition partition : partitions) {
+      offsetRequestInfo.put(new TopicAndPartition(partition.getTopicName(), partition.getId()),
+          new PartitionOffsetRequestInfo(time, 1));
+    }
+
+    SimpleConsumer consumer = this.getSimpleConsumer(leader);
+    for (int i = 0; i < this.fetchOffsetRetries; i++) {
+      try {
+        OffsetResponse offsetResponse =
+            consumer.getOffsetsBefore(new OffsetRequest(offsetRequestInfo, kafka.api.OffsetRequest.CurrentVersion(),
+                this.clientName));
+
+        // Partitions with an error are left out, so that one bad partition does not fail the whole request
+        Map<KafkaPartition, Long> offsets = Maps.newHashMap();
+        for (KafkaPartition partition : partitions) {
+          short errorCode = offsetResponse.errorCode(partition.getTopicName(), partition.getId());
+          long[] partitionOffsets = offsetResponse.offsets(partition.getTopicName(), partition.getId());
+          if (errorCode != ErrorMapping.NoError() || partitionOffsets.length == 0) {
+            log.warn(String.format("Fetching offset for partition %s from broker %s has failed with error code %d.",
+                partition, leader, errorCode));
+            continue;
+          }
+          offsets.put(partition, partitionOffsets[0]);
+        }
+        return offsets;
+      } catch (Exception e) {
+        log.warn(String.format("Fetching offsets for %d partition(s) from broker %s has failed %d time(s). Reason: %s",
+            partitions.size(), leader, i + 1, e));
+        if (i < this.fetchOffsetRetries - 1) {
+          try {
+            Thread.sleep((long) ((i + Math.random()) * 1000));
+          } catch (InterruptedException e2) {
+            log.error("Caught interrupted exception between retries of getting offsets. " + e2);
+          }
+        }
+      }
+    }
+    log.error(String.format("Fetching offsets for %d partition(s) from broker %s has failed.", partitions.size(),
+        leader));
+    return Collections.emptyMap();
+  }
+
   private long getOffset(KafkaPartition partition, Map<TopicAndPartition, PartitionOffsetRequestInfo> offsetRequestInfo)
       throws KafkaOffsetRetrievalFailureException {
     SimpleConsumer consumer = this.getSimpleConsumer(partition.getLeader().getHostAndPort());
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.kafka.client;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterSuite;
+import org.testng.annotations.BeforeSuite;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.kafka.KafkaTestBase;
+import org.apache.gobblin.kafka.writer.Kafka08DataWriter;
+import org.apache.gobblin.kafka.writer.KafkaWriterConfigurationKeys;
+import org.apache.gobblin.source.extractor.extract.kafka.KafkaPartition;
+import org.apache.gobblin.source.extractor.extract.kafka.KafkaTopic;
+import org.apache.gobblin.writer.WriteCallback;
+
+import static org.mockito.Mockito.mock;
+
+
+public class Kafka08ConsumerClientTest {
+
+  private final KafkaTestBase _kafkaTestHelper;
+
+  public Kafka08ConsumerClientTest()
+      throws InterruptedException, RuntimeException {
+    _kafkaTestHelper = new KafkaTestBase();
+  }
+
+  @BeforeSuite
+  public void beforeSuite() {
+    _kafkaTestHelper.startServers();
+  }
+
+  @AfterSuite
+  public void afterSuite()
+      throws IOException {
+    try {
+      _kafkaTestHelper.stopClients();
+    } finally {
+      _kafkaTestHelper.stopServers();
+    }
+  }
+
+  @Test
+  public void testBatchOffsets() throws Exception {
+    String topic1 = "testBatchOffsets08_1";
+    String topic2 = "testBatchOffsets08_2";
+    produce(topic1, 3);
+    produce(topic2, 1);
+
+    Config config = ConfigFactory.parseMap(
+        ImmutableMap.of(ConfigurationKeys.KAFKA_BROKERS, "localhost:" + _kafkaTestHelper.getKafkaServerPort()));
+    try (GobblinKafkaConsumerClient client = new Kafka08ConsumerClient.Factory().create(config)) {
+      KafkaPartition partition1 = null;
+      KafkaPartition partition2 = null;
+      for (KafkaTopic topic : client.getTopics()) {
+        if (topic.getName().equals(topic1)) {
+          partition1 = topic.getPartitions().get(0);
+        } else if (topic.getName().equals(topic2)) {
+          partition2 = topic.getPartitions().get(0);
+        }
+      }
+      Assert.assertNotNull(partition1);
+      Assert.assertNotNull(partition2);
+
+      // A partition that does not exist on the leader is left out instead of failing the whole request
+      KafkaPartition missingPartition = new KafkaPartition.Builder().withId(7).withTopicName(topic1)
+          .withLeaderId(partition1.getLeader().getId())
+          .withLeaderHostAndPort(partition1.getLeader().getHostAndPort().toString()).build();
+      List<KafkaPartition> partitions = Lists.newArrayList(partition1, partition2, missingPartition);
+
+      Map<KafkaPartition, Long> earliestOffsets = client.getEarliestOffsets(partitions);
+      Assert.assertEquals(earliestOffsets, ImmutableMap.of(partition1, 0L, partition2, 0L));
+      Assert.assertEquals(earliestOffsets.get(partition1).longValue(), client.getEarliestOffset(partition1));
+
+      Map<KafkaPartition, Long> latestOffsets = client.getLatestOffsets(partitions);
+      Assert.assertEquals(latestOffsets, ImmutableMap.of(partition1, 3L, partition2, 1L));
+      Assert.assertEquals(latestOffsets.get(partition1).longValue(), client.getLatestOffset(partition1));
+      Assert.assertEquals(latestOffsets.get(partition2).longValue(), client.getLatestOffset(partition2));
+    }
+  }
+
+  private void produce(String topic, int count) throws Exception {
+    _kafkaTestHelper.provisionTopic(topic);
+    Properties props = new Properties();
+    props.setProperty(KafkaWriterConfigurationKeys.KAFKA_TOPIC, topic);
+    props.setProperty(KafkaWriterConfigurationKeys.KAFKA_PRODUCER_CONFIG_PREFIX + "bootstrap.servers",
+        "localhost:" + _kafkaTestHelper.getKafkaServerPort());
+    props.setProperty(KafkaWriterConfigurationKeys.KAFKA_PRODUCER_CONFIG_PREFIX + "value.serializer",
+        "org.apache.kafka.common.serialization.StringSerializer");
+    Kafka08DataWriter<String> writer = new Kafka08DataWriter<>(props);
+    try {
+      for (int i = 0; i < count; i++) {
+        writer.write("message" + i, mock(WriteCallback.class)).get();
+      }
+    } finally {
+      writer.close();
+    }
+  }
+}
@@ -17,9 +17,11 @@
 package org.apache.gobblin.kafka.client;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 
@@ -37,12 +39,14 @@ import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 
 import javax.annotation.Nonnull;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
 
 import org.apache.gobblin.configuration.ConfigurationKeys;
 import org.apache.gobblin.source.extractor.extract.kafka.KafkaOffsetRetrievalFailureException;
@@ -58,6 +62,7 @@ import org.apache.gobblin.util.ConfigUtils;
  * @param <K> Message key type
  * @param <V> Message value type
  */
+@Slf4j
 public class Kafka09ConsumerClient<K, V> extends AbstractBaseKafkaConsumerClient {
 
   private static final String KAFKA_09_CLIENT_BOOTSTRAP_SERVERS_KEY = "bootstrap.servers";
@@ -143,6 +148,48 @@ public class Kafka09ConsumerClient<K, V> extends AbstractBaseKafkaConsumerClient
     return this.consumer.position(topicPartition);
   }
 
+  /**
+   * Get the earliest offsets of <code>partitions</code>, assigning and seeking all of them at once.
+   */
+  @Override
+  public Map<KafkaPartition, Long> getEarliestOffsets(Collection<KafkaPartition> partitions) {
+    List<TopicPartition> topicPartitions = assignAll(partitions);
+    this.consumer.seekToBeginning(topicPartitions.toArray(new TopicPartition[topicPartitions.size()]));
+    return getPositions(partitions);
+  }
+
+  /**
+   * Get the latest offsets of <code>partitions</code>, assigning and seeking all of them at once.
+   */
+  @Override
+  public Map<KafkaPartition, Long> getLatestOffsets(Collection<KafkaPartition> partitions) {
+    List<TopicPartition> topicPartitions = assignAll(partitions);
+    this.consumer.seekToEnd(topicPartitions.toArray(new TopicPartition[topicPartitions.size()]));
+    return getPositions(partitions);
+  }
+
+  private List<TopicPartition> assignAll(Collection<KafkaPartition> partitions) {
+    List<TopicPartition> topicPartitions = Lists.newArrayListWithCapacity(partitions.size());
+    for (KafkaPartition partition : partitions) {
+      topicPartitions.add(new TopicPartition(partition.getTopicName(), partition.getId()));
+    }
+    this.consumer.assign(topicPartitions);
+    return topicPartitions;
+  }
+
+  private Map<KafkaPartition, Long> getPositions(Collection<KafkaPartition> partitions) {
+    Map<KafkaPartition, Long> offsets = Maps.newHashMap();
+    for (KafkaPartition partition : partitions) {
+      try {
+        offsets.put(partition, this.consumer.position(new TopicPartition(partition.getTopicName(), partition.getId())));
+      } catch (RuntimeException e) {
+        // The partition is left out of the result
+        log.warn(String.format("Failed to get the offset of partition %s, leaving it out", partition), e);
+      }
+    }
+    return offsets;
+  }
+
   @Override
   public Iterator<KafkaConsumerRecord> consume(KafkaPartition partition, long nextOffset, long maxOffset) {
 
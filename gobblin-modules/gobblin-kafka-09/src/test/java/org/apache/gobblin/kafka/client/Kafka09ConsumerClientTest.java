@@ -18,6 +18,7 @@ package org.apache.gobblin.kafka.client;
 
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -73,4 +74,31 @@ public class Kafka09ConsumerClientTest {
     }
 
   }
+
+  @Test
+  public void testBatchOffsets() throws Exception {
+    Config testConfig = ConfigFactory.parseMap(ImmutableMap.of(ConfigurationKeys.KAFKA_BROKERS, "test"));
+    MockConsumer<String, String> consumer = new MockConsumer<String, String>(OffsetResetStrategy.NONE);
+
+    HashMap<TopicPartition, Long> beginningOffsets = new HashMap<>();
+    beginningOffsets.put(new TopicPartition("test_topic", 0), 3L);
+    beginningOffsets.put(new TopicPartition("test_topic", 1), 5L);
+    consumer.updateBeginningOffsets(beginningOffsets);
+
+    HashMap<TopicPartition, Long> endOffsets = new HashMap<>();
+    endOffsets.put(new TopicPartition("test_topic", 0), 10L);
+    endOffsets.put(new TopicPartition("test_topic", 1), 20L);
+    consumer.updateEndOffsets(endOffsets);
+
+    KafkaPartition partition0 = new KafkaPartition.Builder().withId(0).withTopicName("test_topic").build();
+    KafkaPartition partition1 = new KafkaPartition.Builder().withId(1).withTopicName("test_topic").build();
+
+    try (Kafka09ConsumerClient<String, String> kafka09Client = new Kafka09ConsumerClient<>(testConfig, consumer);) {
+      Map<KafkaPartition, Long> earliestOffsets = kafka09Client.getEarliestOffsets(Arrays.asList(partition0, partition1));
+      Assert.assertEquals(earliestOffsets, ImmutableMap.of(partition0, 3L, partition1, 5L));
+
+      Map<KafkaPartition, Long> latestOffsets = kafka09Client.getLatestOffsets(Arrays.asList(partition0, partition1));
+      Assert.assertEquals(latestOffsets, ImmutableMap.of(partition0, 10L, partition1, 20L));
+    }
+  }
 }
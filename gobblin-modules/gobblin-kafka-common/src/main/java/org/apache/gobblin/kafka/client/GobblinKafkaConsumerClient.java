@@ -17,10 +17,13 @@
 package org.apache.gobblin.kafka.client;
 
 import java.io.Closeable;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
+import com.google.common.collect.Maps;
 import com.typesafe.config.Config;
 
 import org.apache.gobblin.source.extractor.extract.kafka.KafkaOffsetRetrievalFailureException;
@@ -69,6 +72,54 @@ public interface GobblinKafkaConsumerClient extends Closeable {
    */
   public long getLatestOffset(KafkaPartition partition) throws KafkaOffsetRetrievalFailureException;
 
+  /**
+   * Get the earliest available offsets for a collection of <code>partitions</code>.
+   *
+   * <p>
+   *   Partitions whose offset could not be retrieved are absent from the returned map. Implementations should
+   *   override this method to retrieve offsets with one request per leader broker instead of one per partition.
+   * </p>
+   *
+   * @param partitions for which earliest offsets are retrieved
+   *
+   * @throws UnsupportedOperationException - If the underlying kafka-client does not support getting earliest offset
+   */
+  default Map<KafkaPartition, Long> getEarliestOffsets(Collection<KafkaPartition> partitions) {
+    Map<KafkaPartition, Long> offsets = Maps.newHashMap();
+    for (KafkaPartition partition : partitions) {
+      try {
+        offsets.put(partition, getEarliestOffset(partition));
+      } catch (KafkaOffsetRetrievalFailureException e) {
+        // The partition is left out of the result
+      }
+    }
+    return offsets;
+  }
+
+  /**
+   * Get the latest available offsets for a collection of <code>partitions</code>.
+   *
+   * <p>
+   *   Partitions whose offset could not be retrieved are absent from the returned map. Implementations should
+   *   override this method to retrieve offsets with one request per leader broker instead of one per partition.
+   * </p>
+   *
+   * @param partitions for which latest offsets are retrieved
+   *
+   * @throws UnsupportedOperationException - If the underlying kafka-client does not support getting latest offset
+   */
+  default Map<KafkaPartition, Long> getLatestOffsets(Collection<KafkaPartition> partitions) {
+    Map<KafkaPartition, Long> offsets = Maps.newHashMap();
+    for (KafkaPartition partition : partitions) {
+      try {
+        offsets.put(partition, getLatestOffset(partition));
+      } catch (KafkaOffsetRetrievalFailureException e) {
+        // The partition is left out of the result
+      }
+    }
+    return offsets;
+  }
+
   /**
    * API to consume records from kakfa starting from <code>nextOffset</code> till <code>maxOffset</code>.
    * If <code>maxOffset</code> is greater than <code>nextOffset</code>, returns a null.
@@ -14,30 +14,42 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-
 package org.apache.gobblin.kafka.schemareg;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
 
 import lombok.extern.slf4j.Slf4j;
 
 
 /**
- * An implementation that wraps a passed in schema registry and caches interactions with it
+ * An implementation that wraps a passed in schema registry and caches interactions with it.
+ *
+ * This class is thread safe: cache hits never take a lock, so it can be shared by concurrent consumers and
+ * producers. Schemas looked up by id are kept in a bounded LRU cache, optionally expiring a while after they were
+ * loaded.
  * {@inheritDoc}
  * */
 @Slf4j
 public class CachingKafkaSchemaRegistry<K,S> implements KafkaSchemaRegistry<K,S> {
 
-  private static final int DEFAULT_MAX_SCHEMA_REFERENCES = 10;
+  public static final int DEFAULT_MAX_SCHEMA_REFERENCES = 10;
+  public static final int DEFAULT_MAX_CACHED_IDS = 10000;
+  public static final long DEFAULT_ID_CACHE_TTL_SECONDS = 0;
   private final KafkaSchemaRegistry<K,S> _kafkaSchemaRegistry;
-  private final HashMap<String, Map<S, K>> _namedSchemaCache;
-  private final HashMap<K, S> _idBasedCache;
+  private final ConcurrentMap<String, Map<S, K>> _namedSchemaCache;
+  private final Cache<K, S> _idBasedCache;
   private final int _maxSchemaReferences;
 
 
@@ -52,58 +64,83 @@ public class CachingKafkaSchemaRegistry<K,S> implements KafkaSchemaRegistry<K,S>
    * @param maxSchemaReferences: the maximum number of unique references that can exist for a given schema.
    */
   public CachingKafkaSchemaRegistry(KafkaSchemaRegistry kafkaSchemaRegistry, int maxSchemaReferences)
+  {
+    this(kafkaSchemaRegistry, maxSchemaReferences, DEFAULT_MAX_CACHED_IDS, DEFAULT_ID_CACHE_TTL_SECONDS);
+  }
+
+  /**
+   * Create a caching schema registry.
+   * @param kafkaSchemaRegistry: a schema registry that needs caching
+   * @param maxSchemaReferences: the maximum number of unique references that can exist for a given schema.
+   * @param maxCachedIds: the maximum number of schemas cached by id, least recently used ones are evicted first.
+   * @param idCacheTtlSeconds: the number of seconds after which a schema cached by id is looked up again,
+   *                         or 0 to keep schemas until they are evicted.
+   */
+  public CachingKafkaSchemaRegistry(KafkaSchemaRegistry kafkaSchemaRegistry, int maxSchemaReferences,
+      int maxCachedIds, long idCacheTtlSeconds)
   {
     Preconditions.checkArgument(kafkaSchemaRegistry!=null, "KafkaSchemaRegistry cannot be null");
     Preconditions.checkArgument(!kafkaSchemaRegistry.hasInternalCache(), "SchemaRegistry already has a cache.");
+    Preconditions.checkArgument(maxCachedIds > 0, "The maximum number of cached ids must be positive");
     _kafkaSchemaRegistry = kafkaSchemaRegistry;
-    _namedSchemaCache = new HashMap<>();
-    _idBasedCache = new HashMap<>();
+    _namedSchemaCache = Maps.newConcurrentMap();
+    CacheBuilder<Object, Object> idCacheBuilder = CacheBuilder.newBuilder().maximumSize(maxCachedIds);
+    if (idCacheTtlSeconds > 0) {
+      idCacheBuilder.expireAfterWrite(idCacheTtlSeconds, TimeUnit.SECONDS);
+    }
+    _idBasedCache = idCacheBuilder.build();
     _maxSchemaReferences = maxSchemaReferences;
   }
 
   @Override
-  synchronized public K register(String name, S schema)
+  public K register(String name, S schema)
       throws IOException, SchemaRegistryException {
 
-    Map<S, K> schemaIdMap;
-    if (_namedSchemaCache.containsKey(name))
+    Map<S, K> schemaIdMap = _namedSchemaCache.get(name);
+    if (schemaIdMap == null)
     {
-      schemaIdMap = _namedSchemaCache.get(name);
-    }
-    else {
       // we really care about reference equality to de-dup using cache
-      // when it comes to registering schemas, so use an IdentityHashMap here
-      schemaIdMap = new IdentityHashMap<>();
-      _namedSchemaCache.put(name, schemaIdMap);
+      // when it comes to registering schemas, so use a map with weak (identity compared) keys here
+      _namedSchemaCache.putIfAbsent(name, new MapMaker().weakKeys().<S, K>makeMap());
+      schemaIdMap = _namedSchemaCache.get(name);
     }
 
-    if (schemaIdMap.containsKey(schema))
+    K id = schemaIdMap.get(schema);
+    if (id != null)
     {
-      return schemaIdMap.get(schema);
+      return id;
     }
-    else
-    {
+
+    synchronized (schemaIdMap) {
+      id = schemaIdMap.get(schema);
+      if (id != null)
+      {
+        return id;
+      }
       // check if schemaIdMap is getting too full
       Preconditions.checkState(schemaIdMap.size() < _maxSchemaReferences, "Too many schema objects for " + name +". Cache is overfull.");
+      id = _kafkaSchemaRegistry.register(name, schema);
+      schemaIdMap.put(schema, id);
     }
-    K id = _kafkaSchemaRegistry.register(name, schema);
-    schemaIdMap.put(schema, id);
     _idBasedCache.put(id, schema);
     return id;
   }
 
   @Override
-  synchronized public S getById(K id)
+  public S getById(final K id)
       throws IOException, SchemaRegistryException {
-    if (_idBasedCache.containsKey(id))
-    {
-      return _idBasedCache.get(id);
-    }
-    else
-    {
-      S schema = _kafkaSchemaRegistry.getById(id);
-      _idBasedCache.put(id, schema);
-      return schema;
+    try {
+      return _idBasedCache.get(id, new Callable<S>() {
+        @Override
+        public S call()
+            throws Exception {
+          return _kafkaSchemaRegistry.getById(id);
+        }
+      });
+    } catch (ExecutionException e) {
+      Throwables.propagateIfInstanceOf(e.getCause(), IOException.class);
+      Throwables.propagateIfInstanceOf(e.getCause(), SchemaRegistryException.class);
+      throw Throwables.propagate(e.getCause());
     }
   }
 
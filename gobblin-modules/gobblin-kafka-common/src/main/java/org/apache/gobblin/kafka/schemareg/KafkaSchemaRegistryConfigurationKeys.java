@@ -24,6 +24,8 @@ public class KafkaSchemaRegistryConfigurationKeys {
   public final static String KAFKA_SCHEMA_REGISTRY_CLASS = "kafka.schemaRegistry.class";
   public final static String KAFKA_SCHEMA_REGISTRY_URL = "kafka.schemaRegistry.url";
   public final static String KAFKA_SCHEMA_REGISTRY_CACHE = "kafka.schemaRegistry.cache";
+  public final static String KAFKA_SCHEMA_REGISTRY_CACHE_MAX_IDS = "kafka.schemaRegistry.cache.maxIds";
+  public final static String KAFKA_SCHEMA_REGISTRY_CACHE_ID_TTL_SECONDS = "kafka.schemaRegistry.cache.idTtlSeconds";
   public final static String KAFKA_SCHEMA_REGISTRY_SWITCH_NAME = "kafka.schemaRegistry.switchName";
   public final static String KAFKA_SCHEMA_REGISTRY_SWITCH_NAME_DEFAULT = "true";
   public final static String KAFKA_SCHEMA_REGISTRY_OVERRIDE_NAMESPACE = "kafka.schemaRegistry.overrideNamespace";
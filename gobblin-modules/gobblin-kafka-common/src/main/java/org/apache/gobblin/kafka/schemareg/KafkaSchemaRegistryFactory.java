@@ -51,7 +51,14 @@ public class KafkaSchemaRegistryFactory {
       KafkaSchemaRegistry schemaRegistry = (KafkaSchemaRegistry) ConstructorUtils.invokeConstructor(clazz, props);
       if (tryCache && !schemaRegistry.hasInternalCache())
       {
-        schemaRegistry = new CachingKafkaSchemaRegistry(schemaRegistry);
+        int maxCachedIds = Integer.parseInt(props.getProperty(
+            KafkaSchemaRegistryConfigurationKeys.KAFKA_SCHEMA_REGISTRY_CACHE_MAX_IDS,
+            String.valueOf(CachingKafkaSchemaRegistry.DEFAULT_MAX_CACHED_IDS)));
+        long idCacheTtlSeconds = Long.parseLong(props.getProperty(
+            KafkaSchemaRegistryConfigurationKeys.KAFKA_SCHEMA_REGISTRY_CACHE_ID_TTL_SECONDS,
+            String.valueOf(CachingKafkaSchemaRegistry.DEFAULT_ID_CACHE_TTL_SECONDS)));
+        schemaRegistry = new CachingKafkaSchemaRegistry(schemaRegistry,
+            CachingKafkaSchemaRegistry.DEFAULT_MAX_SCHEMA_REFERENCES, maxCachedIds, idCacheTtlSeconds);
       }
       return schemaRegistry;
     } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | InvocationTargetException
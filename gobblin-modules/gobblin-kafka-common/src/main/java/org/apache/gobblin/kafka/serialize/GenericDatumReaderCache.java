@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.kafka.serialize;
+
+import java.io.IOException;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DecoderFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+
+/**
+ * A thread safe cache of {@link GenericDatumReader}s keyed by the id of the writer schema and the reader schema.
+ *
+ * <p>
+ *   A {@link GenericDatumReader} resolves the writer schema against the reader schema every time its schemas change,
+ *   and is not safe to reconfigure while other threads are reading with it. This class builds one reader per
+ *   (writer id, reader schema) pair and never reconfigures it, so the resolution is done once per pair and the
+ *   readers can be shared by all threads. Reader schemas are compared by identity, so callers should pass the same
+ *   {@link Schema} instance for every record they want to resolve to the same schema.
+ * </p>
+ *
+ * <p>
+ *   {@link #read(Object, Schema, Schema, byte[], int, int, GenericRecord)} also reuses a {@link BinaryDecoder} per
+ *   thread instead of allocating one per record.
+ * </p>
+ *
+ * @param <K> the type of the writer schema ids
+ */
+public class GenericDatumReaderCache<K> {
+
+  public static final int DEFAULT_MAX_SIZE = 1000;
+
+  private final Cache<ReaderKey<K>, GenericDatumReader<GenericRecord>> readers;
+  private final ThreadLocal<BinaryDecoder> decoders = new ThreadLocal<>();
+
+  public GenericDatumReaderCache() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  public GenericDatumReaderCache(int maxSize) {
+    Preconditions.checkArgument(maxSize > 0, "Cache size must be positive");
+    this.readers = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+  }
+
+  /**
+   * Get a reader that resolves records written with the given writer schema to the given reader schema.
+   * @param writerId the id of the writer schema
+   * @param writerSchema the writer schema
+   * @param readerSchema the schema to deserialize to. If null then the writer schema is used.
+   */
+  public GenericDatumReader<GenericRecord> getReader(K writerId, Schema writerSchema, Schema readerSchema) {
+    Schema expected = readerSchema == null ? writerSchema : readerSchema;
+    ReaderKey<K> key = new ReaderKey<>(writerId, expected);
+    GenericDatumReader<GenericRecord> reader = this.readers.getIfPresent(key);
+    if (reader == null) {
+      // Concurrent misses may build the same reader twice, which is harmless
+      reader = new GenericDatumReader<>(writerSchema, expected);
+      this.readers.put(key, reader);
+    }
+    return reader;
+  }
+
+  /**
+   * Deserialize a record from a byte range.
+   * @param writerId the id of the writer schema
+   * @param writerSchema the writer schema
+   * @param readerSchema the schema to deserialize to. If null then the writer schema is used.
+   * @param reuse a record to fill instead of allocating a new one, may be null
+   */
+  public GenericRecord read(K writerId, Schema writerSchema, Schema readerSchema, byte[] data, int offset, int length,
+      GenericRecord reuse) throws IOException {
+    BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(data, offset, length, this.decoders.get());
+    this.decoders.set(decoder);
+    return getReader(writerId, writerSchema, readerSchema).read(reuse, decoder);
+  }
+
+  /**
+   * @return the number of cached readers.
+   */
+  public long size() {
+    return this.readers.size();
+  }
+
+  private static class ReaderKey<K> {
+    private final K writerId;
+    private final Schema readerSchema;
+
+    private ReaderKey(K writerId, Schema readerSchema) {
+      this.writerId = Preconditions.checkNotNull(writerId);
+      this.readerSchema = readerSchema;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof ReaderKey)) {
+        return false;
+      }
+      ReaderKey<?> other = (ReaderKey<?>) o;
+      return this.writerId.equals(other.writerId) && this.readerSchema == other.readerSchema;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * this.writerId.hashCode() + System.identityHashCode(this.readerSchema);
+    }
+  }
+}
@@ -22,11 +22,7 @@ import java.util.Map;
 import java.util.Properties;
 
 import org.apache.avro.Schema;
-import org.apache.avro.generic.GenericData;
-import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.generic.GenericRecord;
-import org.apache.avro.io.Decoder;
-import org.apache.avro.io.DecoderFactory;
 
 import com.google.common.base.Preconditions;
 
@@ -39,12 +35,15 @@ import org.apache.gobblin.kafka.schemareg.SchemaRegistryException;
 
 /**
  * The LinkedIn Avro Deserializer (works with records serialized by the {@link LiAvroSerializerBase})
+ *
+ * Datum readers are cached per (schema id, output schema) pair in a {@link GenericDatumReaderCache}, so a single
+ * deserializer can be shared by several threads.
  */
 @Slf4j
 public class LiAvroDeserializerBase {
 
   private KafkaSchemaRegistry<MD5Digest, Schema> _schemaRegistry;
-  private GenericDatumReader<GenericData.Record> _datumReader;
+  private GenericDatumReaderCache<MD5Digest> _datumReaderCache;
 
   public LiAvroDeserializerBase()
   {}
@@ -52,9 +51,8 @@ public class LiAvroDeserializerBase {
   public LiAvroDeserializerBase(KafkaSchemaRegistry<MD5Digest, Schema> schemaRegistry)
   {
     _schemaRegistry = schemaRegistry;
-    _datumReader = new GenericDatumReader<>();
+    _datumReaderCache = new GenericDatumReaderCache<>();
     Preconditions.checkState(_schemaRegistry!=null, "Schema Registry is not initialized");
-    Preconditions.checkState(_datumReader!=null, "Datum Reader is not initialized");
   }
   /**
    * Configure this class.
@@ -63,7 +61,7 @@ public class LiAvroDeserializerBase {
    */
   public void configure(Map<String, ?> configs, boolean isKey) {
     Preconditions.checkArgument(isKey==false, "LiAvroDeserializer only works for value fields");
-    _datumReader = new GenericDatumReader<>();
+    _datumReaderCache = new GenericDatumReaderCache<>();
     Properties props = new Properties();
     for (Map.Entry<String, ?> entry: configs.entrySet())
     {
@@ -83,6 +81,19 @@ public class LiAvroDeserializerBase {
    */
   public GenericRecord deserialize(String topic, byte[] data, Schema outputSchema)
       throws SerializationException {
+    return deserialize(topic, data, outputSchema, null);
+  }
+
+  /**
+   *
+   * @param topic topic associated with the data
+   * @param data serialized bytes
+   * @param outputSchema the schema to deserialize to. If null then the record schema is used.
+   * @param reuse a record to fill instead of allocating a new one, may be null
+   * @return deserialized object
+   */
+  public GenericRecord deserialize(String topic, byte[] data, Schema outputSchema, GenericRecord reuse)
+      throws SerializationException {
     try {
       // MAGIC_BYTE | schemaId-bytes | avro_payload
 
@@ -91,13 +102,9 @@ public class LiAvroDeserializerBase {
       }
       MD5Digest schemaId = MD5Digest.fromBytes(data, 1  ); // read start after the first byte (magic byte)
       Schema schema = _schemaRegistry.getById(schemaId);
-      Decoder decoder = DecoderFactory.get().binaryDecoder(data, 1 + MD5Digest.MD5_BYTES_LENGTH,
-          data.length - MD5Digest.MD5_BYTES_LENGTH - 1, null);
-      _datumReader.setExpected(outputSchema);
-      _datumReader.setSchema(schema);
       try {
-        GenericRecord record = _datumReader.read(null, decoder);
-        return record;
+        return _datumReaderCache.read(schemaId, schema, outputSchema, data, 1 + MD5Digest.MD5_BYTES_LENGTH,
+            data.length - MD5Digest.MD5_BYTES_LENGTH - 1, reuse);
       } catch (IOException e) {
         log.error(String.format("Error during decoding record for topic %s: ", topic));
         throw e;
@@ -18,8 +18,11 @@
 package org.apache.gobblin.kafka.writer;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
 
+import com.google.common.collect.Lists;
 import com.typesafe.config.Config;
 
 import org.apache.gobblin.configuration.State;
@@ -55,6 +58,14 @@ public abstract class AbstractKafkaDataWriterBuilder<S, D> extends DataWriterBui
         KafkaWriterConfigurationKeys.COMMIT_STEP_WAIT_TIME_DEFAULT);
     double failureAllowance = ConfigUtils.getDouble(config, KafkaWriterConfigurationKeys.FAILURE_ALLOWANCE_PCT_CONFIG,
         KafkaWriterConfigurationKeys.FAILURE_ALLOWANCE_PCT_DEFAULT) / 100.0;
+    int numStripes = ConfigUtils.getInt(config, KafkaWriterConfigurationKeys.NUM_STRIPES_CONFIG,
+        KafkaWriterConfigurationKeys.NUM_STRIPES_DEFAULT);
+    List<AsyncDataWriter> asyncDataWriters = Lists.newArrayListWithCapacity(numStripes);
+    for (int i = 0; i < numStripes; i++) {
+      asyncDataWriters.add(getAsyncDataWriter(taskProps));
+    }
+    // The records are sent without a Kafka key, so there is no per-key order to keep: use the producers in turn
+    final AtomicLong recordCount = new AtomicLong();
 
     return AsyncWriterManager.builder()
         .config(config)
@@ -62,7 +73,8 @@ public abstract class AbstractKafkaDataWriterBuilder<S, D> extends DataWriterBui
         .commitStepWaitTimeInMillis(commitStepWaitTimeMillis)
         .failureAllowanceRatio(failureAllowance)
         .retriesEnabled(false)
-        .asyncDataWriter(getAsyncDataWriter(taskProps))
+        .asyncDataWriters(asyncDataWriters)
+        .stripeKeyFunction(record -> recordCount.getAndIncrement())
         .build();
   }
 }
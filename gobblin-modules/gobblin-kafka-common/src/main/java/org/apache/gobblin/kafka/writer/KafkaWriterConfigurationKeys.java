@@ -32,6 +32,9 @@ public class KafkaWriterConfigurationKeys {
   static final long COMMIT_STEP_WAIT_TIME_DEFAULT = 500; // 500ms
   static final String FAILURE_ALLOWANCE_PCT_CONFIG = "writer.kafka.failureAllowancePercentage";
   static final double FAILURE_ALLOWANCE_PCT_DEFAULT = 20.0;
+  /** Number of parallel producers, records are sent through them in turn **/
+  static final String NUM_STRIPES_CONFIG = "writer.kafka.numStripes";
+  static final int NUM_STRIPES_DEFAULT = 1;
 
 
   /**
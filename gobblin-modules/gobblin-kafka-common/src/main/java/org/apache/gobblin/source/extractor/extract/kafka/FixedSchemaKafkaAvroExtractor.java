@@ -18,6 +18,7 @@
 package org.apache.gobblin.source.extractor.extract.kafka;
 
 import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryDecoder;
 import org.apache.avro.io.Decoder;
 import org.apache.avro.io.DecoderFactory;
 
@@ -35,6 +36,8 @@ public class FixedSchemaKafkaAvroExtractor extends KafkaAvroExtractor<Void> {
 
   public static final String STATIC_SCHEMA_ROOT_KEY = "gobblin.source.kafka.fixedSchema";
 
+  private BinaryDecoder decoder;
+
   public FixedSchemaKafkaAvroExtractor(WorkUnitState state) {
     super(state);
   }
@@ -57,6 +60,8 @@ public class FixedSchemaKafkaAvroExtractor extends KafkaAvroExtractor<Void> {
 
   @Override
   protected Decoder getDecoder(byte[] payload) {
-    return DecoderFactory.get().binaryDecoder(payload, null);
+    // Records are decoded one at a time, so the decoder can be reused
+    this.decoder = DecoderFactory.get().binaryDecoder(payload, this.decoder);
+    return this.decoder;
   }
 }
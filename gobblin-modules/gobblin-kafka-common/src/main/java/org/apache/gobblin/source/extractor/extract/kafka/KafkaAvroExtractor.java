@@ -33,6 +33,7 @@ import com.google.common.base.Preconditions;
 
 import org.apache.gobblin.configuration.WorkUnitState;
 import org.apache.gobblin.kafka.client.ByteArrayBasedKafkaRecord;
+import org.apache.gobblin.kafka.serialize.GenericDatumReaderCache;
 import org.apache.gobblin.metrics.kafka.KafkaSchemaRegistry;
 import org.apache.gobblin.metrics.kafka.SchemaRegistryException;
 import org.apache.gobblin.source.extractor.DataRecordException;
@@ -47,6 +48,9 @@ import org.apache.gobblin.util.AvroUtils;
  * schema registry is not used (i.e., property {@link KafkaSchemaRegistry#KAFKA_SCHEMA_REGISTRY_CLASS} is not
  * specified, method {@link #getExtractorSchema()} should be overriden.
  *
+ * Records are decoded with a {@link GenericDatumReader} per record schema, cached in a {@link GenericDatumReaderCache},
+ * so that the record schema is only resolved against the extractor schema the first time it is seen.
+ *
  * @author Ziyang Liu
  */
 @Slf4j
@@ -58,7 +62,12 @@ public abstract class KafkaAvroExtractor<K> extends KafkaExtractor<Schema, Gener
 
   protected final Optional<KafkaSchemaRegistry<K, Schema>> schemaRegistry;
   protected final Optional<Schema> schema;
+  /**
+   * @deprecated records are decoded with readers from a {@link GenericDatumReaderCache}, this reader is not used.
+   */
+  @Deprecated
   protected final Optional<GenericDatumReader<Record>> reader;
+  private final GenericDatumReaderCache<Schema> readerCache = new GenericDatumReaderCache<>();
 
   public KafkaAvroExtractor(WorkUnitState state) {
     super(state);
@@ -110,9 +119,9 @@ public abstract class KafkaAvroExtractor<K> extends KafkaExtractor<Schema, Gener
     byte[] payload = messageAndOffset.getMessageBytes();
     Schema recordSchema = getRecordSchema(payload);
     Decoder decoder = getDecoder(payload);
-    this.reader.get().setSchema(recordSchema);
     try {
-      GenericRecord record = this.reader.get().read(null, decoder);
+      GenericRecord record =
+          this.readerCache.getReader(recordSchema, recordSchema, this.schema.get()).read(null, decoder);
       record = convertRecord(record);
       return record;
     } catch (IOException e) {
@@ -133,6 +133,11 @@ public abstract class KafkaSource<S, D> extends EventBasedSource<S, D> {
 
   private final Set<KafkaPartition> partitionsToBeProcessed = Sets.newConcurrentHashSet();
 
+  // Offsets fetched for all partitions at once before creating work units
+  private final Map<KafkaPartition, Long> prefetchedEarliestOffsets = Maps.newConcurrentMap();
+  private final Map<KafkaPartition, Long> prefetchedLatestOffsets = Maps.newConcurrentMap();
+  private volatile long prefetchedOffsetFetchEpochTime = 0;
+
   private final AtomicInteger failToGetOffsetCount = new AtomicInteger(0);
   private final AtomicInteger offsetTooEarlyCount = new AtomicInteger(0);
   private final AtomicInteger offsetTooLateCount = new AtomicInteger(0);
@@ -243,6 +248,11 @@ public abstract class KafkaSource<S, D> extends EventBasedSource<S, D> {
         }
       }
 
+      if (state.getPropAsBoolean(ConfigurationKeys.KAFKA_SOURCE_BATCH_OFFSET_FETCH,
+          ConfigurationKeys.DEFAULT_KAFKA_SOURCE_BATCH_OFFSET_FETCH)) {
+        prefetchOffsets(topics);
+      }
+
       Stopwatch createWorkUnitStopwatch = Stopwatch.createStarted();
 
       for (KafkaTopic topic : topics) {
@@ -292,6 +302,34 @@ public abstract class KafkaSource<S, D> extends EventBasedSource<S, D> {
     }
   }
 
+  /**
+   * Fetch the earliest and latest offsets of all partitions of <code>topics</code> with batch requests, so that the
+   * number of offset requests depends on the number of brokers rather than on the number of partitions. Partitions
+   * missing from the batch results fall back to per-partition requests when their work unit is created.
+   */
+  private void prefetchOffsets(List<KafkaTopic> topics) {
+    List<KafkaPartition> partitions = Lists.newArrayList();
+    for (KafkaTopic topic : topics) {
+      partitions.addAll(topic.getPartitions());
+    }
+
+    this.prefetchedEarliestOffsets.clear();
+    this.prefetchedLatestOffsets.clear();
+    Stopwatch stopwatch = Stopwatch.createStarted();
+    try (Timer.Context context = this.metricContext.timer(OFFSET_FETCH_TIMER).time()) {
+      this.prefetchedOffsetFetchEpochTime = System.currentTimeMillis();
+      this.prefetchedEarliestOffsets.putAll(this.kafkaConsumerClient.get().getEarliestOffsets(partitions));
+      this.prefetchedLatestOffsets.putAll(this.kafkaConsumerClient.get().getLatestOffsets(partitions));
+    } catch (Throwable t) {
+      LOG.error("Caught error in fetching offsets for all partitions, falling back to per-partition requests", t);
+      this.prefetchedEarliestOffsets.clear();
+      this.prefetchedLatestOffsets.clear();
+    }
+    LOG.info(String.format("Fetched offsets for %d of %d partitions in %d ms",
+        Math.min(this.prefetchedEarliestOffsets.size(), this.prefetchedLatestOffsets.size()), partitions.size(),
+        stopwatch.elapsed(TimeUnit.MILLISECONDS)));
+  }
+
   private void addTopicSpecificPropsToWorkUnits(List<WorkUnit> workUnits, Map<String, State> topicSpecificStateMap) {
     for (WorkUnit workUnit : workUnits) {
       addTopicSpecificPropsToWorkUnit(workUnit, topicSpecificStateMap);
@@ -397,13 +435,21 @@ public abstract class KafkaSource<S, D> extends EventBasedSource<S, D> {
 
     boolean failedToGetKafkaOffsets = false;
 
-    try (Timer.Context context = this.metricContext.timer(OFFSET_FETCH_TIMER).time()) {
-      offsets.setOffsetFetchEpochTime(System.currentTimeMillis());
-      offsets.setEarliestOffset(this.kafkaConsumerClient.get().getEarliestOffset(partition));
-      offsets.setLatestOffset(this.kafkaConsumerClient.get().getLatestOffset(partition));
-    } catch (Throwable t) {
-      failedToGetKafkaOffsets = true;
-      LOG.error("Caught error in creating work unit for {}", partition, t);
+    Long prefetchedEarliestOffset = this.prefetchedEarliestOffsets.get(partition);
+    Long prefetchedLatestOffset = this.prefetchedLatestOffsets.get(partition);
+    if (prefetchedEarliestOffset != null && prefetchedLatestOffset != null) {
+      offsets.setOffsetFetchEpochTime(this.prefetchedOffsetFetchEpochTime);
+      offsets.setEarliestOffset(prefetchedEarliestOffset);
+      offsets.setLatestOffset(prefetchedLatestOffset);
+    } else {
+      try (Timer.Context context = this.metricContext.timer(OFFSET_FETCH_TIMER).time()) {
+        offsets.setOffsetFetchEpochTime(System.currentTimeMillis());
+        offsets.setEarliestOffset(this.kafkaConsumerClient.get().getEarliestOffset(partition));
+        offsets.setLatestOffset(this.kafkaConsumerClient.get().getLatestOffset(partition));
+      } catch (Throwable t) {
+        failedToGetKafkaOffsets = true;
+        LOG.error("Caught error in creating work unit for {}", partition, t);
+      }
     }
 
     long previousOffset = 0;
@@ -130,4 +130,44 @@ public class CachingKafkaSchemaRegistryTest {
     verify(baseRegistry, times(0)).getById(anyInt());
   }
 
+  @Test
+  public void testIdCacheEviction()
+      throws IOException, SchemaRegistryException {
+    KafkaSchemaRegistry<Integer, String> baseRegistry = mock(KafkaSchemaRegistry.class);
+    CachingKafkaSchemaRegistry<Integer, String> cachingReg = new CachingKafkaSchemaRegistry<>(baseRegistry, 2, 1, 0);
+
+    Integer id1 = 1;
+    Integer id2 = 2;
+    when(baseRegistry.getById(id1)).thenReturn("schema1");
+    when(baseRegistry.getById(id2)).thenReturn("schema2");
+
+    Assert.assertEquals(cachingReg.getById(id1), "schema1");
+    Assert.assertEquals(cachingReg.getById(id1), "schema1");
+    verify(baseRegistry, times(1)).getById(id1);
+
+    // id1 gets evicted to make room for id2, so it has to be fetched again
+    Assert.assertEquals(cachingReg.getById(id2), "schema2");
+    Assert.assertEquals(cachingReg.getById(id1), "schema1");
+    verify(baseRegistry, times(2)).getById(id1);
+  }
+
+  @Test
+  public void testGetByIdPropagatesRegistryExceptions()
+      throws IOException, SchemaRegistryException {
+    KafkaSchemaRegistry<Integer, String> baseRegistry = mock(KafkaSchemaRegistry.class);
+    CachingKafkaSchemaRegistry<Integer, String> cachingReg = new CachingKafkaSchemaRegistry<>(baseRegistry, 2);
+
+    when(baseRegistry.getById(1)).thenThrow(new SchemaRegistryException("not found"));
+    try {
+      cachingReg.getById(1);
+      Assert.fail("Should have thrown an exception");
+    } catch (SchemaRegistryException e) {
+      Assert.assertEquals(e.getMessage(), "not found");
+    }
+
+    // failed lookups are not cached
+    when(baseRegistry.getById(1)).thenReturn("schema1");
+    Assert.assertEquals(cachingReg.getById(1), "schema1");
+  }
+
 }
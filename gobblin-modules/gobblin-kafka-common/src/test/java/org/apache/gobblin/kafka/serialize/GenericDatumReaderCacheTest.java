@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.kafka.serialize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+
+public class GenericDatumReaderCacheTest {
+
+  private static final Schema WRITER_SCHEMA = SchemaBuilder.record("test").fields()
+      .requiredString("name").requiredInt("count").endRecord();
+  private static final Schema READER_SCHEMA = SchemaBuilder.record("test").fields()
+      .requiredString("name").name("extra").type().stringType().stringDefault("default").endRecord();
+
+  @Test
+  public void testReadersAreCached() {
+    GenericDatumReaderCache<String> cache = new GenericDatumReaderCache<>();
+
+    Assert.assertSame(cache.getReader("id1", WRITER_SCHEMA, READER_SCHEMA),
+        cache.getReader("id1", WRITER_SCHEMA, READER_SCHEMA));
+    Assert.assertSame(cache.getReader("id1", WRITER_SCHEMA, null), cache.getReader("id1", WRITER_SCHEMA, null));
+    Assert.assertNotSame(cache.getReader("id1", WRITER_SCHEMA, READER_SCHEMA),
+        cache.getReader("id1", WRITER_SCHEMA, null));
+    Assert.assertNotSame(cache.getReader("id1", WRITER_SCHEMA, READER_SCHEMA),
+        cache.getReader("id2", WRITER_SCHEMA, READER_SCHEMA));
+    Assert.assertEquals(cache.size(), 3);
+  }
+
+  @Test
+  public void testRead() throws IOException {
+    GenericDatumReaderCache<String> cache = new GenericDatumReaderCache<>();
+
+    byte[] data = serialize("record1", 1);
+    GenericRecord record = cache.read("id1", WRITER_SCHEMA, null, data, 2, data.length - 2, null);
+    Assert.assertEquals(record.getSchema(), WRITER_SCHEMA);
+    Assert.assertEquals(record.get("name").toString(), "record1");
+    Assert.assertEquals(record.get("count"), 1);
+
+    GenericRecord resolved = cache.read("id1", WRITER_SCHEMA, READER_SCHEMA, data, 2, data.length - 2, null);
+    Assert.assertEquals(resolved.getSchema(), READER_SCHEMA);
+    Assert.assertEquals(resolved.get("name").toString(), "record1");
+    Assert.assertEquals(resolved.get("extra").toString(), "default");
+
+    // The decoder of this thread is reused for the next record, and so is the passed in record
+    data = serialize("record2", 2);
+    GenericRecord reused = cache.read("id1", WRITER_SCHEMA, READER_SCHEMA, data, 2, data.length - 2, resolved);
+    Assert.assertSame(reused, resolved);
+    Assert.assertEquals(reused.get("name").toString(), "record2");
+  }
+
+  /**
+   * Serialize a record of {@link #WRITER_SCHEMA} after a two byte header.
+   */
+  private static byte[] serialize(String name, int count) throws IOException {
+    GenericRecord record = new GenericData.Record(WRITER_SCHEMA);
+    record.put("name", name);
+    record.put("count", count);
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.write(new byte[] { 0, 1 });
+    BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(out, null);
+    new GenericDatumWriter<GenericRecord>(WRITER_SCHEMA).write(record, encoder);
+    encoder.flush();
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.writer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.hadoop.fs.FileUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.io.Files;
+
+import org.apache.gobblin.configuration.ConfigurationKeys;
+
+
+/**
+ * Compares the records per second of the {@link AvroHdfsDataWriter} against the {@link OrcHdfsDataWriter}, writing
+ * the same records to the local file system.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@org.openjdk.jmh.annotations.Fork(value = 1)
+@BenchmarkMode(value = Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OrcWriterBenchmark {
+
+  private static final int RECORDS = 100000;
+  private static final Schema SCHEMA = SchemaBuilder.record("Event").namespace("org.apache.gobblin.bench").fields()
+      .requiredLong("id")
+      .requiredString("name")
+      .optionalDouble("amount")
+      .optionalInt("quantity")
+      .name("tags").type().array().items().stringType().noDefault()
+      .endRecord();
+
+  @State(value = Scope.Benchmark)
+  public static class WriterState {
+    private File tmpDir;
+    private List<GenericRecord> records;
+
+    @Setup
+    public void setup() {
+      this.tmpDir = Files.createTempDir();
+      this.records = Lists.newArrayListWithCapacity(RECORDS);
+      for (int i = 0; i < RECORDS; i++) {
+        GenericRecord record = new GenericData.Record(SCHEMA);
+        record.put("id", (long) i);
+        record.put("name", "name_" + i);
+        record.put("amount", i % 10 == 0 ? null : i * 1.5);
+        record.put("quantity", i % 1000);
+        record.put("tags", ImmutableList.of("tag_" + i % 100, "tag"));
+        this.records.add(record);
+      }
+    }
+
+    @TearDown
+    public void tearDown() {
+      FileUtil.fullyDelete(this.tmpDir);
+    }
+
+    private <B extends FsDataWriterBuilder<Schema, GenericRecord>> B configure(B builder, WriterOutputFormat format) {
+      org.apache.gobblin.configuration.State properties = new org.apache.gobblin.configuration.State();
+      properties.setProp(ConfigurationKeys.WRITER_FILE_SYSTEM_URI, ConfigurationKeys.LOCAL_FS_URI);
+      properties.setProp(ConfigurationKeys.WRITER_STAGING_DIR, new File(this.tmpDir, "staging").getAbsolutePath());
+      properties.setProp(ConfigurationKeys.WRITER_OUTPUT_DIR, new File(this.tmpDir, "output").getAbsolutePath());
+      properties.setProp(ConfigurationKeys.WRITER_FILE_PATH, "bench");
+      properties.setProp(ConfigurationKeys.WRITER_FILE_NAME, "bench." + format.getExtension());
+      builder.writeTo(Destination.of(Destination.DestinationType.HDFS, properties)).writeInFormat(format)
+          .withWriterId("writer-1").withSchema(SCHEMA);
+      return builder;
+    }
+
+    private void writeAll(DataWriter<GenericRecord> writer) throws IOException {
+      try {
+        for (GenericRecord record : this.records) {
+          writer.write(record);
+        }
+      } finally {
+        writer.close();
+      }
+      writer.commit();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public void avroWriter(WriterState state) throws Exception {
+    state.writeAll(state.configure(new AvroDataWriterBuilder(), WriterOutputFormat.AVRO).build());
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(RECORDS)
+  public void orcWriter(WriterState state) throws Exception {
+    state.writeAll(state.configure(new OrcDataWriterBuilder(), WriterOutputFormat.ORC).build());
+  }
+}
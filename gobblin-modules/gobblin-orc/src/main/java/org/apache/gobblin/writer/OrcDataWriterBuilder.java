@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.writer;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.orc.CompressionKind;
+import org.apache.orc.OrcFile;
+import org.apache.orc.TypeDescription;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+
+import org.apache.gobblin.configuration.State;
+import org.apache.gobblin.util.ForkOperatorUtils;
+import org.apache.gobblin.util.JobConfigurationUtils;
+import org.apache.gobblin.writer.orc.SharedOrcMemoryManager;
+
+import static org.apache.gobblin.configuration.ConfigurationKeys.WRITER_CODEC_TYPE;
+import static org.apache.gobblin.configuration.ConfigurationKeys.WRITER_PREFIX;
+
+
+/**
+ * A {@link DataWriterBuilder} for building {@link DataWriter}s that write Avro {@link GenericRecord}s in ORC format.
+ *
+ * <p>
+ *   The compression codec is set by {@link org.apache.gobblin.configuration.ConfigurationKeys#WRITER_CODEC_TYPE} and
+ *   defaults to ZLIB. Besides the names of the {@link CompressionKind}s, the codec names used by the other writers
+ *   are accepted, e.g. deflate for ZLIB and nocompression for NONE.
+ * </p>
+ */
+public class OrcDataWriterBuilder extends FsDataWriterBuilder<Schema, GenericRecord> {
+  /** Number of rows buffered in a vectorized row batch before it is handed to the ORC writer. */
+  public static final String WRITER_ORC_BATCH_SIZE = WRITER_PREFIX + ".orc.batchSize";
+  public static final int DEFAULT_WRITER_ORC_BATCH_SIZE = 1024;
+  public static final String WRITER_ORC_STRIPE_SIZE = WRITER_PREFIX + ".orc.stripeSize";
+  public static final long DEFAULT_WRITER_ORC_STRIPE_SIZE = 64 * 1024 * 1024L;
+  /** Size of the ORC compression buffers. */
+  public static final String WRITER_ORC_BUFFER_SIZE = WRITER_PREFIX + ".orc.bufferSize";
+  public static final int DEFAULT_WRITER_ORC_BUFFER_SIZE = 256 * 1024;
+  public static final String WRITER_ORC_ROW_INDEX_STRIDE = WRITER_PREFIX + ".orc.rowIndexStride";
+  public static final int DEFAULT_WRITER_ORC_ROW_INDEX_STRIDE = 10000;
+  /** Fraction of the heap shared by all the ORC writers of the JVM, see {@link SharedOrcMemoryManager}. */
+  public static final String WRITER_ORC_MEMORY_POOL = WRITER_PREFIX + ".orc.memoryPool";
+  public static final double DEFAULT_WRITER_ORC_MEMORY_POOL = 0.5;
+  public static final String DEFAULT_WRITER_ORC_CODEC = CompressionKind.ZLIB.name();
+
+  private static final Map<String, CompressionKind> COMPRESSION_KINDS = ImmutableMap.<String, CompressionKind>builder()
+      .put("none", CompressionKind.NONE)
+      .put("nocompression", CompressionKind.NONE)
+      .put("uncompressed", CompressionKind.NONE)
+      .put("null", CompressionKind.NONE)
+      .put("zlib", CompressionKind.ZLIB)
+      .put("deflate", CompressionKind.ZLIB)
+      .put("gzip", CompressionKind.ZLIB)
+      .put("snappy", CompressionKind.SNAPPY)
+      .put("lzo", CompressionKind.LZO)
+      .put("lz4", CompressionKind.LZ4)
+      .put("zstd", CompressionKind.ZSTD)
+      .build();
+
+  @Override
+  public DataWriter<GenericRecord> build()
+      throws IOException {
+    Preconditions.checkNotNull(this.destination);
+    Preconditions.checkArgument(!Strings.isNullOrEmpty(this.writerId));
+    Preconditions.checkNotNull(this.schema);
+    Preconditions.checkArgument(this.format == WriterOutputFormat.ORC);
+
+    switch (this.destination.getType()) {
+      case HDFS:
+        return new OrcHdfsDataWriter(this, this.destination.getProperties());
+      default:
+        throw new RuntimeException("Unknown destination type: " + this.destination.getType());
+    }
+  }
+
+  /**
+   * @return the number of rows of the batches handed to the ORC writer.
+   */
+  public int getBatchSize() {
+    return this.destination.getProperties()
+        .getPropAsInt(getProperty(WRITER_ORC_BATCH_SIZE), DEFAULT_WRITER_ORC_BATCH_SIZE);
+  }
+
+  /**
+   * Build the {@link OrcFile.WriterOptions} for a file of the given schema.
+   * @param orcSchema the ORC schema of the file
+   * @param fs the {@link FileSystem} of the file
+   * @param blockSize the block size of the file
+   */
+  public OrcFile.WriterOptions getWriterOptions(TypeDescription orcSchema, FileSystem fs, long blockSize) {
+    State state = this.destination.getProperties();
+    Configuration conf = new Configuration();
+    JobConfigurationUtils.putStateIntoConfiguration(state, conf);
+
+    double memoryPool = state.getPropAsDouble(getProperty(WRITER_ORC_MEMORY_POOL), DEFAULT_WRITER_ORC_MEMORY_POOL);
+    String codecKey = getProperty(WRITER_CODEC_TYPE);
+    CompressionKind compressionKind = getCompressionKind(codecKey, state.getProp(codecKey, DEFAULT_WRITER_ORC_CODEC));
+
+    return OrcFile.writerOptions(conf)
+        .setSchema(orcSchema)
+        .fileSystem(fs)
+        .blockSize(blockSize)
+        .stripeSize(state.getPropAsLong(getProperty(WRITER_ORC_STRIPE_SIZE), DEFAULT_WRITER_ORC_STRIPE_SIZE))
+        .bufferSize(state.getPropAsInt(getProperty(WRITER_ORC_BUFFER_SIZE), DEFAULT_WRITER_ORC_BUFFER_SIZE))
+        .rowIndexStride(
+            state.getPropAsInt(getProperty(WRITER_ORC_ROW_INDEX_STRIDE), DEFAULT_WRITER_ORC_ROW_INDEX_STRIDE))
+        .compress(compressionKind)
+        .memory(SharedOrcMemoryManager.getInstance(memoryPool));
+  }
+
+  /**
+   * @return the {@link CompressionKind} of the given codec name, ignoring case.
+   * @throws IllegalArgumentException if the codec is not supported by ORC.
+   */
+  @VisibleForTesting
+  static CompressionKind getCompressionKind(String codecKey, String codec) {
+    CompressionKind compressionKind = COMPRESSION_KINDS.get(codec.trim().toLowerCase());
+    if (compressionKind == null) {
+      throw new IllegalArgumentException(String.format(
+          "Unsupported ORC compression codec %s in %s, supported codecs: %s", codec, codecKey, COMPRESSION_KINDS.keySet()));
+    }
+    return compressionKind;
+  }
+
+  private String getProperty(String key) {
+    return ForkOperatorUtils.getPropertyNameForBranch(key, this.getBranches(), this.getBranch());
+  }
+}
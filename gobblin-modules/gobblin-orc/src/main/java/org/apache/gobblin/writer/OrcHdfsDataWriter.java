@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.writer;
+
+import java.io.IOException;
+
+import org.apache.avro.generic.GenericRecord;
+import org.apache.orc.OrcFile;
+import org.apache.orc.TypeDescription;
+import org.apache.orc.Writer;
+
+import org.apache.gobblin.configuration.State;
+import org.apache.gobblin.writer.orc.AvroOrcSchemaConverter;
+import org.apache.gobblin.writer.orc.GenericRecordToOrcValueWriter;
+
+import shadow.gobblin.orc.org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+
+
+/**
+ * An extension to {@link FsDataWriter} that writes Avro {@link GenericRecord}s in ORC format.
+ *
+ * <p>
+ *   Records are copied into the column vectors of a single {@link VectorizedRowBatch}, which is handed to the ORC
+ *   {@link Writer} and reused whenever it is full. The size of the batch is set by
+ *   {@link OrcDataWriterBuilder#WRITER_ORC_BATCH_SIZE}.
+ * </p>
+ */
+public class OrcHdfsDataWriter extends FsDataWriter<GenericRecord> {
+  private final GenericRecordToOrcValueWriter valueWriter;
+  private final VectorizedRowBatch batch;
+  private final Writer writer;
+  private long count = 0;
+  private boolean closed = false;
+
+  public OrcHdfsDataWriter(OrcDataWriterBuilder builder, State state)
+      throws IOException {
+    super(builder, state);
+    TypeDescription orcSchema = AvroOrcSchemaConverter.getOrcSchema(builder.getSchema());
+    this.valueWriter = new GenericRecordToOrcValueWriter(builder.getSchema());
+    this.batch = orcSchema.createRowBatch(builder.getBatchSize());
+    this.writer = OrcFile.createWriter(this.stagingFile, builder.getWriterOptions(orcSchema, this.fs, this.blockSize));
+  }
+
+  @Override
+  public void write(GenericRecord record)
+      throws IOException {
+    this.valueWriter.write(record, this.batch);
+    this.count++;
+    if (this.batch.size == this.batch.getMaxSize()) {
+      flushBatch();
+    }
+  }
+
+  private void flushBatch()
+      throws IOException {
+    if (this.batch.size > 0) {
+      this.writer.addRowBatch(this.batch);
+      this.batch.reset();
+    }
+  }
+
+  @Override
+  public long recordsWritten() {
+    return this.count;
+  }
+
+  @Override
+  public void close()
+      throws IOException {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+    try {
+      flushBatch();
+      this.writer.close();
+    } finally {
+      super.close();
+    }
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.writer.orc;
+
+import java.util.List;
+
+import org.apache.avro.Schema;
+import org.apache.orc.TypeDescription;
+
+import com.google.common.collect.Lists;
+
+
+/**
+ * Converts Avro {@link Schema}s to ORC {@link TypeDescription}s.
+ *
+ * <p>
+ *   Nullable unions, i.e. unions of {@code null} and a single other type, are converted to that type since every ORC
+ *   column is nullable. Other unions become ORC unions of their non-null branches. Logical types are not interpreted
+ *   and are written as their underlying Avro type.
+ * </p>
+ */
+public class AvroOrcSchemaConverter {
+
+  private AvroOrcSchemaConverter() {
+  }
+
+  public static TypeDescription getOrcSchema(Schema avroSchema) {
+    switch (avroSchema.getType()) {
+      case RECORD:
+        TypeDescription struct = TypeDescription.createStruct();
+        for (Schema.Field field : avroSchema.getFields()) {
+          struct.addField(field.name(), getOrcSchema(field.schema()));
+        }
+        return struct;
+      case UNION:
+        List<Schema> branches = getNonNullBranches(avroSchema);
+        if (branches.isEmpty()) {
+          throw new IllegalArgumentException("Union of null only is not supported: " + avroSchema);
+        }
+        if (branches.size() == 1) {
+          return getOrcSchema(branches.get(0));
+        }
+        TypeDescription union = TypeDescription.createUnion();
+        for (Schema branch : branches) {
+          union.addUnionChild(getOrcSchema(branch));
+        }
+        return union;
+      case ARRAY:
+        return TypeDescription.createList(getOrcSchema(avroSchema.getElementType()));
+      case MAP:
+        return TypeDescription.createMap(TypeDescription.createString(), getOrcSchema(avroSchema.getValueType()));
+      case BOOLEAN:
+        return TypeDescription.createBoolean();
+      case INT:
+        return TypeDescription.createInt();
+      case LONG:
+        return TypeDescription.createLong();
+      case FLOAT:
+        return TypeDescription.createFloat();
+      case DOUBLE:
+        return TypeDescription.createDouble();
+      case STRING:
+      case ENUM:
+        return TypeDescription.createString();
+      case BYTES:
+      case FIXED:
+        return TypeDescription.createBinary();
+      default:
+        throw new IllegalArgumentException("Unsupported Avro type " + avroSchema.getType() + " in " + avroSchema);
+    }
+  }
+
+  /**
+   * @return the branches of the input union that are not of type {@link Schema.Type#NULL}, in order.
+   */
+  static List<Schema> getNonNullBranches(Schema unionSchema) {
+    List<Schema> branches = Lists.newArrayList();
+    for (Schema branch : unionSchema.getTypes()) {
+      if (branch.getType() != Schema.Type.NULL) {
+        branches.add(branch);
+      }
+    }
+    return branches;
+  }
+}
@@ -0,0 +1,300 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.writer.orc;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericFixed;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.util.Utf8;
+
+import com.google.common.base.Preconditions;
+
+import shadow.gobblin.orc.org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import shadow.gobblin.orc.org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import shadow.gobblin.orc.org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import shadow.gobblin.orc.org.apache.hadoop.hive.ql.exec.vector.ListColumnVector;
+import shadow.gobblin.orc.org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import shadow.gobblin.orc.org.apache.hadoop.hive.ql.exec.vector.MapColumnVector;
+import shadow.gobblin.orc.org.apache.hadoop.hive.ql.exec.vector.StructColumnVector;
+import shadow.gobblin.orc.org.apache.hadoop.hive.ql.exec.vector.UnionColumnVector;
+import shadow.gobblin.orc.org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+
+
+/**
+ * Writes Avro {@link GenericRecord}s into the column vectors of a {@link VectorizedRowBatch} whose schema was created
+ * by {@link AvroOrcSchemaConverter#getOrcSchema(Schema)}.
+ *
+ * <p>
+ *   The tree of per column writers is built once from the Avro {@link Schema}, so writing a record does not inspect
+ *   the schema again. Strings and binary values are copied into the shared buffers of the column vectors, so the
+ *   batch can be reused after it is {@link VectorizedRowBatch#reset()}.
+ * </p>
+ */
+public class GenericRecordToOrcValueWriter {
+
+  private final Schema schema;
+  private final String[] fieldNames;
+  private final ValueWriter[] fieldWriters;
+
+  public GenericRecordToOrcValueWriter(Schema schema) {
+    Preconditions.checkArgument(schema.getType() == Schema.Type.RECORD, "Schema must be a record: " + schema);
+    this.schema = schema;
+    List<Schema.Field> fields = schema.getFields();
+    this.fieldNames = new String[fields.size()];
+    this.fieldWriters = new ValueWriter[fields.size()];
+    for (int i = 0; i < fields.size(); i++) {
+      this.fieldNames[i] = fields.get(i).name();
+      this.fieldWriters[i] = createValueWriter(fields.get(i).schema());
+    }
+  }
+
+  /**
+   * Append the input record as a new row of the batch. The batch must not be full.
+   */
+  public void write(GenericRecord record, VectorizedRowBatch batch) {
+    int row = batch.size++;
+    writeFields(record, this.schema, this.fieldNames, this.fieldWriters, batch.cols, row);
+  }
+
+  private static void writeFields(GenericRecord record, Schema schema, String[] fieldNames, ValueWriter[] fieldWriters,
+      ColumnVector[] vectors, int row) {
+    // Records of the writer schema are read by position, others by field name
+    boolean samePositions = record.getSchema() == schema;
+    for (int i = 0; i < fieldWriters.length; i++) {
+      Object value = samePositions ? record.get(i) : record.get(fieldNames[i]);
+      fieldWriters[i].write(value, vectors[i], row);
+    }
+  }
+
+  private static ValueWriter createValueWriter(Schema schema) {
+    switch (schema.getType()) {
+      case RECORD:
+        return new StructWriter(schema);
+      case UNION:
+        List<Schema> branches = AvroOrcSchemaConverter.getNonNullBranches(schema);
+        if (branches.size() == 1) {
+          return createValueWriter(branches.get(0));
+        }
+        return new UnionWriter(schema);
+      case ARRAY:
+        return new ListWriter(schema);
+      case MAP:
+        return new MapWriter(schema);
+      case BOOLEAN:
+        return new BooleanWriter();
+      case INT:
+      case LONG:
+        return new LongWriter();
+      case FLOAT:
+      case DOUBLE:
+        return new DoubleWriter();
+      case STRING:
+      case ENUM:
+        return new StringWriter();
+      case BYTES:
+      case FIXED:
+        return new BinaryWriter();
+      default:
+        throw new IllegalArgumentException("Unsupported Avro type " + schema.getType() + " in " + schema);
+    }
+  }
+
+  /**
+   * Writes a single value into a row of a {@link ColumnVector}.
+   */
+  private abstract static class ValueWriter {
+    void write(Object value, ColumnVector vector, int row) {
+      if (value == null) {
+        vector.noNulls = false;
+        vector.isNull[row] = true;
+      } else {
+        vector.isNull[row] = false;
+        writeValue(value, vector, row);
+      }
+    }
+
+    abstract void writeValue(Object value, ColumnVector vector, int row);
+  }
+
+  private static class BooleanWriter extends ValueWriter {
+    @Override
+    void writeValue(Object value, ColumnVector vector, int row) {
+      ((LongColumnVector) vector).vector[row] = (Boolean) value ? 1 : 0;
+    }
+  }
+
+  private static class LongWriter extends ValueWriter {
+    @Override
+    void writeValue(Object value, ColumnVector vector, int row) {
+      ((LongColumnVector) vector).vector[row] = ((Number) value).longValue();
+    }
+  }
+
+  private static class DoubleWriter extends ValueWriter {
+    @Override
+    void writeValue(Object value, ColumnVector vector, int row) {
+      ((DoubleColumnVector) vector).vector[row] = ((Number) value).doubleValue();
+    }
+  }
+
+  private static class StringWriter extends ValueWriter {
+    @Override
+    void writeValue(Object value, ColumnVector vector, int row) {
+      if (value instanceof Utf8) {
+        Utf8 utf8 = (Utf8) value;
+        ((BytesColumnVector) vector).setVal(row, utf8.getBytes(), 0, utf8.getByteLength());
+      } else {
+        byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+        ((BytesColumnVector) vector).setVal(row, bytes, 0, bytes.length);
+      }
+    }
+  }
+
+  private static class BinaryWriter extends ValueWriter {
+    @Override
+    void writeValue(Object value, ColumnVector vector, int row) {
+      BytesColumnVector bytesVector = (BytesColumnVector) vector;
+      if (value instanceof GenericFixed) {
+        byte[] bytes = ((GenericFixed) value).bytes();
+        bytesVector.setVal(row, bytes, 0, bytes.length);
+        return;
+      }
+
+      ByteBuffer buffer = (ByteBuffer) value;
+      if (buffer.hasArray()) {
+        bytesVector.setVal(row, buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+      } else {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        bytesVector.setVal(row, bytes, 0, bytes.length);
+      }
+    }
+  }
+
+  private static class StructWriter extends ValueWriter {
+    private final Schema schema;
+    private final String[] fieldNames;
+    private final ValueWriter[] fieldWriters;
+
+    StructWriter(Schema schema) {
+      this.schema = schema;
+      List<Schema.Field> fields = schema.getFields();
+      this.fieldNames = new String[fields.size()];
+      this.fieldWriters = new ValueWriter[fields.size()];
+      for (int i = 0; i < fields.size(); i++) {
+        this.fieldNames[i] = fields.get(i).name();
+        this.fieldWriters[i] = createValueWriter(fields.get(i).schema());
+      }
+    }
+
+    @Override
+    void writeValue(Object value, ColumnVector vector, int row) {
+      writeFields((GenericRecord) value, this.schema, this.fieldNames, this.fieldWriters,
+          ((StructColumnVector) vector).fields, row);
+    }
+  }
+
+  private static class ListWriter extends ValueWriter {
+    private final ValueWriter elementWriter;
+
+    ListWriter(Schema schema) {
+      this.elementWriter = createValueWriter(schema.getElementType());
+    }
+
+    @Override
+    void writeValue(Object value, ColumnVector vector, int row) {
+      ListColumnVector listVector = (ListColumnVector) vector;
+      Collection<?> elements = (Collection<?>) value;
+      int offset = listVector.childCount;
+      listVector.offsets[row] = offset;
+      listVector.lengths[row] = elements.size();
+      listVector.childCount += elements.size();
+      listVector.child.ensureSize(listVector.childCount, true);
+
+      for (Object element : elements) {
+        this.elementWriter.write(element, listVector.child, offset++);
+      }
+    }
+  }
+
+  private static class MapWriter extends ValueWriter {
+    private final ValueWriter keyWriter = new StringWriter();
+    private final ValueWriter valueWriter;
+
+    MapWriter(Schema schema) {
+      this.valueWriter = createValueWriter(schema.getValueType());
+    }
+
+    @Override
+    void writeValue(Object value, ColumnVector vector, int row) {
+      MapColumnVector mapVector = (MapColumnVector) vector;
+      Map<?, ?> entries = (Map<?, ?>) value;
+      int offset = mapVector.childCount;
+      mapVector.offsets[row] = offset;
+      mapVector.lengths[row] = entries.size();
+      mapVector.childCount += entries.size();
+      mapVector.keys.ensureSize(mapVector.childCount, true);
+      mapVector.values.ensureSize(mapVector.childCount, true);
+
+      for (Map.Entry<?, ?> entry : entries.entrySet()) {
+        this.keyWriter.write(entry.getKey(), mapVector.keys, offset);
+        this.valueWriter.write(entry.getValue(), mapVector.values, offset);
+        offset++;
+      }
+    }
+  }
+
+  private static class UnionWriter extends ValueWriter {
+    private final Schema schema;
+    /** The ORC tag of every Avro branch, -1 for the null branch. */
+    private final int[] tags;
+    private final ValueWriter[] branchWriters;
+
+    UnionWriter(Schema schema) {
+      this.schema = schema;
+      List<Schema> branches = schema.getTypes();
+      this.tags = new int[branches.size()];
+      this.branchWriters = new ValueWriter[branches.size()];
+      int tag = 0;
+      for (int i = 0; i < branches.size(); i++) {
+        if (branches.get(i).getType() == Schema.Type.NULL) {
+          this.tags[i] = -1;
+        } else {
+          this.tags[i] = tag++;
+          this.branchWriters[i] = createValueWriter(branches.get(i));
+        }
+      }
+    }
+
+    @Override
+    void writeValue(Object value, ColumnVector vector, int row) {
+      UnionColumnVector unionVector = (UnionColumnVector) vector;
+      int branch = GenericData.get().resolveUnion(this.schema, value);
+      int tag = this.tags[branch];
+      unionVector.tags[row] = tag;
+      this.branchWriters[branch].write(value, unionVector.fields[tag], row);
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.writer.orc;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.orc.MemoryManager;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import lombok.extern.slf4j.Slf4j;
+
+
+/**
+ * A {@link MemoryManager} shared by all the ORC writers of a JVM.
+ *
+ * <p>
+ *   Every ORC writer requests a stripe sized allocation. When the sum of the allocations exceeds the memory pool,
+ *   e.g. because a {@link org.apache.gobblin.writer.PartitionedDataWriter} opened many partition writers, the writers
+ *   are asked to scale their stripes down so that the buffered stripes fit in the pool together.
+ * </p>
+ *
+ * <p>
+ *   ORC writers are not thread safe, so a writer is only ever asked to check its memory from the thread that created
+ *   it, as part of {@link #addedRow(int)}. The scale is computed over the writers of all the threads.
+ * </p>
+ */
+@Slf4j
+public class SharedOrcMemoryManager implements MemoryManager {
+
+  /** Number of rows a thread adds between two checks of the memory of its writers. */
+  static final int ROWS_BETWEEN_CHECKS = 5000;
+
+  private static SharedOrcMemoryManager instance;
+
+  /**
+   * Get the {@link SharedOrcMemoryManager} of this JVM. The memory pool is set by the first call.
+   * @param memoryPoolFraction fraction of the maximum heap size that the ORC writers can use
+   */
+  public static synchronized SharedOrcMemoryManager getInstance(double memoryPoolFraction) {
+    if (instance == null) {
+      long maxHeap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getMax();
+      instance = new SharedOrcMemoryManager(Math.round(maxHeap * memoryPoolFraction));
+      log.info("Created ORC memory manager with a pool of {} bytes", instance.totalMemoryPool);
+    }
+    return instance;
+  }
+
+  private final long totalMemoryPool;
+  private final Map<Path, WriterInfo> writers = Maps.newHashMap();
+  private final ThreadLocal<int[]> rowsAddedSinceCheck = new ThreadLocal<int[]>() {
+    @Override
+    protected int[] initialValue() {
+      return new int[1];
+    }
+  };
+  private long totalAllocation = 0;
+  private double currentScale = 1;
+
+  SharedOrcMemoryManager(long totalMemoryPool) {
+    Preconditions.checkArgument(totalMemoryPool > 0, "Memory pool must be positive");
+    this.totalMemoryPool = totalMemoryPool;
+  }
+
+  @Override
+  public synchronized void addWriter(Path path, long requestedAllocation, Callback callback) throws IOException {
+    WriterInfo oldWriter = this.writers.put(path, new WriterInfo(requestedAllocation, callback, Thread.currentThread()));
+    if (oldWriter != null) {
+      this.totalAllocation -= oldWriter.allocation;
+    }
+    this.totalAllocation += requestedAllocation;
+    updateScale();
+  }
+
+  @Override
+  public synchronized void removeWriter(Path path) throws IOException {
+    WriterInfo writer = this.writers.remove(path);
+    if (writer != null) {
+      this.totalAllocation -= writer.allocation;
+      updateScale();
+    }
+  }
+
+  @Override
+  public void addedRow(int rows) throws IOException {
+    int[] rowsAdded = this.rowsAddedSinceCheck.get();
+    rowsAdded[0] += rows;
+    if (rowsAdded[0] < ROWS_BETWEEN_CHECKS) {
+      return;
+    }
+    rowsAdded[0] = 0;
+
+    List<Callback> callbacks = Lists.newArrayList();
+    double scale;
+    synchronized (this) {
+      scale = this.currentScale;
+      for (WriterInfo writer : this.writers.values()) {
+        if (writer.owner == Thread.currentThread()) {
+          callbacks.add(writer.callback);
+        }
+      }
+    }
+
+    // Call back outside of the lock, a writer may flush a stripe
+    for (Callback callback : callbacks) {
+      callback.checkMemory(scale);
+    }
+  }
+
+  synchronized double getAllocationScale() {
+    return this.currentScale;
+  }
+
+  private void updateScale() {
+    this.currentScale = this.totalAllocation <= this.totalMemoryPool ? 1
+        : (double) this.totalMemoryPool / this.totalAllocation;
+  }
+
+  private static class WriterInfo {
+    private final long allocation;
+    private final Callback callback;
+    private final Thread owner;
+
+    private WriterInfo(long allocation, Callback callback, Thread owner) {
+      this.allocation = allocation;
+      this.callback = callback;
+      this.owner = owner;
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.writer;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileUtil;
+import org.apache.hadoop.fs.Path;
+import org.apache.orc.CompressionKind;
+import org.apache.orc.OrcFile;
+import org.apache.orc.Reader;
+import org.apache.orc.RecordReader;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.Files;
+
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.configuration.State;
+import org.apache.gobblin.writer.orc.AvroOrcSchemaConverter;
+
+import shadow.gobblin.orc.org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import shadow.gobblin.orc.org.apache.hadoop.hive.ql.exec.vector.ListColumnVector;
+import shadow.gobblin.orc.org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import shadow.gobblin.orc.org.apache.hadoop.hive.ql.exec.vector.MapColumnVector;
+import shadow.gobblin.orc.org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+
+
+@Test(groups = {"gobblin.writer"})
+public class OrcHdfsDataWriterTest {
+
+  private static final Schema SCHEMA = SchemaBuilder.record("User").namespace("org.apache.gobblin.test").fields()
+      .requiredString("name")
+      .optionalInt("age")
+      .name("tags").type().array().items().stringType().noDefault()
+      .name("attributes").type().map().values().longType().noDefault()
+      .endRecord();
+
+  private final File tmpDir = Files.createTempDir();
+
+  @Test
+  public void testWrite()
+      throws Exception {
+    State properties = new State();
+    properties.setProp(ConfigurationKeys.WRITER_FILE_SYSTEM_URI, ConfigurationKeys.LOCAL_FS_URI);
+    properties.setProp(ConfigurationKeys.WRITER_STAGING_DIR, new File(this.tmpDir, "staging").getAbsolutePath());
+    properties.setProp(ConfigurationKeys.WRITER_OUTPUT_DIR, new File(this.tmpDir, "output").getAbsolutePath());
+    properties.setProp(ConfigurationKeys.WRITER_FILE_PATH, "test");
+    properties.setProp(ConfigurationKeys.WRITER_FILE_NAME, "test.orc");
+    // Force several batches
+    properties.setProp(OrcDataWriterBuilder.WRITER_ORC_BATCH_SIZE, 3);
+
+    OrcDataWriterBuilder builder = new OrcDataWriterBuilder();
+    builder.destination = Destination.of(Destination.DestinationType.HDFS, properties);
+    builder.writerId = "writer-1";
+    builder.schema = SCHEMA;
+    builder.format = WriterOutputFormat.ORC;
+
+    int numRecords = 10;
+    OrcHdfsDataWriter writer = (OrcHdfsDataWriter) builder.build();
+    for (int i = 0; i < numRecords; i++) {
+      GenericRecord record = new GenericData.Record(SCHEMA);
+      record.put("name", "name_" + i);
+      record.put("age", i % 2 == 0 ? null : i);
+      record.put("tags", ImmutableList.of("tag_" + i, "tag"));
+      record.put("attributes", ImmutableMap.of("id", (long) i));
+      writer.write(record);
+    }
+    writer.close();
+    writer.commit();
+    Assert.assertEquals(writer.recordsWritten(), numRecords);
+
+    Path outputFile = new Path(new File(this.tmpDir, "output/test/test.orc").getAbsolutePath());
+    Reader reader = OrcFile.createReader(outputFile, OrcFile.readerOptions(new Configuration()));
+    Assert.assertEquals(reader.getNumberOfRows(), numRecords);
+    Assert.assertEquals(reader.getSchema(), AvroOrcSchemaConverter.getOrcSchema(SCHEMA));
+
+    VectorizedRowBatch batch = reader.getSchema().createRowBatch(numRecords);
+    try (RecordReader rows = reader.rows()) {
+      Assert.assertTrue(rows.nextBatch(batch));
+    }
+    Assert.assertEquals(batch.size, numRecords);
+
+    BytesColumnVector names = (BytesColumnVector) batch.cols[0];
+    LongColumnVector ages = (LongColumnVector) batch.cols[1];
+    ListColumnVector tags = (ListColumnVector) batch.cols[2];
+    MapColumnVector attributes = (MapColumnVector) batch.cols[3];
+    for (int i = 0; i < numRecords; i++) {
+      Assert.assertEquals(names.toString(i), "name_" + i);
+      if (i % 2 == 0) {
+        Assert.assertTrue(ages.isNull[i]);
+      } else {
+        Assert.assertEquals(ages.vector[i], i);
+      }
+      Assert.assertEquals(tags.lengths[i], 2);
+      Assert.assertEquals(((BytesColumnVector) tags.child).toString((int) tags.offsets[i]), "tag_" + i);
+      Assert.assertEquals(((BytesColumnVector) attributes.keys).toString((int) attributes.offsets[i]), "id");
+      Assert.assertEquals(((LongColumnVector) attributes.values).vector[(int) attributes.offsets[i]], i);
+    }
+  }
+
+  @Test
+  public void testGetCompressionKind() {
+    Assert.assertEquals(OrcDataWriterBuilder.getCompressionKind(ConfigurationKeys.WRITER_CODEC_TYPE, "deflate"),
+        CompressionKind.ZLIB);
+    Assert.assertEquals(OrcDataWriterBuilder.getCompressionKind(ConfigurationKeys.WRITER_CODEC_TYPE, "ZLIB"),
+        CompressionKind.ZLIB);
+    Assert.assertEquals(OrcDataWriterBuilder.getCompressionKind(ConfigurationKeys.WRITER_CODEC_TYPE, "Snappy"),
+        CompressionKind.SNAPPY);
+    Assert.assertEquals(OrcDataWriterBuilder.getCompressionKind(ConfigurationKeys.WRITER_CODEC_TYPE, "NOCOMPRESSION"),
+        CompressionKind.NONE);
+
+    try {
+      OrcDataWriterBuilder.getCompressionKind(ConfigurationKeys.WRITER_CODEC_TYPE, "bzip2");
+      Assert.fail("Expected an unsupported codec to be rejected");
+    } catch (IllegalArgumentException e) {
+      Assert.assertTrue(e.getMessage().contains(ConfigurationKeys.WRITER_CODEC_TYPE));
+      Assert.assertTrue(e.getMessage().contains("bzip2"));
+    }
+  }
+
+  @AfterClass
+  public void tearDown()
+      throws IOException {
+    FileUtil.fullyDelete(this.tmpDir);
+  }
+}
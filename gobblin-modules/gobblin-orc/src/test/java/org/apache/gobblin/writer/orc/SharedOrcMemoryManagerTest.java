@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.writer.orc;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.orc.MemoryManager;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.Lists;
+
+
+@Test(groups = {"gobblin.writer"})
+public class SharedOrcMemoryManagerTest {
+
+  @Test
+  public void testScaleAllocations() throws Exception {
+    SharedOrcMemoryManager memoryManager = new SharedOrcMemoryManager(100);
+    RecordingCallback callback1 = new RecordingCallback();
+    RecordingCallback callback2 = new RecordingCallback();
+
+    memoryManager.addWriter(new Path("/file1"), 50, callback1);
+    Assert.assertEquals(memoryManager.getAllocationScale(), 1.0);
+    memoryManager.addWriter(new Path("/file2"), 150, callback2);
+    Assert.assertEquals(memoryManager.getAllocationScale(), 0.5);
+
+    // Writers are only checked every ROWS_BETWEEN_CHECKS rows
+    memoryManager.addedRow(SharedOrcMemoryManager.ROWS_BETWEEN_CHECKS - 1);
+    Assert.assertTrue(callback1.scales.isEmpty());
+    memoryManager.addedRow(1);
+    Assert.assertEquals(callback1.scales, Lists.newArrayList(0.5));
+    Assert.assertEquals(callback2.scales, Lists.newArrayList(0.5));
+
+    memoryManager.removeWriter(new Path("/file2"));
+    Assert.assertEquals(memoryManager.getAllocationScale(), 1.0);
+  }
+
+  @Test
+  public void testOnlyCheckWritersOfCurrentThread() throws Exception {
+    final SharedOrcMemoryManager memoryManager = new SharedOrcMemoryManager(100);
+    final RecordingCallback otherThreadCallback = new RecordingCallback();
+    Thread otherThread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          memoryManager.addWriter(new Path("/file1"), 200, otherThreadCallback);
+        } catch (IOException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    });
+    otherThread.start();
+    otherThread.join();
+
+    RecordingCallback callback = new RecordingCallback();
+    memoryManager.addWriter(new Path("/file2"), 200, callback);
+    memoryManager.addedRow(SharedOrcMemoryManager.ROWS_BETWEEN_CHECKS);
+
+    Assert.assertEquals(callback.scales, Lists.newArrayList(0.25));
+    Assert.assertTrue(otherThreadCallback.scales.isEmpty());
+  }
+
+  private static class RecordingCallback implements MemoryManager.Callback {
+    private final List<Double> scales = Lists.newArrayList();
+
+    @Override
+    public boolean checkMemory(double newScale) {
+      this.scales.add(newScale);
+      return false;
+    }
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.gobblin.writer;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.avro.generic.GenericRecord;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.codahale.metrics.Histogram;
+
+import parquet.hadoop.ParquetFileReader;
+import parquet.hadoop.ParquetWriter;
+import parquet.hadoop.metadata.BlockMetaData;
+import parquet.hadoop.metadata.ParquetMetadata;
+
+import org.apache.gobblin.configuration.State;
+import org.apache.gobblin.instrumented.Instrumented;
+import org.apache.gobblin.metrics.MetricContext;
+
+
+/**
+ * An extension to {@link FsDataWriter} that writes Avro {@link GenericRecord}s in Parquet format.
+ *
+ * <p>
+ *   Once the file is closed, the number of records and bytes of each of its row groups are reported to the
+ *   {@link #ROW_GROUP_RECORDS_HISTOGRAM} and {@link #ROW_GROUP_BYTES_HISTOGRAM} histograms of the writer's
+ *   {@link MetricContext}, and the number of row groups is added to the final state of the writer.
+ * </p>
+ */
+public class AvroParquetHdfsDataWriter extends FsDataWriter<GenericRecord> {
+  private static final Logger LOG = LoggerFactory.getLogger(AvroParquetHdfsDataWriter.class);
+
+  public static final String ROW_GROUP_RECORDS_HISTOGRAM = "gobblin.writer.parquet.rowGroup.records";
+  public static final String ROW_GROUP_BYTES_HISTOGRAM = "gobblin.writer.parquet.rowGroup.bytes";
+  public static final String ROW_GROUPS_WRITTEN = "RowGroupsWritten";
+
+  private final AvroParquetDataWriterBuilder builder;
+  private final ParquetWriter<GenericRecord> writer;
+  private final MetricContext metricContext;
+  private final Histogram rowGroupRecords;
+  private final Histogram rowGroupBytes;
+  protected final AtomicLong count = new AtomicLong(0);
+  private long rowGroupsWritten = 0;
+  private boolean closed = false;
+
+  public AvroParquetHdfsDataWriter(AvroParquetDataWriterBuilder builder, State state)
+      throws IOException {
+    super(builder, state);
+    this.builder = builder;
+    this.writer = builder.getWriter((int) this.blockSize, this.stagingFile);
+    this.metricContext = this.closer.register(Instrumented.getMetricContext(state, getClass()));
+    this.rowGroupRecords = this.metricContext.histogram(ROW_GROUP_RECORDS_HISTOGRAM);
+    this.rowGroupBytes = this.metricContext.histogram(ROW_GROUP_BYTES_HISTOGRAM);
+  }
+
+  @Override
+  public void write(GenericRecord record)
+      throws IOException {
+    this.writer.write(record);
+    this.count.incrementAndGet();
+  }
+
+  @Override
+  public long recordsWritten() {
+    return this.count.get();
+  }
+
+  @Override
+  public State getFinalState() {
+    State state = super.getFinalState();
+    state.setProp(ROW_GROUPS_WRITTEN, this.rowGroupsWritten);
+    return state;
+  }
+
+  @Override
+  public void close()
+      throws IOException {
+    if (this.closed) {
+      return;
+    }
+    this.closed = true;
+    try {
+      this.writer.close();
+      reportRowGroups();
+    } finally {
+      super.close();
+    }
+  }
+
+  /**
+   * {@link ParquetWriter} does not expose its row groups, so they are read back from the footer of the written file.
+   * The file is complete at this point, so failing to read the footer only loses the row group metrics.
+   */
+  private void reportRowGroups() {
+    Path file = this.builder.getAbsoluteStagingFile(this.stagingFile);
+    ParquetMetadata footer;
+    try {
+      footer = ParquetFileReader.readFooter(new Configuration(), file);
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Failed to read the footer of " + file + ", row group metrics will not be reported", e);
+      return;
+    }
+    for (BlockMetaData rowGroup : footer.getBlocks()) {
+      this.rowGroupRecords.update(rowGroup.getRowCount());
+      this.rowGroupBytes.update(rowGroup.getTotalByteSize());
+      this.rowGroupsWritten++;
+    }
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.writer.parquet;
+
+import java.util.List;
+
+import org.apache.avro.Schema;
+
+import com.google.common.collect.Lists;
+
+import parquet.schema.ConversionPatterns;
+import parquet.schema.GroupType;
+import parquet.schema.MessageType;
+import parquet.schema.OriginalType;
+import parquet.schema.PrimitiveType;
+import parquet.schema.PrimitiveType.PrimitiveTypeName;
+import parquet.schema.Type;
+
+
+/**
+ * Converts Avro record {@link Schema}s to Parquet {@link MessageType}s.
+ *
+ * <p>
+ *   The layout follows the one of parquet-avro, so the files can be read back with it:
+ *   <ul>
+ *     <li>nullable unions, i.e. unions of {@code null} and a single other type, are optional fields</li>
+ *     <li>other unions are groups with one optional field per non-null branch, named {@code member<index>}</li>
+ *     <li>arrays are {@link OriginalType#LIST} groups with a repeated field named {@code array}</li>
+ *     <li>maps are {@link OriginalType#MAP} groups with repeated {@code key}/{@code value} groups</li>
+ *   </ul>
+ *   Array elements can not be null. Logical types are not interpreted and are written as their underlying Avro type.
+ * </p>
+ */
+public class AvroParquetSchemaConverter {
+
+  static final String ARRAY_ELEMENT_NAME = "array";
+  static final String MAP_KEY_NAME = "key";
+  static final String MAP_VALUE_NAME = "value";
+  static final String UNION_MEMBER_PREFIX = "member";
+
+  private AvroParquetSchemaConverter() {
+  }
+
+  public static MessageType getParquetSchema(Schema avroSchema) {
+    if (avroSchema.getType() != Schema.Type.RECORD) {
+      throw new IllegalArgumentException("Avro schema must be a record: " + avroSchema);
+    }
+    return new MessageType(avroSchema.getFullName(), convertFields(avroSchema.getFields()));
+  }
+
+  private static List<Type> convertFields(List<Schema.Field> fields) {
+    List<Type> types = Lists.newArrayList();
+    for (Schema.Field field : fields) {
+      types.add(convertField(field.name(), field.schema(), Type.Repetition.REQUIRED));
+    }
+    return types;
+  }
+
+  private static Type convertField(String name, Schema schema, Type.Repetition repetition) {
+    switch (schema.getType()) {
+      case RECORD:
+        return new GroupType(repetition, name, convertFields(schema.getFields()));
+      case UNION:
+        List<Schema> branches = getNonNullBranches(schema);
+        if (branches.isEmpty()) {
+          throw new IllegalArgumentException("Union of null only is not supported: " + schema);
+        }
+        if (branches.size() == 1) {
+          Type.Repetition branchRepetition = repetition == Type.Repetition.REQUIRED
+              && branches.size() < schema.getTypes().size() ? Type.Repetition.OPTIONAL : repetition;
+          return convertField(name, branches.get(0), branchRepetition);
+        }
+        List<Type> members = Lists.newArrayList();
+        for (int i = 0; i < branches.size(); i++) {
+          members.add(convertField(UNION_MEMBER_PREFIX + i, branches.get(i), Type.Repetition.OPTIONAL));
+        }
+        return new GroupType(repetition, name, members);
+      case ARRAY:
+        return ConversionPatterns.listType(repetition, name,
+            convertField(ARRAY_ELEMENT_NAME, schema.getElementType(), Type.Repetition.REPEATED));
+      case MAP:
+        return ConversionPatterns.mapType(repetition, name,
+            new PrimitiveType(Type.Repetition.REQUIRED, PrimitiveTypeName.BINARY, MAP_KEY_NAME, OriginalType.UTF8),
+            convertField(MAP_VALUE_NAME, schema.getValueType(), Type.Repetition.REQUIRED));
+      case BOOLEAN:
+        return new PrimitiveType(repetition, PrimitiveTypeName.BOOLEAN, name);
+      case INT:
+        return new PrimitiveType(repetition, PrimitiveTypeName.INT32, name);
+      case LONG:
+        return new PrimitiveType(repetition, PrimitiveTypeName.INT64, name);
+      case FLOAT:
+        return new PrimitiveType(repetition, PrimitiveTypeName.FLOAT, name);
+      case DOUBLE:
+        return new PrimitiveType(repetition, PrimitiveTypeName.DOUBLE, name);
+      case STRING:
+        return new PrimitiveType(repetition, PrimitiveTypeName.BINARY, name, OriginalType.UTF8);
+      case ENUM:
+        return new PrimitiveType(repetition, PrimitiveTypeName.BINARY, name, OriginalType.ENUM);
+      case BYTES:
+        return new PrimitiveType(repetition, PrimitiveTypeName.BINARY, name);
+      case FIXED:
+        return new PrimitiveType(repetition, PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY, schema.getFixedSize(), name);
+      default:
+        throw new IllegalArgumentException("Unsupported Avro type " + schema.getType() + " in " + schema);
+    }
+  }
+
+  /**
+   * @return the branches of the input union that are not of type {@link Schema.Type#NULL}, in order.
+   */
+  static List<Schema> getNonNullBranches(Schema unionSchema) {
+    List<Schema> branches = Lists.newArrayList();
+    for (Schema branch : unionSchema.getTypes()) {
+      if (branch.getType() != Schema.Type.NULL) {
+        branches.add(branch);
+      }
+    }
+    return branches;
+  }
+}
@@ -0,0 +1,331 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.gobblin.writer.parquet;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericFixed;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.util.Utf8;
+import org.apache.hadoop.conf.Configuration;
+
+import com.google.common.collect.ImmutableMap;
+
+import parquet.hadoop.api.WriteSupport;
+import parquet.io.api.Binary;
+import parquet.io.api.RecordConsumer;
+import parquet.schema.GroupType;
+import parquet.schema.MessageType;
+import parquet.schema.Type;
+
+
+/**
+ * A {@link WriteSupport} that writes Avro {@link GenericRecord}s directly, without going through an intermediate
+ * representation.
+ *
+ * <p>
+ *   The tree of per field writers is built once from the Avro {@link Schema} and the Parquet schema created by
+ *   {@link AvroParquetSchemaConverter}, so writing a record does not inspect the schemas again. The Avro schema is
+ *   stored in the file metadata under {@link #AVRO_SCHEMA_METADATA_KEY}, as parquet-avro does.
+ * </p>
+ */
+public class GenericRecordWriteSupport extends WriteSupport<GenericRecord> {
+
+  public static final String AVRO_SCHEMA_METADATA_KEY = "parquet.avro.schema";
+
+  private final Schema avroSchema;
+  private final MessageType parquetSchema;
+  private final RecordWriter rootWriter;
+  private RecordConsumer recordConsumer;
+
+  public GenericRecordWriteSupport(Schema avroSchema) {
+    this.avroSchema = avroSchema;
+    this.parquetSchema = AvroParquetSchemaConverter.getParquetSchema(avroSchema);
+    this.rootWriter = new RecordWriter(avroSchema, this.parquetSchema);
+  }
+
+  @Override
+  public WriteContext init(Configuration configuration) {
+    return new WriteContext(this.parquetSchema, ImmutableMap.of(AVRO_SCHEMA_METADATA_KEY, this.avroSchema.toString()));
+  }
+
+  @Override
+  public void prepareForWrite(RecordConsumer recordConsumer) {
+    this.recordConsumer = recordConsumer;
+  }
+
+  @Override
+  public void write(GenericRecord record) {
+    this.recordConsumer.startMessage();
+    this.rootWriter.writeFields(record, this.recordConsumer);
+    this.recordConsumer.endMessage();
+  }
+
+  private static ValueWriter createValueWriter(Schema schema, Type type) {
+    switch (schema.getType()) {
+      case RECORD:
+        return new RecordWriter(schema, type.asGroupType());
+      case UNION:
+        List<Schema> branches = AvroParquetSchemaConverter.getNonNullBranches(schema);
+        if (branches.size() == 1) {
+          return createValueWriter(branches.get(0), type);
+        }
+        return new UnionWriter(schema, type.asGroupType());
+      case ARRAY:
+        return new ListWriter(schema, type.asGroupType());
+      case MAP:
+        return new MapWriter(schema, type.asGroupType());
+      case BOOLEAN:
+        return new ValueWriter() {
+          @Override
+          void write(Object value, RecordConsumer consumer) {
+            consumer.addBoolean((Boolean) value);
+          }
+        };
+      case INT:
+        return new ValueWriter() {
+          @Override
+          void write(Object value, RecordConsumer consumer) {
+            consumer.addInteger(((Number) value).intValue());
+          }
+        };
+      case LONG:
+        return new ValueWriter() {
+          @Override
+          void write(Object value, RecordConsumer consumer) {
+            consumer.addLong(((Number) value).longValue());
+          }
+        };
+      case FLOAT:
+        return new ValueWriter() {
+          @Override
+          void write(Object value, RecordConsumer consumer) {
+            consumer.addFloat(((Number) value).floatValue());
+          }
+        };
+      case DOUBLE:
+        return new ValueWriter() {
+          @Override
+          void write(Object value, RecordConsumer consumer) {
+            consumer.addDouble(((Number) value).doubleValue());
+          }
+        };
+      case STRING:
+      case ENUM:
+        return new StringWriter();
+      case BYTES:
+      case FIXED:
+        return new BinaryWriter();
+      default:
+        throw new IllegalArgumentException("Unsupported Avro type " + schema.getType() + " in " + schema);
+    }
+  }
+
+  /**
+   * Writes a single non-null value to a {@link RecordConsumer}, inside of the field started by the caller.
+   */
+  private abstract static class ValueWriter {
+    abstract void write(Object value, RecordConsumer consumer);
+  }
+
+  private static class StringWriter extends ValueWriter {
+    @Override
+    void write(Object value, RecordConsumer consumer) {
+      // The bytes are copied since dictionary encoding keeps references to them and Utf8 instances may be reused
+      if (value instanceof Utf8) {
+        Utf8 utf8 = (Utf8) value;
+        consumer.addBinary(Binary.fromByteArray(Arrays.copyOf(utf8.getBytes(), utf8.getByteLength())));
+      } else {
+        consumer.addBinary(Binary.fromString(value.toString()));
+      }
+    }
+  }
+
+  private static class BinaryWriter extends ValueWriter {
+    @Override
+    void write(Object value, RecordConsumer consumer) {
+      byte[] bytes;
+      if (value instanceof GenericFixed) {
+        bytes = ((GenericFixed) value).bytes().clone();
+      } else {
+        ByteBuffer buffer = (ByteBuffer) value;
+        bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+      }
+      consumer.addBinary(Binary.fromByteArray(bytes));
+    }
+  }
+
+  private static class RecordWriter extends ValueWriter {
+    private final Schema schema;
+    private final String[] fieldNames;
+    private final boolean[] required;
+    private final ValueWriter[] fieldWriters;
+
+    RecordWriter(Schema schema, GroupType type) {
+      this.schema = schema;
+      List<Schema.Field> fields = schema.getFields();
+      this.fieldNames = new String[fields.size()];
+      this.required = new boolean[fields.size()];
+      this.fieldWriters = new ValueWriter[fields.size()];
+      for (int i = 0; i < fields.size(); i++) {
+        this.fieldNames[i] = fields.get(i).name();
+        this.required[i] = type.getType(i).getRepetition() == Type.Repetition.REQUIRED;
+        this.fieldWriters[i] = createValueWriter(fields.get(i).schema(), type.getType(i));
+      }
+    }
+
+    @Override
+    void write(Object value, RecordConsumer consumer) {
+      consumer.startGroup();
+      writeFields((GenericRecord) value, consumer);
+      consumer.endGroup();
+    }
+
+    void writeFields(GenericRecord record, RecordConsumer consumer) {
+      // Records of the writer schema are read by position, others by field name
+      boolean samePositions = record.getSchema() == this.schema;
+      for (int i = 0; i < this.fieldWriters.length; i++) {
+        Object value = samePositions ? record.get(i) : record.get(this.fieldNames[i]);
+        if (value == null) {
+          if (this.required[i]) {
+            throw new IllegalArgumentException(
+                "Null value for required field " + this.fieldNames[i] + " of " + this.schema.getFullName());
+          }
+          continue;
+        }
+        consumer.startField(this.fieldNames[i], i);
+        this.fieldWriters[i].write(value, consumer);
+        consumer.endField(this.fieldNames[i], i);
+      }
+    }
+  }
+
+  private static class ListWriter extends ValueWriter {
+    private final String elementName;
+    private final ValueWriter elementWriter;
+
+    ListWriter(Schema schema, GroupType type) {
+      Type elementType = type.getType(0);
+      this.elementName = elementType.getName();
+      this.elementWriter = createValueWriter(schema.getElementType(), elementType);
+    }
+
+    @Override
+    void write(Object value, RecordConsumer consumer) {
+      Collection<?> elements = (Collection<?>) value;
+      consumer.startGroup();
+      if (!elements.isEmpty()) {
+        consumer.startField(this.elementName, 0);
+        for (Object element : elements) {
+          if (element == null) {
+            throw new IllegalArgumentException("Null array elements are not supported");
+          }
+          this.elementWriter.write(element, consumer);
+        }
+        consumer.endField(this.elementName, 0);
+      }
+      consumer.endGroup();
+    }
+  }
+
+  private static class MapWriter extends ValueWriter {
+    private final String entryName;
+    private final String keyName;
+    private final String valueName;
+    private final boolean valueRequired;
+    private final ValueWriter keyWriter = new StringWriter();
+    private final ValueWriter valueWriter;
+
+    MapWriter(Schema schema, GroupType type) {
+      GroupType entryType = type.getType(0).asGroupType();
+      this.entryName = entryType.getName();
+      this.keyName = entryType.getType(0).getName();
+      this.valueName = entryType.getType(1).getName();
+      this.valueRequired = entryType.getType(1).getRepetition() == Type.Repetition.REQUIRED;
+      this.valueWriter = createValueWriter(schema.getValueType(), entryType.getType(1));
+    }
+
+    @Override
+    void write(Object value, RecordConsumer consumer) {
+      Map<?, ?> entries = (Map<?, ?>) value;
+      consumer.startGroup();
+      if (!entries.isEmpty()) {
+        consumer.startField(this.entryName, 0);
+        for (Map.Entry<?, ?> entry : entries.entrySet()) {
+          consumer.startGroup();
+          consumer.startField(this.keyName, 0);
+          this.keyWriter.write(entry.getKey(), consumer);
+          consumer.endField(this.keyName, 0);
+          if (entry.getValue() != null) {
+            consumer.startField(this.valueName, 1);
+            this.valueWriter.write(entry.getValue(), consumer);
+            consumer.endField(this.valueName, 1);
+          } else if (this.valueRequired) {
+            throw new IllegalArgumentException("Null value for required map value of key " + entry.getKey());
+          }
+          consumer.endGroup();
+        }
+        consumer.endField(this.entryName, 0);
+      }
+      consumer.endGroup();
+    }
+  }
+
+  private static class UnionWriter extends ValueWriter {
+    private final Schema schema;
+    /** The Parquet member index of every Avro branch, -1 for the null branch. */
+    private final int[] memberIndexes;
+    private final String[] memberNames;
+    private final ValueWriter[] branchWriters;
+
+    UnionWriter(Schema schema, GroupType type) {
+      this.schema = schema;
+      List<Schema> branches = schema.getTypes();
+      this.memberIndexes = new int[branches.size()];
+      this.memberNames = new String[branches.size()];
+      this.branchWriters = new ValueWriter[branches.size()];
+      int member = 0;
+      for (int i = 0; i < branches.size(); i++) {
+        if (branches.get(i).getType() == Schema.Type.NULL) {
+          this.memberIndexes[i] = -1;
+        } else {
+          this.memberIndexes[i] = member;
+          this.memberNames[i] = type.getType(member).getName();
+          this.branchWriters[i] = createValueWriter(branches.get(i), type.getType(member));
+          member++;
+        }
+      }
+    }
+
+    @Override
+    void write(Object value, RecordConsumer consumer) {
+      int branch = GenericData.get().resolveUnion(this.schema, value);
+      consumer.startGroup();
+      consumer.startField(this.memberNames[branch], this.memberIndexes[branch]);
+      this.branchWriters[branch].write(value, consumer);
+      consumer.endField(this.memberNames[branch], this.memberIndexes[branch]);
+      consumer.endGroup();
+    }
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.gobblin.writer;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaBuilder;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.util.Utf8;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileUtil;
+import org.apache.hadoop.fs.Path;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+
+import parquet.example.data.Group;
+import parquet.example.data.simple.convert.GroupRecordConverter;
+import parquet.hadoop.ParquetFileReader;
+import parquet.hadoop.ParquetReader;
+import parquet.hadoop.api.InitContext;
+import parquet.hadoop.api.ReadSupport;
+import parquet.io.api.RecordMaterializer;
+import parquet.schema.MessageType;
+
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.configuration.State;
+import org.apache.gobblin.writer.parquet.GenericRecordWriteSupport;
+
+import static org.apache.gobblin.writer.AbstractParquetDataWriterBuilder.WRITER_PARQUET_BLOCK_SIZE;
+import static org.apache.gobblin.writer.AbstractParquetDataWriterBuilder.WRITER_PARQUET_DICTIONARY;
+import static org.apache.gobblin.writer.AbstractParquetDataWriterBuilder.WRITER_PARQUET_PAGE_SIZE;
+
+
+@Test(groups = {"gobblin.writer"})
+public class AvroParquetHdfsDataWriterTest {
+
+  private static final String FILE_NAME = "avro.parquet";
+
+  private static final Schema SCHEMA = SchemaBuilder.record("User").namespace("org.apache.gobblin.test").fields()
+      .requiredString("name")
+      .optionalInt("age")
+      .name("tags").type().array().items().stringType().noDefault()
+      .name("scores").type().map().values().longType().noDefault()
+      .endRecord();
+
+  private String filePath;
+  private AvroParquetHdfsDataWriter writer;
+
+  @BeforeMethod
+  public void setUp()
+      throws Exception {
+    new File(TestConstants.TEST_STAGING_DIR).mkdirs();
+    new File(TestConstants.TEST_OUTPUT_DIR).mkdirs();
+    this.filePath = TestConstants.TEST_EXTRACT_NAMESPACE.replaceAll("\\.", "/") + "/avro/" + TestConstants.TEST_EXTRACT_ID;
+
+    State properties = new State();
+    properties.setProp(ConfigurationKeys.WRITER_BUFFER_SIZE, ConfigurationKeys.DEFAULT_BUFFER_SIZE);
+    properties.setProp(ConfigurationKeys.WRITER_FILE_SYSTEM_URI, TestConstants.TEST_FS_URI);
+    properties.setProp(ConfigurationKeys.WRITER_STAGING_DIR, TestConstants.TEST_STAGING_DIR);
+    properties.setProp(ConfigurationKeys.WRITER_OUTPUT_DIR, TestConstants.TEST_OUTPUT_DIR);
+    properties.setProp(ConfigurationKeys.WRITER_FILE_PATH, this.filePath);
+    properties.setProp(ConfigurationKeys.WRITER_FILE_NAME, FILE_NAME);
+    properties.setProp(WRITER_PARQUET_DICTIONARY, true);
+    properties.setProp(WRITER_PARQUET_PAGE_SIZE, 1024);
+    properties.setProp(WRITER_PARQUET_BLOCK_SIZE, 1024 * 1024);
+
+    AvroParquetDataWriterBuilder writerBuilder = new AvroParquetDataWriterBuilder();
+    writerBuilder.destination = Destination.of(Destination.DestinationType.HDFS, properties);
+    writerBuilder.writerId = TestConstants.TEST_WRITER_ID;
+    writerBuilder.schema = SCHEMA;
+    writerBuilder.format = WriterOutputFormat.PARQUET;
+    this.writer = (AvroParquetHdfsDataWriter) writerBuilder.build();
+  }
+
+  @Test
+  public void testWrite()
+      throws Exception {
+    GenericRecord record1 = new GenericData.Record(SCHEMA);
+    record1.put("name", new Utf8("tilak"));
+    record1.put("age", 22);
+    record1.put("tags", Lists.newArrayList(new Utf8("a"), new Utf8("b")));
+    record1.put("scores", ImmutableMap.of(new Utf8("math"), 10L));
+
+    GenericRecord record2 = new GenericData.Record(SCHEMA);
+    record2.put("name", "other");
+    record2.put("tags", new ArrayList<Utf8>());
+    record2.put("scores", ImmutableMap.of());
+
+    this.writer.write(record1);
+    this.writer.write(record2);
+    this.writer.close();
+    this.writer.commit();
+
+    Assert.assertEquals(this.writer.recordsWritten(), 2);
+    Assert.assertEquals(this.writer.getFinalState().getPropAsLong(AvroParquetHdfsDataWriter.ROW_GROUPS_WRITTEN), 1);
+
+    File outputFile = new File(TestConstants.TEST_OUTPUT_DIR + Path.SEPARATOR + this.filePath, FILE_NAME);
+    Assert.assertEquals(ParquetFileReader.readFooter(new Configuration(), new Path(outputFile.toString()))
+        .getFileMetaData().getKeyValueMetaData().get(GenericRecordWriteSupport.AVRO_SCHEMA_METADATA_KEY),
+        SCHEMA.toString());
+
+    List<Group> records = readParquetFile(outputFile);
+    Assert.assertEquals(records.size(), 2);
+
+    Group result1 = records.get(0);
+    Assert.assertEquals(result1.getString("name", 0), "tilak");
+    Assert.assertEquals(result1.getInteger("age", 0), 22);
+    Group tags = result1.getGroup("tags", 0);
+    Assert.assertEquals(tags.getFieldRepetitionCount("array"), 2);
+    Assert.assertEquals(tags.getString("array", 0), "a");
+    Assert.assertEquals(tags.getString("array", 1), "b");
+    Group score = result1.getGroup("scores", 0).getGroup("map", 0);
+    Assert.assertEquals(score.getString("key", 0), "math");
+    Assert.assertEquals(score.getLong("value", 0), 10L);
+
+    Group result2 = records.get(1);
+    Assert.assertEquals(result2.getString("name", 0), "other");
+    Assert.assertEquals(result2.getFieldRepetitionCount("age"), 0);
+    Assert.assertEquals(result2.getGroup("tags", 0).getFieldRepetitionCount("array"), 0);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNullRequiredField()
+      throws Exception {
+    GenericRecord record = new GenericData.Record(SCHEMA);
+    record.put("age", 22);
+    record.put("tags", new ArrayList<Utf8>());
+    record.put("scores", ImmutableMap.of());
+    this.writer.write(record);
+  }
+
+  private List<Group> readParquetFile(File outputFile)
+      throws IOException {
+    List<Group> records = new ArrayList<>();
+    try (ParquetReader<Group> reader = new ParquetReader<>(new Path(outputFile.toString()), new SimpleReadSupport())) {
+      for (Group value = reader.read(); value != null; value = reader.read()) {
+        records.add(value);
+      }
+    }
+    return records;
+  }
+
+  @AfterClass
+  public void tearDown()
+      throws IOException {
+    File testRootDir = new File(TestConstants.TEST_ROOT_DIR);
+    if (testRootDir.exists()) {
+      FileUtil.fullyDelete(testRootDir);
+    }
+  }
+
+  class SimpleReadSupport extends ReadSupport<Group> {
+    @Override
+    public RecordMaterializer<Group> prepareForRead(Configuration conf, Map<String, String> metaData,
+        MessageType schema, ReadContext context) {
+      return new GroupRecordConverter(schema);
+    }
+
+    @Override
+    public ReadContext init(InitContext context) {
+      return new ReadContext(context.getFileSchema());
+    }
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.source.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.configuration.WorkUnitState;
+import org.apache.gobblin.converter.avro.JsonIntermediateToAvroConverter;
+import org.apache.gobblin.source.extractor.extract.CommandOutput;
+import org.apache.gobblin.source.workunit.Extract;
+import org.apache.gobblin.source.workunit.WorkUnit;
+
+
+/**
+ * Compares the rows per second of the json path ({@link JdbcExtractor#getData(CommandOutput)} followed by
+ * {@link JsonIntermediateToAvroConverter}) against the typed {@link JdbcAvroExtractor}, reading the same table from
+ * an embedded Derby database.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@org.openjdk.jmh.annotations.Fork(value = 1)
+@BenchmarkMode(value = Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JdbcAvroExtractorBenchmark {
+
+  private static final int ROWS = 100000;
+  private static final String JDBC_URL = "jdbc:derby:memory:JdbcAvroExtractorBenchmark";
+  private static final String QUERY = "SELECT id, name, amount, quantity, created FROM bench";
+  private static final List<String> COLUMN_NAMES = ImmutableList.of("id", "name", "amount", "quantity", "created");
+  private static final String JSON_SCHEMA = "["
+      + "{\"columnName\":\"id\",\"isNullable\":false,\"dataType\":{\"type\":\"long\"}},"
+      + "{\"columnName\":\"name\",\"isNullable\":true,\"dataType\":{\"type\":\"string\"}},"
+      + "{\"columnName\":\"amount\",\"isNullable\":true,\"dataType\":{\"type\":\"double\"}},"
+      + "{\"columnName\":\"quantity\",\"isNullable\":true,\"dataType\":{\"type\":\"int\"}},"
+      + "{\"columnName\":\"created\",\"isNullable\":true,\"dataType\":{\"type\":\"timestamp\"}}]";
+
+  @State(value = Scope.Benchmark)
+  public static class DatabaseState {
+    private Connection connection;
+    private JsonArray jsonSchema;
+
+    @Setup
+    public void setup() throws Exception {
+      this.connection = DriverManager.getConnection(JDBC_URL + ";create=true");
+      this.jsonSchema = new JsonParser().parse(JSON_SCHEMA).getAsJsonArray();
+
+      try (Statement statement = this.connection.createStatement()) {
+        statement.execute("CREATE TABLE bench (id BIGINT NOT NULL, name VARCHAR(64), amount DOUBLE, "
+            + "quantity INTEGER, created TIMESTAMP)");
+      }
+      try (PreparedStatement statement = this.connection.prepareStatement("INSERT INTO bench VALUES (?, ?, ?, ?, ?)")) {
+        for (int i = 0; i < ROWS; i++) {
+          statement.setLong(1, i);
+          statement.setString(2, "name_" + i);
+          statement.setDouble(3, i * 1.5);
+          statement.setInt(4, i % 1000);
+          statement.setTimestamp(5, new Timestamp(1483228800000L + i * 1000L));
+          statement.addBatch();
+          if (i % 1000 == 999) {
+            statement.executeBatch();
+          }
+        }
+        statement.executeBatch();
+      }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+      try (Statement statement = this.connection.createStatement()) {
+        statement.execute("DROP TABLE bench");
+      } finally {
+        this.connection.close();
+      }
+    }
+
+    private ResultSet executeQuery() throws SQLException {
+      return this.connection.createStatement().executeQuery(QUERY);
+    }
+
+    private WorkUnitState createWorkUnitState() {
+      WorkUnitState state = new WorkUnitState(
+          WorkUnit.create(new Extract(Extract.TableType.APPEND_ONLY, "org.apache.gobblin.bench", "bench")));
+      state.setId("id");
+      state.setProp(ConfigurationKeys.CONVERTER_AVRO_TIMESTAMP_FORMAT, "yyyy-MM-dd HH:mm:ss.S");
+      return state;
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public void jsonPath(DatabaseState state, Blackhole blackhole) throws Exception {
+    WorkUnitState workUnitState = state.createWorkUnitState();
+    JdbcExtractor jdbcExtractor = new MysqlExtractor(workUnitState);
+    jdbcExtractor.setHeaderRecord(COLUMN_NAMES);
+    JsonIntermediateToAvroConverter converter = new JsonIntermediateToAvroConverter();
+    Schema schema = converter.convertSchema(state.jsonSchema, workUnitState);
+
+    try (ResultSet resultSet = state.executeQuery()) {
+      CommandOutput<JdbcCommand, ResultSet> output = new JdbcCommandOutput();
+      output.put(new JdbcCommand(), resultSet);
+      while (jdbcExtractor.hasNextRecord()) {
+        Iterator<JsonElement> records = jdbcExtractor.getData(output);
+        while (records.hasNext()) {
+          for (GenericRecord record : converter.convertRecord(schema, (JsonObject) records.next(), workUnitState)) {
+            blackhole.consume(record);
+          }
+        }
+      }
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public void typedPath(DatabaseState state, Blackhole blackhole) throws Exception {
+    WorkUnitState workUnitState = state.createWorkUnitState();
+
+    try (final ResultSet resultSet = state.executeQuery()) {
+      JdbcExtractor jdbcExtractor = new MysqlExtractor(workUnitState) {
+        @Override
+        public ResultSet executeDataQuery() {
+          return resultSet;
+        }
+      };
+      jdbcExtractor.setHeaderRecord(COLUMN_NAMES);
+      JdbcAvroExtractor extractor = new JdbcAvroExtractor(jdbcExtractor, workUnitState);
+      extractor.initSchema(state.jsonSchema);
+
+      GenericRecord record;
+      while ((record = extractor.readRecord(null)) != null) {
+        blackhole.consume(record);
+      }
+    }
+  }
+}
@@ -58,6 +58,12 @@ public class MysqlSource extends QueryBasedSource<JsonArray, JsonElement> {
   }
 
   protected void addLineageSourceInfo(SourceState sourceState, SourceEntity entity, WorkUnit workUnit) {
+    if (lineageInfo.isPresent()) {
+      lineageInfo.get().setSource(getLineageSource(sourceState, entity), workUnit);
+    }
+  }
+
+  static DatasetDescriptor getLineageSource(SourceState sourceState, SourceEntity entity) {
     String host = sourceState.getProp(ConfigurationKeys.SOURCE_CONN_HOST_NAME);
     String port = sourceState.getProp(ConfigurationKeys.SOURCE_CONN_PORT);
     String database = sourceState.getProp(ConfigurationKeys.SOURCE_QUERYBASED_SCHEMA);
@@ -65,8 +71,6 @@ public class MysqlSource extends QueryBasedSource<JsonArray, JsonElement> {
     DatasetDescriptor source =
         new DatasetDescriptor(DatasetConstants.PLATFORM_MYSQL, database + "." + entity.getSourceEntityName());
     source.addMetadata(DatasetConstants.CONNECTION_URL, connectionUrl);
-    if (lineageInfo.isPresent()) {
-      lineageInfo.get().setSource(source, workUnit);
-    }
+    return source;
   }
 }
@@ -0,0 +1,312 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.source.jdbc;
+
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.util.Utf8;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonPrimitive;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.configuration.WorkUnitState;
+import org.apache.gobblin.converter.SchemaConversionException;
+import org.apache.gobblin.converter.avro.JsonElementConversionFactory.JsonElementConverter;
+import org.apache.gobblin.converter.avro.JsonElementConversionFactory.RecordConverter;
+import org.apache.gobblin.converter.avro.JsonIntermediateToAvroConverter;
+import org.apache.gobblin.converter.avro.UnsupportedDateTypeException;
+import org.apache.gobblin.converter.json.JsonSchema;
+import org.apache.gobblin.source.extractor.DataRecordException;
+import org.apache.gobblin.source.extractor.Extractor;
+import org.apache.gobblin.source.extractor.exception.ExtractPrepareException;
+
+
+/**
+ * An {@link Extractor} that reads the rows of a {@link JdbcExtractor}'s data query directly into Avro
+ * {@link GenericRecord}s.
+ *
+ * <p>
+ *   {@link JdbcExtractor} emits every row as a {@link com.google.gson.JsonObject} of strings which is then parsed
+ *   again by {@link JsonIntermediateToAvroConverter}. This extractor skips that intermediate representation: the
+ *   wrapped {@link JdbcExtractor} still computes the schema, record count, watermarks and data query, but the
+ *   columns are read with typed {@link ResultSet} getters straight into the Avro record. The output schema is the
+ *   one {@link JsonIntermediateToAvroConverter} would produce, so jobs using this extractor must not configure that
+ *   converter.
+ * </p>
+ *
+ * <p>
+ *   Numeric, boolean and character columns are read with typed getters. Other columns, e.g. dates, timestamps and
+ *   binary data, go through the same string conversion as the json path, so the configured date formats and time
+ *   zone keep applying to them. The source specific api
+ *   ({@link ConfigurationKeys#SOURCE_QUERYBASED_IS_SPECIFIC_API_ACTIVE}) is not supported.
+ * </p>
+ *
+ * <p>
+ *   If the caller passes a record of the output schema to {@link #readRecord(GenericRecord)}, that record is
+ *   refilled instead of allocating a new one.
+ * </p>
+ */
+@Slf4j
+public class JdbcAvroExtractor implements Extractor<Schema, GenericRecord> {
+
+  private final JdbcExtractor jdbcExtractor;
+  private final WorkUnitState workUnitState;
+  private final long maxFailedConversions;
+
+  private Schema schema;
+  private RecordConverter recordConverter;
+  private ResultSet resultSet;
+  private ColumnReader[] columnReaders;
+  private int[] fieldPositions;
+  private boolean hasNextRecord = true;
+  private long numFailedConversions = 0;
+  private long totalRecordCount = 0;
+
+  public JdbcAvroExtractor(JdbcExtractor jdbcExtractor, WorkUnitState workUnitState) {
+    this.jdbcExtractor = jdbcExtractor;
+    this.workUnitState = workUnitState;
+    this.maxFailedConversions = workUnitState.getPropAsLong(ConfigurationKeys.CONVERTER_AVRO_MAX_CONVERSION_FAILURES,
+        ConfigurationKeys.DEFAULT_CONVERTER_AVRO_MAX_CONVERSION_FAILURES);
+  }
+
+  /**
+   * Build the wrapped {@link JdbcExtractor} and derive the Avro schema from its schema.
+   */
+  public JdbcAvroExtractor build() throws ExtractPrepareException {
+    this.jdbcExtractor.build();
+    try {
+      initSchema(this.jdbcExtractor.getSchema());
+    } catch (SchemaConversionException | UnsupportedDateTypeException e) {
+      throw new ExtractPrepareException("Failed to convert schema to avro; error - " + e.getMessage(), e);
+    }
+    return this;
+  }
+
+  @VisibleForTesting
+  void initSchema(JsonArray jsonSchema) throws SchemaConversionException, UnsupportedDateTypeException {
+    this.schema = new JsonIntermediateToAvroConverter().convertSchema(jsonSchema, this.workUnitState);
+
+    JsonSchema recordSchema = new JsonSchema(jsonSchema);
+    recordSchema.setColumnName(this.workUnitState.getExtract().getTable());
+    this.recordConverter =
+        new RecordConverter(recordSchema, this.workUnitState, this.workUnitState.getExtract().getNamespace());
+  }
+
+  @Override
+  public Schema getSchema() {
+    return this.schema;
+  }
+
+  @Override
+  public GenericRecord readRecord(@Deprecated GenericRecord reuse) throws DataRecordException, IOException {
+    if (!this.hasNextRecord) {
+      return null;
+    }
+
+    try {
+      if (this.resultSet == null) {
+        this.resultSet = this.jdbcExtractor.executeDataQuery();
+        createColumnReaders(this.resultSet.getMetaData());
+      }
+
+      while (this.resultSet.next()) {
+        GenericRecord record =
+            reuse != null && reuse.getSchema() == this.schema ? reuse : new GenericData.Record(this.schema);
+        if (readColumns(record)) {
+          if (++this.totalRecordCount % ConfigurationKeys.DEFAULT_SOURCE_FETCH_SIZE == 0) {
+            log.info("Total number of records processed so far: " + this.totalRecordCount);
+          }
+          return record;
+        }
+      }
+    } catch (SQLException e) {
+      throw new DataRecordException("Failed to get records from database; error - " + e.getMessage(), e);
+    }
+
+    this.hasNextRecord = false;
+    log.info("Total number of records processed so far: " + this.totalRecordCount);
+    return null;
+  }
+
+  /**
+   * Fill the record with the columns of the current row.
+   *
+   * @return false if a column could not be converted and the row should be dropped
+   */
+  private boolean readColumns(GenericRecord record) throws DataRecordException, SQLException {
+    for (int i = 0; i < this.columnReaders.length; i++) {
+      if (this.columnReaders[i] == null) {
+        continue;
+      }
+      try {
+        record.put(this.fieldPositions[i], this.columnReaders[i].read(this.resultSet));
+      } catch (SQLException e) {
+        throw e;
+      } catch (Exception e) {
+        this.numFailedConversions++;
+        if (this.numFailedConversions < this.maxFailedConversions) {
+          log.error("Dropping record " + this.totalRecordCount + " because it cannot be converted to Avro", e);
+          return false;
+        }
+        throw new DataRecordException("Unable to convert field: " + this.schema.getFields().get(this.fieldPositions[i])
+            .name() + " of record " + this.totalRecordCount, e);
+      }
+    }
+    return true;
+  }
+
+  private void createColumnReaders(ResultSetMetaData metadata) throws SQLException {
+    List<String> headerRecord = this.jdbcExtractor.getHeaderRecord();
+    int numColumns = metadata.getColumnCount();
+    this.columnReaders = new ColumnReader[numColumns];
+    this.fieldPositions = new int[numColumns];
+
+    for (int i = 0; i < numColumns; i++) {
+      String columnName = headerRecord.get(i);
+      Schema.Field field = this.schema.getField(columnName);
+      JsonElementConverter converter = this.recordConverter.getConverter(columnName);
+      if (field == null || converter == null) {
+        log.warn("Column " + columnName + " is not part of the schema and will be skipped");
+        continue;
+      }
+      this.fieldPositions[i] = field.pos();
+      this.columnReaders[i] = createColumnReader(metadata, i + 1, converter);
+    }
+  }
+
+  private ColumnReader createColumnReader(final ResultSetMetaData metadata, final int column,
+      final JsonElementConverter converter) throws SQLException {
+    int columnType = metadata.getColumnType(column);
+    ColumnReader reader = null;
+
+    switch (converter.getTargetType()) {
+      case INT:
+        if (columnType == Types.TINYINT || columnType == Types.SMALLINT || columnType == Types.INTEGER) {
+          reader = resultSet -> {
+            int value = resultSet.getInt(column);
+            return resultSet.wasNull() ? null : value;
+          };
+        }
+        break;
+      case LONG:
+        if (columnType == Types.TINYINT || columnType == Types.SMALLINT || columnType == Types.INTEGER
+            || columnType == Types.BIGINT) {
+          reader = resultSet -> {
+            long value = resultSet.getLong(column);
+            return resultSet.wasNull() ? null : value;
+          };
+        }
+        break;
+      case DOUBLE:
+        if (columnType == Types.REAL || columnType == Types.FLOAT || columnType == Types.DOUBLE
+            || columnType == Types.DECIMAL || columnType == Types.NUMERIC) {
+          reader = resultSet -> {
+            double value = resultSet.getDouble(column);
+            return resultSet.wasNull() ? null : value;
+          };
+        }
+        break;
+      case FLOAT:
+        if (columnType == Types.REAL) {
+          reader = resultSet -> {
+            float value = resultSet.getFloat(column);
+            return resultSet.wasNull() ? null : value;
+          };
+        }
+        break;
+      case BOOLEAN:
+        if ((columnType == Types.BIT || columnType == Types.BOOLEAN) && this.jdbcExtractor.convertBitToBoolean()) {
+          reader = resultSet -> {
+            boolean value = resultSet.getBoolean(column);
+            return resultSet.wasNull() ? null : value;
+          };
+        }
+        break;
+      case STRING:
+        if (columnType == Types.CHAR || columnType == Types.VARCHAR || columnType == Types.LONGVARCHAR
+            || columnType == Types.NCHAR || columnType == Types.NVARCHAR || columnType == Types.LONGNVARCHAR) {
+          reader = resultSet -> {
+            String value = resultSet.getString(column);
+            return value == null ? null : new Utf8(value);
+          };
+        }
+        break;
+      default:
+        break;
+    }
+
+    if (reader == null) {
+      // Fall back to the same string conversion as the json path
+      return resultSet -> {
+        String value = this.jdbcExtractor.parseColumnAsString(resultSet, metadata, column);
+        return converter.convert(value == null ? JsonNull.INSTANCE : new JsonPrimitive(value));
+      };
+    }
+
+    final ColumnReader typedReader = reader;
+    return resultSet -> {
+      Object value = typedReader.read(resultSet);
+      if (value == null && !converter.isNullable()) {
+        throw new RuntimeException("Field: " + converter.getName() + " is not nullable and contains a null value");
+      }
+      return value;
+    };
+  }
+
+  @Override
+  public long getExpectedRecordCount() {
+    return this.jdbcExtractor.getExpectedRecordCount();
+  }
+
+  @Override
+  public long getHighWatermark() {
+    return this.jdbcExtractor.getHighWatermark();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (this.resultSet != null) {
+      try {
+        this.resultSet.close();
+      } catch (SQLException e) {
+        log.warn("Failed to close the data resultset", e);
+      }
+    }
+    this.jdbcExtractor.close();
+  }
+
+  /**
+   * Reads a single column of the current row of a {@link ResultSet} as an Avro value.
+   */
+  private interface ColumnReader {
+    Object read(ResultSet resultSet) throws SQLException;
+  }
+}
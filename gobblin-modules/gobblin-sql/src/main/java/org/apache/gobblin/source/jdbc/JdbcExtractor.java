@@ -48,6 +48,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Joiner;
 import com.google.gson.Gson;
 import com.google.gson.JsonArray;
@@ -87,6 +88,7 @@ public abstract class JdbcExtractor extends QueryBasedExtractor<JsonArray, JsonE
   private List<String> headerRecord;
   private boolean firstPull = true;
   private CommandOutput<?, ?> dataResponse = null;
+  private ParallelJdbcReader parallelReader = null;
   protected String extractSql;
   protected long sampleRecordCount;
   protected JdbcProvider jdbcSource;
@@ -686,6 +688,14 @@ public abstract class JdbcExtractor extends QueryBasedExtractor<JsonArray, JsonE
    * @throws Exception
    */
   private CommandOutput<?, ?> executePreparedSql(List<Command> cmds) {
+    return executePreparedSql(cmds, null);
+  }
+
+  /**
+   * Execute query using JDBC PreparedStatement on the given connection, or on the data connection of this extractor
+   * if the connection is null
+   */
+  private CommandOutput<?, ?> executePreparedSql(List<Command> cmds, Connection connection) {
     String query = null;
     List<String> queryParameters = null;
     int fetchSize = 0;
@@ -713,13 +723,16 @@ public abstract class JdbcExtractor extends QueryBasedExtractor<JsonArray, JsonE
     this.log.info("Executing query:" + query);
     ResultSet resultSet = null;
     try {
-      this.jdbcSource = createJdbcSource();
-      if (this.dataConnection == null) {
-        this.dataConnection = this.jdbcSource.getConnection();
+      if (connection == null) {
+        this.jdbcSource = createJdbcSource();
+        if (this.dataConnection == null) {
+          this.dataConnection = this.jdbcSource.getConnection();
+        }
+        connection = this.dataConnection;
       }
 
       PreparedStatement statement =
-          this.dataConnection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+          connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
 
       int parameterPosition = 1;
       if (queryParameters != null && queryParameters.size() > 0) {
@@ -811,11 +824,19 @@ public abstract class JdbcExtractor extends QueryBasedExtractor<JsonArray, JsonE
     try {
       if (isFirstPull()) {
         this.log.info("Get data recordset using JDBC");
-        cmds = this.getDataMetadata(schema, entity, workUnit, predicateList);
-        this.dataResponse = this.executePreparedSql(cmds);
+        List<List<Command>> splits = this.getParallelDataMetadata(schema, entity, workUnit, predicateList);
+        if (splits.size() > 1) {
+          this.parallelReader = this.createParallelReader(splits);
+        } else {
+          cmds = this.getDataMetadata(schema, entity, workUnit, predicateList);
+          this.dataResponse = this.executePreparedSql(cmds);
+        }
         this.setFirstPull(false);
       }
 
+      if (this.parallelReader != null) {
+        return this.getParallelData();
+      }
       rs = this.getData(this.dataResponse);
       return rs;
     } catch (Exception e) {
@@ -823,6 +844,186 @@ public abstract class JdbcExtractor extends QueryBasedExtractor<JsonArray, JsonE
     }
   }
 
+  /**
+   * Split the data query into key ranges of the split column if parallel reads are enabled, see
+   * {@link ConfigurationKeys#SOURCE_QUERYBASED_JDBC_PARALLEL_READS}
+   *
+   * @return data query commands of every split, or an empty list if the data query should not be split
+   */
+  private List<List<Command>> getParallelDataMetadata(String schema, String entity, WorkUnit workUnit,
+      List<Predicate> predicateList) throws DataRecordException {
+    List<List<Command>> splits = new ArrayList<>();
+    int parallelReads = this.workUnitState.getPropAsInt(ConfigurationKeys.SOURCE_QUERYBASED_JDBC_PARALLEL_READS,
+        ConfigurationKeys.DEFAULT_SOURCE_QUERYBASED_JDBC_PARALLEL_READS);
+    if (parallelReads <= 1) {
+      return splits;
+    }
+
+    String splitColumn = this.getSplitColumn();
+    if (splitColumn == null) {
+      this.log.warn("Parallel reads require a split column or a single primary key column; reading serially");
+      return splits;
+    }
+    if (StringUtils.isNotEmpty(this.constructSampleClause())) {
+      this.log.warn("Parallel reads are not supported with sampling; reading serially");
+      return splits;
+    }
+
+    long[] range = this.getSplitColumnRange(splitColumn, predicateList);
+    if (range == null) {
+      return splits;
+    }
+    for (List<Predicate> splitPredicates : getSplitPredicates(splitColumn, range[0], range[1], parallelReads,
+        predicateList)) {
+      splits.add(this.getDataMetadata(schema, entity, workUnit, splitPredicates));
+    }
+    this.log.info(String.format("Reading %d splits of %s between %d and %d in parallel", splits.size(), splitColumn,
+        range[0], range[1]));
+    return splits;
+  }
+
+  private String getSplitColumn() {
+    String splitColumn =
+        this.workUnitState.getProp(ConfigurationKeys.SOURCE_QUERYBASED_JDBC_PARALLEL_READS_SPLIT_COLUMN);
+    if (StringUtils.isNotBlank(splitColumn)) {
+      return splitColumn.trim();
+    }
+    String primaryKeys = this.workUnitState.getProp(ConfigurationKeys.EXTRACT_PRIMARY_KEY_FIELDS_KEY);
+    if (StringUtils.isNotBlank(primaryKeys) && !primaryKeys.contains(",")) {
+      return primaryKeys.trim();
+    }
+    return null;
+  }
+
+  /**
+   * Get the minimum and maximum value of the split column within the predicates of this pull
+   *
+   * @return the range, or null if there are no rows or the range could not be read
+   */
+  private long[] getSplitColumnRange(String splitColumn, List<Predicate> predicateList) {
+    String watermarkFilter = this.concatPredicates(predicateList);
+    if (StringUtils.isBlank(watermarkFilter)) {
+      watermarkFilter = "1=1";
+    }
+    String query = this.getExtractSql()
+        .replace(this.getOutputColumnProjection(), "min(" + splitColumn + "), max(" + splitColumn + ")")
+        .replace(ConfigurationKeys.DEFAULT_SOURCE_QUERYBASED_WATERMARK_PREDICATE_SYMBOL, watermarkFilter);
+
+    try {
+      CommandOutput<?, ?> response = this.executeSql(Arrays.asList(getCommand(query, JdbcCommandType.QUERY)));
+      Iterator<ResultSet> itr = (Iterator<ResultSet>) response.getResults().values().iterator();
+      ResultSet resultset = itr.hasNext() ? itr.next() : null;
+      if (resultset == null || !resultset.next()) {
+        return null;
+      }
+      long min = resultset.getLong(1);
+      if (resultset.wasNull()) {
+        return null;
+      }
+      return new long[] { min, resultset.getLong(2) };
+    } catch (SQLException e) {
+      this.log.warn("Failed to get the range of split column " + splitColumn + "; reading serially", e);
+      return null;
+    }
+  }
+
+  /**
+   * Split the key range [min, max] of the split column into contiguous sub-ranges. The first split also contains
+   * the rows with a null key, and the last split has no upper bound.
+   *
+   * @return the predicates of every split, or an empty list if the range cannot be split
+   */
+  @VisibleForTesting
+  static List<List<Predicate>> getSplitPredicates(String splitColumn, long min, long max, int parallelReads,
+      List<Predicate> predicateList) {
+    List<List<Predicate>> splits = new ArrayList<>();
+    long span = max - min + 1;
+    if (span <= 1 || parallelReads <= 1) {
+      return splits;
+    }
+
+    int numSplits = (int) Math.min(parallelReads, span);
+    long lowerBound = min;
+    for (int i = 0; i < numSplits; i++) {
+      long upperBound = min + span / numSplits * (i + 1) + Math.min(i + 1, span % numSplits);
+      List<Predicate> splitPredicates = new ArrayList<>(predicateList);
+      if (i == 0) {
+        splitPredicates.add(new Predicate(splitColumn, upperBound,
+            "(" + splitColumn + " < " + upperBound + " or " + splitColumn + " is null)", "",
+            Predicate.PredicateType.HWM));
+      } else {
+        splitPredicates.add(new Predicate(splitColumn, lowerBound, splitColumn + " >= " + lowerBound, "",
+            Predicate.PredicateType.LWM));
+        if (i < numSplits - 1) {
+          splitPredicates.add(new Predicate(splitColumn, upperBound, splitColumn + " < " + upperBound, "",
+              Predicate.PredicateType.HWM));
+        }
+      }
+      splits.add(splitPredicates);
+      lowerBound = upperBound;
+    }
+    return splits;
+  }
+
+  private ParallelJdbcReader createParallelReader(List<List<Command>> splits) {
+    this.jdbcSource = createJdbcSource();
+    this.jdbcSource.setMaxActive(Math.max(this.jdbcSource.getMaxActive(), splits.size() + 1));
+    String host = this.workUnitState.getProp(ConfigurationKeys.SOURCE_CONN_HOST_NAME, this.jdbcSource.getUrl());
+    int maxConnectionsPerHost =
+        this.workUnitState.getPropAsInt(ConfigurationKeys.SOURCE_QUERYBASED_JDBC_MAX_PARALLEL_CONNECTIONS_PER_HOST,
+            ConfigurationKeys.DEFAULT_SOURCE_QUERYBASED_JDBC_MAX_PARALLEL_CONNECTIONS_PER_HOST);
+    int queueSize = this.workUnitState.getPropAsInt(ConfigurationKeys.SOURCE_QUERYBASED_JDBC_PARALLEL_READS_QUEUE_SIZE,
+        ConfigurationKeys.DEFAULT_SOURCE_QUERYBASED_JDBC_PARALLEL_READS_QUEUE_SIZE);
+    return new ParallelJdbcReader(this, this.jdbcSource, host, maxConnectionsPerHost, queueSize, splits);
+  }
+
+  private Iterator<JsonElement> getParallelData() throws DataRecordException {
+    RecordSetList<JsonElement> recordSet = this.getNewRecordSetList();
+    if (!this.hasNextRecord()) {
+      return recordSet.iterator();
+    }
+
+    int batchSize = this.workUnitState.getPropAsInt(ConfigurationKeys.SOURCE_QUERYBASED_FETCH_SIZE, 0);
+    batchSize = (batchSize == 0 ? ConfigurationKeys.DEFAULT_SOURCE_FETCH_SIZE : batchSize);
+
+    int recordCount = this.parallelReader.fill(recordSet, batchSize);
+    if (recordCount == 0) {
+      this.setNextRecord(false);
+    }
+    this.totalRecordCount += recordCount;
+    this.log.info("Total number of records processed so far: " + this.totalRecordCount);
+    return recordSet.iterator();
+  }
+
+  /**
+   * Prepare and execute the data query of this extractor, and return its {@link ResultSet}. This is used by readers
+   * that consume the rows directly instead of going through {@link #getData(CommandOutput)}, and must only be
+   * called once, after {@link #build()}.
+   *
+   * @return the {@link ResultSet} of the data query
+   */
+  public ResultSet executeDataQuery() throws DataRecordException {
+    this.log.info("Get data resultset using JDBC");
+    this.prepareInitialPull();
+    List<Command> cmds = this.getDataMetadata(this.workUnitState.getProp(ConfigurationKeys.SOURCE_QUERYBASED_SCHEMA),
+        this.workUnitState.getProp(ConfigurationKeys.SOURCE_ENTITY), this.workUnit, this.predicateList);
+    this.setFirstPull(false);
+    return executeDataQuery(cmds, null);
+  }
+
+  /**
+   * Execute a data query on the given connection, or on the data connection of this extractor if it is null.
+   */
+  ResultSet executeDataQuery(List<Command> cmds, Connection connection) throws DataRecordException {
+    CommandOutput<?, ?> response = this.executePreparedSql(cmds, connection);
+    Iterator<ResultSet> itr = (Iterator<ResultSet>) response.getResults().values().iterator();
+    ResultSet resultset = itr.hasNext() ? itr.next() : null;
+    if (resultset == null) {
+      throw new DataRecordException("Failed to get data resultset from database");
+    }
+    return resultset;
+  }
+
   @Override
   public JsonArray getSchema(CommandOutput<?, ?> response) throws SchemaException, IOException {
     this.log.debug("Extract schema from resultset");
@@ -962,16 +1163,7 @@ public abstract class JdbcExtractor extends QueryBasedExtractor<JsonArray, JsonE
       int recordCount = 0;
       while (resultset.next()) {
 
-        final int numColumns = resultsetMetadata.getColumnCount();
-        JsonObject jsonObject = new JsonObject();
-
-        for (int i = 1; i < numColumns + 1; i++) {
-          final String columnName = this.getHeaderRecord().get(i - 1);
-          jsonObject.addProperty(columnName, parseColumnAsString(resultset, resultsetMetadata, i));
-
-        }
-
-        recordSet.add(jsonObject);
+        recordSet.add(readRow(resultset, resultsetMetadata));
 
         recordCount++;
         this.totalRecordCount++;
@@ -990,6 +1182,20 @@ public abstract class JdbcExtractor extends QueryBasedExtractor<JsonArray, JsonE
     }
   }
 
+  /**
+   * Read the current row of the resultset as a {@link JsonObject} keyed by the header record
+   */
+  JsonObject readRow(ResultSet resultset, ResultSetMetaData resultsetMetadata) throws SQLException {
+    final int numColumns = resultsetMetadata.getColumnCount();
+    JsonObject jsonObject = new JsonObject();
+
+    for (int i = 1; i < numColumns + 1; i++) {
+      final String columnName = this.getHeaderRecord().get(i - 1);
+      jsonObject.addProperty(columnName, parseColumnAsString(resultset, resultsetMetadata, i));
+    }
+    return jsonObject;
+  }
+
   /*
    * For Blob data, need to get the bytes and use base64 encoding to encode the byte[]
    * When reading from the String, need to use base64 decoder
@@ -1041,7 +1247,7 @@ public abstract class JdbcExtractor extends QueryBasedExtractor<JsonArray, JsonE
     return true;
   }
 
-  private String parseColumnAsString(final ResultSet resultset, final ResultSetMetaData resultsetMetadata, int i)
+  String parseColumnAsString(final ResultSet resultset, final ResultSetMetaData resultsetMetadata, int i)
       throws SQLException {
 
     if (isBlob(resultsetMetadata.getColumnType(i))) {
@@ -1243,6 +1449,9 @@ public abstract class JdbcExtractor extends QueryBasedExtractor<JsonArray, JsonE
 
   @Override
   public void closeConnection() throws Exception {
+    if (this.parallelReader != null) {
+      this.parallelReader.close();
+    }
     if (this.dataConnection != null) {
       try {
         this.dataConnection.close();
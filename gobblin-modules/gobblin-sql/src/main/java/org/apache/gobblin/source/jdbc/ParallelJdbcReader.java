@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.source.jdbc;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.sql.DataSource;
+
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.gobblin.source.extractor.DataRecordException;
+import org.apache.gobblin.source.extractor.extract.Command;
+import org.apache.gobblin.source.extractor.resultset.RecordSetList;
+import org.apache.gobblin.util.ExecutorsUtils;
+
+
+/**
+ * Reads the splits of a {@link JdbcExtractor} data query through concurrent connections.
+ *
+ * <p>
+ *   Every split is read by its own thread and connection, and its rows are put in a bounded queue shared by all
+ *   splits, from which {@link #fill(RecordSetList, int)} takes them. Rows of different splits are interleaved in
+ *   the order they are read, so no ordering is guaranteed across splits.
+ * </p>
+ *
+ * <p>
+ *   The number of connections opened by parallel readers is bounded per source host for the whole JVM: a split
+ *   only starts once a connection permit for its host is available, and releases it when it is fully read.
+ * </p>
+ */
+@Slf4j
+class ParallelJdbcReader implements Closeable {
+
+  private static final ConcurrentMap<String, Semaphore> HOST_PERMITS = Maps.newConcurrentMap();
+  private static final JsonElement END_OF_SPLIT = new JsonObject();
+  private static final long POLL_INTERVAL_MS = 100;
+
+  private final JdbcExtractor extractor;
+  private final DataSource dataSource;
+  private final Semaphore hostPermits;
+  private final BlockingQueue<JsonElement> queue;
+  private final ExecutorService executor;
+  private final AtomicReference<Throwable> failure = new AtomicReference<>();
+  private final int numSplits;
+  private int finishedSplits = 0;
+  private volatile boolean closed = false;
+
+  ParallelJdbcReader(JdbcExtractor extractor, DataSource dataSource, String host, int maxConnectionsPerHost,
+      int queueSize, List<List<Command>> splits) {
+    Preconditions.checkArgument(maxConnectionsPerHost > 0, "Invalid maximum number of connections per host");
+    this.extractor = extractor;
+    this.dataSource = dataSource;
+    this.hostPermits = getHostPermits(host, maxConnectionsPerHost);
+    this.queue = new ArrayBlockingQueue<>(queueSize);
+    this.numSplits = splits.size();
+    this.executor = Executors.newFixedThreadPool(this.numSplits,
+        ExecutorsUtils.newDaemonThreadFactory(Optional.of(log), Optional.of("ParallelJdbcReader-%d")));
+
+    for (final List<Command> split : splits) {
+      this.executor.submit(new Runnable() {
+        @Override
+        public void run() {
+          readSplit(split);
+        }
+      });
+    }
+  }
+
+  /**
+   * The first call for a host fixes its number of permits for the lifetime of the JVM.
+   */
+  private static Semaphore getHostPermits(String host, int maxConnectionsPerHost) {
+    Semaphore permits = HOST_PERMITS.get(host);
+    if (permits == null) {
+      HOST_PERMITS.putIfAbsent(host, new Semaphore(maxConnectionsPerHost, true));
+      permits = HOST_PERMITS.get(host);
+    }
+    return permits;
+  }
+
+  private void readSplit(List<Command> split) {
+    boolean acquired = false;
+    try {
+      this.hostPermits.acquire();
+      acquired = true;
+      try (Connection connection = this.dataSource.getConnection();
+          ResultSet resultSet = this.extractor.executeDataQuery(split, connection)) {
+        ResultSetMetaData resultsetMetadata = resultSet.getMetaData();
+        while (!this.closed && resultSet.next()) {
+          this.queue.put(this.extractor.readRow(resultSet, resultsetMetadata));
+        }
+      }
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      this.failure.compareAndSet(null, ie);
+    } catch (Throwable t) {
+      this.failure.compareAndSet(null, t);
+    } finally {
+      if (acquired) {
+        this.hostPermits.release();
+      }
+      if (!this.closed) {
+        try {
+          this.queue.put(END_OF_SPLIT);
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+
+  /**
+   * Add up to batchSize rows to the record set, waiting for the readers if no row is available yet.
+   *
+   * @return the number of rows added, which is 0 only once all splits have been read
+   */
+  int fill(RecordSetList<JsonElement> recordSet, int batchSize) throws DataRecordException {
+    int count = 0;
+    try {
+      while (count < batchSize && this.finishedSplits < this.numSplits) {
+        checkFailure();
+        JsonElement element = this.queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        if (element == null) {
+          if (count > 0) {
+            // Hand out what was read so far instead of waiting for a full batch
+            break;
+          }
+        } else if (element == END_OF_SPLIT) {
+          this.finishedSplits++;
+        } else {
+          recordSet.add(element);
+          count++;
+        }
+      }
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      throw new DataRecordException("Interrupted while reading records from database", ie);
+    }
+    checkFailure();
+    return count;
+  }
+
+  private void checkFailure() throws DataRecordException {
+    Throwable t = this.failure.get();
+    if (t != null) {
+      throw new DataRecordException("Failed to get records from database; error - " + t.getMessage(), t);
+    }
+  }
+
+  @Override
+  public void close() {
+    this.closed = true;
+    this.queue.clear();
+    this.executor.shutdownNow();
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.source.jdbc;
+
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.util.Utf8;
+import org.apache.commons.lang.StringUtils;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.mockrunner.mock.jdbc.MockResultSet;
+import com.mockrunner.mock.jdbc.MockResultSetMetaData;
+
+import org.apache.gobblin.configuration.WorkUnitState;
+import org.apache.gobblin.converter.avro.JsonIntermediateToAvroConverter;
+import org.apache.gobblin.source.extractor.DataRecordException;
+import org.apache.gobblin.source.extractor.extract.CommandOutput;
+import org.apache.gobblin.source.workunit.Extract;
+import org.apache.gobblin.source.workunit.WorkUnit;
+
+
+@Test(groups = { "gobblin.source.jdbc" })
+public class JdbcAvroExtractorTest {
+
+  private static final List<String> COLUMN_NAMES = ImmutableList.of("id", "name", "price", "created");
+  private static final int[] COLUMN_TYPES = { Types.BIGINT, Types.VARCHAR, Types.DOUBLE, Types.TIMESTAMP };
+  private static final String JSON_SCHEMA = "["
+      + "{\"columnName\":\"id\",\"isNullable\":false,\"dataType\":{\"type\":\"long\"}},"
+      + "{\"columnName\":\"name\",\"isNullable\":true,\"dataType\":{\"type\":\"string\"}},"
+      + "{\"columnName\":\"price\",\"isNullable\":true,\"dataType\":{\"type\":\"double\"}},"
+      + "{\"columnName\":\"created\",\"isNullable\":true,\"dataType\":{\"type\":\"timestamp\"}}]";
+
+  @Test
+  public void testReadRecords() throws Exception {
+    WorkUnitState state = createWorkUnitState();
+    JdbcAvroExtractor extractor = createExtractor(state, buildMockResultSet());
+    Schema schema = extractor.getSchema();
+
+    GenericRecord record = extractor.readRecord(null);
+    Assert.assertEquals(record.getSchema(), schema);
+    Assert.assertEquals(record.get("id"), 1L);
+    Assert.assertEquals(record.get("name"), new Utf8("name_1"));
+    Assert.assertEquals(record.get("price"), 1.5);
+    Assert.assertEquals(record.get("created"), 1483264800000L);
+
+    // The record passed for reuse is refilled with the next row
+    GenericRecord nextRecord = extractor.readRecord(record);
+    Assert.assertSame(nextRecord, record);
+    Assert.assertEquals(nextRecord.get("id"), 2L);
+    Assert.assertNull(nextRecord.get("name"));
+    Assert.assertNull(nextRecord.get("price"));
+    Assert.assertNull(nextRecord.get("created"));
+
+    Assert.assertNull(extractor.readRecord(null));
+    Assert.assertNull(extractor.readRecord(null));
+  }
+
+  /**
+   * The typed path must produce the same records as {@link JdbcExtractor} followed by
+   * {@link JsonIntermediateToAvroConverter}.
+   */
+  @Test
+  public void testSameRecordsAsJsonPath() throws Exception {
+    WorkUnitState state = createWorkUnitState();
+    JdbcAvroExtractor extractor = createExtractor(state, buildMockResultSet());
+
+    JdbcExtractor jdbcExtractor = new MysqlExtractor(state);
+    jdbcExtractor.setHeaderRecord(COLUMN_NAMES);
+    CommandOutput<JdbcCommand, ResultSet> output = new JdbcCommandOutput();
+    output.put(new JdbcCommand(), buildMockResultSet());
+    Iterator<JsonElement> jsonRecords = jdbcExtractor.getData(output);
+
+    JsonIntermediateToAvroConverter converter = new JsonIntermediateToAvroConverter();
+    Schema schema = converter.convertSchema(new JsonParser().parse(JSON_SCHEMA).getAsJsonArray(), state);
+    Assert.assertEquals(extractor.getSchema(), schema);
+
+    while (jsonRecords.hasNext()) {
+      GenericRecord expected =
+          converter.convertRecord(schema, (JsonObject) jsonRecords.next(), state).iterator().next();
+      Assert.assertEquals(extractor.readRecord(null), expected);
+    }
+    Assert.assertNull(extractor.readRecord(null));
+  }
+
+  @Test(expectedExceptions = DataRecordException.class)
+  public void testNullInNonNullableColumn() throws Exception {
+    MockResultSet resultSet = buildMockResultSet(Arrays.<Object>asList(null, "name_3", 3.0, null));
+    JdbcAvroExtractor extractor = createExtractor(createWorkUnitState(), resultSet);
+    extractor.readRecord(null);
+  }
+
+  private static WorkUnitState createWorkUnitState() {
+    WorkUnitState state =
+        new WorkUnitState(WorkUnit.create(new Extract(Extract.TableType.APPEND_ONLY, "test.namespace", "table")));
+    state.setId("id");
+    return state;
+  }
+
+  private static JdbcAvroExtractor createExtractor(WorkUnitState state, final ResultSet resultSet)
+      throws Exception {
+    JdbcExtractor jdbcExtractor = new MysqlExtractor(state) {
+      @Override
+      public ResultSet executeDataQuery() {
+        return resultSet;
+      }
+    };
+    jdbcExtractor.setHeaderRecord(COLUMN_NAMES);
+
+    JdbcAvroExtractor extractor = new JdbcAvroExtractor(jdbcExtractor, state);
+    extractor.initSchema(new JsonParser().parse(JSON_SCHEMA).getAsJsonArray());
+    return extractor;
+  }
+
+  private static MockResultSet buildMockResultSet() {
+    return buildMockResultSet(Arrays.<Object>asList(1L, "name_1", 1.5, "2017-01-01 10:00:00"),
+        Arrays.<Object>asList(2L, null, null, null));
+  }
+
+  @SafeVarargs
+  private static MockResultSet buildMockResultSet(List<Object>... rows) {
+    MockResultSet resultSet = new MockResultSet(StringUtils.EMPTY);
+    MockResultSetMetaData metaData = new MockResultSetMetaData();
+    metaData.setColumnCount(COLUMN_NAMES.size());
+
+    for (int i = 0; i < COLUMN_NAMES.size(); i++) {
+      resultSet.addColumn(COLUMN_NAMES.get(i));
+      metaData.setColumnName(i + 1, COLUMN_NAMES.get(i));
+      metaData.setColumnType(i + 1, COLUMN_TYPES[i]);
+    }
+    for (List<Object> row : rows) {
+      resultSet.addRow(row);
+    }
+    resultSet.setResultSetMetaData(metaData);
+    return resultSet;
+  }
+}
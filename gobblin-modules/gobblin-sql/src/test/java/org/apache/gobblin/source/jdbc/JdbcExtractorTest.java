@@ -41,6 +41,7 @@ import org.apache.gobblin.configuration.WorkUnitState;
 import org.apache.gobblin.source.extractor.exception.SchemaException;
 import org.apache.gobblin.source.extractor.extract.Command;
 import org.apache.gobblin.source.extractor.extract.CommandOutput;
+import org.apache.gobblin.source.extractor.watermark.Predicate;
 
 
 @Test(groups = { "gobblin.source.jdbc" })
@@ -157,4 +158,28 @@ public class JdbcExtractorTest {
         "select a.fromLoc from (Select dest as fromLoc, id from b) as a limit 10");
     Assert.assertFalse(result);
   }
+
+  @Test
+  public void testGetSplitPredicates() {
+    Predicate watermarkPredicate = new Predicate("ts", 0, "ts >= 0", "", Predicate.PredicateType.LWM);
+    List<List<Predicate>> splits =
+        JdbcExtractor.getSplitPredicates("id", 0, 9, 3, ImmutableList.of(watermarkPredicate));
+
+    Assert.assertEquals(splits.size(), 3);
+    Assert.assertEquals(getConditions(splits.get(0)), ImmutableList.of("ts >= 0", "(id < 4 or id is null)"));
+    Assert.assertEquals(getConditions(splits.get(1)), ImmutableList.of("ts >= 0", "id >= 4", "id < 7"));
+    Assert.assertEquals(getConditions(splits.get(2)), ImmutableList.of("ts >= 0", "id >= 7"));
+
+    // No more splits than keys
+    Assert.assertEquals(JdbcExtractor.getSplitPredicates("id", 5, 6, 4, ImmutableList.<Predicate>of()).size(), 2);
+    Assert.assertTrue(JdbcExtractor.getSplitPredicates("id", 5, 5, 4, ImmutableList.<Predicate>of()).isEmpty());
+  }
+
+  private static List<String> getConditions(List<Predicate> predicates) {
+    List<String> conditions = Lists.newArrayList();
+    for (Predicate predicate : predicates) {
+      conditions.add(predicate.getCondition());
+    }
+    return conditions;
+  }
 }
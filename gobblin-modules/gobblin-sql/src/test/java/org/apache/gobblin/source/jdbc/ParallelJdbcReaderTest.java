@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.source.jdbc;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.lang.StringUtils;
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.gson.JsonElement;
+import com.mockrunner.mock.jdbc.MockResultSet;
+
+import org.apache.gobblin.configuration.WorkUnitState;
+import org.apache.gobblin.source.extractor.DataRecordException;
+import org.apache.gobblin.source.extractor.extract.Command;
+import org.apache.gobblin.source.extractor.resultset.RecordSetList;
+
+
+@Test(groups = { "gobblin.source.jdbc" })
+public class ParallelJdbcReaderTest {
+
+  private static final int ROWS_PER_SPLIT = 250;
+
+  @Test
+  public void testReadAllSplits() throws Exception {
+    List<List<Command>> splits = Lists.newArrayList();
+    for (int i = 0; i < 4; i++) {
+      splits.add(ImmutableList.of(JdbcExtractor.getCommand(Integer.toString(i), JdbcCommand.JdbcCommandType.QUERY)));
+    }
+
+    try (ParallelJdbcReader reader =
+        new ParallelJdbcReader(createExtractor(false), createDataSource(), "host1", 2, 10, splits)) {
+      Set<String> ids = Sets.newHashSet();
+      int count;
+      while ((count = readBatch(reader, ids)) > 0) {
+        Assert.assertTrue(count <= 100);
+      }
+      Assert.assertEquals(ids.size(), 4 * ROWS_PER_SPLIT);
+      for (int i = 0; i < 4; i++) {
+        Assert.assertTrue(ids.contains(i + "_" + (ROWS_PER_SPLIT - 1)));
+      }
+    }
+  }
+
+  @Test(expectedExceptions = DataRecordException.class)
+  public void testSplitFailure() throws Exception {
+    List<List<Command>> splits = ImmutableList.<List<Command>>of(
+        ImmutableList.of(JdbcExtractor.getCommand("0", JdbcCommand.JdbcCommandType.QUERY)),
+        ImmutableList.of(JdbcExtractor.getCommand("1", JdbcCommand.JdbcCommandType.QUERY)));
+
+    try (ParallelJdbcReader reader =
+        new ParallelJdbcReader(createExtractor(true), createDataSource(), "host2", 2, 10, splits)) {
+      while (readBatch(reader, Sets.<String>newHashSet()) > 0) {
+        // Read until the failure of the second split surfaces
+      }
+    }
+  }
+
+  private static int readBatch(ParallelJdbcReader reader, Set<String> ids) throws DataRecordException {
+    RecordSetList<JsonElement> recordSet = new RecordSetList<>();
+    int count = reader.fill(recordSet, 100);
+    for (JsonElement element : recordSet) {
+      Assert.assertTrue(ids.add(element.getAsJsonObject().get("id").getAsString()));
+    }
+    return count;
+  }
+
+  private static DataSource createDataSource() throws Exception {
+    DataSource dataSource = Mockito.mock(DataSource.class);
+    Mockito.when(dataSource.getConnection()).thenAnswer(invocation -> Mockito.mock(Connection.class));
+    return dataSource;
+  }
+
+  /**
+   * Create an extractor whose data query returns {@link #ROWS_PER_SPLIT} rows with ids prefixed by the query string
+   */
+  private static JdbcExtractor createExtractor(final boolean failSecondSplit) {
+    WorkUnitState state = new WorkUnitState();
+    state.setId("id");
+    JdbcExtractor extractor = new MysqlExtractor(state) {
+      @Override
+      ResultSet executeDataQuery(List<Command> cmds, Connection connection) throws DataRecordException {
+        String split = cmds.get(0).getParams().get(0);
+        if (failSecondSplit && split.equals("1")) {
+          throw new DataRecordException("Failed split " + split);
+        }
+        List<String> ids = Lists.newArrayList();
+        for (int i = 0; i < ROWS_PER_SPLIT; i++) {
+          ids.add(split + "_" + i);
+        }
+        MockResultSet resultSet = new MockResultSet(StringUtils.EMPTY);
+        resultSet.addColumn("id", ids);
+        return resultSet;
+      }
+    };
+    extractor.setHeaderRecord(ImmutableList.of("id"));
+    return extractor;
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.runtime;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.Lists;
+
+
+/**
+ * Compares the throughput of the {@link BoundedBlockingRecordQueue.QueueType}s when a single producer, playing
+ * the role of a {@link Task}, hands each record to the queues of 1, 2 or 4 forks, each drained by its own consumer
+ * thread, playing the role of an {@link org.apache.gobblin.runtime.fork.AsynchronousFork}.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@org.openjdk.jmh.annotations.Fork(value = 3)
+@BenchmarkMode(value = Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class BoundedBlockingRecordQueueBenchmark {
+
+  private static final Object RECORD = new Object();
+
+  @State(value = Scope.Benchmark)
+  public static class QueueState {
+    @Param({"1", "2", "4"})
+    public int forks;
+
+    @Param({"BLOCKING", "RING_BUFFER"})
+    public String queueType;
+
+    @Param({"YIELD"})
+    public String waitStrategy;
+
+    private List<BoundedBlockingRecordQueue<Object>> queues;
+    private ExecutorService consumers;
+    private volatile boolean running;
+
+    @Setup
+    public void setup() {
+      this.queues = Lists.newArrayList();
+      this.consumers = Executors.newFixedThreadPool(this.forks);
+      this.running = true;
+      for (int i = 0; i < this.forks; i++) {
+        final BoundedBlockingRecordQueue<Object> queue = BoundedBlockingRecordQueue.newBuilder()
+            .useQueueType(BoundedBlockingRecordQueue.QueueType.valueOf(this.queueType))
+            .useWaitStrategy(RingBufferBlockingQueue.WaitStrategy.valueOf(this.waitStrategy))
+            .collectStats()
+            .build();
+        this.queues.add(queue);
+        this.consumers.submit(new Runnable() {
+          @Override
+          public void run() {
+            try {
+              while (QueueState.this.running) {
+                queue.get();
+              }
+            } catch (InterruptedException ie) {
+              Thread.currentThread().interrupt();
+            }
+          }
+        });
+      }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+      this.running = false;
+      this.consumers.shutdownNow();
+      this.consumers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
+
+  @Benchmark
+  public void putToAllForks(QueueState queueState) throws InterruptedException {
+    for (BoundedBlockingRecordQueue<Object> queue : queueState.queues) {
+      queue.put(RECORD);
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.runtime;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.dbcp.BasicDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+import org.apache.gobblin.config.ConfigBuilder;
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.metastore.MysqlStateStore;
+import org.apache.gobblin.metastore.testing.ITestMetastoreDatabase;
+import org.apache.gobblin.metastore.testing.TestMetastoreDatabaseFactory;
+
+
+/**
+ * Compares writing the task states of many tables to a {@link MysqlStateStore} one table at a time against a single
+ * batched {@link MysqlStateStore#putAll(String, Map)}, and reading them back with {@link MysqlStateStore#getAll(String)}
+ * using 1 or 4 deserialization threads, or streaming them with {@link MysqlStateStore#iterateAll(String, String)}.
+ * The benchmark runs against the embedded MySQL database used by the unit tests.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@org.openjdk.jmh.annotations.Fork(value = 1)
+@BenchmarkMode(value = Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MysqlStateStoreBenchmark {
+
+  private static final String STORE_NAME = "MysqlStateStoreBenchmark";
+  private static final String TABLE_NAME = "MysqlStateStoreBenchmark";
+
+  @State(value = Scope.Benchmark)
+  public static class StoreState {
+    @Param({"100"})
+    public int tables;
+
+    @Param({"20"})
+    public int statesPerTable;
+
+    @Param({"1", "4"})
+    public int deserializationThreads;
+
+    private ITestMetastoreDatabase database;
+    private BasicDataSource dataSource;
+    private MysqlStateStore<TaskState> stateStore;
+    private Map<String, List<TaskState>> statesByTable;
+
+    @Setup
+    public void setup() throws Exception {
+      this.database = TestMetastoreDatabaseFactory.get();
+      this.dataSource = new BasicDataSource();
+      this.dataSource.setDriverClassName(ConfigurationKeys.DEFAULT_STATE_STORE_DB_JDBC_DRIVER);
+      this.dataSource.setDefaultAutoCommit(false);
+      this.dataSource.setUrl(this.database.getJdbcUrl());
+      this.dataSource.setUsername("testUser");
+      this.dataSource.setPassword("testPassword");
+
+      this.stateStore = new MysqlStateStore<>(this.dataSource, TABLE_NAME, true, TaskState.class,
+          ConfigBuilder.create()
+              .addPrimitive(ConfigurationKeys.STATE_STORE_DB_DESERIALIZATION_THREADS_KEY, this.deserializationThreads)
+              .build());
+
+      this.statesByTable = Maps.newLinkedHashMap();
+      for (int i = 0; i < this.tables; i++) {
+        List<TaskState> taskStates = Lists.newArrayList();
+        for (int j = 0; j < this.statesPerTable; j++) {
+          TaskState taskState = new TaskState();
+          taskState.setJobId("job" + i);
+          taskState.setTaskId("task" + i + "-" + j);
+          taskState.setId("task" + i + "-" + j);
+          for (int k = 0; k < 20; k++) {
+            taskState.setProp("prop" + k, "value" + k);
+          }
+          taskStates.add(taskState);
+        }
+        this.statesByTable.put("table" + i + ".tst", taskStates);
+      }
+      this.stateStore.putAll(STORE_NAME, this.statesByTable);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+      try {
+        this.stateStore.delete(STORE_NAME);
+      } finally {
+        this.database.close();
+      }
+    }
+  }
+
+  @Benchmark
+  public void putAllPerTable(StoreState state) throws IOException {
+    for (Map.Entry<String, List<TaskState>> entry : state.statesByTable.entrySet()) {
+      state.stateStore.putAll(STORE_NAME, entry.getKey(), entry.getValue());
+    }
+  }
+
+  @Benchmark
+  public void putAllBatched(StoreState state) throws IOException {
+    state.stateStore.putAll(STORE_NAME, state.statesByTable);
+  }
+
+  @Benchmark
+  public List<TaskState> getAll(StoreState state) throws IOException {
+    return state.stateStore.getAll(STORE_NAME);
+  }
+
+  @Benchmark
+  public void iterateAll(StoreState state, Blackhole blackhole) throws IOException {
+    for (String tableName : state.statesByTable.keySet()) {
+      Iterator<TaskState> iterator = state.stateStore.iterateAll(STORE_NAME, tableName);
+      while (iterator.hasNext()) {
+        blackhole.consume(iterator.next());
+      }
+    }
+  }
+}
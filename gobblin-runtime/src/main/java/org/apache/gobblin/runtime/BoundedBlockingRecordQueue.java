@@ -47,10 +47,27 @@ import org.apache.gobblin.configuration.ConfigurationKeys;
  *   </ul>
  * </p>
  *
+ * <p>
+ *   The queue is backed by an {@link java.util.concurrent.ArrayBlockingQueue} by default. A lock-free
+ *   {@link RingBufferBlockingQueue} can be used instead by selecting {@link QueueType#RING_BUFFER}, which
+ *   avoids contention on the single lock of the {@link java.util.concurrent.ArrayBlockingQueue} at the cost
+ *   of spinning, yielding or briefly parking while waiting (see {@link RingBufferBlockingQueue.WaitStrategy}).
+ * </p>
+ *
  * @author Yinan Li
  */
 public class BoundedBlockingRecordQueue<T> {
 
+  /**
+   * Types of the underlying queue implementation.
+   */
+  public enum QueueType {
+    /** A lock-based {@link java.util.concurrent.ArrayBlockingQueue}. */
+    BLOCKING,
+    /** A lock-free {@link RingBufferBlockingQueue}. */
+    RING_BUFFER
+  }
+
   private final int capacity;
   private final long timeout;
   private final TimeUnit timeoutTimeUnit;
@@ -65,7 +82,9 @@ public class BoundedBlockingRecordQueue<T> {
     this.capacity = builder.capacity;
     this.timeout = builder.timeout;
     this.timeoutTimeUnit = builder.timeoutTimeUnit;
-    this.blockingQueue = Queues.newArrayBlockingQueue(builder.capacity);
+    this.blockingQueue = builder.queueType == QueueType.RING_BUFFER
+        ? new RingBufferBlockingQueue<T>(builder.capacity, builder.waitStrategy)
+        : Queues.<T> newArrayBlockingQueue(builder.capacity);
 
     this.queueStats = builder.ifCollectStats ? Optional.of(new QueueStats()) : Optional.<QueueStats> absent();
   }
@@ -139,6 +158,9 @@ public class BoundedBlockingRecordQueue<T> {
     private long timeout = ConfigurationKeys.DEFAULT_FORK_RECORD_QUEUE_TIMEOUT;
     private TimeUnit timeoutTimeUnit = TimeUnit.MILLISECONDS;
     private boolean ifCollectStats = false;
+    private QueueType queueType = QueueType.valueOf(ConfigurationKeys.DEFAULT_FORK_RECORD_QUEUE_TYPE);
+    private RingBufferBlockingQueue.WaitStrategy waitStrategy =
+        RingBufferBlockingQueue.WaitStrategy.valueOf(ConfigurationKeys.DEFAULT_FORK_RECORD_QUEUE_WAIT_STRATEGY);
 
     /**
      * Configure the capacity of the queue.
@@ -173,6 +195,28 @@ public class BoundedBlockingRecordQueue<T> {
       return this;
     }
 
+    /**
+     * Configure the type of the underlying queue.
+     *
+     * @param queueType the type of the underlying queue
+     * @return this {@link Builder} instance
+     */
+    public Builder<T> useQueueType(QueueType queueType) {
+      this.queueType = queueType;
+      return this;
+    }
+
+    /**
+     * Configure how to wait on a full or empty queue. Only applies to {@link QueueType#RING_BUFFER}.
+     *
+     * @param waitStrategy the {@link RingBufferBlockingQueue.WaitStrategy} to use
+     * @return this {@link Builder} instance
+     */
+    public Builder<T> useWaitStrategy(RingBufferBlockingQueue.WaitStrategy waitStrategy) {
+      this.waitStrategy = waitStrategy;
+      return this;
+    }
+
     /**
      * Configure whether to collect queue statistics.
      *
@@ -0,0 +1,429 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.runtime;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Joiner;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.hash.Hashing;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.metastore.DatasetStateLog;
+import org.apache.gobblin.metastore.IndexedStateFile;
+import org.apache.gobblin.metastore.nameParser.DatasetUrnStateStoreNameParser;
+import org.apache.gobblin.metastore.predicates.StateStorePredicate;
+import org.apache.gobblin.metastore.predicates.StoreNamePredicate;
+import org.apache.gobblin.runtime.metastore.filesystem.DatasetStateLogEntryManager;
+import org.apache.gobblin.runtime.metastore.filesystem.FsDatasetStateStoreEntryManager;
+import org.apache.gobblin.util.ConfigUtils;
+import org.apache.gobblin.util.filters.HiddenFilter;
+
+
+/**
+ * An extension of {@link FsDatasetStateStore} that persists dataset states incrementally.
+ *
+ * <p>
+ *   Instead of writing a table and a "current" alias per dataset on every run, the {@link JobState.DatasetState}s
+ *   persisted together by a job run are appended to the {@link DatasetStateLog} of the job as a single delta segment,
+ *   and datasets whose watermarks and running state did not change since they were last read or persisted are
+ *   skipped altogether. Once a job has accumulated {@value #MAX_DELTA_SEGMENTS_KEY} segments, they are compacted with
+ *   the previous snapshot into a new snapshot holding the latest state of every dataset, at most once per run: either
+ *   after the dataset states of a run are persisted, or when the latest dataset states are read at the start of a run.
+ *   Snapshots and segments are {@link IndexedStateFile}s, so the latest state of a single dataset can be read without
+ *   reading the others.
+ * </p>
+ *
+ * <p>
+ *   Log files are hidden files in the directory of the job. Until the first compaction, the dataset states persisted
+ *   by {@link FsDatasetStateStore} are still read, so an existing job can switch to this implementation, and its old
+ *   state is folded into the first snapshot. Log files superseded by a snapshot are reported by
+ *   {@link #getMetadataForTables(StateStorePredicate)}, so they are cleaned up by the retention if a compaction
+ *   failed to delete them.
+ * </p>
+ */
+public class DeltaFsDatasetStateStore extends FsDatasetStateStore {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DeltaFsDatasetStateStore.class);
+
+  public static final String MAX_DELTA_SEGMENTS_KEY = "state.store.delta.maxSegments";
+  public static final int DEFAULT_MAX_DELTA_SEGMENTS = 50;
+  public static final String SKIP_UNCHANGED_DATASETS_KEY = "state.store.delta.skipUnchangedDatasets";
+  public static final boolean DEFAULT_SKIP_UNCHANGED_DATASETS = true;
+
+  static final String DELTA_SEGMENT_PREFIX = DatasetStateLog.DELTA_SEGMENT_PREFIX;
+  static final String SNAPSHOT_PREFIX = DatasetStateLog.SNAPSHOT_PREFIX;
+  static final String LOG_FILE_SUFFIX = DatasetStateLog.LOG_FILE_SUFFIX;
+
+  private final int maxDeltaSegments;
+  private final boolean skipUnchangedDatasets;
+  private final AtomicLong segmentCounter = new AtomicLong();
+  // Segments are written under the read lock and compacted under the write lock
+  private final ReadWriteLock logLock = new ReentrantReadWriteLock();
+  // Fingerprints of the latest known state of each dataset, by job name and dataset URN
+  private final ConcurrentMap<String, ConcurrentMap<String, String>> knownFingerprints = Maps.newConcurrentMap();
+  // Number of delta segments written since the latest snapshot, by job name, listed once and then tracked in memory
+  private final ConcurrentMap<String, AtomicInteger> segmentCounts = Maps.newConcurrentMap();
+
+  public DeltaFsDatasetStateStore(FileSystem fs, String storeRootDir, Integer threadPoolSize,
+      LoadingCache<Path, DatasetUrnStateStoreNameParser> stateStoreNameParserLoadingCache, Config config) {
+    super(fs, storeRootDir, threadPoolSize, stateStoreNameParserLoadingCache);
+    this.maxDeltaSegments = Math.max(1, ConfigUtils.getInt(config, MAX_DELTA_SEGMENTS_KEY, DEFAULT_MAX_DELTA_SEGMENTS));
+    this.skipUnchangedDatasets =
+        ConfigUtils.getBoolean(config, SKIP_UNCHANGED_DATASETS_KEY, DEFAULT_SKIP_UNCHANGED_DATASETS);
+  }
+
+  public DeltaFsDatasetStateStore(FileSystem fs, String storeRootDir, Config config) {
+    this(fs, storeRootDir, ConfigurationKeys.DEFAULT_THREADPOOL_SIZE_OF_LISTING_FS_DATASET_STATESTORE, null, config);
+  }
+
+  public DeltaFsDatasetStateStore(FileSystem fs, String storeRootDir) {
+    this(fs, storeRootDir, ConfigFactory.empty());
+  }
+
+  /**
+   * Append the given {@link JobState.DatasetState} to the log of its job as a delta segment, unless its watermarks
+   * and running state are the same as those of the latest known state of the dataset. Segments written by this
+   * method are only compacted when the latest dataset states of the job are read, so prefer
+   * {@link #persistDatasetStates(Map)} to persist the states of several datasets.
+   */
+  @Override
+  public void persistDatasetState(String datasetUrn, JobState.DatasetState datasetState)
+      throws IOException {
+    persistChangedDatasetStates(Collections.singletonMap(datasetUrn, datasetState));
+  }
+
+  /**
+   * Append the given {@link JobState.DatasetState}s whose watermarks or running state changed to the log of their
+   * job as a single delta segment, and compact the log if it has accumulated enough segments.
+   */
+  @Override
+  public void persistDatasetStates(Map<String, JobState.DatasetState> datasetStatesByUrns)
+      throws IOException {
+    for (String jobName : persistChangedDatasetStates(datasetStatesByUrns)) {
+      if (getSegmentCount(jobName).get() >= this.maxDeltaSegments) {
+        compact(jobName);
+      }
+    }
+  }
+
+  /**
+   * Write one delta segment per job holding the changed dataset states of that job.
+   *
+   * @return the names of the jobs a segment was written for
+   */
+  private Set<String> persistChangedDatasetStates(Map<String, JobState.DatasetState> datasetStatesByUrns)
+      throws IOException {
+    Map<String, Map<String, JobState.DatasetState>> changedDatasetStatesByJob = Maps.newLinkedHashMap();
+    Map<String, String> fingerprintsByUrns = Maps.newHashMap();
+    for (Map.Entry<String, JobState.DatasetState> entry : datasetStatesByUrns.entrySet()) {
+      String datasetUrn = entry.getKey();
+      String jobName = entry.getValue().getJobName();
+      String fingerprint = getFingerprint(entry.getValue());
+      Map<String, String> fingerprints = this.knownFingerprints.get(jobName);
+      if (this.skipUnchangedDatasets && fingerprints != null && fingerprint.equals(fingerprints.get(datasetUrn))) {
+        LOGGER.info("State of dataset {} did not change, skipping persistence", datasetUrn);
+        continue;
+      }
+      fingerprintsByUrns.put(datasetUrn, fingerprint);
+      if (!changedDatasetStatesByJob.containsKey(jobName)) {
+        changedDatasetStatesByJob.put(jobName, Maps.<String, JobState.DatasetState>newLinkedHashMap());
+      }
+      changedDatasetStatesByJob.get(jobName).put(datasetUrn, entry.getValue());
+    }
+
+    for (Map.Entry<String, Map<String, JobState.DatasetState>> entry : changedDatasetStatesByJob.entrySet()) {
+      String jobName = entry.getKey();
+      Map<String, JobState.DatasetState> changedDatasetStates = entry.getValue();
+      writeSegment(jobName, changedDatasetStates.values());
+
+      ConcurrentMap<String, String> fingerprints =
+          this.knownFingerprints.computeIfAbsent(jobName, k -> Maps.newConcurrentMap());
+      for (String datasetUrn : changedDatasetStates.keySet()) {
+        fingerprints.put(datasetUrn, fingerprintsByUrns.get(datasetUrn));
+      }
+    }
+    return changedDatasetStatesByJob.keySet();
+  }
+
+  private void writeSegment(String jobName, Collection<JobState.DatasetState> datasetStates)
+      throws IOException {
+    this.logLock.readLock().lock();
+    try {
+      if (!create(jobName)) {
+        throw new IOException("Failed to create a state store directory for job " + jobName);
+      }
+      AtomicInteger segmentCount = getSegmentCount(jobName);
+      Path storePath = new Path(this.storeRootDir, jobName);
+      String jobId = datasetStates.iterator().next().getJobId();
+      String segmentName = DELTA_SEGMENT_PREFIX + newSegmentKey(jobId) + LOG_FILE_SUFFIX;
+      Path tmpSegmentPath = new Path(storePath, TMP_FILE_PREFIX + segmentName);
+      LOGGER.info("Persisting the states of {} datasets of job {} to {}", datasetStates.size(), jobName, segmentName);
+      IndexedStateFile.write(this.fs, tmpSegmentPath, JobState.DatasetState.class, datasetStates);
+      renamePath(tmpSegmentPath, new Path(storePath, segmentName));
+      segmentCount.incrementAndGet();
+    } finally {
+      this.logLock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Get the number of delta segments of a job, which is only listed the first time it is needed.
+   */
+  private AtomicInteger getSegmentCount(String jobName) throws IOException {
+    AtomicInteger segmentCount = this.segmentCounts.get(jobName);
+    if (segmentCount == null) {
+      segmentCount = new AtomicInteger(listLog(jobName).getSegments().size());
+      AtomicInteger existing = this.segmentCounts.putIfAbsent(jobName, segmentCount);
+      if (existing != null) {
+        segmentCount = existing;
+      }
+    }
+    return segmentCount;
+  }
+
+  /**
+   * Get the latest state of every dataset of a job, and compact the log of the job if it has accumulated enough
+   * segments, e.g. segments written by {@link #persistDatasetState(String, JobState.DatasetState)}.
+   */
+  @Override
+  public Map<String, JobState.DatasetState> getLatestDatasetStatesByUrns(String jobName)
+      throws IOException {
+    Map<String, JobState.DatasetState> datasetStatesByUrns;
+    this.logLock.readLock().lock();
+    try {
+      DatasetStateLog log = listLog(jobName);
+      datasetStatesByUrns = readLatestDatasetStates(jobName, log);
+      setSegmentCount(jobName, log.getSegments().size());
+    } finally {
+      this.logLock.readLock().unlock();
+    }
+
+    if (this.segmentCounts.get(jobName).get() >= this.maxDeltaSegments) {
+      compact(jobName);
+    }
+
+    ConcurrentMap<String, String> fingerprints = Maps.newConcurrentMap();
+    for (Map.Entry<String, JobState.DatasetState> entry : datasetStatesByUrns.entrySet()) {
+      fingerprints.put(entry.getKey(), getFingerprint(entry.getValue()));
+    }
+    this.knownFingerprints.put(jobName, fingerprints);
+
+    return datasetStatesByUrns;
+  }
+
+  @Override
+  public JobState.DatasetState getLatestDatasetState(String storeName, String datasetUrn)
+      throws IOException {
+    this.logLock.readLock().lock();
+    try {
+      DatasetStateLog log = listLog(storeName);
+      for (FileStatus segment : Lists.reverse(log.getSegments())) {
+        JobState.DatasetState datasetState = readDatasetState(segment.getPath(), datasetUrn);
+        if (datasetState != null) {
+          return datasetState;
+        }
+      }
+      if (log.getSnapshot().isPresent()) {
+        return readDatasetState(log.getSnapshot().get().getPath(), datasetUrn);
+      }
+    } finally {
+      this.logLock.readLock().unlock();
+    }
+    return super.getLatestDatasetState(storeName, datasetUrn);
+  }
+
+  /**
+   * Compact the delta segments of a job, and its previous snapshot, into a new snapshot.
+   */
+  public void compact(String jobName) throws IOException {
+    this.logLock.writeLock().lock();
+    try {
+      DatasetStateLog log = listLog(jobName);
+      if (log.getSegments().isEmpty()) {
+        setSegmentCount(jobName, 0);
+        return;
+      }
+
+      Map<String, JobState.DatasetState> datasetStatesByUrns = readLatestDatasetStates(jobName, log);
+      Path storePath = new Path(this.storeRootDir, jobName);
+      Path lastSegment = log.getSegments().get(log.getSegments().size() - 1).getPath();
+      String snapshotName =
+          SNAPSHOT_PREFIX + DatasetStateLog.getKey(lastSegment, DELTA_SEGMENT_PREFIX) + LOG_FILE_SUFFIX;
+      Path tmpSnapshotPath = new Path(storePath, TMP_FILE_PREFIX + snapshotName);
+      IndexedStateFile.write(this.fs, tmpSnapshotPath, JobState.DatasetState.class, datasetStatesByUrns.values());
+      renamePath(tmpSnapshotPath, new Path(storePath, snapshotName));
+
+      // The new snapshot covers everything it replaces, so a failure below only leaves garbage behind
+      setSegmentCount(jobName, 0);
+      for (FileStatus segment : log.getSegments()) {
+        this.fs.delete(segment.getPath(), false);
+      }
+      if (log.getSnapshot().isPresent()) {
+        this.fs.delete(log.getSnapshot().get().getPath(), false);
+      }
+      LOGGER.info("Compacted {} delta segments of job {} into {}", log.getSegments().size(), jobName, snapshotName);
+    } finally {
+      this.logLock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public void delete(String storeName) throws IOException {
+    this.knownFingerprints.remove(storeName);
+    this.segmentCounts.remove(storeName);
+    super.delete(storeName);
+  }
+
+  /**
+   * Get the metadata of the tables of {@link FsDatasetStateStore}, and of the log files superseded by the latest
+   * snapshot of each job. Live snapshots and segments hold the latest state of every dataset of a job, so they are
+   * not reported and cannot be deleted by the retention.
+   */
+  @Override
+  public List<FsDatasetStateStoreEntryManager> getMetadataForTables(StateStorePredicate predicate)
+      throws IOException {
+    List<FsDatasetStateStoreEntryManager> entries = Lists.newArrayList(super.getMetadataForTables(predicate));
+
+    List<Path> storePaths = Lists.newArrayList();
+    if (predicate instanceof StoreNamePredicate) {
+      storePaths.add(new Path(this.storeRootDir, ((StoreNamePredicate) predicate).getStoreName()));
+    } else if (this.fs.exists(new Path(this.storeRootDir))) {
+      for (FileStatus status : this.fs.listStatus(new Path(this.storeRootDir), new HiddenFilter())) {
+        storePaths.add(status.getPath());
+      }
+    }
+
+    for (Path storePath : storePaths) {
+      for (FileStatus logFile : DatasetStateLog.list(this.fs, storePath).getSupersededFiles()) {
+        FsDatasetStateStoreEntryManager entry =
+            new DatasetStateLogEntryManager(logFile, getLogFilePrefix(logFile.getPath()), this.fs, this);
+        if (predicate.apply(entry)) {
+          entries.add(entry);
+        }
+      }
+    }
+    return entries;
+  }
+
+  private Map<String, JobState.DatasetState> readLatestDatasetStates(String jobName, DatasetStateLog log)
+      throws IOException {
+    Map<String, JobState.DatasetState> datasetStatesByUrns = Maps.newHashMap();
+    if (log.getSnapshot().isPresent()) {
+      readDatasetStates(log.getSnapshot().get().getPath(), datasetStatesByUrns);
+    } else {
+      // State persisted before switching to the delta log
+      datasetStatesByUrns.putAll(super.getLatestDatasetStatesByUrns(jobName));
+    }
+    for (FileStatus segment : log.getSegments()) {
+      readDatasetStates(segment.getPath(), datasetStatesByUrns);
+    }
+
+    // The dataset (job) state from the deprecated "current.jst" will be read even though
+    // the job has transitioned to the new dataset-based mechanism
+    if (datasetStatesByUrns.size() > 1) {
+      datasetStatesByUrns.remove(ConfigurationKeys.DEFAULT_DATASET_URN);
+    }
+    return datasetStatesByUrns;
+  }
+
+  private void readDatasetStates(Path logFile, Map<String, JobState.DatasetState> datasetStatesByUrns)
+      throws IOException {
+    try (IndexedStateFile.Reader reader = openLogFile(logFile)) {
+      for (int i = 0; i < reader.size(); i++) {
+        JobState.DatasetState datasetState = reader.read(i, new JobState.DatasetState());
+        datasetStatesByUrns.put(datasetState.getDatasetUrn(), datasetState);
+      }
+    }
+  }
+
+  private JobState.DatasetState readDatasetState(Path logFile, String datasetUrn) throws IOException {
+    try (IndexedStateFile.Reader reader = openLogFile(logFile)) {
+      int entry = reader.indexOf(datasetUrn);
+      return entry < 0 ? null : reader.read(entry, new JobState.DatasetState());
+    }
+  }
+
+  private IndexedStateFile.Reader openLogFile(Path logFile) throws IOException {
+    IndexedStateFile.Reader reader = IndexedStateFile.openIfIndexed(this.fs, logFile);
+    if (reader == null) {
+      throw new IOException("Dataset state log file " + logFile + " is not an indexed state file");
+    }
+    return reader;
+  }
+
+  private void setSegmentCount(String jobName, int segmentCount) {
+    this.segmentCounts.computeIfAbsent(jobName, k -> new AtomicInteger()).set(segmentCount);
+  }
+
+  private DatasetStateLog listLog(String jobName) throws IOException {
+    return DatasetStateLog.list(this.fs, new Path(this.storeRootDir, jobName));
+  }
+
+  private static String getLogFilePrefix(Path logFile) {
+    String name = logFile.getName();
+    String prefix = name.startsWith(TMP_FILE_PREFIX) ? TMP_FILE_PREFIX : "";
+    return prefix + (name.substring(prefix.length()).startsWith(SNAPSHOT_PREFIX) ? SNAPSHOT_PREFIX
+        : DELTA_SEGMENT_PREFIX);
+  }
+
+  /**
+   * Segment keys sort in the order the segments were written by this instance, and by time across instances.
+   */
+  private String newSegmentKey(String jobId) {
+    return String.format("%013d-%010d-%s", System.currentTimeMillis(), this.segmentCounter.getAndIncrement(),
+        jobId.replaceAll("[-/]", "_"));
+  }
+
+  /**
+   * Get a fingerprint of the running state and the watermarks of a {@link JobState.DatasetState}, which ignores
+   * properties that change on every run, like job ids and timings.
+   */
+  static String getFingerprint(JobState.DatasetState datasetState) {
+    List<String> taskWatermarks = Lists.newArrayList();
+    for (TaskState taskState : datasetState.getTaskStates()) {
+      taskWatermarks.add(Joiner.on(',').useForNull("").join(taskState.getWorkingState(),
+          taskState.getProp(ConfigurationKeys.WORK_UNIT_STATE_ACTUAL_HIGH_WATER_MARK_KEY),
+          taskState.getProp(ConfigurationKeys.WORK_UNIT_STATE_RUNTIME_HIGH_WATER_MARK)));
+    }
+    Collections.sort(taskWatermarks);
+    String fingerprint = datasetState.getState() + "|" + Joiner.on('|').join(taskWatermarks);
+    return Hashing.murmur3_128().hashString(fingerprint, Charsets.UTF_8).toString();
+  }
+}
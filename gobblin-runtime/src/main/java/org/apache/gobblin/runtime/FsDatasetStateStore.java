@@ -126,9 +126,10 @@ public class FsDatasetStateStore extends FsStateStore<JobState.DatasetState> imp
                 }
               });
 
+      // Implementations that need more configuration can also accept the config as a last constructor argument
       return (DatasetStateStore<JobState.DatasetState>) GobblinConstructorUtils
           .invokeLongestConstructor(Class.forName(className), stateStoreFs, stateStoreRootDir,
-              threadPoolOfGettingDatasetState, stateStoreNameParserLoadingCache);
+              threadPoolOfGettingDatasetState, stateStoreNameParserLoadingCache, config);
     } catch (IOException e) {
       throw new RuntimeException(e);
     } catch (ReflectiveOperationException e) {
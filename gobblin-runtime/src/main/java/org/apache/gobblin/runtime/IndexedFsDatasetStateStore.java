@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.runtime;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Lists;
+
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.metastore.IndexedStateFile;
+import org.apache.gobblin.metastore.nameParser.DatasetUrnStateStoreNameParser;
+
+
+/**
+ * An extension of {@link FsDatasetStateStore} that writes dataset state tables in the {@link IndexedStateFile}
+ * format, see {@link org.apache.gobblin.metastore.IndexedFsStateStore}.
+ *
+ * <p>
+ *   Tables written by {@link FsDatasetStateStore} can still be read, so existing jobs can switch to this
+ *   implementation and have their state rewritten with {@link StateStoreMigrationCli}.
+ * </p>
+ */
+public class IndexedFsDatasetStateStore extends FsDatasetStateStore {
+
+  public IndexedFsDatasetStateStore(FileSystem fs, String storeRootDir, Integer threadPoolSize,
+      LoadingCache<Path, DatasetUrnStateStoreNameParser> stateStoreNameParserLoadingCache) {
+    super(fs, storeRootDir, threadPoolSize, stateStoreNameParserLoadingCache);
+  }
+
+  public IndexedFsDatasetStateStore(FileSystem fs, String storeRootDir) {
+    this(fs, storeRootDir, ConfigurationKeys.DEFAULT_THREADPOOL_SIZE_OF_LISTING_FS_DATASET_STATESTORE, null);
+  }
+
+  @Override
+  public void put(String storeName, String tableName, JobState.DatasetState state) throws IOException {
+    putAll(storeName, tableName, Collections.singletonList(state));
+  }
+
+  @Override
+  public void putAll(String storeName, String tableName, Collection<JobState.DatasetState> states)
+      throws IOException {
+    String tmpTableName = this.useTmpFileForPut ? TMP_FILE_PREFIX + tableName : tableName;
+    Path tmpTablePath = new Path(new Path(this.storeRootDir, storeName), tmpTableName);
+
+    if (!create(storeName)) {
+      throw new IOException("Failed to create a state store directory for store " + storeName);
+    }
+    IndexedStateFile.write(this.fs, tmpTablePath, this.stateClass, states);
+
+    if (this.useTmpFileForPut) {
+      Path tablePath = new Path(new Path(this.storeRootDir, storeName), tableName);
+      renamePath(tmpTablePath, tablePath);
+    }
+  }
+
+  @Override
+  public JobState.DatasetState getInternal(String storeName, String tableName, String stateId,
+      boolean sanitizeKeyForComparison)
+      throws IOException {
+    Path tablePath = new Path(new Path(this.storeRootDir, storeName), tableName);
+    if (!this.fs.exists(tablePath)) {
+      return null;
+    }
+
+    try (IndexedStateFile.Reader reader = IndexedStateFile.openIfIndexed(this.fs, tablePath)) {
+      if (reader == null) {
+        return super.getInternal(storeName, tableName, stateId, sanitizeKeyForComparison);
+      }
+      checkValueClass(reader);
+
+      if (!sanitizeKeyForComparison) {
+        int entry = reader.indexOf(stateId);
+        return entry < 0 ? null : reader.read(entry, new JobState.DatasetState());
+      }
+
+      List<String> keys = reader.getKeys();
+      for (int i = 0; i < keys.size(); i++) {
+        if (sanitizeDatasetStatestoreNameFromDatasetURN(storeName, keys.get(i)).equals(stateId)) {
+          return reader.read(i, new JobState.DatasetState());
+        }
+      }
+      return null;
+    }
+  }
+
+  @Override
+  public List<JobState.DatasetState> getAll(String storeName, String tableName)
+      throws IOException {
+    Path tablePath = new Path(new Path(this.storeRootDir, storeName), tableName);
+    if (!this.fs.exists(tablePath)) {
+      return Lists.newArrayList();
+    }
+
+    try (IndexedStateFile.Reader reader = IndexedStateFile.openIfIndexed(this.fs, tablePath)) {
+      if (reader == null) {
+        return super.getAll(storeName, tableName);
+      }
+      checkValueClass(reader);
+
+      List<JobState.DatasetState> states = Lists.newArrayListWithCapacity(reader.size());
+      for (int i = 0; i < reader.size(); i++) {
+        states.add(reader.read(i, new JobState.DatasetState()));
+      }
+      return states;
+    }
+  }
+
+  @Override
+  public Iterator<JobState.DatasetState> iterateAll(String storeName, String tableName)
+      throws IOException {
+    Path tablePath = new Path(new Path(this.storeRootDir, storeName), tableName);
+    if (!this.fs.exists(tablePath)) {
+      return Collections.emptyIterator();
+    }
+
+    final IndexedStateFile.Reader reader = IndexedStateFile.openIfIndexed(this.fs, tablePath);
+    if (reader == null) {
+      return super.getAll(storeName, tableName).iterator();
+    }
+    try {
+      checkValueClass(reader);
+    } catch (IOException ioe) {
+      reader.close();
+      throw ioe;
+    }
+    return reader.iterator(JobState.DatasetState.class);
+  }
+
+  private static void checkValueClass(IndexedStateFile.Reader reader) throws IOException {
+    if (!reader.getValueClassName().equals(JobState.DatasetState.class.getName())) {
+      throw new IOException("There is a mismatch in the Class Type of state in state-store and that in runtime: "
+          + reader.getValueClassName());
+    }
+  }
+}
@@ -109,6 +109,10 @@ public class JobContext implements Closeable {
   private final boolean parallelizeCommit;
   private final int parallelCommits;
 
+  // Dataset states committed by the current commit, persisted together once all datasets are committed
+  private final boolean persistDatasetStatesInBatch;
+  private final Map<String, JobState.DatasetState> datasetStatesToPersist = Maps.newConcurrentMap();
+
   // Were WRITER_STAGING_DIR and WRITER_OUTPUT_DIR provided in the job file
   @Getter
   protected final Boolean stagingDirProvided;
@@ -177,6 +181,8 @@ public class JobContext implements Closeable {
         ConfigurationKeys.DEFAULT_PARALLELIZE_DATASET_COMMIT);
     this.parallelCommits = this.parallelizeCommit ? this.jobState
         .getPropAsInt(ConfigurationKeys.DATASET_COMMIT_THREADS, ConfigurationKeys.DEFAULT_DATASET_COMMIT_THREADS) : 1;
+    this.persistDatasetStatesInBatch = this.jobState.getPropAsBoolean(
+        ConfigurationKeys.PERSIST_DATASET_STATES_IN_BATCH, ConfigurationKeys.DEFAULT_PERSIST_DATASET_STATES_IN_BATCH);
   }
 
   protected DatasetStateStore createStateStore(Config jobConfig)
@@ -474,6 +480,14 @@ public class JobContext implements Closeable {
 
       IteratorExecutor.logFailures(result, LOG, 10);
 
+      // The states of datasets that failed to commit are persisted too, as they would be one at a time
+      try {
+        persistPendingDatasetStates();
+      } catch (IOException ioe) {
+        this.jobState.setState(JobState.RunningState.FAILED);
+        throw new IOException("Failed to persist dataset states of job " + this.jobId, ioe);
+      }
+
       if (!IteratorExecutor.verifyAllSuccessful(result)) {
         this.jobState.setState(JobState.RunningState.FAILED);
         throw new IOException("Failed to commit dataset state for some dataset(s) of job " + this.jobId);
@@ -484,6 +498,32 @@ public class JobContext implements Closeable {
     this.jobState.setState(JobState.RunningState.COMMITTED);
   }
 
+  /**
+   * Persist the {@link JobState.DatasetState} of a committed dataset, either right away or, if
+   * {@link ConfigurationKeys#PERSIST_DATASET_STATES_IN_BATCH} is enabled, together with the states of the other
+   * datasets once they are all committed.
+   */
+  void persistDatasetState(String datasetUrn, JobState.DatasetState datasetState)
+      throws IOException {
+    if (this.persistDatasetStatesInBatch) {
+      this.datasetStatesToPersist.put(datasetUrn, datasetState);
+    } else {
+      this.datasetStateStore.persistDatasetState(datasetUrn, datasetState);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void persistPendingDatasetStates()
+      throws IOException {
+    if (this.datasetStatesToPersist.isEmpty()) {
+      return;
+    }
+    Map<String, JobState.DatasetState> datasetStates = ImmutableMap.copyOf(this.datasetStatesToPersist);
+    this.datasetStatesToPersist.clear();
+    this.logger.info(String.format("Persisting the states of %d datasets", datasetStates.size()));
+    this.datasetStateStore.persistDatasetStates(datasetStates);
+  }
+
   @Override
   public void close()
       throws IOException {
@@ -100,6 +100,38 @@ public class MultiConverter extends Converter<Object, Object, Object, Object> {
     };
   }
 
+  /**
+   * Convert a batch of records by passing the whole batch through each {@link Converter} in turn, so that each
+   * {@link Converter} can use its {@link Converter#convertRecordBatch} fast path.
+   */
+  @Override
+  public List<Object> convertRecordBatch(Object outputSchema, List<Object> inputRecords, WorkUnitState workUnit)
+      throws DataConversionException {
+
+    if (this.convertedSchemaMap.size() != this.converters.size()) {
+      throw new RuntimeException("convertRecordBatch should be called only after convertSchema is called");
+    }
+
+    List<Object> records = inputRecords;
+    for (Converter converter : this.converters) {
+      records = converter.convertRecordBatch(this.convertedSchemaMap.get(converter), records, workUnit);
+    }
+    return records;
+  }
+
+  /**
+   * A {@link MultiConverter} mutates input records if any of its {@link Converter}s does.
+   */
+  @Override
+  public boolean mutatesInputRecords() {
+    for (Converter<?, ?, ?, ?> converter : this.converters) {
+      if (converter.mutatesInputRecords()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   @Override
   public State getFinalState() {
     ConstructState state = new ConstructState(super.getFinalState());
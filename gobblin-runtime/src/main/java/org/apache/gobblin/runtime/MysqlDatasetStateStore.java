@@ -19,6 +19,7 @@ package org.apache.gobblin.runtime;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -29,6 +30,7 @@ import org.slf4j.LoggerFactory;
 import com.google.common.base.CharMatcher;
 import com.google.common.base.Strings;
 import com.google.common.collect.Maps;
+import com.typesafe.config.Config;
 
 import org.apache.gobblin.configuration.ConfigurationKeys;
 import org.apache.gobblin.metastore.DatasetStateStore;
@@ -65,6 +67,11 @@ public class MysqlDatasetStateStore extends MysqlStateStore<JobState.DatasetStat
     super(dataSource, stateStoreTableName, compressedValues, JobState.DatasetState.class);
   }
 
+  public MysqlDatasetStateStore(DataSource dataSource, String stateStoreTableName, boolean compressedValues,
+      Config config) throws IOException {
+    super(dataSource, stateStoreTableName, compressedValues, JobState.DatasetState.class, config);
+  }
+
   /**
    * Get a {@link Map} from dataset URNs to the latest {@link JobState.DatasetState}s.
    *
@@ -118,20 +125,54 @@ public class MysqlDatasetStateStore extends MysqlStateStore<JobState.DatasetStat
     String jobId = datasetState.getJobId();
 
     datasetUrn = CharMatcher.is(':').replaceFrom(datasetUrn, '.');
-    String tableName = Strings.isNullOrEmpty(datasetUrn) ? jobId + DATASET_STATE_STORE_TABLE_SUFFIX
-        : datasetUrn + "-" + jobId + DATASET_STATE_STORE_TABLE_SUFFIX;
+    String tableName = getTableName(datasetUrn, jobId);
     LOGGER.info("Persisting " + tableName + " to the job state store");
 
     put(jobName, tableName, datasetState);
     createAlias(jobName, tableName, getAliasName(datasetUrn));
   }
 
+  /**
+   * Persist the given {@link JobState.DatasetState}s with a single batched transaction per job. The current state
+   * of each dataset is written to its alias table directly instead of being cloned from the job id table.
+   *
+   * @param datasetStatesByUrns map from dataset URN to the {@link JobState.DatasetState} to persist
+   * @throws IOException if there's something wrong persisting the {@link JobState.DatasetState}s
+   */
+  @Override
+  public void persistDatasetStates(Map<String, JobState.DatasetState> datasetStatesByUrns) throws IOException {
+    Map<String, Map<String, Collection<JobState.DatasetState>>> statesByTableByJob = Maps.newHashMap();
+    for (Map.Entry<String, JobState.DatasetState> entry : datasetStatesByUrns.entrySet()) {
+      JobState.DatasetState datasetState = entry.getValue();
+      String datasetUrn = CharMatcher.is(':').replaceFrom(entry.getKey(), '.');
+
+      Map<String, Collection<JobState.DatasetState>> statesByTable = statesByTableByJob.get(datasetState.getJobName());
+      if (statesByTable == null) {
+        statesByTable = Maps.newLinkedHashMap();
+        statesByTableByJob.put(datasetState.getJobName(), statesByTable);
+      }
+      statesByTable.put(getTableName(datasetUrn, datasetState.getJobId()), Collections.singleton(datasetState));
+      statesByTable.put(getAliasName(datasetUrn), Collections.singleton(datasetState));
+    }
+
+    for (Map.Entry<String, Map<String, Collection<JobState.DatasetState>>> entry : statesByTableByJob.entrySet()) {
+      LOGGER.info(String.format("Persisting %d tables of job %s to the job state store", entry.getValue().size(),
+          entry.getKey()));
+      putAll(entry.getKey(), entry.getValue());
+    }
+  }
+
   @Override
   public void persistDatasetURNs(String storeName, Collection<String> datasetUrns)
       throws IOException {
     //do nothing for now
   }
 
+  private static String getTableName(String datasetUrn, String jobId) {
+    return Strings.isNullOrEmpty(datasetUrn) ? jobId + DATASET_STATE_STORE_TABLE_SUFFIX
+        : datasetUrn + "-" + jobId + DATASET_STATE_STORE_TABLE_SUFFIX;
+  }
+
   private static String getAliasName(String datasetUrn) {
     return Strings.isNullOrEmpty(datasetUrn) ? CURRENT_DATASET_STATE_FILE_SUFFIX + DATASET_STATE_STORE_TABLE_SUFFIX
         : datasetUrn + "-" + CURRENT_DATASET_STATE_FILE_SUFFIX + DATASET_STATE_STORE_TABLE_SUFFIX;
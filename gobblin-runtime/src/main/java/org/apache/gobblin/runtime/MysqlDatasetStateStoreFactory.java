@@ -41,7 +41,7 @@ public class MysqlDatasetStateStoreFactory implements DatasetStateStore.Factory
       BasicDataSource basicDataSource = MysqlDataSourceFactory.get(config,
           SharedResourcesBrokerFactory.getImplicitBroker());
 
-      return new MysqlDatasetStateStore(basicDataSource, stateStoreTableName, compressedValues);
+      return new MysqlDatasetStateStore(basicDataSource, stateStoreTableName, compressedValues, config);
     } catch (Exception e) {
       throw new RuntimeException("Failed to create MysqlDatasetStateStore with factory", e);
     }
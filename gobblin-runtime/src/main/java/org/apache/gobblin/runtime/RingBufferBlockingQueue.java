@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.runtime;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import com.google.common.base.Preconditions;
+
+
+/**
+ * A bounded, lock-free {@link BlockingQueue} backed by a ring buffer.
+ *
+ * <p>
+ *   Each slot of the ring buffer carries a sequence number that tells producers and consumers whether the slot
+ *   is ready to be written or read, so neither side ever takes a lock. The queue is safe for multiple producers
+ *   and multiple consumers, although the common use in Gobblin is a single {@link Task} producing into the
+ *   queue of a single {@link org.apache.gobblin.runtime.fork.AsynchronousFork}.
+ * </p>
+ *
+ * <p>
+ *   Blocking operations never park on a condition; instead they retry according to the configured
+ *   {@link WaitStrategy} until the operation succeeds, the timeout elapses or the thread is interrupted.
+ * </p>
+ *
+ * <p>
+ *   Iteration is weakly consistent: {@link #iterator()} walks a snapshot of the elements between the consumer and
+ *   producer positions taken when it is created. The iterator does not support {@link Iterator#remove()}, so neither
+ *   do {@link #remove(Object)}, {@link #removeAll(Collection)} and {@link #retainAll(Collection)} when they find an
+ *   element to remove.
+ * </p>
+ *
+ * @param <T> element type
+ */
+public class RingBufferBlockingQueue<T> extends AbstractQueue<T> implements BlockingQueue<T> {
+
+  /**
+   * Strategies for waiting on a full or empty {@link RingBufferBlockingQueue}.
+   */
+  public enum WaitStrategy {
+    /** Busy spin. Lowest latency, but burns a core while waiting. */
+    SPIN {
+      @Override
+      void idle() {
+        // Busy spin
+      }
+    },
+    /** Yield the CPU to other threads between attempts. */
+    YIELD {
+      @Override
+      void idle() {
+        Thread.yield();
+      }
+    },
+    /** Park the thread for a short period between attempts. */
+    PARK {
+      @Override
+      void idle() {
+        LockSupport.parkNanos(PARK_NANOS);
+      }
+    };
+
+    private static final long PARK_NANOS = 1000L;
+
+    abstract void idle();
+  }
+
+  private final int capacity;
+  private final WaitStrategy waitStrategy;
+  private final AtomicReferenceArray<T> buffer;
+  private final AtomicLongArray sequences;
+  private final AtomicLong head = new AtomicLong();
+  private final AtomicLong tail = new AtomicLong();
+
+  public RingBufferBlockingQueue(int capacity, WaitStrategy waitStrategy) {
+    Preconditions.checkArgument(capacity > 0, "Invalid queue capacity");
+    this.capacity = capacity;
+    this.waitStrategy = Preconditions.checkNotNull(waitStrategy);
+    this.buffer = new AtomicReferenceArray<>(capacity);
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      this.sequences.set(i, i);
+    }
+  }
+
+  @Override
+  public boolean offer(T t) {
+    Preconditions.checkNotNull(t);
+    while (true) {
+      long pos = this.tail.get();
+      int index = (int) (pos % this.capacity);
+      long diff = this.sequences.get(index) - pos;
+      if (diff == 0) {
+        if (this.tail.compareAndSet(pos, pos + 1)) {
+          this.buffer.lazySet(index, t);
+          this.sequences.lazySet(index, pos + 1);
+          return true;
+        }
+      } else if (diff < 0) {
+        // The slot still holds an element from the previous lap, so the queue is full
+        return false;
+      }
+    }
+  }
+
+  @Override
+  public T poll() {
+    while (true) {
+      long pos = this.head.get();
+      int index = (int) (pos % this.capacity);
+      long diff = this.sequences.get(index) - (pos + 1);
+      if (diff == 0) {
+        if (this.head.compareAndSet(pos, pos + 1)) {
+          T t = this.buffer.get(index);
+          this.buffer.lazySet(index, null);
+          this.sequences.lazySet(index, pos + this.capacity);
+          return t;
+        }
+      } else if (diff < 0) {
+        // The slot has not been published yet, so the queue is empty
+        return null;
+      }
+    }
+  }
+
+  @Override
+  public T peek() {
+    long pos = this.head.get();
+    int index = (int) (pos % this.capacity);
+    return this.sequences.get(index) == pos + 1 ? this.buffer.get(index) : null;
+  }
+
+  @Override
+  public void put(T t) throws InterruptedException {
+    while (!offer(t)) {
+      checkInterrupted();
+      this.waitStrategy.idle();
+    }
+  }
+
+  @Override
+  public boolean offer(T t, long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    while (!offer(t)) {
+      checkInterrupted();
+      if (System.nanoTime() - deadline >= 0) {
+        return false;
+      }
+      this.waitStrategy.idle();
+    }
+    return true;
+  }
+
+  @Override
+  public T take() throws InterruptedException {
+    T t;
+    while ((t = poll()) == null) {
+      checkInterrupted();
+      this.waitStrategy.idle();
+    }
+    return t;
+  }
+
+  @Override
+  public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    T t;
+    while ((t = poll()) == null) {
+      checkInterrupted();
+      if (System.nanoTime() - deadline >= 0) {
+        return null;
+      }
+      this.waitStrategy.idle();
+    }
+    return t;
+  }
+
+  @Override
+  public int remainingCapacity() {
+    return this.capacity - size();
+  }
+
+  @Override
+  public int drainTo(Collection<? super T> c) {
+    return drainTo(c, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public int drainTo(Collection<? super T> c, int maxElements) {
+    Preconditions.checkArgument(c != this, "Cannot drain a queue into itself");
+    int drained = 0;
+    T t;
+    while (drained < maxElements && (t = poll()) != null) {
+      c.add(t);
+      drained++;
+    }
+    return drained;
+  }
+
+  @Override
+  public int size() {
+    // Read head before tail so that the computed size can never be negative
+    long currentHead = this.head.get();
+    long currentTail = this.tail.get();
+    return (int) Math.max(0, Math.min(this.capacity, currentTail - currentHead));
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    return Collections.unmodifiableList(snapshot()).iterator();
+  }
+
+  /**
+   * @return the elements published between the consumer and producer positions, in queue order. Elements consumed
+   * or published while the snapshot is taken may or may not be included.
+   */
+  private List<T> snapshot() {
+    long currentHead = this.head.get();
+    long currentTail = this.tail.get();
+    List<T> elements = new ArrayList<>((int) Math.max(0, Math.min(this.capacity, currentTail - currentHead)));
+    for (long pos = currentHead; pos < currentTail; pos++) {
+      int index = (int) (pos % this.capacity);
+      if (this.sequences.get(index) != pos + 1) {
+        // Already consumed, or claimed by a producer but not published yet
+        continue;
+      }
+      T t = this.buffer.get(index);
+      // Only keep the element if the slot was not consumed, and possibly reused, while it was read
+      if (t != null && this.sequences.get(index) == pos + 1) {
+        elements.add(t);
+      }
+    }
+    return elements;
+  }
+
+  private static void checkInterrupted() throws InterruptedException {
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+  }
+}
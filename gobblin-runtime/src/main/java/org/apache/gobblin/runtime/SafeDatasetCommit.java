@@ -415,7 +415,7 @@ final class SafeDatasetCommit implements Callable<Void> {
   private void persistDatasetState(String datasetUrn, JobState.DatasetState datasetState)
       throws IOException {
     log.info("Persisting dataset state for dataset " + datasetUrn);
-    this.jobContext.getDatasetStateStore().persistDatasetState(datasetUrn, datasetState);
+    this.jobContext.persistDatasetState(datasetUrn, datasetState);
   }
 
   /**
@@ -52,7 +52,9 @@ import static org.apache.gobblin.configuration.ConfigurationKeys.*;
  * In the case that users are willing to change the storage medium of job state due to some reasons.
  *
  * Current implementation doesn't support data awareness on either source or target side.
- * And only migrate a single job state instead of migrating all history versions.
+ * And only migrate a single job state instead of migrating all history versions, unless
+ * {@value #MIGRATE_ALL_TABLES} is set, in which case every table of the job is copied as is. This can be used to
+ * rewrite a state store in another format, e.g. from "fs" to "indexedFs" (see {@link IndexedFsDatasetStateStore}).
  */
 @Slf4j
 @Alias(value = "stateMigration", description = "Command line tools for migrating state store")
@@ -62,6 +64,7 @@ public class StateStoreMigrationCli implements CliApplication {
   private static final String JOB_NAME_KEY = "jobName";
   private static final String MIGRATE_ALL_JOBS = "migrateAllJobs";
   private static final String DEFAULT_MIGRATE_ALL_JOBS = "false";
+  private static final String MIGRATE_ALL_TABLES = "migrateAllTables";
 
   @Override
   public void run(String[] args) throws Exception {
@@ -78,27 +81,32 @@ public class StateStoreMigrationCli implements CliApplication {
     DatasetStateStore dstDatasetStateStore =
         DatasetStateStore.buildDatasetStateStore(config.getConfig(DESTINATION_KEY));
     DatasetStateStore srcDatasetStateStore = DatasetStateStore.buildDatasetStateStore(config.getConfig(SOURCE_KEY));
-    Map<String, JobState.DatasetState> map;
+    boolean migrateAllTables = ConfigUtils.getBoolean(config, MIGRATE_ALL_TABLES, false);
 
     // if migrating state for all jobs then list the store names (job names) and copy the current jst files
     if (ConfigUtils.getBoolean(config, MIGRATE_ALL_JOBS, Boolean.valueOf(DEFAULT_MIGRATE_ALL_JOBS))) {
       List<String> jobNames = srcDatasetStateStore.getStoreNames(Predicates.alwaysTrue());
 
       for (String jobName : jobNames) {
-        migrateStateForJob(srcDatasetStateStore, dstDatasetStateStore, jobName, command.deleteSourceStateStore);
+        migrateStateForJob(srcDatasetStateStore, dstDatasetStateStore, jobName, migrateAllTables,
+            command.deleteSourceStateStore);
       }
     } else {
       Preconditions.checkNotNull(config.getString(JOB_NAME_KEY));
       migrateStateForJob(srcDatasetStateStore, dstDatasetStateStore, config.getString(JOB_NAME_KEY),
-          command.deleteSourceStateStore);
+          migrateAllTables, command.deleteSourceStateStore);
     }
   }
 
   private static void migrateStateForJob(DatasetStateStore srcDatasetStateStore, DatasetStateStore dstDatasetStateStore,
-      String jobName, boolean deleteFromSource) throws IOException {
-    Map<String, JobState.DatasetState> map = srcDatasetStateStore.getLatestDatasetStatesByUrns(jobName);
-    for (Map.Entry<String, JobState.DatasetState> entry : map.entrySet()) {
-      dstDatasetStateStore.persistDatasetState(entry.getKey(), entry.getValue());
+      String jobName, boolean migrateAllTables, boolean deleteFromSource) throws IOException {
+    if (migrateAllTables) {
+      migrateAllTablesForJob(srcDatasetStateStore, dstDatasetStateStore, jobName);
+    } else {
+      Map<String, JobState.DatasetState> map = srcDatasetStateStore.getLatestDatasetStatesByUrns(jobName);
+      for (Map.Entry<String, JobState.DatasetState> entry : map.entrySet()) {
+        dstDatasetStateStore.persistDatasetState(entry.getKey(), entry.getValue());
+      }
     }
 
     if (deleteFromSource) {
@@ -110,6 +118,22 @@ public class StateStoreMigrationCli implements CliApplication {
     }
   }
 
+  /**
+   * Copy every table of a job, including the aliases of the current dataset states, from the source to the
+   * destination state store. All states of a table are read before the table is written, so the source and the
+   * destination can share the same location, as long as the source state store is not deleted afterwards.
+   */
+  @SuppressWarnings("unchecked")
+  private static void migrateAllTablesForJob(DatasetStateStore srcDatasetStateStore,
+      DatasetStateStore dstDatasetStateStore, String jobName) throws IOException {
+    List<String> tableNames = srcDatasetStateStore.getTableNames(jobName, Predicates.alwaysTrue());
+    for (String tableName : tableNames) {
+      List<JobState.DatasetState> states = srcDatasetStateStore.getAll(jobName, tableName);
+      dstDatasetStateStore.putAll(jobName, tableName, states);
+    }
+    log.info("Migrated {} tables of job {}", tableNames.size(), jobName);
+  }
+
   /**
    * This class has to been public static for being accessed by
    * {@link ConstructorAndPublicMethodsCliObjectFactory#inferConstructorOptions}
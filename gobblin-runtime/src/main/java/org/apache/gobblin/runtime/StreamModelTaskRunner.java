@@ -36,6 +36,8 @@ import org.apache.gobblin.qualitychecker.row.RowLevelPolicyChecker;
 import org.apache.gobblin.records.RecordStreamProcessor;
 import org.apache.gobblin.records.RecordStreamWithMetadata;
 import org.apache.gobblin.runtime.fork.Fork;
+import org.apache.gobblin.runtime.metrics.RuntimeMetrics;
+import org.apache.gobblin.runtime.util.TaskMetrics;
 import org.apache.gobblin.source.extractor.Extractor;
 import org.apache.gobblin.source.extractor.StreamingExtractor;
 import org.apache.gobblin.util.ExponentialBackoff;
@@ -137,6 +139,8 @@ public class StreamModelTaskRunner {
           forkedStream = forkedStream.mapStream(f -> f.observeOn(Schedulers.from(this.taskExecutor.getForkExecutor()), false, bufferSize));
         }
         Fork fork = new Fork(this.taskContext, forkedStream.getGlobalMetadata().getSchema(), forkedStreams.getForkedStreams().size(), fidx, this.taskMode);
+        // The Forker already decided which branches share records, this verifies the fork converters allow it
+        Task.canShareRecords(forkOperator, this.taskState, fork);
         fork.consumeRecordStream(forkedStream);
         this.forks.put(Optional.of(fork), Optional.of(Futures.immediateFuture(null)));
         this.task.configureStreamingFork(fork);
@@ -149,6 +153,11 @@ public class StreamModelTaskRunner {
         initialDelay(1000L).maxDelay(1000L).maxWait(TimeUnit.MINUTES.toMillis(maxWaitInMinute)).await()) {
       throw new TimeoutException("Forks did not finish withing specified timeout.");
     }
+
+    if (forkedStreams.getAvoidedCopies().get() > 0) {
+      TaskMetrics.get(this.taskState).getMetricContext().counter(RuntimeMetrics.GOBBLIN_TASK_FORK_AVOIDED_RECORD_COPIES)
+          .inc(forkedStreams.getAvoidedCopies().get());
+    }
   }
 
 }
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
@@ -34,6 +35,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
+import com.codahale.metrics.Counter;
+
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Optional;
 import com.google.common.base.Preconditions;
@@ -41,6 +44,7 @@ import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.google.common.io.Closer;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
@@ -75,7 +79,9 @@ import org.apache.gobblin.qualitychecker.row.RowLevelPolicyChecker;
 import org.apache.gobblin.records.RecordStreamProcessor;
 import org.apache.gobblin.runtime.fork.AsynchronousFork;
 import org.apache.gobblin.runtime.fork.Fork;
+import org.apache.gobblin.runtime.fork.RecordBatch;
 import org.apache.gobblin.runtime.fork.SynchronousFork;
+import org.apache.gobblin.runtime.metrics.RuntimeMetrics;
 import org.apache.gobblin.runtime.task.TaskIFace;
 import org.apache.gobblin.runtime.util.TaskMetrics;
 import org.apache.gobblin.source.extractor.Extractor;
@@ -91,6 +97,7 @@ import org.apache.gobblin.writer.TrackerBasedWatermarkManager;
 import org.apache.gobblin.writer.WatermarkAwareWriter;
 import org.apache.gobblin.writer.WatermarkManager;
 import org.apache.gobblin.writer.WatermarkStorage;
+import org.apache.gobblin.writer.WatermarkTrackerFactory;
 
 
 /**
@@ -140,6 +147,9 @@ public class Task implements TaskIFace {
   private final TaskExecutor taskExecutor;
   private final Optional<CountDownLatch> countDownLatch;
   private final Map<Optional<Fork>, Optional<Future<?>>> forks = Maps.newLinkedHashMap();
+  // Branches that share records with other branches instead of getting their own copies
+  private final Set<Integer> recordSharingBranches = Sets.newHashSet();
+  private Counter avoidedRecordCopies;
 
   // Number of task retries
   private final AtomicInteger retryCount = new AtomicInteger();
@@ -255,7 +265,7 @@ public class Task implements TaskIFace {
       long commitIntervalMillis = ConfigUtils.getLong(config,
           TaskConfigurationKeys.STREAMING_WATERMARK_COMMIT_INTERVAL_MILLIS,
           TaskConfigurationKeys.DEFAULT_STREAMING_WATERMARK_COMMIT_INTERVAL_MILLIS);
-      this.watermarkTracker = Optional.of(this.closer.register(new FineGrainedWatermarkTracker(config)));
+      this.watermarkTracker = Optional.of(this.closer.register(WatermarkTrackerFactory.getFineGrainedInstance(config)));
       this.watermarkManager = Optional.of((WatermarkManager) this.closer.register(
           new TrackerBasedWatermarkManager(this.watermarkStorage.get(), this.watermarkTracker.get(),
               commitIntervalMillis, Optional.of(this.LOG))));
@@ -348,6 +358,7 @@ public class Task implements TaskIFace {
 
     // Clear the map so it starts with a fresh set of forks for each run/retry
     this.forks.clear();
+    this.recordSharingBranches.clear();
     try {
 
       if (this.taskState.getPropAsBoolean(ConfigurationKeys.TASK_SYNCHRONOUS_EXECUTION_MODEL_KEY,
@@ -424,6 +435,13 @@ public class Task implements TaskIFace {
               new AsynchronousFork(this.taskContext, schema instanceof Copyable ? ((Copyable) schema).copy() : schema,
                   branches, i, this.taskMode));
           configureStreamingFork(fork);
+          if (canShareRecords(forkOperator, fork)) {
+            this.recordSharingBranches.add(i);
+            if (this.avoidedRecordCopies == null) {
+              this.avoidedRecordCopies = TaskMetrics.get(this.taskState).getMetricContext()
+                  .counter(RuntimeMetrics.GOBBLIN_TASK_FORK_AVOIDED_RECORD_COPIES);
+            }
+          }
           // Run the Fork
           this.forks.put(Optional.<Fork>of(fork), Optional.<Future<?>>of(this.taskExecutor.submit(fork)));
         } else {
@@ -467,6 +485,10 @@ public class Task implements TaskIFace {
           extractor.shutdown();
         }
       }
+    } else if (this.taskState.getPropAsInt(TaskConfigurationKeys.TASK_RECORD_BATCH_SIZE,
+        TaskConfigurationKeys.DEFAULT_TASK_RECORD_BATCH_SIZE) > 1) {
+      runBatchedRecordLoop(schema, forkOperator, rowResults, branches,
+          this.taskState.getPropAsInt(TaskConfigurationKeys.TASK_RECORD_BATCH_SIZE));
     } else {
       RecordEnvelope record;
       // Extract, convert, and fork one source record at a time.
@@ -478,15 +500,7 @@ public class Task implements TaskIFace {
             processRecord(convertedRecord, forkOperator, rowChecker, rowResults, branches, null);
           }
         } catch (Exception e) {
-          if (!(e instanceof DataConversionException) && !(e.getCause() instanceof DataConversionException)) {
-            LOG.error("Processing record incurs an unexpected exception: ", e);
-            throw new RuntimeException(e.getCause());
-          }
-          errRecords++;
-          if (errRecords > this.taskState.getPropAsLong(TaskConfigurationKeys.TASK_SKIP_ERROR_RECORDS,
-              TaskConfigurationKeys.DEFAULT_TASK_SKIP_ERROR_RECORDS)) {
-            throw new RuntimeException(e);
-          }
+          errRecords = onRecordProcessingFailure(e, errRecords);
         }
         if (shutdownRequested()) {
           extractor.shutdown();
@@ -521,6 +535,81 @@ public class Task implements TaskIFace {
     }
   }
 
+  /**
+   * Extract records in batches of up to {@code batchSize} records, convert and quality-check each batch as a whole,
+   * and hand each fork a single {@link RecordBatch} per batch.
+   *
+   * <p>
+   *   If converting a batch fails with a {@link DataConversionException}, the batch is converted again one record at a
+   *   time so that only the offending records are counted against {@link TaskConfigurationKeys#TASK_SKIP_ERROR_RECORDS}.
+   *   Likewise, a record that fails to be processed is dropped and counted on its own, and the rest of its batch is
+   *   still handed to the forks.
+   * </p>
+   */
+  private void runBatchedRecordLoop(Object schema, ForkOperator forkOperator, RowLevelPolicyCheckResults rowResults,
+      int branches, int batchSize) throws Exception {
+    List<Object> inputRecords = new ArrayList<>(batchSize);
+    long errRecords = 0;
+    RecordEnvelope record;
+    do {
+      record = extractor.readRecordEnvelope();
+      if (record != null) {
+        onRecordExtract();
+        inputRecords.add(record.getRecord());
+      }
+
+      if (inputRecords.size() >= batchSize || (record == null && !inputRecords.isEmpty())) {
+        List<Object> convertedRecords;
+        try {
+          convertedRecords = converter.convertRecordBatch(schema, inputRecords, this.taskState);
+        } catch (Exception e) {
+          if (!isDataConversionFailure(e)) {
+            LOG.error("Processing record batch incurs an unexpected exception: ", e);
+            throw new RuntimeException(e);
+          }
+          convertedRecords = new ArrayList<>();
+          for (Object inputRecord : inputRecords) {
+            try {
+              for (Object convertedRecord : converter.convertRecord(schema, inputRecord, this.taskState)) {
+                convertedRecords.add(convertedRecord);
+              }
+            } catch (Exception re) {
+              errRecords = onRecordProcessingFailure(re, errRecords);
+            }
+          }
+        }
+        errRecords = processRecordBatch(convertedRecords, forkOperator, rowChecker, rowResults, branches, errRecords);
+        inputRecords = new ArrayList<>(batchSize);
+      }
+
+      if (record != null && shutdownRequested()) {
+        extractor.shutdown();
+      }
+    } while (record != null);
+  }
+
+  /**
+   * Handle a failure to convert or process a record, returning the updated count of failed records.
+   *
+   * @throws RuntimeException if the failure is not a data conversion failure, or if too many records have failed
+   */
+  private long onRecordProcessingFailure(Exception e, long errRecords) {
+    if (!isDataConversionFailure(e)) {
+      LOG.error("Processing record incurs an unexpected exception: ", e);
+      throw new RuntimeException(e.getCause());
+    }
+    errRecords++;
+    if (errRecords > this.taskState.getPropAsLong(TaskConfigurationKeys.TASK_SKIP_ERROR_RECORDS,
+        TaskConfigurationKeys.DEFAULT_TASK_SKIP_ERROR_RECORDS)) {
+      throw new RuntimeException(e);
+    }
+    return errRecords;
+  }
+
+  private static boolean isDataConversionFailure(Exception e) {
+    return e instanceof DataConversionException || e.getCause() instanceof DataConversionException;
+  }
+
   protected void configureStreamingFork(Fork fork) throws IOException {
     if (isStreamingTask()) {
       DataWriter forkWriter = fork.getWriter();
@@ -786,7 +875,7 @@ public class Task implements TaskIFace {
     int copyInstance = 0;
     for (Optional<Fork> fork : this.forks.keySet()) {
       if (fork.isPresent() && forkedRecords.get(branch)) {
-        Object recordForFork = needToCopy ? CopyHelper.copy(convertedRecord) : convertedRecord;
+        Object recordForFork = getRecordForBranch(convertedRecord, needToCopy, branch);
         copyInstance++;
         if (isStreamingTask()) {
           // Send the record, watermark pair down the fork
@@ -806,6 +895,110 @@ public class Task implements TaskIFace {
     }
   }
 
+  /**
+   * Process a batch of converted records, putting a single {@link RecordBatch} into the record queue of each
+   * {@link Fork} that receives at least one of the records. A record that fails to be processed is dropped from the
+   * batch, the same way it would be if records were processed one at a time.
+   *
+   * @return the updated count of failed records
+   */
+  private long processRecordBatch(List<Object> convertedRecords, ForkOperator forkOperator,
+      RowLevelPolicyChecker rowChecker, RowLevelPolicyCheckResults rowResults, int branches, long errRecords)
+      throws Exception {
+    List<List<Object>> recordsForForks = new ArrayList<>(branches);
+    for (int i = 0; i < branches; i++) {
+      recordsForForks.add(new ArrayList<>(convertedRecords.size()));
+    }
+
+    for (Object convertedRecord : convertedRecords) {
+      try {
+        // Skip the record if quality checking fails
+        if (!rowChecker.executePolicies(convertedRecord, rowResults)) {
+          continue;
+        }
+
+        List<Boolean> forkedRecords = forkOperator.forkDataRecord(this.taskState, convertedRecord);
+        if (forkedRecords.size() != branches) {
+          throw new ForkBranchMismatchException(String
+              .format("Number of forked data records [%d] is not equal to number of branches [%d]",
+                  forkedRecords.size(), branches));
+        }
+
+        boolean needToCopy = inMultipleBranches(forkedRecords);
+        // we only have to copy a record if it needs to go into multiple forks
+        if (needToCopy && !(CopyHelper.isCopyable(convertedRecord))) {
+          throw new CopyNotSupportedException(convertedRecord.getClass().getName() + " is not copyable");
+        }
+
+        // Get all the instances first, so that a failed copy does not leave the record in some branches only
+        Object[] recordForBranches = new Object[branches];
+        for (int branch = 0; branch < branches; branch++) {
+          if (forkedRecords.get(branch)) {
+            recordForBranches[branch] = getRecordForBranch(convertedRecord, needToCopy, branch);
+          }
+        }
+        for (int branch = 0; branch < branches; branch++) {
+          if (forkedRecords.get(branch)) {
+            recordsForForks.get(branch).add(recordForBranches[branch]);
+          }
+        }
+      } catch (Exception e) {
+        errRecords = onRecordProcessingFailure(e, errRecords);
+      }
+    }
+
+    int branch = 0;
+    for (Optional<Fork> fork : this.forks.keySet()) {
+      if (fork.isPresent() && !recordsForForks.get(branch).isEmpty()) {
+        RecordBatch recordBatch = new RecordBatch(recordsForForks.get(branch));
+        // A put may timeout and return a false, in which case the put is retried until it is successful.
+        boolean succeeded = false;
+        while (!succeeded) {
+          succeeded = fork.get().putRecord(recordBatch);
+        }
+      }
+      branch++;
+    }
+    return errRecords;
+  }
+
+  /**
+   * Get the instance of a record to pass to a branch, which is a copy of the record if the record goes to multiple
+   * branches, unless the branch shares records with other branches.
+   */
+  private Object getRecordForBranch(Object record, boolean needToCopy, int branch) throws CopyNotSupportedException {
+    if (!needToCopy) {
+      return record;
+    }
+    if (this.recordSharingBranches.contains(branch)) {
+      this.avoidedRecordCopies.inc();
+      return record;
+    }
+    return CopyHelper.copy(record);
+  }
+
+  /**
+   * Check whether a {@link Fork} can share records with other branches instead of getting its own copies, i.e.,
+   * whether the {@link ForkOperator} declares its branch as non-mutating.
+   *
+   * @throws IllegalStateException if the branch is declared as non-mutating but the converters of the {@link Fork}
+   *         may mutate records
+   */
+  static boolean canShareRecords(ForkOperator forkOperator, TaskState taskState, Fork fork) {
+    if (forkOperator.isBranchMutating(taskState, fork.getIndex())) {
+      return false;
+    }
+    if (fork.mutatesRecords()) {
+      throw new IllegalStateException(String.format("Branch %d is declared as not mutating records by %s, but its "
+          + "converters may mutate records", fork.getIndex(), forkOperator.getClass().getName()));
+    }
+    return true;
+  }
+
+  private boolean canShareRecords(ForkOperator forkOperator, Fork fork) {
+    return canShareRecords(forkOperator, this.taskState, fork);
+  }
+
   /**
    * Check if a schema or data record is being passed to more than one branches.
    */
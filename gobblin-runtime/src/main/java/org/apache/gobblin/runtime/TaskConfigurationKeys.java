@@ -38,4 +38,10 @@ public class TaskConfigurationKeys {
 
   public static final String TASK_SKIP_ERROR_RECORDS = "task.skip.error.records";
   public static final long DEFAULT_TASK_SKIP_ERROR_RECORDS = 0;
+
+  /**
+   * Configuration properties related to batched record hand-off in the synchronous execution model
+   */
+  public static final String TASK_RECORD_BATCH_SIZE = "task.record.batch.size";
+  public static final int DEFAULT_TASK_RECORD_BATCH_SIZE = 1;
 }
@@ -184,7 +184,7 @@ public class TaskStateCollectorService extends AbstractScheduledService {
         stateSerDeRunner.submitCallable(new Callable<Void>() {
           @Override
           public Void call() throws Exception {
-            TaskState taskState = taskStateStore.getAll(outputTaskStateDir.getName(), taskStateName).get(0);
+            TaskState taskState = taskStateStore.getFirst(outputTaskStateDir.getName(), taskStateName);
             taskStateQueue.add(taskState);
             taskStateStore.delete(outputTaskStateDir.getName(), taskStateName);
             return null;
@@ -20,6 +20,7 @@ package org.apache.gobblin.runtime.api;
 import java.io.IOException;
 import java.net.URI;
 import java.util.Collection;
+import java.util.Iterator;
 
 
 public interface SpecStore {
@@ -105,4 +106,14 @@ public interface SpecStore {
    * @throws IOException Exception in retrieving {@link Spec}s.
    */
   Collection<Spec> getSpecs() throws IOException;
+
+  /***
+   * Get an {@link Iterator} over all {@link Spec}s of the {@link SpecStore}. Implementations backed by large stores
+   * should override it to read {@link Spec}s lazily instead of materializing them all with {@link #getSpecs()}.
+   * Errors hit while iterating are thrown as {@link java.io.UncheckedIOException}s.
+   * @throws IOException Exception in retrieving {@link Spec}s.
+   */
+  default Iterator<Spec> getSpecIterator() throws IOException {
+    return getSpecs().iterator();
+  }
 }
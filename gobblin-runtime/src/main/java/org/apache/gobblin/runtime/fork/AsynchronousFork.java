@@ -22,6 +22,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.gobblin.runtime.BoundedBlockingRecordQueue;
 import org.apache.gobblin.runtime.ExecutionModel;
+import org.apache.gobblin.runtime.RingBufferBlockingQueue;
 import org.apache.gobblin.runtime.Task;
 import org.apache.gobblin.runtime.TaskContext;
 import org.apache.gobblin.runtime.TaskExecutor;
@@ -72,6 +73,12 @@ public class AsynchronousFork extends Fork {
             .useTimeoutTimeUnit(TimeUnit.valueOf(taskState.getProp(
                     ConfigurationKeys.FORK_RECORD_QUEUE_TIMEOUT_UNIT_KEY,
                     ConfigurationKeys.DEFAULT_FORK_RECORD_QUEUE_TIMEOUT_UNIT)))
+            .useQueueType(BoundedBlockingRecordQueue.QueueType.valueOf(taskState.getProp(
+                    ConfigurationKeys.FORK_RECORD_QUEUE_TYPE_KEY,
+                    ConfigurationKeys.DEFAULT_FORK_RECORD_QUEUE_TYPE).toUpperCase()))
+            .useWaitStrategy(RingBufferBlockingQueue.WaitStrategy.valueOf(taskState.getProp(
+                    ConfigurationKeys.FORK_RECORD_QUEUE_WAIT_STRATEGY_KEY,
+                    ConfigurationKeys.DEFAULT_FORK_RECORD_QUEUE_WAIT_STRATEGY).toUpperCase()))
             .collectStats()
             .build();
   }
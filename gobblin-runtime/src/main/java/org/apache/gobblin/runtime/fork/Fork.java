@@ -496,6 +496,16 @@ public class Fork<S, D> implements Closeable, FinalState, RecordStreamConsumer<S
                 recordEnvelope.withRecord(convertedRecord));
           }
         }
+      } else if (record instanceof RecordBatch) {
+        buildWriterIfNotPresent();
+
+        // Convert the whole batch, then check the data quality of each record and write it out if checking passes.
+        for (Object convertedRecord : this.converter.convertRecordBatch(this.convertedSchema,
+            ((RecordBatch) record).getRecords(), this.taskState)) {
+          if (this.rowLevelPolicyChecker.executePolicies(convertedRecord, this.rowLevelPolicyCheckingResult)) {
+            this.writer.get().writeEnvelope(new RecordEnvelope<>(convertedRecord));
+          }
+        }
       } else {
         buildWriterIfNotPresent();
 
@@ -674,6 +684,13 @@ public class Fork<S, D> implements Closeable, FinalState, RecordStreamConsumer<S
     return ((SpeculativeAttemptAwareConstruct) this.writer.get()).isSpeculativeAttemptSafe();
   }
 
+  /**
+   * Whether the converters of this {@link Fork} may modify the records it receives in place.
+   */
+  public boolean mutatesRecords() {
+    return this.converter.mutatesInputRecords();
+  }
+
   public DataWriter getWriter() throws IOException {
     Preconditions.checkState(this.writer.isPresent(), "Asked to get a writer, but writer is null");
     return this.writer.get();
@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.runtime.metastore.filesystem;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import org.apache.gobblin.metastore.DatasetStateLog;
+import org.apache.gobblin.metastore.IndexedStateFile;
+import org.apache.gobblin.runtime.DeltaFsDatasetStateStore;
+import org.apache.gobblin.runtime.JobState;
+
+
+/**
+ * A {@link FsDatasetStateStoreEntryManager} for a superseded {@link DatasetStateLog} file of a
+ * {@link DeltaFsDatasetStateStore}.
+ *
+ * <p>
+ *   Log files hold the states of several datasets, so the entries of a job are grouped by the prefix of their log
+ *   files instead of by dataset, and {@link #readState()} reads the first state of the file.
+ * </p>
+ */
+public class DatasetStateLogEntryManager extends FsDatasetStateStoreEntryManager {
+
+  private final FileSystem fs;
+  private final Path path;
+
+  public DatasetStateLogEntryManager(FileStatus fileStatus, String logFilePrefix, FileSystem fs,
+      DeltaFsDatasetStateStore stateStore) {
+    super(fileStatus, logFilePrefix.substring(0, logFilePrefix.length() - 1),
+        DatasetStateLog.getKey(fileStatus.getPath(), logFilePrefix), stateStore);
+    this.fs = fs;
+    this.path = fileStatus.getPath();
+  }
+
+  @Override
+  public JobState.DatasetState readState() throws IOException {
+    try (IndexedStateFile.Reader reader = IndexedStateFile.openIfIndexed(this.fs, this.path)) {
+      if (reader == null || reader.size() == 0) {
+        return null;
+      }
+      return reader.read(0, new JobState.DatasetState());
+    }
+  }
+}
@@ -39,6 +39,13 @@ public class FsDatasetStateStoreEntryManager extends DatasetStateStoreEntryManag
     this.stateStore = stateStore;
   }
 
+  protected FsDatasetStateStoreEntryManager(FileStatus fileStatus, String sanitizedDatasetUrn, String stateId,
+      FsDatasetStateStore stateStore) {
+    super(fileStatus.getPath().getParent().getName(), fileStatus.getPath().getName(), fileStatus.getModificationTime(),
+        sanitizedDatasetUrn, stateId, stateStore);
+    this.stateStore = stateStore;
+  }
+
   @Override
   public JobState.DatasetState readState() throws IOException {
     return this.stateStore.getInternal(getStoreName(), getTableName(), getSanitizedDatasetUrn(), true);
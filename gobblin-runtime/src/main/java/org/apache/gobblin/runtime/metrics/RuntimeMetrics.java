@@ -30,6 +30,7 @@ public class RuntimeMetrics {
   public static final String GOBBLIN_JOB_MONITOR_SLAEVENT_REJECTEDEVENTS = "gobblin.jobMonitor.slaevent.rejectedevents";
   public static final String GOBBLIN_JOB_MONITOR_KAFKA_MESSAGE_PARSE_FAILURES =
       "gobblin.jobMonitor.kafka.messageParseFailures";
+  public static final String GOBBLIN_TASK_FORK_AVOIDED_RECORD_COPIES = "gobblin.task.fork.avoidedRecordCopies";
 
   // Metadata keys
   public static final String TOPIC = "topic";
@@ -23,6 +23,7 @@ import java.net.URI;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -138,8 +139,9 @@ public class FlowCatalog extends AbstractIdleService implements SpecCatalog, Mut
    /**************************************************/
 
   protected void notifyAllListeners() {
-    for (Spec spec : getSpecsWithTimeUpdate()) {
-      this.listeners.onAddSpec(spec);
+    Iterator<Spec> specIterator = getSpecIteratorWithTimeUpdate();
+    while (specIterator.hasNext()) {
+      this.listeners.onAddSpec(specIterator.next());
     }
   }
 
@@ -149,8 +151,10 @@ public class FlowCatalog extends AbstractIdleService implements SpecCatalog, Mut
     this.listeners.addListener(specListener);
 
     if (state() == State.RUNNING) {
-      for (Spec spec : getSpecsWithTimeUpdate()) {
-        SpecCatalogListener.AddSpecCallback addJobCallback = new SpecCatalogListener.AddSpecCallback(spec);
+      Iterator<Spec> specIterator = getSpecIteratorWithTimeUpdate();
+      while (specIterator.hasNext()) {
+        SpecCatalogListener.AddSpecCallback addJobCallback =
+            new SpecCatalogListener.AddSpecCallback(specIterator.next());
         this.listeners.callbackOneListener(addJobCallback, specListener);
       }
     }
@@ -225,6 +229,22 @@ public class FlowCatalog extends AbstractIdleService implements SpecCatalog, Mut
     }
   }
 
+  /**
+   * Get an {@link Iterator} over the {@link Spec}s of the {@link SpecStore} that reads them lazily, so that scanning
+   * a large catalog does not hold all of its {@link Spec}s in memory. Since the caller drives the iteration, the get
+   * spec time only covers starting it.
+   */
+  public Iterator<Spec> getSpecIteratorWithTimeUpdate() {
+    try {
+      long startTime = System.currentTimeMillis();
+      Iterator<Spec> specIterator = specStore.getSpecIterator();
+      this.metrics.updateGetSpecTime(startTime);
+      return specIterator;
+    } catch (IOException e) {
+      throw new RuntimeException("Cannot retrieve Specs from Spec store", e);
+    }
+  }
+
   public boolean exists(URI uri) {
     try {
       return specStore.exists(uri);
@@ -21,17 +21,28 @@ import com.google.common.io.ByteStreams;
 
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.gobblin.runtime.api.FlowSpec;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
-import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocatedFileStatus;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RemoteIterator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,6 +58,8 @@ import org.apache.gobblin.runtime.api.Spec;
 import org.apache.gobblin.runtime.api.SpecNotFoundException;
 import org.apache.gobblin.runtime.api.SpecSerDe;
 import org.apache.gobblin.runtime.api.SpecStore;
+import org.apache.gobblin.util.ConfigUtils;
+import org.apache.gobblin.util.ExecutorsUtils;
 import org.apache.gobblin.util.PathUtils;
 
 
@@ -59,12 +72,17 @@ import org.apache.gobblin.util.PathUtils;
  */
 public class FSSpecStore implements SpecStore {
 
+  public static final String DESERIALIZATION_THREADS_KEY = "specStore.fs.deserializationThreads";
+  public static final int DEFAULT_DESERIALIZATION_THREADS = 4;
+
   protected final Logger log;
   protected final Config sysConfig;
   protected final FileSystem fs;
   protected final String fsSpecStoreDir;
   protected final Path fsSpecStoreDirPath;
   protected final SpecSerDe specSerDe;
+  private final int deserializationThreads;
+  private volatile ThreadPoolExecutor deserializationExecutor;
 
   public FSSpecStore(GobblinInstanceEnvironment env, SpecSerDe specSerDe)
       throws IOException {
@@ -91,6 +109,9 @@ public class FSSpecStore implements SpecStore {
     this.fsSpecStoreDir = this.sysConfig.getString(ConfigurationKeys.SPECSTORE_FS_DIR_KEY);
     this.fsSpecStoreDirPath = new Path(this.fsSpecStoreDir);
     this.log.info("FSSpecStore directory is: " + this.fsSpecStoreDir);
+    this.deserializationThreads =
+        ConfigUtils.getInt(this.sysConfig, DESERIALIZATION_THREADS_KEY, DEFAULT_DESERIALIZATION_THREADS);
+    Preconditions.checkArgument(this.deserializationThreads > 0, "Number of deserialization threads must be positive");
     try {
       this.fs = this.fsSpecStoreDirPath.getFileSystem(new Configuration());
     } catch (IOException e) {
@@ -230,22 +251,97 @@ public class FSSpecStore implements SpecStore {
   public Collection<Spec> getSpecs() throws IOException {
     Collection<Spec> specs = Lists.newArrayList();
     try {
-      getSpecs(this.fsSpecStoreDirPath, specs);
-    } catch (Exception e) {
-      throw new IOException(e);
+      Iterator<Spec> specIterator = getSpecIterator();
+      while (specIterator.hasNext()) {
+        specs.add(specIterator.next());
+      }
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
     }
 
     return specs;
   }
 
-  private void getSpecs(Path directory, Collection<Spec> specs) throws IOException {
-    FileStatus[] fileStatuses = fs.listStatus(directory);
-    for (FileStatus fileStatus : fileStatuses) {
-      if (fileStatus.isDirectory()) {
-        getSpecs(fileStatus.getPath(), specs);
-      } else {
-        specs.add(readSpecFromFile(fileStatus.getPath()));
+  /**
+   * Lists the spec files lazily and deserializes them with up to {@link #DESERIALIZATION_THREADS_KEY} threads. At most
+   * twice that many {@link Spec}s are held in memory ahead of the caller, whatever the size of the store.
+   */
+  @Override
+  public Iterator<Spec> getSpecIterator() throws IOException {
+    return new SpecIterator(this.fs.listFiles(this.fsSpecStoreDirPath, true));
+  }
+
+  private ThreadPoolExecutor getDeserializationExecutor() {
+    if (this.deserializationExecutor == null) {
+      synchronized (this) {
+        if (this.deserializationExecutor == null) {
+          ThreadPoolExecutor executor = new ThreadPoolExecutor(this.deserializationThreads,
+              this.deserializationThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+              ExecutorsUtils.newDaemonThreadFactory(Optional.of(this.log), Optional.of("FSSpecStore-%d")));
+          // Let the threads die between scans
+          executor.allowCoreThreadTimeOut(true);
+          this.deserializationExecutor = executor;
+        }
+      }
+    }
+    return this.deserializationExecutor;
+  }
+
+  /**
+   * An {@link Iterator} over the spec files of the store that deserializes a bounded window of files ahead of the
+   * caller, keeping the order of the listing.
+   */
+  private class SpecIterator implements Iterator<Spec> {
+    private final RemoteIterator<LocatedFileStatus> files;
+    private final Deque<Future<Spec>> pendingSpecs = new ArrayDeque<>();
+
+    private SpecIterator(RemoteIterator<LocatedFileStatus> files) {
+      this.files = files;
+    }
+
+    @Override
+    public boolean hasNext() {
+      fill();
+      return !this.pendingSpecs.isEmpty();
+    }
+
+    @Override
+    public Spec next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      try {
+        return this.pendingSpecs.poll().get();
+      } catch (InterruptedException ie) {
+        Thread.currentThread().interrupt();
+        cancel();
+        throw new UncheckedIOException(new IOException("Interrupted while reading specs.", ie));
+      } catch (ExecutionException ee) {
+        cancel();
+        if (ee.getCause() instanceof IOException) {
+          throw new UncheckedIOException((IOException) ee.getCause());
+        }
+        throw new UncheckedIOException(new IOException(ee.getCause()));
+      }
+    }
+
+    private void fill() {
+      try {
+        while (this.pendingSpecs.size() < 2 * deserializationThreads && this.files.hasNext()) {
+          final Path path = this.files.next().getPath();
+          this.pendingSpecs.add(getDeserializationExecutor().submit(() -> readSpecFromFile(path)));
+        }
+      } catch (IOException e) {
+        cancel();
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private void cancel() {
+      for (Future<Spec> pendingSpec : this.pendingSpecs) {
+        pendingSpec.cancel(true);
       }
+      this.pendingSpecs.clear();
     }
   }
 
@@ -127,6 +127,23 @@ public class BoundedBlockingRecordQueueTest {
         .getCount(), 8);
   }
 
+  @Test
+  public void testRingBufferQueue() throws InterruptedException {
+    BoundedBlockingRecordQueue<Integer> queue = BoundedBlockingRecordQueue.<Integer> newBuilder().hasCapacity(2)
+        .useTimeout(100).useQueueType(BoundedBlockingRecordQueue.QueueType.RING_BUFFER)
+        .useWaitStrategy(RingBufferBlockingQueue.WaitStrategy.PARK).collectStats().build();
+
+    Assert.assertTrue(queue.put(0));
+    Assert.assertTrue(queue.put(1));
+    Assert.assertFalse(queue.put(2));
+    Assert.assertEquals(queue.stats().get().fillRatio(), 1d);
+    Assert.assertEquals(queue.get(), Integer.valueOf(0));
+    Assert.assertEquals(queue.get(), Integer.valueOf(1));
+    Assert.assertNull(queue.get());
+    Assert.assertEquals(queue.stats().get().putAttemptCount(), 3);
+    Assert.assertEquals(queue.stats().get().getAttemptCount(), 3);
+  }
+
   @AfterClass
   public void tearDown() throws InterruptedException {
     this.boundedBlockingRecordQueue.clear();
@@ -0,0 +1,224 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.runtime;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.configuration.WorkUnitState;
+import org.apache.gobblin.metastore.FsStateStore;
+import org.apache.gobblin.metastore.IndexedStateFile;
+import org.apache.gobblin.metastore.predicates.StoreNamePredicate;
+import org.apache.gobblin.runtime.metastore.filesystem.DatasetStateLogEntryManager;
+import org.apache.gobblin.runtime.metastore.filesystem.FsDatasetStateStoreEntryManager;
+
+
+/**
+ * Unit tests for {@link DeltaFsDatasetStateStore}.
+ */
+@Test(groups = { "gobblin.runtime" })
+public class DeltaFsDatasetStateStoreTest {
+
+  private static final String TEST_JOB_NAME = "TestJob";
+  private static final String TEST_DATASET_URN_PREFIX = "TestDataset";
+  private static final String ROOT_DIR = DeltaFsDatasetStateStoreTest.class.getSimpleName();
+
+  private FileSystem fs;
+  private DeltaFsDatasetStateStore stateStore;
+
+  @BeforeClass
+  public void setUp() throws IOException {
+    this.fs = FileSystem.getLocal(new Configuration());
+    this.stateStore = createStateStore();
+
+    // clear data that may have been left behind by a prior test run
+    this.stateStore.delete(TEST_JOB_NAME);
+  }
+
+  @Test
+  public void testPersistChangedDatasetsOnly() throws IOException {
+    // Legacy state persisted by FsDatasetStateStore is picked up
+    new FsDatasetStateStore(this.fs, ROOT_DIR).persistDatasetState(TEST_DATASET_URN_PREFIX + 0,
+        createDatasetState(TEST_DATASET_URN_PREFIX + 0, "job_0", 10));
+
+    Map<String, JobState.DatasetState> datasetStates = this.stateStore.getLatestDatasetStatesByUrns(TEST_JOB_NAME);
+    Assert.assertEquals(datasetStates.size(), 1);
+    Assert.assertEquals(getWatermark(datasetStates.get(TEST_DATASET_URN_PREFIX + 0)), "10");
+
+    // Only the dataset whose watermark changed is written
+    this.stateStore.persistDatasetState(TEST_DATASET_URN_PREFIX + 0,
+        createDatasetState(TEST_DATASET_URN_PREFIX + 0, "job_1", 10));
+    this.stateStore.persistDatasetState(TEST_DATASET_URN_PREFIX + 1,
+        createDatasetState(TEST_DATASET_URN_PREFIX + 1, "job_1", 20));
+    Assert.assertEquals(countLogFiles(DeltaFsDatasetStateStore.DELTA_SEGMENT_PREFIX), 1);
+
+    this.stateStore.persistDatasetState(TEST_DATASET_URN_PREFIX + 1,
+        createDatasetState(TEST_DATASET_URN_PREFIX + 1, "job_2", 20));
+    this.stateStore.persistDatasetState(TEST_DATASET_URN_PREFIX + 0,
+        createDatasetState(TEST_DATASET_URN_PREFIX + 0, "job_2", 11));
+    Assert.assertEquals(countLogFiles(DeltaFsDatasetStateStore.DELTA_SEGMENT_PREFIX), 2);
+
+    Assert.assertEquals(getWatermark(this.stateStore.getLatestDatasetState(TEST_JOB_NAME, TEST_DATASET_URN_PREFIX + 0)),
+        "11");
+    Assert.assertEquals(getWatermark(this.stateStore.getLatestDatasetState(TEST_JOB_NAME, TEST_DATASET_URN_PREFIX + 1)),
+        "20");
+  }
+
+  @Test(dependsOnMethods = "testPersistChangedDatasetsOnly")
+  public void testCompactionOnRead() throws IOException {
+    // The dataset states persisted together are written to a single segment
+    Map<String, JobState.DatasetState> datasetStatesByUrns = Maps.newLinkedHashMap();
+    datasetStatesByUrns.put(TEST_DATASET_URN_PREFIX + 2, createDatasetState(TEST_DATASET_URN_PREFIX + 2, "job_3", 30));
+    datasetStatesByUrns.put(TEST_DATASET_URN_PREFIX + 1, createDatasetState(TEST_DATASET_URN_PREFIX + 1, "job_3", 21));
+    this.stateStore.persistDatasetStates(datasetStatesByUrns);
+    Assert.assertEquals(countLogFiles(DeltaFsDatasetStateStore.DELTA_SEGMENT_PREFIX), 3);
+
+    // Persisting a single dataset state never compacts
+    this.stateStore.persistDatasetState(TEST_DATASET_URN_PREFIX + 2,
+        createDatasetState(TEST_DATASET_URN_PREFIX + 2, "job_4", 31));
+    Assert.assertEquals(countLogFiles(DeltaFsDatasetStateStore.DELTA_SEGMENT_PREFIX), 4);
+    Assert.assertEquals(countLogFiles(DeltaFsDatasetStateStore.SNAPSHOT_PREFIX), 0);
+
+    // A new instance reads the segments and compacts them when a run starts
+    this.stateStore = createStateStore();
+    Map<String, JobState.DatasetState> datasetStates = this.stateStore.getLatestDatasetStatesByUrns(TEST_JOB_NAME);
+    Assert.assertEquals(countLogFiles(DeltaFsDatasetStateStore.DELTA_SEGMENT_PREFIX), 0);
+    Assert.assertEquals(countLogFiles(DeltaFsDatasetStateStore.SNAPSHOT_PREFIX), 1);
+    Assert.assertEquals(datasetStates.size(), 3);
+    Assert.assertEquals(getWatermark(datasetStates.get(TEST_DATASET_URN_PREFIX + 0)), "11");
+    Assert.assertEquals(getWatermark(datasetStates.get(TEST_DATASET_URN_PREFIX + 1)), "21");
+    Assert.assertEquals(getWatermark(datasetStates.get(TEST_DATASET_URN_PREFIX + 2)), "31");
+    Assert.assertEquals(datasetStates.get(TEST_DATASET_URN_PREFIX + 2).getJobId(), "job_4");
+  }
+
+  @Test(dependsOnMethods = "testCompactionOnRead")
+  public void testCompactionAfterPersist() throws IOException {
+    for (int i = 5; i < 8; i++) {
+      this.stateStore.persistDatasetStates(Collections.singletonMap(TEST_DATASET_URN_PREFIX + 0,
+          createDatasetState(TEST_DATASET_URN_PREFIX + 0, "job_" + i, i * 10)));
+    }
+    Assert.assertEquals(countLogFiles(DeltaFsDatasetStateStore.DELTA_SEGMENT_PREFIX), 3);
+
+    // The fourth segment triggers a compaction
+    this.stateStore.persistDatasetStates(Collections.singletonMap(TEST_DATASET_URN_PREFIX + 0,
+        createDatasetState(TEST_DATASET_URN_PREFIX + 0, "job_8", 80)));
+    Assert.assertEquals(countLogFiles(DeltaFsDatasetStateStore.DELTA_SEGMENT_PREFIX), 0);
+    Assert.assertEquals(countLogFiles(DeltaFsDatasetStateStore.SNAPSHOT_PREFIX), 1);
+
+    Map<String, JobState.DatasetState> datasetStates = createStateStore().getLatestDatasetStatesByUrns(TEST_JOB_NAME);
+    Assert.assertEquals(datasetStates.size(), 3);
+    Assert.assertEquals(getWatermark(datasetStates.get(TEST_DATASET_URN_PREFIX + 0)), "80");
+    Assert.assertEquals(getWatermark(datasetStates.get(TEST_DATASET_URN_PREFIX + 2)), "31");
+  }
+
+  @Test(dependsOnMethods = "testCompactionAfterPersist")
+  public void testGetMetadataForSupersededLogFiles() throws IOException {
+    // Leftovers of an earlier compaction and of a failed write
+    Path storePath = new Path(ROOT_DIR, TEST_JOB_NAME);
+    String oldKey = "0000000000000-0000000000-job_0";
+    IndexedStateFile.write(this.fs, new Path(storePath,
+        DeltaFsDatasetStateStore.SNAPSHOT_PREFIX + oldKey + DeltaFsDatasetStateStore.LOG_FILE_SUFFIX),
+        JobState.DatasetState.class,
+        Collections.singletonList(createDatasetState(TEST_DATASET_URN_PREFIX + 0, "job_0", 10)));
+    IndexedStateFile.write(this.fs, new Path(storePath, FsStateStore.TMP_FILE_PREFIX
+        + DeltaFsDatasetStateStore.DELTA_SEGMENT_PREFIX + oldKey + DeltaFsDatasetStateStore.LOG_FILE_SUFFIX),
+        JobState.DatasetState.class,
+        Collections.singletonList(createDatasetState(TEST_DATASET_URN_PREFIX + 0, "job_0", 10)));
+
+    Map<String, FsDatasetStateStoreEntryManager> logFileEntries = Maps.newHashMap();
+    for (FsDatasetStateStoreEntryManager entry : this.stateStore.getMetadataForTables(
+        new StoreNamePredicate(TEST_JOB_NAME, x -> true))) {
+      if (entry instanceof DatasetStateLogEntryManager) {
+        logFileEntries.put(entry.getSanitizedDatasetUrn(), entry);
+      }
+    }
+
+    // The live snapshot is not reported
+    Assert.assertEquals(logFileEntries.keySet(), ImmutableSet.of("_snapshot", "_tmp__delta"));
+    FsDatasetStateStoreEntryManager oldSnapshot = logFileEntries.get("_snapshot");
+    Assert.assertEquals(oldSnapshot.getStateId(), oldKey);
+    Assert.assertEquals(getWatermark(oldSnapshot.readState()), "10");
+
+    for (FsDatasetStateStoreEntryManager entry : logFileEntries.values()) {
+      entry.delete();
+    }
+    Assert.assertEquals(countLogFiles(DeltaFsDatasetStateStore.SNAPSHOT_PREFIX), 1);
+    Assert.assertEquals(countLogFiles(FsStateStore.TMP_FILE_PREFIX), 0);
+    Assert.assertEquals(getWatermark(this.stateStore.getLatestDatasetState(TEST_JOB_NAME, TEST_DATASET_URN_PREFIX + 0)),
+        "80");
+  }
+
+  private DeltaFsDatasetStateStore createStateStore() {
+    return new DeltaFsDatasetStateStore(this.fs, ROOT_DIR, ConfigFactory.empty()
+        .withValue(DeltaFsDatasetStateStore.MAX_DELTA_SEGMENTS_KEY, ConfigValueFactory.fromAnyRef(4)));
+  }
+
+  private JobState.DatasetState createDatasetState(String datasetUrn, String jobId, long watermark) {
+    JobState.DatasetState datasetState = new JobState.DatasetState(TEST_JOB_NAME, jobId);
+    datasetState.setDatasetUrn(datasetUrn);
+    datasetState.setId(datasetUrn);
+    datasetState.setState(JobState.RunningState.COMMITTED);
+    datasetState.setStartTime(System.currentTimeMillis());
+
+    TaskState taskState = new TaskState();
+    taskState.setJobId(jobId);
+    taskState.setTaskId(jobId + "_task");
+    taskState.setWorkingState(WorkUnitState.WorkingState.COMMITTED);
+    taskState.setProp(ConfigurationKeys.WORK_UNIT_STATE_ACTUAL_HIGH_WATER_MARK_KEY, Long.toString(watermark));
+    datasetState.addTaskState(taskState);
+    return datasetState;
+  }
+
+  private static String getWatermark(JobState.DatasetState datasetState) {
+    return datasetState.getTaskStates().get(0).getProp(ConfigurationKeys.WORK_UNIT_STATE_ACTUAL_HIGH_WATER_MARK_KEY);
+  }
+
+  private int countLogFiles(String prefix) throws IOException {
+    int count = 0;
+    for (FileStatus status : this.fs.listStatus(new Path(ROOT_DIR, TEST_JOB_NAME))) {
+      if (status.getPath().getName().startsWith(prefix)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @AfterClass
+  public void tearDown() throws IOException {
+    Path rootDir = new Path(ROOT_DIR);
+    if (this.fs.exists(rootDir)) {
+      this.fs.delete(rootDir, true);
+    }
+  }
+}
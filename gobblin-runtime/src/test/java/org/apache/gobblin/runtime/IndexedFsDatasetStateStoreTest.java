@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.runtime;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Predicates;
+import com.google.common.io.Files;
+
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.configuration.WorkUnitState;
+import org.apache.gobblin.metastore.IndexedStateFile;
+
+
+/**
+ * Unit tests for {@link IndexedFsDatasetStateStore} and for migrating a state store from "fs" to "indexedFs" with
+ * {@link StateStoreMigrationCli}.
+ */
+@Test(groups = { "gobblin.runtime" })
+public class IndexedFsDatasetStateStoreTest {
+
+  private static final String TEST_JOB_NAME = "TestJob";
+  private static final String TEST_JOB_ID = "TestJob1";
+  private static final String TEST_TASK_ID_PREFIX = "TestTask-";
+  private static final String TEST_DATASET_URN_PREFIX = "TestDataset";
+
+  private File tmpDir;
+  private FileSystem fs;
+
+  @BeforeClass
+  public void setUp() throws IOException {
+    this.tmpDir = Files.createTempDir();
+    this.fs = FileSystem.getLocal(new Configuration());
+  }
+
+  @Test
+  public void testGetLatestDatasetStates() throws IOException {
+    String rootDir = new File(this.tmpDir, "indexed").getAbsolutePath();
+    IndexedFsDatasetStateStore store = new IndexedFsDatasetStateStore(this.fs, rootDir);
+    persistDatasetStates(store, 2);
+
+    assertDatasetStates(store, 2);
+    for (String tableName : store.getTableNames(TEST_JOB_NAME, Predicates.alwaysTrue())) {
+      try (IndexedStateFile.Reader reader =
+          IndexedStateFile.openIfIndexed(this.fs, new Path(new Path(rootDir, TEST_JOB_NAME), tableName))) {
+        Assert.assertNotNull(reader, "Table " + tableName + " is not in the indexed format");
+      }
+    }
+  }
+
+  @Test
+  public void testReadLegacyTables() throws IOException {
+    String rootDir = new File(this.tmpDir, "legacy").getAbsolutePath();
+    persistDatasetStates(new FsDatasetStateStore(this.fs, rootDir), 2);
+
+    IndexedFsDatasetStateStore store = new IndexedFsDatasetStateStore(this.fs, rootDir);
+    for (String tableName : store.getTableNames(TEST_JOB_NAME, Predicates.alwaysTrue())) {
+      Assert.assertNull(IndexedStateFile.openIfIndexed(this.fs, new Path(new Path(rootDir, TEST_JOB_NAME), tableName)),
+          "Table " + tableName + " is not a SequenceFile");
+    }
+    assertDatasetStates(store, 2);
+  }
+
+  @Test
+  public void testMigrateFromFs() throws Exception {
+    String srcRootDir = new File(this.tmpDir, "migrationSource").getAbsolutePath();
+    String dstRootDir = new File(this.tmpDir, "migrationDestination").getAbsolutePath();
+    FsDatasetStateStore srcStore = new FsDatasetStateStore(this.fs, srcRootDir);
+    persistDatasetStates(srcStore, 3);
+
+    File configFile = new File(this.tmpDir, "migration.conf");
+    Files.write(Joiner.on('\n').join(
+        "source." + ConfigurationKeys.STATE_STORE_TYPE_KEY + "=fs",
+        "source." + ConfigurationKeys.STATE_STORE_ROOT_DIR_KEY + "=\"" + srcRootDir + "\"",
+        "destination." + ConfigurationKeys.STATE_STORE_TYPE_KEY + "=indexedFs",
+        "destination." + ConfigurationKeys.STATE_STORE_ROOT_DIR_KEY + "=\"" + dstRootDir + "\"",
+        "jobName=" + TEST_JOB_NAME,
+        "migrateAllTables=true"), configFile, StandardCharsets.UTF_8);
+    new StateStoreMigrationCli().run(new String[]{"stateMigration", configFile.getAbsolutePath()});
+
+    IndexedFsDatasetStateStore dstStore = new IndexedFsDatasetStateStore(this.fs, dstRootDir);
+    List<String> srcTableNames = srcStore.getTableNames(TEST_JOB_NAME, Predicates.alwaysTrue());
+    List<String> dstTableNames = dstStore.getTableNames(TEST_JOB_NAME, Predicates.alwaysTrue());
+    Collections.sort(srcTableNames);
+    Collections.sort(dstTableNames);
+    Assert.assertEquals(dstTableNames, srcTableNames);
+
+    for (String tableName : dstTableNames) {
+      try (IndexedStateFile.Reader reader =
+          IndexedStateFile.openIfIndexed(this.fs, new Path(new Path(dstRootDir, TEST_JOB_NAME), tableName))) {
+        Assert.assertNotNull(reader, "Table " + tableName + " was not migrated to the indexed format");
+      }
+    }
+    assertDatasetStates(dstStore, 3);
+    // The source is kept unless it is asked to be deleted
+    assertDatasetStates(srcStore, 3);
+  }
+
+  private void persistDatasetStates(FsDatasetStateStore store, int datasets) throws IOException {
+    for (int d = 0; d < datasets; d++) {
+      String datasetUrn = TEST_DATASET_URN_PREFIX + d;
+      JobState.DatasetState datasetState = new JobState.DatasetState(TEST_JOB_NAME, TEST_JOB_ID);
+      datasetState.setDatasetUrn(datasetUrn);
+      datasetState.setId(datasetUrn);
+      datasetState.setState(JobState.RunningState.COMMITTED);
+
+      for (int i = 0; i < 3; i++) {
+        TaskState taskState = new TaskState();
+        taskState.setJobId(TEST_JOB_ID);
+        taskState.setTaskId(TEST_TASK_ID_PREFIX + i);
+        taskState.setId(TEST_TASK_ID_PREFIX + i);
+        taskState.setWorkingState(WorkUnitState.WorkingState.COMMITTED);
+        taskState.setProp("dataset", datasetUrn);
+        datasetState.addTaskState(taskState);
+      }
+
+      store.persistDatasetState(datasetUrn, datasetState);
+    }
+  }
+
+  private static void assertDatasetStates(FsDatasetStateStore store, int datasets) throws IOException {
+    Map<String, JobState.DatasetState> datasetStatesByUrns = store.getLatestDatasetStatesByUrns(TEST_JOB_NAME);
+    Assert.assertEquals(datasetStatesByUrns.size(), datasets);
+
+    for (int d = 0; d < datasets; d++) {
+      String datasetUrn = TEST_DATASET_URN_PREFIX + d;
+      assertDatasetState(datasetStatesByUrns.get(datasetUrn), datasetUrn);
+      assertDatasetState(store.getLatestDatasetState(TEST_JOB_NAME, datasetUrn), datasetUrn);
+    }
+  }
+
+  private static void assertDatasetState(JobState.DatasetState datasetState, String datasetUrn) {
+    Assert.assertNotNull(datasetState, "Missing dataset state for " + datasetUrn);
+    Assert.assertEquals(datasetState.getDatasetUrn(), datasetUrn);
+    Assert.assertEquals(datasetState.getJobName(), TEST_JOB_NAME);
+    Assert.assertEquals(datasetState.getJobId(), TEST_JOB_ID);
+    Assert.assertEquals(datasetState.getState(), JobState.RunningState.COMMITTED);
+    Assert.assertEquals(datasetState.getCompletedTasks(), 3);
+    for (int i = 0; i < datasetState.getCompletedTasks(); i++) {
+      TaskState taskState = datasetState.getTaskStates().get(i);
+      Assert.assertEquals(taskState.getTaskId(), TEST_TASK_ID_PREFIX + i);
+      Assert.assertEquals(taskState.getProp("dataset"), datasetUrn);
+    }
+  }
+
+  @AfterClass
+  public void tearDown() throws IOException {
+    this.fs.delete(new Path(this.tmpDir.getAbsolutePath()), true);
+  }
+}
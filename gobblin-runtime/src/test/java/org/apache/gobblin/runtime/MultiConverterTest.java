@@ -83,6 +83,22 @@ public class MultiConverterTest {
     }
   }
 
+  @Test
+  public void testBatchConversion() throws Exception {
+    MultiConverter multiConverter =
+        new MultiConverter(Lists.newArrayList(new SchemaSimplificationConverter(), new MultiIdentityConverter(2),
+            new OneOrEmptyConverter(1), new TestConverter()));
+    WorkUnitState workUnitState = new WorkUnitState();
+
+    Schema schema = (Schema) multiConverter.convertSchema(TEST_SCHEMA, workUnitState);
+    List<Object> convertedRecords = multiConverter.convertRecordBatch(schema,
+        Lists.<Object>newArrayList(TEST_RECORD, TEST_RECORD, TEST_RECORD), workUnitState);
+    Assert.assertEquals(convertedRecords.size(), 6);
+    for (Object record : convertedRecords) {
+      checkConvertedAvroData(schema, (GenericRecord) record);
+    }
+  }
+
   /**
    * Combines {@link MultiIdentityConverter()} with {@link AlternatingConverter()}
    * @throws Exception
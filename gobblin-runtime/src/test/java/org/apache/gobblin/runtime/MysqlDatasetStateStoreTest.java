@@ -19,6 +19,7 @@ package org.apache.gobblin.runtime;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
@@ -29,6 +30,8 @@ import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
 import com.google.common.base.Predicates;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
 import org.apache.gobblin.config.ConfigBuilder;
 import org.apache.gobblin.configuration.ConfigurationKeys;
@@ -51,6 +54,7 @@ public class MysqlDatasetStateStoreTest {
   private static final String TEST_JOB_NAME = "TestJob";
   private static final String TEST_JOB_NAME_LOWER = "testjob";
   private static final String TEST_JOB_NAME2 = "TestJob2";
+  private static final String TEST_JOB_NAME3 = "TestJob3";
   private static final String TEST_JOB_ID = "TestJob1";
   private static final String TEST_TASK_ID_PREFIX = "TestTask-";
   private static final String TEST_DATASET_URN = "TestDataset";
@@ -60,6 +64,7 @@ public class MysqlDatasetStateStoreTest {
   private StateStore<JobState> dbJobStateStore;
   private DatasetStateStore<JobState.DatasetState> dbDatasetStateStore;
   private long startTime = System.currentTimeMillis();
+  private BasicDataSource mySqlDs;
 
   private ITestMetastoreDatabase testMetastoreDatabase;
   private static final String TEST_USER = "testUser";
@@ -70,7 +75,7 @@ public class MysqlDatasetStateStoreTest {
     testMetastoreDatabase = TestMetastoreDatabaseFactory.get();
     String jdbcUrl = testMetastoreDatabase.getJdbcUrl();
     ConfigBuilder configBuilder = ConfigBuilder.create();
-    BasicDataSource mySqlDs = new BasicDataSource();
+    mySqlDs = new BasicDataSource();
 
     mySqlDs.setDriverClassName(ConfigurationKeys.DEFAULT_STATE_STORE_DB_JDBC_DRIVER);
     mySqlDs.setDefaultAutoCommit(false);
@@ -96,6 +101,8 @@ public class MysqlDatasetStateStoreTest {
     dbDatasetStateStore.delete(TEST_JOB_NAME);
     dbJobStateStore.delete(TEST_JOB_NAME2);
     dbDatasetStateStore.delete(TEST_JOB_NAME2);
+    dbJobStateStore.delete(TEST_JOB_NAME3);
+    dbDatasetStateStore.delete(TEST_JOB_NAME3);
   }
 
   @Test
@@ -322,6 +329,76 @@ public class MysqlDatasetStateStoreTest {
     Assert.assertNull(datasetState);
   }
 
+  @Test(dependsOnMethods = "testGetPreviousDatasetStatesByUrns")
+  public void testBatchedPutAndIterateAll() throws IOException {
+    StateStore<JobState> batchedStateStore = new MysqlStateStore<>(mySqlDs, TEST_STATE_STORE, true, JobState.class,
+        ConfigBuilder.create()
+            .addPrimitive(ConfigurationKeys.STATE_STORE_DB_BATCH_SIZE_KEY, 2)
+            .addPrimitive(ConfigurationKeys.STATE_STORE_DB_DESERIALIZATION_THREADS_KEY, 3)
+            .build());
+
+    // 5 tables are written in 3 batches
+    Map<String, List<JobState>> statesByTable = Maps.newLinkedHashMap();
+    for (int i = 0; i < 5; i++) {
+      List<JobState> jobStates = Lists.newArrayList();
+      for (int j = 0; j < 4; j++) {
+        JobState jobState = new JobState(TEST_JOB_NAME3, TEST_JOB_ID + "-" + i + "-" + j);
+        jobState.setId(TEST_JOB_ID + "-" + i + "-" + j);
+        jobStates.add(jobState);
+      }
+      statesByTable.put("table" + i + MysqlDatasetStateStore.DATASET_STATE_STORE_TABLE_SUFFIX, jobStates);
+    }
+    batchedStateStore.putAll(TEST_JOB_NAME3, statesByTable);
+
+    for (Map.Entry<String, List<JobState>> entry : statesByTable.entrySet()) {
+      List<JobState> expectedStates = entry.getValue();
+      Iterator<JobState> iterator = batchedStateStore.iterateAll(TEST_JOB_NAME3, entry.getKey());
+      for (JobState expected : expectedStates) {
+        Assert.assertTrue(iterator.hasNext());
+        Assert.assertEquals(iterator.next().getJobId(), expected.getJobId());
+      }
+      Assert.assertFalse(iterator.hasNext());
+    }
+
+    // all rows are deserialized in parallel and returned in row order
+    List<JobState> allStates = batchedStateStore.getAll(TEST_JOB_NAME3);
+    Assert.assertEquals(allStates.size(), 20);
+    for (int i = 0; i < 5; i++) {
+      Assert.assertEquals(allStates.get(i * 4).getJobId(), TEST_JOB_ID + "-" + i + "-0");
+    }
+
+    Assert.assertFalse(batchedStateStore.iterateAll(TEST_JOB_NAME3, "missing").hasNext());
+
+    batchedStateStore.delete(TEST_JOB_NAME3);
+  }
+
+  @Test(dependsOnMethods = "testBatchedPutAndIterateAll")
+  public void testPersistDatasetStatesInBatch() throws IOException {
+    Map<String, JobState.DatasetState> datasetStatesByUrns = Maps.newLinkedHashMap();
+    for (String datasetUrn : new String[] { TEST_DATASET_URN, TEST_DATASET_URN2 }) {
+      JobState.DatasetState datasetState = new JobState.DatasetState(TEST_JOB_NAME3, TEST_JOB_ID);
+      datasetState.setDatasetUrn(datasetUrn);
+      datasetState.setId(datasetUrn);
+      datasetState.setState(JobState.RunningState.COMMITTED);
+      datasetStatesByUrns.put(datasetUrn, datasetState);
+    }
+    dbDatasetStateStore.persistDatasetStates(datasetStatesByUrns);
+
+    // both the job id tables and the current tables are written
+    Assert.assertTrue(dbDatasetStateStore.exists(TEST_JOB_NAME3,
+        TEST_DATASET_URN + "-" + TEST_JOB_ID + MysqlDatasetStateStore.DATASET_STATE_STORE_TABLE_SUFFIX));
+    Assert.assertTrue(dbDatasetStateStore.exists(TEST_JOB_NAME3,
+        TEST_DATASET_URN2 + "-" + TEST_JOB_ID + MysqlDatasetStateStore.DATASET_STATE_STORE_TABLE_SUFFIX));
+
+    Map<String, JobState.DatasetState> latestDatasetStates =
+        dbDatasetStateStore.getLatestDatasetStatesByUrns(TEST_JOB_NAME3);
+    Assert.assertEquals(latestDatasetStates.size(), 2);
+    Assert.assertEquals(latestDatasetStates.get(TEST_DATASET_URN).getJobId(), TEST_JOB_ID);
+    Assert.assertEquals(latestDatasetStates.get(TEST_DATASET_URN2).getState(), JobState.RunningState.COMMITTED);
+
+    dbDatasetStateStore.delete(TEST_JOB_NAME3);
+  }
+
   @AfterClass
   public void tearDown() throws IOException {
     dbJobStateStore.delete(TEST_JOB_NAME);
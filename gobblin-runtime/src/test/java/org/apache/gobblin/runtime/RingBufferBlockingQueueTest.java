@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.runtime;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.Lists;
+
+
+/**
+ * Unit tests for {@link RingBufferBlockingQueue}.
+ */
+@Test(groups = { "gobblin.runtime" })
+public class RingBufferBlockingQueueTest {
+
+  @Test
+  public void testOfferAndPoll() {
+    RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(3, RingBufferBlockingQueue.WaitStrategy.SPIN);
+    Assert.assertNull(queue.poll());
+    Assert.assertNull(queue.peek());
+
+    // Go around the ring a few times to exercise wrapping
+    for (int lap = 0; lap < 3; lap++) {
+      Assert.assertTrue(queue.offer(1));
+      Assert.assertTrue(queue.offer(2));
+      Assert.assertTrue(queue.offer(3));
+      Assert.assertFalse(queue.offer(4));
+      Assert.assertEquals(queue.size(), 3);
+      Assert.assertEquals(queue.remainingCapacity(), 0);
+      Assert.assertEquals(queue.peek(), Integer.valueOf(1));
+
+      Assert.assertEquals(queue.poll(), Integer.valueOf(1));
+      Assert.assertEquals(queue.poll(), Integer.valueOf(2));
+      Assert.assertEquals(queue.poll(), Integer.valueOf(3));
+      Assert.assertNull(queue.poll());
+      Assert.assertTrue(queue.isEmpty());
+    }
+  }
+
+  @Test
+  public void testTimeouts() throws InterruptedException {
+    RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(1, RingBufferBlockingQueue.WaitStrategy.PARK);
+    Assert.assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+    Assert.assertTrue(queue.offer(1, 10, TimeUnit.MILLISECONDS));
+    Assert.assertFalse(queue.offer(2, 10, TimeUnit.MILLISECONDS));
+    Assert.assertEquals(queue.poll(10, TimeUnit.MILLISECONDS), Integer.valueOf(1));
+  }
+
+  @Test
+  public void testDrainToAndClear() {
+    RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(4, RingBufferBlockingQueue.WaitStrategy.YIELD);
+    for (int i = 0; i < 4; i++) {
+      queue.offer(i);
+    }
+    List<Integer> drained = Lists.newArrayList();
+    Assert.assertEquals(queue.drainTo(drained, 2), 2);
+    Assert.assertEquals(drained, Lists.newArrayList(0, 1));
+    queue.clear();
+    Assert.assertTrue(queue.isEmpty());
+  }
+
+  @Test
+  public void testIteration() {
+    RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(3, RingBufferBlockingQueue.WaitStrategy.SPIN);
+    Assert.assertFalse(queue.iterator().hasNext());
+    Assert.assertEquals(queue.toString(), "[]");
+
+    // Wrap around the ring so that the elements are not stored from the first slot
+    queue.offer(0);
+    queue.offer(1);
+    queue.poll();
+    queue.offer(2);
+    queue.offer(3);
+
+    Assert.assertEquals(Lists.newArrayList(queue.iterator()), Lists.newArrayList(1, 2, 3));
+    Assert.assertEquals(queue.toArray(), new Object[]{1, 2, 3});
+    Assert.assertEquals(queue.toArray(new Integer[0]), new Integer[]{1, 2, 3});
+    Assert.assertEquals(queue.toString(), "[1, 2, 3]");
+    Assert.assertTrue(queue.contains(2));
+    Assert.assertFalse(queue.contains(0));
+    Assert.assertTrue(queue.containsAll(Lists.newArrayList(1, 3)));
+    Assert.assertFalse(queue.remove(4));
+
+    // The iterator is a snapshot, so it is not affected by later polls
+    Iterator<Integer> iterator = queue.iterator();
+    queue.poll();
+    Assert.assertEquals(iterator.next(), Integer.valueOf(1));
+    Assert.assertEquals(Lists.newArrayList(queue.iterator()), Lists.newArrayList(2, 3));
+  }
+
+  @Test(expectedExceptions = UnsupportedOperationException.class)
+  public void testIteratorRemove() {
+    RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(3, RingBufferBlockingQueue.WaitStrategy.SPIN);
+    queue.offer(1);
+    queue.remove(1);
+  }
+
+  @Test
+  public void testMultipleProducers() throws InterruptedException {
+    final int producers = 4;
+    final int recordsPerProducer = 10000;
+    final RingBufferBlockingQueue<Integer> queue =
+        new RingBufferBlockingQueue<>(16, RingBufferBlockingQueue.WaitStrategy.YIELD);
+
+    List<Thread> threads = Lists.newArrayList();
+    for (int p = 0; p < producers; p++) {
+      Thread producer = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            for (int i = 0; i < recordsPerProducer; i++) {
+              queue.put(i);
+            }
+          } catch (InterruptedException ie) {
+            throw new RuntimeException(ie);
+          }
+        }
+      });
+      threads.add(producer);
+      producer.start();
+    }
+
+    long sum = 0;
+    for (int i = 0; i < producers * recordsPerProducer; i++) {
+      sum += queue.take();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    Assert.assertEquals(sum, (long) producers * recordsPerProducer * (recordsPerProducer - 1) / 2);
+    Assert.assertTrue(queue.isEmpty());
+  }
+}
@@ -93,9 +93,14 @@ public class TaskTest {
     State streamStateOverrides = new State();
     streamStateOverrides.setProp(ConfigurationKeys.TASK_SYNCHRONOUS_EXECUTION_MODEL_KEY, false);
 
+    State batchedStateOverrides = new State();
+    batchedStateOverrides.setProp(ConfigurationKeys.TASK_SYNCHRONOUS_EXECUTION_MODEL_KEY, true);
+    batchedStateOverrides.setProp(TaskConfigurationKeys.TASK_RECORD_BATCH_SIZE, 4);
+
     return new Object[][] {
         { synchronousStateOverrides },
-        { streamStateOverrides }
+        { streamStateOverrides },
+        { batchedStateOverrides }
     };
   }
 
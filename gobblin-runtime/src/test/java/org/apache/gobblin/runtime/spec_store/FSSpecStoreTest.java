@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.runtime.spec_store;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.SerializationUtils;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.io.Files;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+
+import org.apache.gobblin.configuration.ConfigurationKeys;
+import org.apache.gobblin.runtime.api.FlowSpec;
+import org.apache.gobblin.runtime.api.Spec;
+import org.apache.gobblin.runtime.api.SpecSerDe;
+
+
+public class FSSpecStoreTest {
+
+  private static final SpecSerDe SERDE = new SpecSerDe() {
+    @Override
+    public byte[] serialize(Spec spec) {
+      return SerializationUtils.serialize(spec);
+    }
+
+    @Override
+    public Spec deserialize(byte[] spec) {
+      return SerializationUtils.deserialize(spec);
+    }
+  };
+
+  private File specStoreDir;
+
+  @BeforeMethod
+  public void setUp() {
+    this.specStoreDir = Files.createTempDir();
+  }
+
+  @AfterMethod
+  public void tearDown() throws IOException {
+    FileUtils.deleteDirectory(this.specStoreDir);
+  }
+
+  private FSSpecStore createSpecStore(int threads) throws IOException {
+    Config config = ConfigFactory.parseMap(ImmutableMap.of(
+        ConfigurationKeys.SPECSTORE_FS_DIR_KEY, this.specStoreDir.getAbsolutePath(),
+        FSSpecStore.DESERIALIZATION_THREADS_KEY, threads));
+    return new FSSpecStore(config, SERDE);
+  }
+
+  private Set<URI> addSpecs(FSSpecStore specStore, int numSpecs) throws Exception {
+    Set<URI> uris = new HashSet<>();
+    for (int i = 0; i < numSpecs; i++) {
+      URI uri = new URI("group" + (i % 5) + "/flow" + i);
+      specStore.addSpec(FlowSpec.builder(uri).withConfig(ConfigFactory.empty()).withDescription("flow" + i)
+          .withVersion(FlowSpec.Builder.DEFAULT_VERSION).build());
+      uris.add(uri);
+    }
+    return uris;
+  }
+
+  @Test
+  public void testSpecIterator() throws Exception {
+    FSSpecStore specStore = createSpecStore(3);
+    Set<URI> uris = addSpecs(specStore, 50);
+
+    Set<URI> iterated = new HashSet<>();
+    Iterator<Spec> specIterator = specStore.getSpecIterator();
+    while (specIterator.hasNext()) {
+      Assert.assertTrue(iterated.add(specIterator.next().getUri()));
+    }
+    Assert.assertEquals(iterated, uris);
+    Assert.assertFalse(specIterator.hasNext());
+
+    Assert.assertEquals(specStore.getSpecs().size(), 50);
+    Assert.assertEquals(createSpecStore(1).getSpecs().size(), 50);
+  }
+
+  @Test
+  public void testEmptyStore() throws Exception {
+    FSSpecStore specStore = createSpecStore(2);
+    Assert.assertFalse(specStore.getSpecIterator().hasNext());
+    Assert.assertTrue(specStore.getSpecs().isEmpty());
+  }
+
+  @Test(expectedExceptions = IOException.class)
+  public void testCorruptSpec() throws Exception {
+    FSSpecStore specStore = createSpecStore(2);
+    addSpecs(specStore, 10);
+    Files.write(new byte[] {1, 2, 3}, new File(this.specStoreDir, "corrupt"));
+    specStore.getSpecs();
+  }
+}
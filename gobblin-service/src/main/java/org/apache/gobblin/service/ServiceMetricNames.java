@@ -31,4 +31,7 @@ public class ServiceMetricNames {
 
   //Job status poll timer
   public static final String JOB_STATUS_POLLED_TIMER = GOBBLIN_SERVICE_PREFIX + "jobStatusPoll.time";
+
+  //Time from the end of a job to the submission of the jobs depending on it
+  public static final String DAG_HOP_SCHEDULING_TIMER = GOBBLIN_SERVICE_PREFIX + "dagHopScheduling.time";
 }
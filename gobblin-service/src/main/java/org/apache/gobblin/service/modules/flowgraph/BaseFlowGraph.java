@@ -27,6 +27,8 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.apache.gobblin.annotation.Alpha;
 import org.apache.gobblin.runtime.api.FlowSpec;
 import org.apache.gobblin.service.modules.flow.FlowGraphPath;
+import org.apache.gobblin.service.modules.flowgraph.pathfinder.AbstractPathFinder;
+import org.apache.gobblin.service.modules.flowgraph.pathfinder.FlowGraphPathCache;
 import org.apache.gobblin.service.modules.flowgraph.pathfinder.PathFinder;
 import org.apache.gobblin.util.ConfigUtils;
 import org.apache.gobblin.util.reflection.GobblinConstructorUtils;
@@ -39,6 +41,7 @@ import lombok.extern.slf4j.Slf4j;
  *   <p>dataNodeMap - the mapping from a node identifier to the {@link DataNode} instance</p>
  *   <p>nodesToEdges - the mapping from each {@link DataNode} to its outgoing {@link FlowEdge}s</p>
  *   <p>flowEdgeMap - the mapping from a edge label to the {@link FlowEdge} instance</p>
+ *   <p>pathCache - the paths computed for flows that set {@link FlowGraphConfigurationKeys#FLOW_GRAPH_PATH_CACHE_ENABLED}</p>
  *
  *   Read/Write Access to the {@link FlowGraph} is synchronized via a {@link ReentrantReadWriteLock}.
  */
@@ -50,6 +53,8 @@ public class BaseFlowGraph implements FlowGraph {
   private Map<DataNode, Set<FlowEdge>> nodesToEdges = new HashMap<>();
   private Map<String, DataNode> dataNodeMap = new HashMap<>();
   private Map<String, FlowEdge> flowEdgeMap = new HashMap<>();
+  //Paths computed for flows that enable the path cache. Invalidated on every change to the graph.
+  private final FlowGraphPathCache pathCache = new FlowGraphPathCache();
 
   /**
    * Lookup a node by its identifier.
@@ -76,6 +81,7 @@ public class BaseFlowGraph implements FlowGraph {
       Set<FlowEdge> edges = this.nodesToEdges.getOrDefault(node, new HashSet<>());
       this.nodesToEdges.put(node, edges);
       this.dataNodeMap.put(node.getId(), node);
+      this.pathCache.invalidateAll();
     } finally {
       rwLock.writeLock().unlock();
     }
@@ -110,6 +116,7 @@ public class BaseFlowGraph implements FlowGraph {
       this.nodesToEdges.put(dataNode, adjacentEdges);
       String edgeId = edge.getId();
       this.flowEdgeMap.put(edgeId, edge);
+      this.pathCache.invalidateAll();
       return true;
     } finally {
       rwLock.writeLock().unlock();
@@ -151,6 +158,7 @@ public class BaseFlowGraph implements FlowGraph {
         flowEdgeMap.remove(edge.getId());
       }
       nodesToEdges.remove(node);
+      this.pathCache.invalidateAll();
       return true;
 
     } finally {
@@ -191,6 +199,7 @@ public class BaseFlowGraph implements FlowGraph {
       }
       this.nodesToEdges.get(node).remove(edge);
       this.flowEdgeMap.remove(edge.getId());
+      this.pathCache.invalidateAll();
       return true;
     } finally {
       rwLock.writeLock().unlock();
@@ -239,6 +248,10 @@ public class BaseFlowGraph implements FlowGraph {
               FlowGraphConfigurationKeys.DEFAULT_FLOW_GRAPH_PATH_FINDER_CLASS));
       PathFinder pathFinder =
           (PathFinder) GobblinConstructorUtils.invokeLongestConstructor(pathFinderClass, this, flowSpec);
+      if (pathFinder instanceof AbstractPathFinder && ConfigUtils.getBoolean(flowSpec.getConfig(),
+          FlowGraphConfigurationKeys.FLOW_GRAPH_PATH_CACHE_ENABLED, FlowGraphConfigurationKeys.DEFAULT_FLOW_GRAPH_PATH_CACHE_ENABLED)) {
+        ((AbstractPathFinder) pathFinder).setPathCache(this.pathCache);
+      }
       return pathFinder.findPath();
     } finally {
       rwLock.readLock().unlock();
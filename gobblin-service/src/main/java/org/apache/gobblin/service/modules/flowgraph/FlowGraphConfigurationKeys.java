@@ -42,10 +42,14 @@ public class FlowGraphConfigurationKeys {
   public static final String FLOW_EDGE_TEMPLATE_DIR_URI_KEY = FLOW_EDGE_PREFIX + "flowTemplateDirUri";
   public static final String FLOW_EDGE_SPEC_EXECUTORS_KEY = FLOW_EDGE_PREFIX + "specExecutors";
   public static final String FLOW_EDGE_SPEC_EXECUTOR_CLASS_KEY = "specExecInstance.class";
+  public static final String FLOW_EDGE_COST_KEY = FLOW_EDGE_PREFIX + "cost";
+  public static final double DEFAULT_FLOW_EDGE_COST = 1.0;
 
   /**
    * {@link org.apache.gobblin.service.modules.flowgraph.pathfinder.PathFinder} related configuration keys.
    */
   public static final String FLOW_GRAPH_PATH_FINDER_CLASS = FLOW_GRAPH_PREFIX + "pathfinder.class";
   public static final String DEFAULT_FLOW_GRAPH_PATH_FINDER_CLASS = "org.apache.gobblin.service.modules.flowgraph.pathfinder.BFSPathFinder";
+  public static final String FLOW_GRAPH_PATH_CACHE_ENABLED = FLOW_GRAPH_PREFIX + "pathCache.enabled";
+  public static final boolean DEFAULT_FLOW_GRAPH_PATH_CACHE_ENABLED = false;
 }
@@ -19,6 +19,8 @@ package org.apache.gobblin.service.modules.flowgraph.pathfinder;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -27,6 +29,7 @@ import java.util.concurrent.ExecutionException;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.lang3.tuple.Triple;
 
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
@@ -75,6 +78,14 @@ public abstract class AbstractPathFinder implements PathFinder {
   //Maintain path of FlowEdges as parent-child map
   Map<FlowEdgeContext, FlowEdgeContext> pathMap;
 
+  //Per-search memoization of edge resolution, keyed by FlowEdge id
+  private final Map<String, Config> mergedConfigs = new HashMap<>();
+  private final Map<String, List<Pair<DatasetDescriptor, DatasetDescriptor>>> resolvingDatasetDescriptors = new HashMap<>();
+  //Per-search memoization of node expansions
+  private final Map<Triple<String, DatasetDescriptor, DatasetDescriptor>, List<FlowEdgeContext>> nextEdges = new HashMap<>();
+
+  private FlowGraphPathCache pathCache;
+
   //Flow Execution Id
   protected Long flowExecutionId;
   protected FlowSpec flowSpec;
@@ -161,7 +172,9 @@ public abstract class AbstractPathFinder implements PathFinder {
 
   /**
    * A helper method that sorts the {@link FlowEdge}s incident on srcNode based on whether the FlowEdge has an
-   * output {@link DatasetDescriptor} that is compatible with the targetDatasetDescriptor.
+   * output {@link DatasetDescriptor} that is compatible with the targetDatasetDescriptor. The result is memoized per
+   * {@link DataNode} and current {@link DatasetDescriptor}, since a node is typically expanded several times with the
+   * same descriptor during a search.
    * @param dataNode the {@link DataNode} to be expanded for determining candidate edges.
    * @param currentDatasetDescriptor Output {@link DatasetDescriptor} of the current edge.
    * @param destDatasetDescriptor Target {@link DatasetDescriptor}.
@@ -169,56 +182,90 @@ public abstract class AbstractPathFinder implements PathFinder {
    */
   List<FlowEdgeContext> getNextEdges(DataNode dataNode, DatasetDescriptor currentDatasetDescriptor,
       DatasetDescriptor destDatasetDescriptor) {
-    List<FlowEdgeContext> prioritizedEdgeList = new LinkedList<>();
-    for (FlowEdge flowEdge : this.flowGraph.getEdges(dataNode)) {
-      try {
-        DataNode edgeDestination = this.flowGraph.getNode(flowEdge.getDest());
-        //Base condition: Skip this FLowEdge, if it is inactive or if the destination of this edge is inactive.
-        if (!edgeDestination.isActive() || !flowEdge.isActive()) {
-          continue;
-        }
+    Triple<String, DatasetDescriptor, DatasetDescriptor> key =
+        Triple.of(dataNode.getId(), currentDatasetDescriptor, destDatasetDescriptor);
+    List<FlowEdgeContext> prioritizedEdgeList = this.nextEdges.get(key);
+    if (prioritizedEdgeList == null) {
+      prioritizedEdgeList = new LinkedList<>();
+      for (FlowEdge flowEdge : this.flowGraph.getEdges(dataNode)) {
+        addEdgeContexts(flowEdge, currentDatasetDescriptor, destDatasetDescriptor, prioritizedEdgeList);
+      }
+      this.nextEdges.put(key, prioritizedEdgeList);
+    }
+    return new LinkedList<>(prioritizedEdgeList);
+  }
 
-        boolean foundExecutor = false;
-        //Iterate over all executors for this edge. Find the first one that resolves the underlying flow template.
-        for (SpecExecutor specExecutor : flowEdge.getExecutors()) {
-          Config mergedConfig = getMergedConfig(flowEdge);
-          List<Pair<DatasetDescriptor, DatasetDescriptor>> datasetDescriptorPairs =
-              flowEdge.getFlowTemplate().getResolvingDatasetDescriptors(mergedConfig);
-          for (Pair<DatasetDescriptor, DatasetDescriptor> datasetDescriptorPair : datasetDescriptorPairs) {
-            DatasetDescriptor inputDatasetDescriptor = datasetDescriptorPair.getLeft();
-            DatasetDescriptor outputDatasetDescriptor = datasetDescriptorPair.getRight();
-
-            if (inputDatasetDescriptor.contains(currentDatasetDescriptor)) {
-              DatasetDescriptor edgeOutputDescriptor = makeOutputDescriptorSpecific(currentDatasetDescriptor, outputDatasetDescriptor);
-              FlowEdgeContext flowEdgeContext = new FlowEdgeContext(flowEdge, currentDatasetDescriptor, edgeOutputDescriptor, mergedConfig,
-                  specExecutor);
-
-              if (destDatasetDescriptor.getFormatConfig().contains(outputDatasetDescriptor.getFormatConfig())) {
-                /*
-                Add to the front of the edge list if platform-independent properties of the output descriptor is compatible
-                with those of destination dataset descriptor.
-                In other words, we prioritize edges that perform data transformations as close to the source as possible.
-                */
-                prioritizedEdgeList.add(0, flowEdgeContext);
-              } else {
-                prioritizedEdgeList.add(flowEdgeContext);
-              }
-              foundExecutor = true;
+  /**
+   * Add a {@link FlowEdgeContext} to edgeContexts for every resolving {@link DatasetDescriptor} pair of the
+   * {@link FlowEdge} whose input descriptor accepts currentDatasetDescriptor.
+   */
+  private void addEdgeContexts(FlowEdge flowEdge, DatasetDescriptor currentDatasetDescriptor,
+      DatasetDescriptor destDatasetDescriptor, List<FlowEdgeContext> edgeContexts) {
+    try {
+      DataNode edgeDestination = this.flowGraph.getNode(flowEdge.getDest());
+      //Base condition: Skip this FLowEdge, if it is inactive or if the destination of this edge is inactive.
+      if (!edgeDestination.isActive() || !flowEdge.isActive()) {
+        return;
+      }
+
+      boolean foundExecutor = false;
+      //Iterate over all executors for this edge. Find the first one that resolves the underlying flow template.
+      for (SpecExecutor specExecutor : flowEdge.getExecutors()) {
+        Config mergedConfig = getMergedConfig(flowEdge);
+        List<Pair<DatasetDescriptor, DatasetDescriptor>> datasetDescriptorPairs =
+            getResolvingDatasetDescriptors(flowEdge, mergedConfig);
+        for (Pair<DatasetDescriptor, DatasetDescriptor> datasetDescriptorPair : datasetDescriptorPairs) {
+          DatasetDescriptor inputDatasetDescriptor = datasetDescriptorPair.getLeft();
+          DatasetDescriptor outputDatasetDescriptor = datasetDescriptorPair.getRight();
+
+          if (inputDatasetDescriptor.contains(currentDatasetDescriptor)) {
+            DatasetDescriptor edgeOutputDescriptor = makeOutputDescriptorSpecific(currentDatasetDescriptor, outputDatasetDescriptor);
+            FlowEdgeContext flowEdgeContext = new FlowEdgeContext(flowEdge, currentDatasetDescriptor, edgeOutputDescriptor, mergedConfig,
+                specExecutor);
+
+            if (destDatasetDescriptor.getFormatConfig().contains(outputDatasetDescriptor.getFormatConfig())) {
+              /*
+              Add to the front of the edge list if platform-independent properties of the output descriptor is compatible
+              with those of destination dataset descriptor.
+              In other words, we prioritize edges that perform data transformations as close to the source as possible.
+              */
+              edgeContexts.add(0, flowEdgeContext);
+            } else {
+              edgeContexts.add(flowEdgeContext);
             }
+            foundExecutor = true;
           }
-          // Found a SpecExecutor. Proceed to the next FlowEdge.
-          // TODO: Choose the min-cost executor for the FlowEdge as opposed to the first one that resolves.
-          if (foundExecutor) {
-            break;
-          }
         }
-      } catch (IOException | ReflectiveOperationException | InterruptedException | ExecutionException | SpecNotFoundException
-          | JobTemplate.TemplateException e) {
-        //Skip the edge; and continue
-        log.warn("Skipping edge {} with config {} due to exception: {}", flowEdge.getId(), flowConfig.toString(), e);
+        // Found a SpecExecutor. Proceed to the next FlowEdge.
+        // TODO: Choose the min-cost executor for the FlowEdge as opposed to the first one that resolves.
+        if (foundExecutor) {
+          break;
+        }
       }
+    } catch (IOException | ReflectiveOperationException | InterruptedException | ExecutionException | SpecNotFoundException
+        | JobTemplate.TemplateException e) {
+      //Skip the edge; and continue
+      log.warn("Skipping edge {} with config {} due to exception: {}", flowEdge.getId(), flowConfig.toString(), e);
     }
-    return prioritizedEdgeList;
+  }
+
+  /**
+   * Get the resolving {@link DatasetDescriptor} pairs of the {@link FlowEdge}'s template. Resolving a template is
+   * expensive and its result only depends on the edge and the flow config, so it is memoized per edge. An edge that
+   * fails to resolve is remembered as having no resolving pairs, so the failure is only logged once per search.
+   */
+  private List<Pair<DatasetDescriptor, DatasetDescriptor>> getResolvingDatasetDescriptors(FlowEdge flowEdge,
+      Config mergedConfig)
+      throws IOException, ReflectiveOperationException, InterruptedException, ExecutionException, SpecNotFoundException,
+             JobTemplate.TemplateException {
+    List<Pair<DatasetDescriptor, DatasetDescriptor>> datasetDescriptorPairs =
+        this.resolvingDatasetDescriptors.get(flowEdge.getId());
+    if (datasetDescriptorPairs == null) {
+      this.resolvingDatasetDescriptors.put(flowEdge.getId(), Collections.emptyList());
+      datasetDescriptorPairs = flowEdge.getFlowTemplate().getResolvingDatasetDescriptors(mergedConfig);
+      this.resolvingDatasetDescriptors.put(flowEdge.getId(), datasetDescriptorPairs);
+    }
+    return datasetDescriptorPairs;
   }
 
   /**
@@ -294,9 +341,14 @@ public abstract class AbstractPathFinder implements PathFinder {
    */
   private Config getMergedConfig(FlowEdge flowEdge)
       throws ExecutionException, InterruptedException {
+    Config mergedConfig = this.mergedConfigs.get(flowEdge.getId());
+    if (mergedConfig != null) {
+      return mergedConfig;
+    }
     Config srcNodeConfig = this.flowGraph.getNode(flowEdge.getSrc()).getRawConfig().atPath(SOURCE_PREFIX);
     Config destNodeConfig = this.flowGraph.getNode(flowEdge.getDest()).getRawConfig().atPath(DESTINATION_PREFIX);
-    Config mergedConfig = flowConfig.withFallback(flowEdge.getConfig()).withFallback(srcNodeConfig).withFallback(destNodeConfig);
+    mergedConfig = flowConfig.withFallback(flowEdge.getConfig()).withFallback(srcNodeConfig).withFallback(destNodeConfig);
+    this.mergedConfigs.put(flowEdge.getId(), mergedConfig);
     return mergedConfig;
   }
 
@@ -325,7 +377,7 @@ public abstract class AbstractPathFinder implements PathFinder {
     //Path computation must be thread-safe to guarantee read consistency. In other words, we prevent concurrent read/write access to the
     // flow graph.
     for (DataNode destNode : this.destNodes) {
-      List<FlowEdgeContext> path = findPathUnicast(destNode);
+      List<FlowEdgeContext> path = this.pathCache != null ? findPathUnicastWithCache(destNode) : findPathUnicast(destNode);
       if (path != null) {
         flowGraphPath.addPath(path);
       } else {
@@ -336,5 +388,75 @@ public abstract class AbstractPathFinder implements PathFinder {
     return flowGraphPath;
   }
 
+  /**
+   * Look up the path to destNode in the {@link FlowGraphPathCache}, and fall back to {@link #findPathUnicast(DataNode)}
+   * if there is no cached path or if the cached path does not resolve for this flow.
+   */
+  private List<FlowEdgeContext> findPathUnicastWithCache(DataNode destNode) throws PathFinderException {
+    FlowGraphPathCache.PathKey key = new FlowGraphPathCache.PathKey(getClass(), this.srcNode, destNode,
+        this.srcDatasetDescriptor, this.destDatasetDescriptor);
+    List<FlowEdgeContext> cachedPath = this.pathCache.get(key);
+    if (cachedPath != null) {
+      List<FlowEdgeContext> path = resolveCachedPath(destNode, cachedPath);
+      if (path != null) {
+        return path;
+      }
+      log.info("Cached path from {} to {} does not resolve for flow {}; recomputing the path.", this.srcNode.getId(),
+          destNode.getId(), this.flowSpec.getUri());
+    }
+    List<FlowEdgeContext> path = findPathUnicast(destNode);
+    if (path != null) {
+      this.pathCache.put(key, path);
+    }
+    return path;
+  }
+
+  /**
+   * Resolve the edges of a cached path against the config of this flow.
+   * @return the path with {@link FlowEdgeContext}s built for this flow, or null if some edge of the cached path
+   * does not resolve to the same output {@link DatasetDescriptor} anymore.
+   */
+  private List<FlowEdgeContext> resolveCachedPath(DataNode destNode, List<FlowEdgeContext> cachedPath) {
+    if (!this.srcNode.isActive() || !destNode.isActive()) {
+      return null;
+    }
+    DataNode currentNode = this.srcNode;
+    DatasetDescriptor currentDatasetDescriptor = this.srcDatasetDescriptor;
+    List<FlowEdgeContext> path = new ArrayList<>(cachedPath.size());
+    for (FlowEdgeContext cachedFlowEdgeContext : cachedPath) {
+      FlowEdge flowEdge = cachedFlowEdgeContext.getEdge();
+      if (!flowEdge.getSrc().equals(currentNode.getId())) {
+        return null;
+      }
+      List<FlowEdgeContext> edgeContexts = new ArrayList<>();
+      addEdgeContexts(flowEdge, currentDatasetDescriptor, this.destDatasetDescriptor, edgeContexts);
+      FlowEdgeContext flowEdgeContext = null;
+      for (FlowEdgeContext edgeContext : edgeContexts) {
+        if (edgeContext.getOutputDatasetDescriptor().equals(cachedFlowEdgeContext.getOutputDatasetDescriptor())) {
+          flowEdgeContext = edgeContext;
+          break;
+        }
+      }
+      if (flowEdgeContext == null) {
+        return null;
+      }
+      path.add(flowEdgeContext);
+      currentNode = this.flowGraph.getNode(flowEdge.getDest());
+      currentDatasetDescriptor = flowEdgeContext.getOutputDatasetDescriptor();
+    }
+
+    if (path.isEmpty()) {
+      return this.srcNode.equals(destNode) && this.destDatasetDescriptor.contains(this.srcDatasetDescriptor) ? path : null;
+    }
+    return isPathFound(currentNode, destNode, currentDatasetDescriptor, this.destDatasetDescriptor) ? path : null;
+  }
+
+  /**
+   * Set a {@link FlowGraphPathCache} to look up and store the computed paths in.
+   */
+  public void setPathCache(FlowGraphPathCache pathCache) {
+    this.pathCache = pathCache;
+  }
+
   public abstract List<FlowEdgeContext> findPathUnicast(DataNode destNode) throws PathFinderException;
 }
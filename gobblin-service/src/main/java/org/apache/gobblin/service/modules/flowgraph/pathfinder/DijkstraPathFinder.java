@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.service.modules.flowgraph.pathfinder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.gobblin.annotation.Alpha;
+import org.apache.gobblin.runtime.api.FlowSpec;
+import org.apache.gobblin.service.modules.dataset.DatasetDescriptor;
+import org.apache.gobblin.service.modules.flow.FlowEdgeContext;
+import org.apache.gobblin.service.modules.flowgraph.DataNode;
+import org.apache.gobblin.service.modules.flowgraph.FlowEdge;
+import org.apache.gobblin.service.modules.flowgraph.FlowGraph;
+import org.apache.gobblin.service.modules.flowgraph.FlowGraphConfigurationKeys;
+import org.apache.gobblin.util.ConfigUtils;
+
+
+/**
+ * An implementation of {@link PathFinder} that computes the minimum cost path in a weighted {@link FlowGraph} using
+ * Dijkstra's algorithm. The cost of a {@link FlowEdge} is read from {@link FlowGraphConfigurationKeys#FLOW_EDGE_COST_KEY}
+ * in the edge config and defaults to {@link FlowGraphConfigurationKeys#DEFAULT_FLOW_EDGE_COST}, in which case the
+ * computed path has the same number of hops as the one computed by {@link BFSPathFinder}.
+ *
+ * As in {@link BFSPathFinder}, the search runs over {@link FlowEdgeContext}s rather than {@link DataNode}s, since the
+ * same edge may be traversed with different input/output dataset descriptors. Among edges of equal cumulative cost,
+ * the ones returned first by {@link #getNextEdges(DataNode, DatasetDescriptor, DatasetDescriptor)} are expanded first.
+ */
+@Alpha
+@Slf4j
+public class DijkstraPathFinder extends AbstractPathFinder {
+  //Cost of each FlowEdge, keyed by FlowEdge id
+  private final Map<String, Double> edgeCosts = new HashMap<>();
+
+  /**
+   * Constructor.
+   * @param flowGraph
+   */
+  public DijkstraPathFinder(FlowGraph flowGraph, FlowSpec flowSpec)
+      throws ReflectiveOperationException {
+    super(flowGraph, flowSpec);
+  }
+
+  /**
+   * At every step the algorithm pops the {@link FlowEdgeContext} with the lowest cumulative cost from a priority
+   * queue and relaxes its adjacent {@link FlowEdgeContext}s. Entries made stale by a later relaxation are skipped
+   * when popped.
+   * @return a minimum cost path of {@link FlowEdgeContext}s starting at the srcNode and ending at the destNode.
+   */
+  public List<FlowEdgeContext> findPathUnicast(DataNode destNode) {
+    //Initialization of auxiliary data structures used for path computation
+    this.pathMap = new HashMap<>();
+
+    //Base condition 1: Source Node or Dest Node is inactive; return null
+    if (!srcNode.isActive() || !destNode.isActive()) {
+      log.warn("Either source node {} or destination node {} is inactive; skipping path computation.",
+          this.srcNode.getId(), destNode.getId());
+      return null;
+    }
+
+    //Base condition 2: Check if we are already at the target. If so, return an empty path.
+    if ((srcNode.equals(destNode)) && destDatasetDescriptor.contains(srcDatasetDescriptor)) {
+      return new ArrayList<>();
+    }
+
+    Map<FlowEdgeContext, Double> costs = new HashMap<>();
+    Set<FlowEdgeContext> settled = new HashSet<>();
+    PriorityQueue<QueueEntry> edgeQueue = new PriorityQueue<>();
+    long sequence = 0;
+
+    for (FlowEdgeContext flowEdgeContext : getNextEdges(srcNode, srcDatasetDescriptor, destDatasetDescriptor)) {
+      double cost = getEdgeCost(flowEdgeContext.getEdge());
+      Double knownCost = costs.get(flowEdgeContext);
+      if (knownCost == null || cost < knownCost) {
+        costs.put(flowEdgeContext, cost);
+        this.pathMap.put(flowEdgeContext, flowEdgeContext);
+        edgeQueue.add(new QueueEntry(flowEdgeContext, cost, sequence++));
+      }
+    }
+
+    while (!edgeQueue.isEmpty()) {
+      QueueEntry entry = edgeQueue.poll();
+      FlowEdgeContext flowEdgeContext = entry.flowEdgeContext;
+      if (!settled.add(flowEdgeContext)) {
+        //Stale entry; the edge was already reached with a lower cost.
+        continue;
+      }
+
+      DataNode currentNode = this.flowGraph.getNode(flowEdgeContext.getEdge().getDest());
+      DatasetDescriptor currentOutputDatasetDescriptor = flowEdgeContext.getOutputDatasetDescriptor();
+
+      //Are we done?
+      if (isPathFound(currentNode, destNode, currentOutputDatasetDescriptor, destDatasetDescriptor)) {
+        return constructPath(flowEdgeContext);
+      }
+
+      for (FlowEdgeContext childFlowEdgeContext : getNextEdges(currentNode, currentOutputDatasetDescriptor,
+          destDatasetDescriptor)) {
+        if (settled.contains(childFlowEdgeContext)) {
+          continue;
+        }
+        double cost = entry.cost + getEdgeCost(childFlowEdgeContext.getEdge());
+        Double knownCost = costs.get(childFlowEdgeContext);
+        if (knownCost == null || cost < knownCost) {
+          costs.put(childFlowEdgeContext, cost);
+          this.pathMap.put(childFlowEdgeContext, flowEdgeContext);
+          edgeQueue.add(new QueueEntry(childFlowEdgeContext, cost, sequence++));
+        }
+      }
+    }
+    //No path found. Return null.
+    return null;
+  }
+
+  /**
+   * @return the cost of the {@link FlowEdge}. Negative costs are not supported and replaced with the default cost.
+   */
+  private double getEdgeCost(FlowEdge flowEdge) {
+    return this.edgeCosts.computeIfAbsent(flowEdge.getId(), edgeId -> {
+      double cost = ConfigUtils.getDouble(flowEdge.getConfig(), FlowGraphConfigurationKeys.FLOW_EDGE_COST_KEY,
+          FlowGraphConfigurationKeys.DEFAULT_FLOW_EDGE_COST);
+      if (cost < 0) {
+        log.warn("Edge {} has negative cost {}; using the default cost {}.", edgeId, cost,
+            FlowGraphConfigurationKeys.DEFAULT_FLOW_EDGE_COST);
+        return FlowGraphConfigurationKeys.DEFAULT_FLOW_EDGE_COST;
+      }
+      return cost;
+    });
+  }
+
+  /**
+   * An entry of the priority queue. Entries of equal cost are ordered by insertion, which preserves the edge
+   * prioritization of {@link #getNextEdges(DataNode, DatasetDescriptor, DatasetDescriptor)}.
+   */
+  private static class QueueEntry implements Comparable<QueueEntry> {
+    private final FlowEdgeContext flowEdgeContext;
+    private final double cost;
+    private final long sequence;
+
+    QueueEntry(FlowEdgeContext flowEdgeContext, double cost, long sequence) {
+      this.flowEdgeContext = flowEdgeContext;
+      this.cost = cost;
+      this.sequence = sequence;
+    }
+
+    @Override
+    public int compareTo(QueueEntry other) {
+      int result = Double.compare(this.cost, other.cost);
+      return result != 0 ? result : Long.compare(this.sequence, other.sequence);
+    }
+  }
+}
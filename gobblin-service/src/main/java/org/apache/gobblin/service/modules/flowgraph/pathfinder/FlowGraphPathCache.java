@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.service.modules.flowgraph.pathfinder;
+
+import java.util.List;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+
+import lombok.EqualsAndHashCode;
+
+import org.apache.gobblin.annotation.Alpha;
+import org.apache.gobblin.service.modules.dataset.DatasetDescriptor;
+import org.apache.gobblin.service.modules.flow.FlowEdgeContext;
+import org.apache.gobblin.service.modules.flowgraph.DataNode;
+
+
+/**
+ * A cache of the paths computed by {@link AbstractPathFinder}s, keyed by the path finder class, the source and
+ * destination {@link DataNode}s and the source and destination {@link DatasetDescriptor}s.
+ *
+ * <p>
+ *   A cached path is only a hint: the {@link FlowEdgeContext}s it holds were resolved against the config of the flow
+ *   that computed it, so {@link AbstractPathFinder} re-resolves every edge of the path against the config of the
+ *   current flow and falls back to a full search if the cached path does not resolve. The owner of the cache must
+ *   call {@link #invalidateAll()} whenever the flow graph changes.
+ * </p>
+ */
+@Alpha
+public class FlowGraphPathCache {
+  public static final int DEFAULT_MAX_SIZE = 1000;
+
+  private final Cache<PathKey, List<FlowEdgeContext>> cache;
+
+  public FlowGraphPathCache() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  public FlowGraphPathCache(int maxSize) {
+    this.cache = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+  }
+
+  /**
+   * @return the cached path, or null if no path was cached for the given key.
+   */
+  public List<FlowEdgeContext> get(PathKey key) {
+    return this.cache.getIfPresent(key);
+  }
+
+  public void put(PathKey key, List<FlowEdgeContext> path) {
+    this.cache.put(key, ImmutableList.copyOf(path));
+  }
+
+  public void invalidateAll() {
+    this.cache.invalidateAll();
+  }
+
+  public long size() {
+    return this.cache.size();
+  }
+
+  /**
+   * Key of a single source to destination path.
+   */
+  @EqualsAndHashCode
+  public static class PathKey {
+    private final String pathFinderClass;
+    private final String srcNodeId;
+    private final String destNodeId;
+    private final DatasetDescriptor srcDatasetDescriptor;
+    private final DatasetDescriptor destDatasetDescriptor;
+
+    public PathKey(Class<?> pathFinderClass, DataNode srcNode, DataNode destNode, DatasetDescriptor srcDatasetDescriptor,
+        DatasetDescriptor destDatasetDescriptor) {
+      this.pathFinderClass = pathFinderClass.getName();
+      this.srcNodeId = srcNode.getId();
+      this.destNodeId = destNode.getId();
+      this.srcDatasetDescriptor = srcDatasetDescriptor;
+      this.destDatasetDescriptor = destDatasetDescriptor;
+    }
+  }
+}
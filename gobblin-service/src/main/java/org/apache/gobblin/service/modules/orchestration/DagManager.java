@@ -28,13 +28,18 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
 import com.codahale.metrics.Timer;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.AbstractIdleService;
@@ -60,6 +65,7 @@ import org.apache.gobblin.service.modules.flowgraph.Dag.DagNode;
 import org.apache.gobblin.service.modules.spec.JobExecutionPlan;
 import org.apache.gobblin.service.monitoring.FsJobStatusRetriever;
 import org.apache.gobblin.service.monitoring.JobStatus;
+import org.apache.gobblin.service.monitoring.JobStatusListener;
 import org.apache.gobblin.service.monitoring.JobStatusRetriever;
 import org.apache.gobblin.service.monitoring.KafkaJobStatusMonitor;
 import org.apache.gobblin.service.monitoring.KafkaJobStatusMonitorFactory;
@@ -89,6 +95,12 @@ import static org.apache.gobblin.service.ExecutionStatus.valueOf;
  * checkpointed to a persistent location. On start up or leadership change,
  * the {@link DagManager} loads all the checkpointed {@link Dag}s and adds them to the {@link  BlockingQueue}.
  * Current implementation supports only FileSystem-based checkpointing of the Dag statuses.
+ *
+ * When {@link #JOB_STATUS_PUSH_ENABLED_KEY} is set and the {@link KafkaJobStatusMonitor} is enabled, the
+ * {@link DagManagerThread}s do not poll at fixed intervals. Instead, every flow is sharded to one of the threads by
+ * its flow group and name. The monitor pushes each {@link JobStatus} it persists to the inbox of the thread owning
+ * the flow, which wakes up and re-evaluates only the affected jobs. The job statuses of all running jobs are still
+ * polled every {@link #JOB_STATUS_RESYNC_INTERVAL_KEY} seconds, in case a pushed status was missed.
  */
 @Alpha
 @Slf4j
@@ -105,6 +117,9 @@ public class DagManager extends AbstractIdleService {
   private static final String JOB_STATUS_RETRIEVER_CLASS_KEY = JOB_STATUS_RETRIEVER_KEY + ".class";
   private static final String DEFAULT_JOB_STATUS_RETRIEVER_CLASS = FsJobStatusRetriever.class.getName();
   private static final String DAG_STATESTORE_CLASS_KEY = DAG_MANAGER_PREFIX + "dagStateStoreClass";
+  static final String JOB_STATUS_PUSH_ENABLED_KEY = DAG_MANAGER_PREFIX + "jobStatusPush.enabled";
+  static final String JOB_STATUS_RESYNC_INTERVAL_KEY = DAG_MANAGER_PREFIX + "jobStatusPush.resyncInterval";
+  private static final Integer DEFAULT_JOB_STATUS_RESYNC_INTERVAL = 300;
 
   static final String DAG_STATESTORE_DIR = DAG_MANAGER_PREFIX + "dagStateStoreDir";
 
@@ -144,37 +159,65 @@ public class DagManager extends AbstractIdleService {
   private final JobStatusRetriever jobStatusRetriever;
   private final KafkaJobStatusMonitor jobStatusMonitor;
   private final Config config;
+  private final boolean jobStatusPushEnabled;
+  private final Integer resyncInterval;
+  private final JobStatusListener jobStatusListener = this::onJobStatus;
 
   private volatile boolean isActive = false;
+  private volatile List<DagManagerThread> dagManagerThreads = ImmutableList.of();
 
   public DagManager(Config config, boolean instrumentationEnabled) {
+    this(config, instrumentationEnabled, createJobStatusMonitor(config));
+  }
+
+  private DagManager(Config config, boolean instrumentationEnabled, KafkaJobStatusMonitor jobStatusMonitor) {
+    this(config, instrumentationEnabled, jobStatusMonitor, createJobStatusRetriever(config, jobStatusMonitor != null));
+  }
+
+  @VisibleForTesting
+  DagManager(Config config, boolean instrumentationEnabled, KafkaJobStatusMonitor jobStatusMonitor,
+      JobStatusRetriever jobStatusRetriever) {
     this.config = config;
     this.queue = new LinkedBlockingDeque<>();
     this.numThreads = ConfigUtils.getInt(config, NUM_THREADS_KEY, DEFAULT_NUM_THREADS);
     this.scheduledExecutorPool = Executors.newScheduledThreadPool(numThreads);
     this.pollingInterval = ConfigUtils.getInt(config, JOB_STATUS_POLLING_INTERVAL_KEY, DEFAULT_JOB_STATUS_POLLING_INTERVAL);
     this.instrumentationEnabled = instrumentationEnabled;
-    boolean jobStatusMonitorEnabled =
-        ConfigUtils.getBoolean(config, KafkaJobStatusMonitor.JOB_STATUS_MONITOR_ENABLED_KEY, true);
+    this.jobStatusMonitor = jobStatusMonitor;
+    this.jobStatusRetriever = jobStatusRetriever;
+
+    boolean jobStatusPushEnabled = ConfigUtils.getBoolean(config, JOB_STATUS_PUSH_ENABLED_KEY, false);
+    if (jobStatusPushEnabled && this.jobStatusMonitor == null) {
+      log.warn("Job statuses can only be pushed by the job status monitor; falling back to polling job statuses.");
+      jobStatusPushEnabled = false;
+    }
+    this.jobStatusPushEnabled = jobStatusPushEnabled;
+    this.resyncInterval = ConfigUtils.getInt(config, JOB_STATUS_RESYNC_INTERVAL_KEY, DEFAULT_JOB_STATUS_RESYNC_INTERVAL);
+  }
+
+  public DagManager(Config config) {
+    this(config, true);
+  }
 
+  private static KafkaJobStatusMonitor createJobStatusMonitor(Config config) {
+    if (!ConfigUtils.getBoolean(config, KafkaJobStatusMonitor.JOB_STATUS_MONITOR_ENABLED_KEY, true)) {
+      return null;
+    }
     try {
-      Class jobStatusRetrieverClass;
-      if (jobStatusMonitorEnabled) {
-        jobStatusRetrieverClass = Class.forName(DEFAULT_JOB_STATUS_RETRIEVER_CLASS);
-        this.jobStatusMonitor = new KafkaJobStatusMonitorFactory().createJobStatusMonitor(config);
-      } else {
-        jobStatusRetrieverClass = Class.forName(config.getString(JOB_STATUS_RETRIEVER_CLASS_KEY));
-        this.jobStatusMonitor = null;
-      }
-      this.jobStatusRetriever =
-          (JobStatusRetriever) GobblinConstructorUtils.invokeLongestConstructor(jobStatusRetrieverClass, config);
+      return new KafkaJobStatusMonitorFactory().createJobStatusMonitor(config);
     } catch (ReflectiveOperationException e) {
       throw new RuntimeException("Exception encountered during DagManager initialization", e);
     }
   }
 
-  public DagManager(Config config) {
-    this(config, true);
+  private static JobStatusRetriever createJobStatusRetriever(Config config, boolean jobStatusMonitorEnabled) {
+    try {
+      Class jobStatusRetrieverClass = jobStatusMonitorEnabled ? Class.forName(DEFAULT_JOB_STATUS_RETRIEVER_CLASS)
+          : Class.forName(config.getString(JOB_STATUS_RETRIEVER_CLASS_KEY));
+      return (JobStatusRetriever) GobblinConstructorUtils.invokeLongestConstructor(jobStatusRetrieverClass, config);
+    } catch (ReflectiveOperationException e) {
+      throw new RuntimeException("Exception encountered during DagManager initialization", e);
+    }
   }
 
   /** Start the service. On startup, the service launches a fixed pool of {@link DagManagerThread}s, which are scheduled at
@@ -191,14 +234,38 @@ public class DagManager extends AbstractIdleService {
    * by one of the {@link DagManagerThread}s.
    */
   synchronized void offer(Dag<JobExecutionPlan> dag) throws IOException {
+    List<DagManagerThread> threads = this.dagManagerThreads;
+    if (this.jobStatusPushEnabled && (!this.isActive || threads.isEmpty())) {
+      throw new IOException("Could not add dag " + DagManagerUtils.generateDagId(dag)
+          + " since the DagManager is not active");
+    }
     //Persist the dag
     this.dagStateStore.writeCheckpoint(dag);
     //Add it to the queue of dags
-    if (!this.queue.offer(dag)) {
+    if (this.jobStatusPushEnabled) {
+      //Hand the dag to the thread owning its flow
+      if (!threads.get(DagManagerUtils.getFlowShard(dag, threads.size())).offer(dag)) {
+        throw new IOException("Could not add dag" + DagManagerUtils.generateDagId(dag) + "to queue");
+      }
+    } else if (!this.queue.offer(dag)) {
       throw new IOException("Could not add dag" + DagManagerUtils.generateDagId(dag) + "to queue");
     }
   }
 
+  /**
+   * Push a {@link JobStatus} received from the {@link KafkaJobStatusMonitor} to the thread owning its flow.
+   */
+  private void onJobStatus(JobStatus jobStatus) {
+    List<DagManagerThread> threads = this.dagManagerThreads;
+    if (!this.isActive || threads.isEmpty()) {
+      log.debug("Dropping job status of flow {}.{} since the DagManager is not active", jobStatus.getFlowGroup(),
+          jobStatus.getFlowName());
+      return;
+    }
+    threads.get(DagManagerUtils.getFlowShard(jobStatus.getFlowGroup(), jobStatus.getFlowName(), threads.size()))
+        .onJobStatus(jobStatus);
+  }
+
   public synchronized void setTopologySpecMap(Map<URI, TopologySpec> topologySpecMap) {
     this.topologySpecMap = topologySpecMap;
   }
@@ -223,10 +290,23 @@ public class DagManager extends AbstractIdleService {
         Class dagStateStoreClass = Class.forName(ConfigUtils.getString(config, DAG_STATESTORE_CLASS_KEY, FSDagStateStore.class.getName()));
         this.dagStateStore = (DagStateStore) GobblinConstructorUtils.invokeLongestConstructor(dagStateStoreClass, config, topologySpecMap);
 
-        //On startup, the service creates DagManagerThreads that are scheduled at a fixed rate.
-        for (int i = 0; i < numThreads; i++) {
-          this.scheduledExecutorPool.scheduleAtFixedRate(new DagManagerThread(jobStatusRetriever, dagStateStore, queue, instrumentationEnabled), 0, this.pollingInterval,
-              TimeUnit.SECONDS);
+        if (this.jobStatusPushEnabled) {
+          //Each DagManagerThread owns a shard of the flows, and waits for dags and job statuses pushed to its inbox.
+          List<DagManagerThread> threads = new ArrayList<>(numThreads);
+          for (int i = 0; i < numThreads; i++) {
+            DagManagerThread thread = new DagManagerThread(jobStatusRetriever, dagStateStore,
+                new LinkedBlockingDeque<>(), instrumentationEnabled, true, TimeUnit.SECONDS.toMillis(this.resyncInterval));
+            threads.add(thread);
+            this.scheduledExecutorPool.submit(thread::runUntilStopped);
+          }
+          this.dagManagerThreads = ImmutableList.copyOf(threads);
+          this.jobStatusMonitor.addJobStatusListener(this.jobStatusListener);
+        } else {
+          //On startup, the service creates DagManagerThreads that are scheduled at a fixed rate.
+          for (int i = 0; i < numThreads; i++) {
+            this.scheduledExecutorPool.scheduleAtFixedRate(new DagManagerThread(jobStatusRetriever, dagStateStore, queue, instrumentationEnabled), 0, this.pollingInterval,
+                TimeUnit.SECONDS);
+          }
         }
         if ((this.jobStatusMonitor != null) && (!this.jobStatusMonitor.isRunning())) {
           log.info("Starting job status monitor");
@@ -237,6 +317,7 @@ public class DagManager extends AbstractIdleService {
         }
       } else { //Mark the DagManager inactive.
         log.info("Inactivating the DagManager. Shutting down all DagManager threads");
+        stopDagManagerThreads();
         this.scheduledExecutorPool.shutdown();
         try {
           this.scheduledExecutorPool.awaitTermination(TERMINATION_TIMEOUT, TimeUnit.SECONDS);
@@ -252,6 +333,16 @@ public class DagManager extends AbstractIdleService {
     }
   }
 
+  private void stopDagManagerThreads() {
+    if (this.jobStatusPushEnabled) {
+      this.jobStatusMonitor.removeJobStatusListener(this.jobStatusListener);
+    }
+    for (DagManagerThread thread : this.dagManagerThreads) {
+      thread.stop();
+    }
+    this.dagManagerThreads = ImmutableList.of();
+  }
+
   /**
    * Each {@link DagManagerThread} performs 2 actions when scheduled:
    * <ol>
@@ -259,6 +350,9 @@ public class DagManager extends AbstractIdleService {
    *   are part of the dequed {@link Dag} will be managed this thread. </li>
    *   <li> Polls the job status store for the current job statuses of all the running jobs it manages.</li>
    * </ol>
+   *
+   * When job statuses are pushed, the thread instead waits in {@link #runUntilStopped()} for dags and job statuses
+   * handed to it, and only updates the jobs whose statuses were pushed, apart from a periodic full poll.
    */
   public static class DagManagerThread implements Runnable {
     private final Map<DagNode<JobExecutionPlan>, Dag<JobExecutionPlan>> jobToDag = new HashMap<>();
@@ -269,31 +363,98 @@ public class DagManager extends AbstractIdleService {
     private final MetricContext metricContext;
     private final Optional<EventSubmitter> eventSubmitter;
     private final Optional<Timer> jobStatusPolledTimer;
+    private final Optional<Timer> hopSchedulingTimer;
 
     private JobStatusRetriever jobStatusRetriever;
     private DagStateStore dagStateStore;
     private BlockingQueue<Dag<JobExecutionPlan>> queue;
 
+    //State used when job statuses are pushed to this thread
+    private final boolean jobStatusPushEnabled;
+    private final long resyncIntervalMillis;
+    private final Map<String, DagNode<JobExecutionPlan>> jobKeyToNode = new HashMap<>();
+    private final ConcurrentMap<String, JobStatus> jobStatusInbox = new ConcurrentHashMap<>();
+    private final Semaphore wakeUp = new Semaphore(0);
+    private volatile boolean running = true;
+    private long lastFullPollTime = 0L;
+
     /**
      * Constructor.
      */
     DagManagerThread(JobStatusRetriever jobStatusRetriever, DagStateStore dagStateStore,
         BlockingQueue<Dag<JobExecutionPlan>> queue, boolean instrumentationEnabled) {
+      this(jobStatusRetriever, dagStateStore, queue, instrumentationEnabled, false, 0L);
+    }
+
+    /**
+     * Constructor.
+     * @param jobStatusPushEnabled if true, only job statuses pushed with {@link #onJobStatus(JobStatus)} are processed,
+     *                             apart from a full poll every resyncIntervalMillis.
+     */
+    DagManagerThread(JobStatusRetriever jobStatusRetriever, DagStateStore dagStateStore,
+        BlockingQueue<Dag<JobExecutionPlan>> queue, boolean instrumentationEnabled, boolean jobStatusPushEnabled,
+        long resyncIntervalMillis) {
       this.jobStatusRetriever = jobStatusRetriever;
       this.dagStateStore = dagStateStore;
       this.queue = queue;
+      this.jobStatusPushEnabled = jobStatusPushEnabled;
+      this.resyncIntervalMillis = resyncIntervalMillis;
       if (instrumentationEnabled) {
         this.metricContext = Instrumented.getMetricContext(ConfigUtils.configToState(ConfigFactory.empty()), getClass());
         this.eventSubmitter = Optional.of(new EventSubmitter.Builder(this.metricContext, "org.apache.gobblin.service").build());
         this.jobStatusPolledTimer = Optional.of(this.metricContext.timer(ServiceMetricNames.JOB_STATUS_POLLED_TIMER));
-
+        this.hopSchedulingTimer = Optional.of(this.metricContext.timer(ServiceMetricNames.DAG_HOP_SCHEDULING_TIMER));
       } else {
         this.metricContext = null;
         this.eventSubmitter = Optional.absent();
         this.jobStatusPolledTimer = Optional.absent();
+        this.hopSchedulingTimer = Optional.absent();
+      }
+    }
+
+    /**
+     * Hand a new {@link Dag} to this thread.
+     */
+    boolean offer(Dag<JobExecutionPlan> dag) {
+      if (!this.queue.offer(dag)) {
+        return false;
+      }
+      this.wakeUp.release();
+      return true;
+    }
+
+    /**
+     * Push a {@link JobStatus} to this thread. Only the latest pushed status of each job is kept until it is processed.
+     */
+    void onJobStatus(JobStatus jobStatus) {
+      this.jobStatusInbox.put(DagManagerUtils.generateJobKey(jobStatus), jobStatus);
+      this.wakeUp.release();
+    }
+
+    /**
+     * Run this thread until {@link #stop()} is called, waking up whenever a {@link Dag} or a {@link JobStatus} is
+     * handed to it, or when the next full poll of job statuses is due.
+     */
+    void runUntilStopped() {
+      while (this.running) {
+        try {
+          this.wakeUp.tryAcquire(Math.max(1L, this.resyncIntervalMillis), TimeUnit.MILLISECONDS);
+          this.wakeUp.drainPermits();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        if (this.running) {
+          run();
+        }
       }
     }
 
+    void stop() {
+      this.running = false;
+      this.wakeUp.release();
+    }
+
     /**
      * Main body of the {@link DagManagerThread}. Deque the next item from the queue and poll job statuses of currently
      * running jobs.
@@ -302,19 +463,28 @@ public class DagManager extends AbstractIdleService {
     public void run() {
       try {
         Object nextItem = queue.poll();
-        //Poll the queue for a new Dag to execute.
-        if (nextItem != null) {
+        //Poll the queue for a new Dag to execute. A thread with pushed job statuses owns its queue, so it drains it.
+        while (nextItem != null) {
           Dag<JobExecutionPlan> dag = (Dag<JobExecutionPlan>) nextItem;
           if (dag.isEmpty()) {
             log.info("Empty dag; ignoring the dag");
           }
           //Initialize dag.
           initialize(dag);
+          nextItem = this.jobStatusPushEnabled ? queue.poll() : null;
+        }
+        this.failedDagIdsFinishRunning.clear();
+        if (this.jobStatusPushEnabled) {
+          log.debug("Processing pushed job statuses..");
+          processPushedJobStatuses();
+        }
+        if (!this.jobStatusPushEnabled || System.currentTimeMillis() - this.lastFullPollTime >= this.resyncIntervalMillis) {
+          log.debug("Polling job statuses..");
+          //Poll and update the job statuses of running jobs.
+          pollJobStatuses();
+          this.lastFullPollTime = System.currentTimeMillis();
+          log.debug("Poll done.");
         }
-        log.debug("Polling job statuses..");
-        //Poll and update the job statuses of running jobs.
-        pollJobStatuses();
-        log.debug("Poll done.");
         //Clean up any finished dags
         log.debug("Cleaning up finished dags..");
         cleanUp();
@@ -345,6 +515,13 @@ public class DagManager extends AbstractIdleService {
       for (DagNode<JobExecutionPlan> dagNode : dag.getNodes()) {
         if (DagManagerUtils.getExecutionStatus(dagNode) == RUNNING) {
           addJobState(dagId, dagNode);
+          if (this.jobStatusPushEnabled) {
+            //Statuses pushed before the dag was handed to this thread were missed, so poll the job once.
+            JobStatus jobStatus = pollJobStatus(dagNode);
+            if (jobStatus != null) {
+              this.jobStatusInbox.putIfAbsent(DagManagerUtils.generateJobKey(dagNode), jobStatus);
+            }
+          }
         }
       }
       log.debug("Dag {} submitting jobs ready for execution.", DagManagerUtils.getFullyQualifiedDagName(dag));
@@ -362,24 +539,51 @@ public class DagManager extends AbstractIdleService {
      */
     private void pollJobStatuses()
         throws IOException {
-      this.failedDagIdsFinishRunning.clear();
-
-      Map<String, Set<DagNode<JobExecutionPlan>>> nextSubmitted = Maps.newHashMap();
-      List<DagNode<JobExecutionPlan>> nodesToCleanUp = Lists.newArrayList();
+      Map<DagNode<JobExecutionPlan>, JobStatus> jobStatuses = new HashMap<>();
       for (DagNode<JobExecutionPlan> node: this.jobToDag.keySet()) {
         long pollStartTime = System.nanoTime();
         JobStatus jobStatus = pollJobStatus(node);
         Instrumented.updateTimer(this.jobStatusPolledTimer, System.nanoTime() - pollStartTime, TimeUnit.NANOSECONDS);
-        if (jobStatus == null) {
-          continue;
+        if (jobStatus != null) {
+          jobStatuses.put(node, jobStatus);
         }
+      }
+      updateJobStatuses(jobStatuses);
+    }
+
+    /**
+     * Update the running jobs whose {@link JobStatus}es were pushed since the last call.
+     */
+    private void processPushedJobStatuses()
+        throws IOException {
+      Map<DagNode<JobExecutionPlan>, JobStatus> jobStatuses = new HashMap<>();
+      for (String jobKey : this.jobStatusInbox.keySet()) {
+        JobStatus jobStatus = this.jobStatusInbox.remove(jobKey);
+        DagNode<JobExecutionPlan> node = this.jobKeyToNode.get(jobKey);
+        //Statuses of flows and of jobs that are not running anymore are ignored
+        if (jobStatus != null && node != null) {
+          jobStatuses.put(node, jobStatus);
+        }
+      }
+      updateJobStatuses(jobStatuses);
+    }
+
+    private void updateJobStatuses(Map<DagNode<JobExecutionPlan>, JobStatus> jobStatuses)
+        throws IOException {
+      Map<String, Set<DagNode<JobExecutionPlan>>> nextSubmitted = Maps.newHashMap();
+      List<DagNode<JobExecutionPlan>> nodesToCleanUp = Lists.newArrayList();
+      for (Map.Entry<DagNode<JobExecutionPlan>, JobStatus> jobStatusEntry : jobStatuses.entrySet()) {
+        DagNode<JobExecutionPlan> node = jobStatusEntry.getKey();
+        JobStatus jobStatus = jobStatusEntry.getValue();
         JobExecutionPlan jobExecutionPlan = DagManagerUtils.getJobExecutionPlan(node);
 
         ExecutionStatus status = valueOf(jobStatus.getEventName());
         switch (status) {
           case COMPLETE:
             jobExecutionPlan.setExecutionStatus(COMPLETE);
-            nextSubmitted.putAll(onJobFinish(node));
+            Map<String, Set<DagNode<JobExecutionPlan>>> next = onJobFinish(node);
+            updateHopSchedulingTimer(jobStatus, next);
+            nextSubmitted.putAll(next);
             nodesToCleanUp.add(node);
             break;
           case FAILED:
@@ -408,6 +612,22 @@ public class DagManager extends AbstractIdleService {
       }
     }
 
+    /**
+     * Record the time from the end of a job to the submission of the jobs depending on it.
+     */
+    private void updateHopSchedulingTimer(JobStatus jobStatus, Map<String, Set<DagNode<JobExecutionPlan>>> next) {
+      if (jobStatus.getEndTime() <= 0) {
+        return;
+      }
+      for (Set<DagNode<JobExecutionPlan>> nextNodes : next.values()) {
+        if (!nextNodes.isEmpty()) {
+          Instrumented.updateTimer(this.hopSchedulingTimer,
+              Math.max(0L, System.currentTimeMillis() - jobStatus.getEndTime()), TimeUnit.MILLISECONDS);
+          return;
+        }
+      }
+    }
+
     /**
      * Retrieve the {@link JobStatus} from the {@link JobExecutionPlan}.
      */
@@ -506,12 +726,18 @@ public class DagManager extends AbstractIdleService {
 
     private void deleteJobState(String dagId, DagNode<JobExecutionPlan> dagNode) {
       this.jobToDag.remove(dagNode);
+      if (this.jobStatusPushEnabled) {
+        this.jobKeyToNode.remove(DagManagerUtils.generateJobKey(dagNode));
+      }
       this.dagToJobs.get(dagId).remove(dagNode);
     }
 
     private void addJobState(String dagId, DagNode<JobExecutionPlan> dagNode) {
       Dag<JobExecutionPlan> dag = this.dags.get(dagId);
       this.jobToDag.put(dagNode, dag);
+      if (this.jobStatusPushEnabled) {
+        this.jobKeyToNode.put(DagManagerUtils.generateJobKey(dagNode), dagNode);
+      }
       if (this.dagToJobs.containsKey(dagId)) {
         this.dagToJobs.get(dagId).add(dagNode);
       } else {
@@ -572,6 +798,7 @@ public class DagManager extends AbstractIdleService {
   @Override
   protected void shutDown()
       throws Exception {
+    stopDagManagerThreads();
     this.scheduledExecutorPool.shutdown();
     this.scheduledExecutorPool.awaitTermination(TERMINATION_TIMEOUT, TimeUnit.SECONDS);
     this.jobStatusMonitor.shutDown();
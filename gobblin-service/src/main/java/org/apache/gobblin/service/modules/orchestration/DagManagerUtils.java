@@ -19,6 +19,7 @@ package org.apache.gobblin.service.modules.orchestration;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 
@@ -34,6 +35,7 @@ import org.apache.gobblin.service.modules.flowgraph.Dag;
 import org.apache.gobblin.service.modules.flowgraph.Dag.DagNode;
 import org.apache.gobblin.service.modules.orchestration.DagManager.FailureOption;
 import org.apache.gobblin.service.modules.spec.JobExecutionPlan;
+import org.apache.gobblin.service.monitoring.JobStatus;
 import org.apache.gobblin.util.ConfigUtils;
 
 
@@ -51,6 +53,38 @@ public class DagManagerUtils {
     return Joiner.on("_").join(flowGroup, flowName, flowExecutionId);
   }
 
+  /**
+   * Generate a key for a job of a flow execution. The key of a {@link DagNode} is the same as the key of the
+   * {@link JobStatus}es of its job, see {@link #generateJobKey(JobStatus)}.
+   */
+  static String generateJobKey(DagNode<JobExecutionPlan> dagNode) {
+    Config jobConfig = dagNode.getValue().getJobSpec().getConfig();
+    return Joiner.on("_").join(jobConfig.getString(ConfigurationKeys.FLOW_GROUP_KEY),
+        jobConfig.getString(ConfigurationKeys.FLOW_NAME_KEY),
+        jobConfig.getLong(ConfigurationKeys.FLOW_EXECUTION_ID_KEY),
+        jobConfig.getString(ConfigurationKeys.JOB_GROUP_KEY),
+        jobConfig.getString(ConfigurationKeys.JOB_NAME_KEY));
+  }
+
+  static String generateJobKey(JobStatus jobStatus) {
+    return Joiner.on("_").useForNull("").join(jobStatus.getFlowGroup(), jobStatus.getFlowName(),
+        jobStatus.getFlowExecutionId(), jobStatus.getJobGroup(), jobStatus.getJobName());
+  }
+
+  /**
+   * Map a flow to one of {@code numShards} shards. All executions of a flow, and the {@link JobStatus}es of their
+   * jobs, map to the same shard.
+   */
+  static int getFlowShard(String flowGroup, String flowName, int numShards) {
+    return Math.floorMod(Objects.hash(flowGroup, flowName), numShards);
+  }
+
+  static int getFlowShard(Dag<JobExecutionPlan> dag, int numShards) {
+    Config jobConfig = dag.getStartNodes().get(0).getValue().getJobSpec().getConfig();
+    return getFlowShard(jobConfig.getString(ConfigurationKeys.FLOW_GROUP_KEY),
+        jobConfig.getString(ConfigurationKeys.FLOW_NAME_KEY), numShards);
+  }
+
   /**
    * Returns a fully-qualified {@link Dag} name that includes: (flowGroup, flowName, flowExecutionId).
    * @param dag
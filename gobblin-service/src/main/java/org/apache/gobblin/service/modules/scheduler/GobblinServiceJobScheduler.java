@@ -18,7 +18,7 @@
 package org.apache.gobblin.service.modules.scheduler;
 
 import java.net.URI;
-import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Properties;
 
@@ -115,8 +115,9 @@ public class GobblinServiceJobScheduler extends JobScheduler implements SpecCata
       // Need to set active=true first; otherwise in the onAddSpec(), node will forward specs to active node, which is itself.
       this.isActive = isActive;
       if (this.flowCatalog.isPresent()) {
-        Collection<Spec> specs = this.flowCatalog.get().getSpecsWithTimeUpdate();
-        for (Spec spec : specs) {
+        Iterator<Spec> specs = this.flowCatalog.get().getSpecIteratorWithTimeUpdate();
+        while (specs.hasNext()) {
+          Spec spec = specs.next();
           //Disable FLOW_RUN_IMMEDIATELY on service startup or leadership change
           if (spec instanceof FlowSpec) {
             Spec modifiedSpec = disableFlowRunImmediatelyOnStart((FlowSpec) spec);
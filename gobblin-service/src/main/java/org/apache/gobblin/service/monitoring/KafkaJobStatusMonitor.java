@@ -18,6 +18,8 @@
 package org.apache.gobblin.service.monitoring;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -67,6 +69,7 @@ public abstract class KafkaJobStatusMonitor extends HighLevelConsumer<byte[], by
   @Getter
   private final StateStore<org.apache.gobblin.configuration.State> stateStore;
   private final ScheduledExecutorService scheduledExecutorService;
+  private final List<JobStatusListener> jobStatusListeners = new CopyOnWriteArrayList<>();
   private static final Config DEFAULTS = ConfigFactory.parseMap(ImmutableMap.of(
       KAFKA_AUTO_OFFSET_RESET_KEY, KAFKA_AUTO_OFFSET_RESET_SMALLEST));
 
@@ -103,12 +106,24 @@ public abstract class KafkaJobStatusMonitor extends HighLevelConsumer<byte[], by
     super.createMetrics();
   }
 
+  /**
+   * Register a {@link JobStatusListener} notified of every {@link JobStatus} persisted by this monitor.
+   */
+  public void addJobStatusListener(JobStatusListener listener) {
+    this.jobStatusListeners.add(listener);
+  }
+
+  public void removeJobStatusListener(JobStatusListener listener) {
+    this.jobStatusListeners.remove(listener);
+  }
+
   @Override
   protected void processMessage(MessageAndMetadata<byte[],byte[]> message) {
     try {
       org.apache.gobblin.configuration.State jobStatus = parseJobStatus(message.message());
       if (jobStatus != null) {
         addJobStatusToStateStore(jobStatus);
+        notifyJobStatusListeners(jobStatus);
       }
     } catch (IOException ioe) {
       String messageStr = new String(message.message(), Charsets.UTF_8);
@@ -133,5 +148,25 @@ public abstract class KafkaJobStatusMonitor extends HighLevelConsumer<byte[], by
     this.stateStore.put(storeName, tableName, jobStatus);
   }
 
+  private void notifyJobStatusListeners(org.apache.gobblin.configuration.State jobStatusState) {
+    if (this.jobStatusListeners.isEmpty()) {
+      return;
+    }
+    JobStatus jobStatus;
+    try {
+      jobStatus = JobStatusRetriever.getJobStatus(jobStatusState);
+    } catch (RuntimeException e) {
+      log.warn("Not notifying listeners of malformed job status " + jobStatusState, e);
+      return;
+    }
+    for (JobStatusListener listener : this.jobStatusListeners) {
+      try {
+        listener.onJobStatus(jobStatus);
+      } catch (RuntimeException e) {
+        log.error("Job status listener " + listener + " failed", e);
+      }
+    }
+  }
+
   public abstract org.apache.gobblin.configuration.State parseJobStatus(byte[] message) throws IOException;
 }
@@ -21,6 +21,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.lang.reflect.Field;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
@@ -61,6 +62,7 @@ import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import com.typesafe.config.ConfigParseOptions;
 import com.typesafe.config.ConfigSyntax;
+import com.typesafe.config.ConfigValueFactory;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -75,6 +77,7 @@ import org.apache.gobblin.runtime.api.TopologySpec;
 import org.apache.gobblin.runtime.spec_executorInstance.AbstractSpecExecutor;
 import org.apache.gobblin.service.ServiceConfigKeys;
 import org.apache.gobblin.service.modules.core.GitFlowGraphMonitor;
+import org.apache.gobblin.service.modules.flowgraph.BaseFlowEdge;
 import org.apache.gobblin.service.modules.flowgraph.BaseFlowGraph;
 import org.apache.gobblin.service.modules.flowgraph.Dag;
 import org.apache.gobblin.service.modules.flowgraph.Dag.DagNode;
@@ -83,6 +86,8 @@ import org.apache.gobblin.service.modules.flowgraph.FlowEdge;
 import org.apache.gobblin.service.modules.flowgraph.FlowEdgeFactory;
 import org.apache.gobblin.service.modules.flowgraph.FlowGraph;
 import org.apache.gobblin.service.modules.flowgraph.FlowGraphConfigurationKeys;
+import org.apache.gobblin.service.modules.flowgraph.pathfinder.DijkstraPathFinder;
+import org.apache.gobblin.service.modules.flowgraph.pathfinder.FlowGraphPathCache;
 import org.apache.gobblin.service.modules.spec.JobExecutionPlan;
 import org.apache.gobblin.service.modules.template_catalog.FSFlowCatalog;
 import org.apache.gobblin.util.CompletedFuture;
@@ -583,6 +588,72 @@ public class MultiHopFlowCompilerTest {
     }
   }
 
+  @Test (dependsOnMethods = "testMulticastPath")
+  public void testCompileFlowWithDijkstraPathFinderAndPathCache() throws Exception {
+    //Add a direct but expensive edge from LocalFS-1 to HDFS-3, alongside the 2-hop path through HDFS-1.
+    FlowEdge localToHdfs1 = null;
+    for (FlowEdge edge : this.flowGraph.getEdges("LocalFS-1")) {
+      if (edge.getId().equals("LocalFS-1:HDFS-1:localToHdfs")) {
+        localToHdfs1 = edge;
+      }
+    }
+    Assert.assertNotNull(localToHdfs1);
+    String edgeId = "LocalFS-1:HDFS-3:localToHdfs";
+    Config edgeConfig = localToHdfs1.getConfig()
+        .withValue(FlowGraphConfigurationKeys.FLOW_EDGE_DESTINATION_KEY, ConfigValueFactory.fromAnyRef("HDFS-3"))
+        .withValue(FlowGraphConfigurationKeys.FLOW_EDGE_ID_KEY, ConfigValueFactory.fromAnyRef(edgeId))
+        .withValue(FlowGraphConfigurationKeys.FLOW_EDGE_COST_KEY, ConfigValueFactory.fromAnyRef(10));
+    FlowEdge expensiveEdge = new BaseFlowEdge(Lists.newArrayList("LocalFS-1", "HDFS-3"), edgeId,
+        localToHdfs1.getFlowTemplate(), localToHdfs1.getExecutors(), edgeConfig, true);
+    this.flowGraph.addFlowEdge(expensiveEdge);
+
+    //Use a compiler of our own, since testGitFlowGraphMonitorService replaces this.specCompiler
+    URI flowTemplateCatalogUri = this.getClass().getClassLoader().getResource("template_catalog").toURI();
+    Properties properties = new Properties();
+    properties.put(ServiceConfigKeys.TEMPLATE_CATALOGS_FULLY_QUALIFIED_PATH_KEY, flowTemplateCatalogUri.toString());
+    MultiHopFlowCompiler compiler = new MultiHopFlowCompiler(ConfigFactory.parseProperties(properties), this.flowGraph);
+    Field pathCacheField = BaseFlowGraph.class.getDeclaredField("pathCache");
+    pathCacheField.setAccessible(true);
+    FlowGraphPathCache pathCache = (FlowGraphPathCache) pathCacheField.get(this.flowGraph);
+
+    try {
+      //The BFS path finder ignores costs and takes the direct edge
+      FlowSpec spec = createFlowSpec("flow/flow2.conf", "LocalFS-1", "HDFS-3", false, false);
+      Dag<JobExecutionPlan> jobDag = compiler.compileFlow(spec);
+      Assert.assertEquals(jobDag.getNodes().size(), 1);
+      Assert.assertEquals(jobDag.getStartNodes().get(0).getValue().getJobSpec().getConfig()
+          .getString(ConfigurationKeys.JOB_NAME_KEY), Joiner.on(JobExecutionPlan.Factory.JOB_NAME_COMPONENT_SEPARATION_CHAR).
+          join("testFlowGroup", "testFlowName", "Distcp", "LocalFS-1", "HDFS-3"));
+      Assert.assertEquals(pathCache.size(), 0);
+
+      //The Dijkstra path finder takes the cheaper 2-hop path. The second compilation reuses the cached path.
+      for (int i = 0; i < 2; i++) {
+        spec = createFlowSpec("flow/flow2.conf", "LocalFS-1", "HDFS-3", false, false);
+        Config flowConfig = spec.getConfig()
+            .withValue(FlowGraphConfigurationKeys.FLOW_GRAPH_PATH_FINDER_CLASS,
+                ConfigValueFactory.fromAnyRef(DijkstraPathFinder.class.getName()))
+            .withValue(FlowGraphConfigurationKeys.FLOW_GRAPH_PATH_CACHE_ENABLED, ConfigValueFactory.fromAnyRef(true));
+        spec = FlowSpec.builder(spec.getUri()).withConfig(flowConfig).withDescription(spec.getDescription())
+            .withVersion(spec.getVersion()).build();
+        jobDag = compiler.compileFlow(spec);
+
+        Assert.assertEquals(jobDag.getNodes().size(), 2);
+        DagNode<JobExecutionPlan> startNode = jobDag.getStartNodes().get(0);
+        Assert.assertEquals(startNode.getValue().getJobSpec().getConfig().getString(ConfigurationKeys.JOB_NAME_KEY),
+            Joiner.on(JobExecutionPlan.Factory.JOB_NAME_COMPONENT_SEPARATION_CHAR).
+                join("testFlowGroup", "testFlowName", "Distcp", "LocalFS-1", "HDFS-1"));
+        Assert.assertEquals(jobDag.getChildren(startNode).get(0).getValue().getJobSpec().getConfig()
+            .getString(ConfigurationKeys.JOB_NAME_KEY), Joiner.on(JobExecutionPlan.Factory.JOB_NAME_COMPONENT_SEPARATION_CHAR).
+            join("testFlowGroup", "testFlowName", "Distcp", "HDFS-1", "HDFS-3"));
+        Assert.assertEquals(pathCache.size(), 1);
+      }
+    } finally {
+      this.flowGraph.deleteFlowEdge(edgeId);
+    }
+    //Changing the graph invalidates the cached paths
+    Assert.assertEquals(pathCache.size(), 0);
+  }
+
   @Test (dependsOnMethods = "testMulticastPath")
   public void testGitFlowGraphMonitorService()
       throws IOException, GitAPIException, URISyntaxException, InterruptedException {
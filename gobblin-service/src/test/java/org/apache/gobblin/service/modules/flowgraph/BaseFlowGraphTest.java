@@ -20,6 +20,7 @@ package org.apache.gobblin.service.modules.flowgraph;
 import java.lang.reflect.Field;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 
@@ -32,6 +33,9 @@ import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 import com.typesafe.config.ConfigValueFactory;
 
+import org.apache.gobblin.service.modules.flow.FlowEdgeContext;
+import org.apache.gobblin.service.modules.flowgraph.pathfinder.DijkstraPathFinder;
+import org.apache.gobblin.service.modules.flowgraph.pathfinder.FlowGraphPathCache;
 import org.apache.gobblin.service.modules.template.FlowTemplate;
 import org.apache.gobblin.service.modules.template.StaticFlowTemplate;
 import org.apache.gobblin.util.ConfigUtils;
@@ -230,4 +234,32 @@ public class BaseFlowGraphTest {
     Assert.assertTrue(!graph.deleteFlowEdge(edgeId2));
     Assert.assertTrue(!graph.deleteFlowEdge(edgeId3));
   }
-}
\ No newline at end of file
+
+  @Test
+  public void testPathCacheInvalidation() throws Exception {
+    //Use a separate graph, since the other tests depend on the state of the shared one
+    BaseFlowGraph flowGraph = new BaseFlowGraph();
+    Field field = BaseFlowGraph.class.getDeclaredField("pathCache");
+    field.setAccessible(true);
+    FlowGraphPathCache pathCache = (FlowGraphPathCache) field.get(flowGraph);
+    FlowGraphPathCache.PathKey key = new FlowGraphPathCache.PathKey(DijkstraPathFinder.class, node1, node2, null, null);
+    List<FlowEdgeContext> path = Lists.newArrayList(new FlowEdgeContext(edge1, null, null, ConfigFactory.empty(), null));
+
+    pathCache.put(key, path);
+    Assert.assertTrue(flowGraph.addDataNode(node1));
+    Assert.assertTrue(flowGraph.addDataNode(node2));
+    Assert.assertEquals(pathCache.size(), 0);
+
+    pathCache.put(key, path);
+    Assert.assertTrue(flowGraph.addFlowEdge(edge1));
+    Assert.assertEquals(pathCache.size(), 0);
+
+    pathCache.put(key, path);
+    Assert.assertTrue(flowGraph.deleteFlowEdge(edge1.getId()));
+    Assert.assertEquals(pathCache.size(), 0);
+
+    pathCache.put(key, path);
+    Assert.assertTrue(flowGraph.deleteDataNode(node2.getId()));
+    Assert.assertEquals(pathCache.size(), 0);
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.service.modules.flowgraph.pathfinder;
+
+import java.util.List;
+
+import org.mockito.Mockito;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.google.common.collect.Lists;
+import com.typesafe.config.ConfigFactory;
+import com.typesafe.config.ConfigValueFactory;
+
+import org.apache.gobblin.service.modules.dataset.DatasetDescriptor;
+import org.apache.gobblin.service.modules.flow.FlowEdgeContext;
+import org.apache.gobblin.service.modules.flowgraph.BaseDataNode;
+import org.apache.gobblin.service.modules.flowgraph.DataNode;
+import org.apache.gobblin.service.modules.flowgraph.FlowEdge;
+import org.apache.gobblin.service.modules.flowgraph.FlowGraphConfigurationKeys;
+
+
+public class FlowGraphPathCacheTest {
+  private DataNode node1;
+  private DataNode node2;
+  private DatasetDescriptor srcDescriptor;
+  private DatasetDescriptor destDescriptor;
+  private List<FlowEdgeContext> path;
+
+  @BeforeClass
+  public void setUp() throws DataNode.DataNodeCreationException {
+    node1 = new BaseDataNode(ConfigFactory.empty()
+        .withValue(FlowGraphConfigurationKeys.DATA_NODE_ID_KEY, ConfigValueFactory.fromAnyRef("node1")));
+    node2 = new BaseDataNode(ConfigFactory.empty()
+        .withValue(FlowGraphConfigurationKeys.DATA_NODE_ID_KEY, ConfigValueFactory.fromAnyRef("node2")));
+    srcDescriptor = Mockito.mock(DatasetDescriptor.class);
+    destDescriptor = Mockito.mock(DatasetDescriptor.class);
+    path = Lists.newArrayList(new FlowEdgeContext(Mockito.mock(FlowEdge.class), srcDescriptor, destDescriptor,
+        ConfigFactory.empty(), null));
+  }
+
+  @Test
+  public void testGetCachedPath() {
+    FlowGraphPathCache cache = new FlowGraphPathCache();
+    FlowGraphPathCache.PathKey key =
+        new FlowGraphPathCache.PathKey(DijkstraPathFinder.class, node1, node2, srcDescriptor, destDescriptor);
+    Assert.assertNull(cache.get(key));
+
+    cache.put(key, path);
+    Assert.assertEquals(cache.size(), 1);
+    //An equal key hits the cached path
+    Assert.assertEquals(cache.get(
+        new FlowGraphPathCache.PathKey(DijkstraPathFinder.class, node1, node2, srcDescriptor, destDescriptor)), path);
+
+    //A different path finder, node or descriptor misses
+    Assert.assertNull(cache.get(
+        new FlowGraphPathCache.PathKey(BFSPathFinder.class, node1, node2, srcDescriptor, destDescriptor)));
+    Assert.assertNull(cache.get(
+        new FlowGraphPathCache.PathKey(DijkstraPathFinder.class, node2, node1, srcDescriptor, destDescriptor)));
+    Assert.assertNull(cache.get(
+        new FlowGraphPathCache.PathKey(DijkstraPathFinder.class, node1, node2, destDescriptor, srcDescriptor)));
+
+    //The cached path is a copy
+    path.add(path.get(0));
+    Assert.assertEquals(cache.get(key).size(), 1);
+    path.remove(1);
+
+    cache.invalidateAll();
+    Assert.assertEquals(cache.size(), 0);
+    Assert.assertNull(cache.get(key));
+  }
+
+  @Test
+  public void testMaxSize() {
+    FlowGraphPathCache cache = new FlowGraphPathCache(1);
+    FlowGraphPathCache.PathKey key1 =
+        new FlowGraphPathCache.PathKey(DijkstraPathFinder.class, node1, node2, srcDescriptor, destDescriptor);
+    FlowGraphPathCache.PathKey key2 =
+        new FlowGraphPathCache.PathKey(DijkstraPathFinder.class, node2, node1, srcDescriptor, destDescriptor);
+    cache.put(key1, path);
+    cache.put(key2, path);
+    Assert.assertEquals(cache.size(), 1);
+    Assert.assertNull(cache.get(key1));
+    Assert.assertEquals(cache.get(key2), path);
+  }
+}
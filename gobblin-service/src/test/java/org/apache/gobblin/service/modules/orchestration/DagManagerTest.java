@@ -36,6 +36,8 @@ import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
 
+import com.codahale.metrics.Timer;
+import com.google.common.base.Optional;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import com.typesafe.config.Config;
@@ -54,6 +56,7 @@ import org.apache.gobblin.service.modules.spec.JobExecutionPlan;
 import org.apache.gobblin.service.modules.spec.JobExecutionPlanDagFactory;
 import org.apache.gobblin.service.monitoring.JobStatus;
 import org.apache.gobblin.service.monitoring.JobStatusRetriever;
+import org.apache.gobblin.service.monitoring.KafkaJobStatusMonitor;
 
 
 public class DagManagerTest {
@@ -313,6 +316,79 @@ public class DagManagerTest {
     }
   }
 
+  @Test (dependsOnMethods = "testFailedDag")
+  public void testPushedJobStatuses() throws Exception {
+    JobStatusRetriever jobStatusRetriever = Mockito.mock(JobStatusRetriever.class);
+    Mockito.when(jobStatusRetriever.getJobStatusesForFlowExecution(Mockito.anyString(), Mockito.anyString(),
+        Mockito.anyLong(), Mockito.anyString(), Mockito.anyString())).thenReturn(Iterators.<JobStatus>emptyIterator());
+    //Never resync, so that only pushed job statuses are processed
+    DagManager.DagManagerThread dagManagerThread = new DagManager.DagManagerThread(jobStatusRetriever,
+        this._dagStateStore, new LinkedBlockingQueue<>(), true, true, Long.MAX_VALUE);
+    Map<DagNode<JobExecutionPlan>, Dag<JobExecutionPlan>> jobToDag = getField(dagManagerThread, "jobToDag");
+    Map<String, Dag<JobExecutionPlan>> dags = getField(dagManagerThread, "dags");
+    Optional<Timer> hopSchedulingTimer = getField(dagManagerThread, "hopSchedulingTimer");
+
+    long flowExecutionId = System.currentTimeMillis();
+    Dag<JobExecutionPlan> dag = buildDag("1", flowExecutionId, "FINISH_RUNNING", true);
+    String dagId = DagManagerUtils.generateDagId(dag);
+    Assert.assertTrue(dagManagerThread.offer(dag));
+
+    //The dag is picked up and job0 is submitted
+    dagManagerThread.run();
+    Assert.assertTrue(dags.containsKey(dagId));
+    Assert.assertEquals(jobToDag.size(), 1);
+    Assert.assertTrue(jobToDag.containsKey(dag.getStartNodes().get(0)));
+
+    //Nothing is pushed, so nothing changes and the job statuses are not polled
+    dagManagerThread.run();
+    Assert.assertEquals(jobToDag.size(), 1);
+    Mockito.verify(jobStatusRetriever, Mockito.never()).getJobStatusesForFlowExecution(Mockito.anyString(),
+        Mockito.anyString(), Mockito.anyLong(), Mockito.anyString(), Mockito.anyString());
+
+    //Statuses of other flows are ignored
+    dagManagerThread.onJobStatus(getPushedJobStatus("2", flowExecutionId, "job0", ExecutionStatus.COMPLETE));
+    dagManagerThread.run();
+    Assert.assertEquals(jobToDag.size(), 1);
+
+    //job0 completes, so job1 and job2 are submitted
+    dagManagerThread.onJobStatus(getPushedJobStatus("1", flowExecutionId, "job0", ExecutionStatus.RUNNING));
+    dagManagerThread.onJobStatus(getPushedJobStatus("1", flowExecutionId, "job0", ExecutionStatus.COMPLETE));
+    dagManagerThread.run();
+    Assert.assertEquals(jobToDag.size(), 2);
+    Assert.assertTrue(jobToDag.containsKey(dag.getEndNodes().get(0)));
+    Assert.assertTrue(jobToDag.containsKey(dag.getEndNodes().get(1)));
+    Assert.assertEquals(hopSchedulingTimer.get().getCount(), 1);
+
+    dagManagerThread.onJobStatus(getPushedJobStatus("1", flowExecutionId, "job1", ExecutionStatus.COMPLETE));
+    dagManagerThread.onJobStatus(getPushedJobStatus("1", flowExecutionId, "job2", ExecutionStatus.COMPLETE));
+    dagManagerThread.run();
+    Assert.assertEquals(dags.size(), 0);
+    Assert.assertEquals(jobToDag.size(), 0);
+    Assert.assertEquals(this._dagStateStore.getDags().size(), 0);
+  }
+
+  @Test (expectedExceptions = IOException.class)
+  public void testOfferToInactiveDagManagerWithPushedJobStatuses() throws Exception {
+    Config config = ConfigFactory.empty()
+        .withValue(DagManager.JOB_STATUS_PUSH_ENABLED_KEY, ConfigValueFactory.fromAnyRef(true));
+    DagManager dagManager = new DagManager(config, false, Mockito.mock(KafkaJobStatusMonitor.class),
+        Mockito.mock(JobStatusRetriever.class));
+
+    //No DagManagerThread runs until the DagManager is active, so the dag is rejected before being checkpointed
+    dagManager.offer(buildDag("4", System.currentTimeMillis(), "FINISH_RUNNING", true));
+  }
+
+  private JobStatus getPushedJobStatus(String id, long flowExecutionId, String jobName, ExecutionStatus status) {
+    return JobStatus.builder().flowGroup("group" + id).flowName("flow" + id).flowExecutionId(flowExecutionId)
+        .jobGroup("group" + id).jobName(jobName).eventName(status.name()).endTime(System.currentTimeMillis()).build();
+  }
+
+  private static <T> T getField(DagManager.DagManagerThread dagManagerThread, String name) throws Exception {
+    Field field = DagManager.DagManagerThread.class.getDeclaredField(name);
+    field.setAccessible(true);
+    return (T) field.get(dagManagerThread);
+  }
+
   @AfterClass
   public void cleanUp() throws Exception {
     FileUtils.deleteDirectory(new File(this.dagStateStoreDir));
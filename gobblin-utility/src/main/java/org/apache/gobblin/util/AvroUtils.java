@@ -20,7 +20,9 @@ package org.apache.gobblin.util;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -35,6 +37,7 @@ import org.apache.avro.Schema;
 import org.apache.avro.Schema.Field;
 import org.apache.avro.Schema.Type;
 import org.apache.avro.SchemaCompatibility;
+import org.apache.avro.file.DataFileConstants;
 import org.apache.avro.file.DataFileReader;
 import org.apache.avro.file.SeekableInput;
 import org.apache.avro.generic.GenericData.Record;
@@ -64,6 +67,7 @@ import org.codehaus.jackson.JsonNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.base.Charsets;
 import com.google.common.base.Function;
 import com.google.common.base.Joiner;
 import com.google.common.base.Optional;
@@ -401,6 +405,33 @@ public class AvroUtils {
     }
   }
 
+  /**
+   * Get Avro schema from the header of an Avro data file. Unlike {@link #getSchemaFromDataFile(Path, FileSystem)},
+   * this method reads the header without buffering ahead into the first data block, so only the header bytes are read.
+   */
+  public static Schema getSchemaFromDataFileHeader(Path dataFile, FileSystem fs) throws IOException {
+    try (FSDataInputStream in = fs.open(dataFile)) {
+      BinaryDecoder decoder = DecoderFactory.get().directBinaryDecoder(in, null);
+      byte[] magic = new byte[DataFileConstants.MAGIC.length];
+      decoder.readFixed(magic);
+      if (!Arrays.equals(magic, DataFileConstants.MAGIC)) {
+        throw new IOException("Not an Avro data file: " + dataFile);
+      }
+      // The header metadata is a map from string keys to bytes values
+      for (long count = decoder.readMapStart(); count != 0; count = decoder.mapNext()) {
+        for (long i = 0; i < count; i++) {
+          String key = decoder.readString(null).toString();
+          ByteBuffer value = decoder.readBytes(null);
+          if (DataFileConstants.SCHEMA.equals(key)) {
+            return new Schema.Parser().parse(new String(value.array(), value.arrayOffset() + value.position(),
+                value.remaining(), Charsets.UTF_8));
+          }
+        }
+      }
+      throw new IOException("No schema found in the header of " + dataFile);
+    }
+  }
+
   /**
    * Parse Avro schema from a schema file.
    */
@@ -484,13 +515,12 @@ public class AvroUtils {
   public static Schema getDirectorySchema(Path directory, FileSystem fs, boolean latest) throws IOException {
     Schema schema = null;
     try (Closer closer = Closer.create()) {
-      List<FileStatus> files = getDirectorySchemaHelper(directory, fs);
-      if (files == null || files.size() == 0) {
+      Optional<FileStatus> file = getDirectorySchemaFile(directory, fs, latest);
+      if (!file.isPresent()) {
         LOG.warn("There is no previous avro file in the directory: " + directory);
       } else {
-        FileStatus file = latest ? files.get(0) : files.get(files.size() - 1);
-        LOG.debug("Path to get the avro schema: " + file);
-        FsInput fi = new FsInput(file.getPath(), fs.getConf());
+        LOG.debug("Path to get the avro schema: " + file.get());
+        FsInput fi = new FsInput(file.get().getPath(), fs.getConf());
         GenericDatumReader<GenericRecord> genReader = new GenericDatumReader<>();
         schema = closer.register(new DataFileReader<>(fi, genReader)).getSchema();
       }
@@ -512,6 +542,23 @@ public class AvroUtils {
     return getDirectorySchema(directory, FileSystem.get(conf), latest);
   }
 
+  /**
+   * Get the avro file from which {@link #getDirectorySchema(Path, FileSystem, boolean)} reads the schema of a directory.
+   * @param directory the input dir that contains avro files
+   * @param fs the {@link FileSystem} for the given directory.
+   * @param latest true to return the latest file, false to return the oldest file
+   * @return the latest/oldest avro file in the directory, or {@link Optional#absent()} if there is no avro file.
+   * @throws IOException
+   */
+  public static Optional<FileStatus> getDirectorySchemaFile(Path directory, FileSystem fs, boolean latest)
+      throws IOException {
+    List<FileStatus> files = getDirectorySchemaHelper(directory, fs);
+    if (files == null || files.size() == 0) {
+      return Optional.absent();
+    }
+    return Optional.of(latest ? files.get(0) : files.get(files.size() - 1));
+  }
+
   private static List<FileStatus> getDirectorySchemaHelper(Path directory, FileSystem fs) throws IOException {
     List<FileStatus> files = Lists.newArrayList();
     if (fs.exists(directory)) {
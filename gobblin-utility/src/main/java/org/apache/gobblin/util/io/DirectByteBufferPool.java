@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.util.io;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+
+
+/**
+ * A thread safe pool of direct {@link ByteBuffer}s.
+ *
+ * <p>
+ *   Direct buffers are expensive to allocate and are only freed when garbage collected, so code that copies many
+ *   streams should borrow its buffers from a pool instead of allocating one per copy. Buffers are pooled by capacity,
+ *   and at most {@link #getMaxBuffersPerCapacity()} idle buffers of each capacity are retained.
+ * </p>
+ */
+public class DirectByteBufferPool {
+
+  public static final int DEFAULT_MAX_BUFFERS_PER_CAPACITY = 64;
+
+  private static final DirectByteBufferPool SHARED_INSTANCE = new DirectByteBufferPool(DEFAULT_MAX_BUFFERS_PER_CAPACITY);
+
+  /**
+   * @return the {@link DirectByteBufferPool} shared by the whole JVM.
+   */
+  public static DirectByteBufferPool getSharedInstance() {
+    return SHARED_INSTANCE;
+  }
+
+  private final int maxBuffersPerCapacity;
+  private final ConcurrentMap<Integer, Queue<ByteBuffer>> idleBuffers = Maps.newConcurrentMap();
+  private final ConcurrentMap<Integer, AtomicInteger> idleBufferCounts = Maps.newConcurrentMap();
+
+  public DirectByteBufferPool(int maxBuffersPerCapacity) {
+    Preconditions.checkArgument(maxBuffersPerCapacity >= 0, "Invalid maximum number of pooled buffers");
+    this.maxBuffersPerCapacity = maxBuffersPerCapacity;
+  }
+
+  public int getMaxBuffersPerCapacity() {
+    return this.maxBuffersPerCapacity;
+  }
+
+  /**
+   * Get a cleared direct {@link ByteBuffer} of the given capacity, reusing a pooled buffer if one is available.
+   */
+  public ByteBuffer borrow(int capacity) {
+    Queue<ByteBuffer> buffers = this.idleBuffers.get(capacity);
+    ByteBuffer buffer = buffers == null ? null : buffers.poll();
+    if (buffer == null) {
+      return ByteBuffer.allocateDirect(capacity);
+    }
+    this.idleBufferCounts.get(capacity).decrementAndGet();
+    buffer.clear();
+    return buffer;
+  }
+
+  /**
+   * Return a buffer obtained from {@link #borrow(int)} to the pool. The buffer must not be used after it is released.
+   */
+  public void release(ByteBuffer buffer) {
+    if (buffer == null || !buffer.isDirect()) {
+      return;
+    }
+    int capacity = buffer.capacity();
+    AtomicInteger count = this.idleBufferCounts.computeIfAbsent(capacity, k -> new AtomicInteger());
+    if (count.incrementAndGet() > this.maxBuffersPerCapacity) {
+      // Pool is full, let the buffer be garbage collected
+      count.decrementAndGet();
+      return;
+    }
+    this.idleBuffers.computeIfAbsent(capacity, k -> new ConcurrentLinkedQueue<>()).offer(buffer);
+  }
+}
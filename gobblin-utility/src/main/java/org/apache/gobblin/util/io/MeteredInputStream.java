@@ -20,6 +20,9 @@ package org.apache.gobblin.util.io;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.apache.hadoop.fs.ByteBufferReadable;
 
 import com.codahale.metrics.Meter;
 import com.google.common.base.Optional;
@@ -30,9 +33,14 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * A {@link FilterInputStream} that counts the bytes read from the underlying {@link InputStream}.
+ *
+ * <p>
+ *   Reads into a {@link ByteBuffer} are passed through if the underlying {@link InputStream} is
+ *   {@link ByteBufferReadable}, otherwise they throw an {@link UnsupportedOperationException}.
+ * </p>
  */
 @Slf4j
-public class MeteredInputStream extends FilterInputStream implements MeteredStream {
+public class MeteredInputStream extends FilterInputStream implements MeteredStream, ByteBufferReadable {
 
   /**
    * Find the lowest {@link MeteredInputStream} in a chain of {@link FilterInputStream}s.
@@ -86,6 +94,18 @@ public class MeteredInputStream extends FilterInputStream implements MeteredStre
     return readBytes;
   }
 
+  @Override
+  public int read(ByteBuffer buf) throws IOException {
+    if (!(this.in instanceof ByteBufferReadable)) {
+      throw new UnsupportedOperationException("Underlying stream does not support reading into a ByteBuffer.");
+    }
+    int readBytes = ((ByteBufferReadable) this.in).read(buf);
+    if (readBytes > 0) {
+      this.meter.mark(readBytes);
+    }
+    return readBytes;
+  }
+
   @Override
   public Meter getBytesProcessedMeter() {
     return this.meter.getUnderlyingMeter();
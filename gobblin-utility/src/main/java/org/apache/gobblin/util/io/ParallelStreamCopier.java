@@ -0,0 +1,237 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.util.io;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import org.apache.hadoop.fs.PositionedReadable;
+
+import com.codahale.metrics.Meter;
+import com.google.common.base.Function;
+import com.google.common.base.Functions;
+import com.google.common.base.Optional;
+import com.google.common.base.Preconditions;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.apache.gobblin.util.ExecutorsUtils;
+
+
+/**
+ * A class that copies a byte range of a {@link PositionedReadable} to an {@link OutputStream} using several threads.
+ *
+ * <p>
+ *   The range is divided into chunks that are read concurrently with positional reads, and written to the output in
+ *   order: chunks that are read ahead of the one being written wait in memory, so at most
+ *   {@code 2 * threads} chunks are buffered at any time. The {@link PositionedReadable} must support concurrent
+ *   positional reads, which is the case for the input streams of Hadoop {@link org.apache.hadoop.fs.FileSystem}s.
+ * </p>
+ */
+@Slf4j
+@NotThreadSafe
+public class ParallelStreamCopier {
+
+  private static final int MB = 1024 * 1024;
+  public static final int DEFAULT_CHUNK_SIZE = 8 * MB;
+  public static final int DEFAULT_THREADS = 4;
+
+  private final PositionedReadable input;
+  private final long start;
+  private final long length;
+  private final OutputStream outputStream;
+
+  private int threads = DEFAULT_THREADS;
+  private int chunkSize = DEFAULT_CHUNK_SIZE;
+  private Meter copySpeedMeter;
+  private Function<InputStream, InputStream> chunkStreamDecorator = Functions.identity();
+
+  private volatile boolean copied = false;
+
+  public ParallelStreamCopier(PositionedReadable input, long start, long length, OutputStream outputStream) {
+    Preconditions.checkArgument(start >= 0 && length >= 0, "Invalid byte range");
+    this.input = input;
+    this.start = start;
+    this.length = length;
+    this.outputStream = outputStream;
+  }
+
+  /**
+   * Set the number of threads reading from the input.
+   */
+  public ParallelStreamCopier withThreads(int threads) {
+    Preconditions.checkArgument(threads > 0, "Number of threads must be positive");
+    this.threads = threads;
+    return this;
+  }
+
+  /**
+   * Set the size in bytes of the chunks read by each thread.
+   */
+  public ParallelStreamCopier withChunkSize(int chunkSize) {
+    Preconditions.checkArgument(chunkSize > 0, "Chunk size must be positive");
+    this.chunkSize = chunkSize;
+    return this;
+  }
+
+  /**
+   * Set a {@link Meter} where copy speed will be reported.
+   */
+  public ParallelStreamCopier withCopySpeedMeter(Meter copySpeedMeter) {
+    this.copySpeedMeter = copySpeedMeter;
+    return this;
+  }
+
+  /**
+   * Set a function applied to the {@link InputStream} of every chunk before it is read, e.g. to throttle it with a
+   * {@link StreamThrottler}.
+   */
+  public ParallelStreamCopier withChunkStreamDecorator(Function<InputStream, InputStream> chunkStreamDecorator) {
+    this.chunkStreamDecorator = chunkStreamDecorator;
+    return this;
+  }
+
+  /**
+   * Execute the copy of the byte range from the input to the output stream.
+   * Note: this method should only be called once. Further calls will throw a {@link IllegalStateException}.
+   * @return Number of bytes copied.
+   */
+  public synchronized long copy() throws IOException {
+
+    if (this.copied) {
+      throw new IllegalStateException(String.format("%s already copied.", ParallelStreamCopier.class.getName()));
+    }
+    this.copied = true;
+
+    ExecutorService executor = Executors.newFixedThreadPool(this.threads,
+        ExecutorsUtils.newDaemonThreadFactory(Optional.of(log), Optional.of("ParallelStreamCopier-%d")));
+    Deque<Future<byte[]>> pendingChunks = new ArrayDeque<>();
+    try {
+      long nextChunkStart = this.start;
+      long end = this.start + this.length;
+      long totalBytes = 0;
+
+      while (totalBytes < this.length) {
+        // Keep the readers busy while the current chunk is written
+        while (nextChunkStart < end && pendingChunks.size() < 2 * this.threads) {
+          int size = (int) Math.min(this.chunkSize, end - nextChunkStart);
+          pendingChunks.add(executor.submit(new ChunkReader(nextChunkStart, size)));
+          nextChunkStart += size;
+        }
+
+        byte[] chunk = getChunk(pendingChunks.poll());
+        this.outputStream.write(chunk);
+        totalBytes += chunk.length;
+        if (this.copySpeedMeter != null) {
+          this.copySpeedMeter.mark(chunk.length);
+        }
+      }
+      return totalBytes;
+    } finally {
+      for (Future<byte[]> pendingChunk : pendingChunks) {
+        pendingChunk.cancel(true);
+      }
+      executor.shutdownNow();
+    }
+  }
+
+  private static byte[] getChunk(Future<byte[]> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException ie) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while copying.", ie);
+    } catch (ExecutionException ee) {
+      if (ee.getCause() instanceof IOException) {
+        throw (IOException) ee.getCause();
+      }
+      throw new IOException(ee.getCause());
+    }
+  }
+
+  /**
+   * Reads a single chunk of the input into memory.
+   */
+  private class ChunkReader implements Callable<byte[]> {
+    private final long position;
+    private final int size;
+
+    private ChunkReader(long position, int size) {
+      this.position = position;
+      this.size = size;
+    }
+
+    @Override
+    public byte[] call() throws IOException {
+      byte[] chunk = new byte[this.size];
+      try (InputStream is = chunkStreamDecorator.apply(new PositionedRangeInputStream(this.position, this.size))) {
+        int offset = 0;
+        while (offset < this.size) {
+          int read = is.read(chunk, offset, this.size - offset);
+          if (read < 0) {
+            throw new EOFException(String.format("Unexpected end of input at position %d.", this.position + offset));
+          }
+          offset += read;
+        }
+      }
+      return chunk;
+    }
+  }
+
+  /**
+   * An {@link InputStream} over a byte range of {@link #input} that uses positional reads only.
+   */
+  private class PositionedRangeInputStream extends InputStream {
+    private long position;
+    private final long end;
+
+    private PositionedRangeInputStream(long position, long length) {
+      this.position = position;
+      this.end = position + length;
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] b = new byte[1];
+      return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (this.position >= this.end) {
+        return -1;
+      }
+      int read = input.read(this.position, b, off, (int) Math.min(len, this.end - this.position));
+      if (read > 0) {
+        this.position += read;
+      }
+      return read;
+    }
+  }
+}
@@ -18,29 +18,58 @@
 package org.apache.gobblin.util.io;
 
 import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 
 import javax.annotation.concurrent.NotThreadSafe;
 
+import org.apache.hadoop.fs.ByteBufferReadable;
+
 import com.codahale.metrics.Meter;
 
+import lombok.Getter;
+
 import org.apache.gobblin.util.limiter.Limiter;
 
 
 /**
  * A class that copies an {@link InputStream} to an {@link OutputStream} in a configurable way.
+ *
+ * <p>
+ *   Data is moved through NIO channels. When both ends are local files, the copy uses
+ *   {@link FileChannel#transferTo(long, long, WritableByteChannel)} and data does not go through user space at all.
+ *   Otherwise data is copied through a direct {@link ByteBuffer} borrowed from the shared {@link DirectByteBufferPool};
+ *   input streams implementing {@link ByteBufferReadable} (e.g. HDFS streams) read straight into that buffer instead
+ *   of going through an intermediate heap array.
+ * </p>
  */
 @NotThreadSafe
 public class StreamCopier {
 
   private static final int KB = 1024;
   public static final int DEFAULT_BUFFER_SIZE = 32 * KB;
+  // Bytes moved by a single transferTo call, small enough for the copy speed meter to be updated regularly
+  private static final long TRANSFER_CHUNK_SIZE = 8 * KB * KB;
+
+  /**
+   * The ways bytes can be moved by a {@link StreamCopier}.
+   */
+  public enum CopyPath {
+    /** {@link FileChannel#transferTo(long, long, WritableByteChannel)} between local files. */
+    TRANSFER_TO,
+    /** Reads straight into a direct buffer from a {@link ByteBufferReadable} or a channel. */
+    DIRECT_BUFFER,
+    /** Reads into a direct buffer through an intermediate heap array. */
+    STREAM
+  }
 
   private final ReadableByteChannel inputChannel;
   private final WritableByteChannel outputChannel;
@@ -52,12 +81,18 @@ public class StreamCopier {
   private boolean closeChannelsOnComplete = false;
   private volatile boolean copied = false;
 
+  /**
+   * The {@link CopyPath} used by the last call to {@link #copy()}.
+   */
+  @Getter
+  private CopyPath copyPath;
+
   public StreamCopier(InputStream inputStream, OutputStream outputStream) {
     this(inputStream, outputStream, null);
   }
 
   public StreamCopier(InputStream inputStream, OutputStream outputStream, Long maxBytes) {
-    this(Channels.newChannel(inputStream), Channels.newChannel(outputStream), maxBytes);
+    this(toReadableChannel(inputStream), toWritableChannel(outputStream), maxBytes);
   }
 
   public StreamCopier(ReadableByteChannel inputChannel, WritableByteChannel outputChannel) {
@@ -107,11 +142,54 @@ public class StreamCopier {
     }
     this.copied = true;
 
+    try {
+      if (this.inputChannel instanceof FileChannel && this.outputChannel instanceof FileChannel) {
+        this.copyPath = CopyPath.TRANSFER_TO;
+        return transfer((FileChannel) this.inputChannel, (FileChannel) this.outputChannel);
+      }
+      return copyThroughBuffer();
+    } finally {
+      if (this.closeChannelsOnComplete) {
+        this.inputChannel.close();
+        this.outputChannel.close();
+      }
+    }
+  }
+
+  /**
+   * Copy between two {@link FileChannel}s without moving the data through user space.
+   */
+  private long transfer(FileChannel input, FileChannel output) throws IOException {
+    long position = input.position();
+    long remaining = input.size() - position;
+    if (this.maxBytes != null) {
+      remaining = Math.min(remaining, this.maxBytes);
+    }
+
+    long totalBytes = 0;
+    while (totalBytes < remaining) {
+      long numBytes = input.transferTo(position + totalBytes, Math.min(TRANSFER_CHUNK_SIZE, remaining - totalBytes),
+          output);
+      if (numBytes <= 0) {
+        // The file was truncated while copying
+        break;
+      }
+      totalBytes += numBytes;
+      if (this.copySpeedMeter != null) {
+        this.copySpeedMeter.mark(numBytes);
+      }
+    }
+    // transferTo does not update the position of the source channel
+    input.position(position + totalBytes);
+    return totalBytes;
+  }
+
+  private long copyThroughBuffer() throws IOException {
+    final ByteBuffer buffer = DirectByteBufferPool.getSharedInstance().borrow(this.bufferSize);
     try {
       long numBytes = 0;
       long totalBytes = 0;
 
-      final ByteBuffer buffer = ByteBuffer.allocateDirect(this.bufferSize);
       // Only keep copying if we've read less than maxBytes (if maxBytes exists)
       while ((this.maxBytes == null || this.maxBytes > totalBytes) &&
           (numBytes = fillBufferFromInputChannel(buffer)) != -1) {
@@ -139,12 +217,13 @@ public class StreamCopier {
         this.outputChannel.write(buffer);
       }
 
+      boolean readIntoDirectBuffer = this.inputChannel instanceof FileChannel
+          || (this.inputChannel instanceof ByteBufferReadableChannel
+              && !((ByteBufferReadableChannel) this.inputChannel).isFallenBack());
+      this.copyPath = readIntoDirectBuffer ? CopyPath.DIRECT_BUFFER : CopyPath.STREAM;
       return totalBytes;
     } finally {
-      if (this.closeChannelsOnComplete) {
-        this.inputChannel.close();
-        this.outputChannel.close();
-      }
+      DirectByteBufferPool.getSharedInstance().release(buffer);
     }
   }
 
@@ -152,6 +231,65 @@ public class StreamCopier {
     return this.inputChannel.read(buffer);
   }
 
+  private static ReadableByteChannel toReadableChannel(InputStream inputStream) {
+    if (inputStream instanceof FileInputStream) {
+      return ((FileInputStream) inputStream).getChannel();
+    }
+    if (inputStream instanceof ByteBufferReadable) {
+      return new ByteBufferReadableChannel(inputStream);
+    }
+    return Channels.newChannel(inputStream);
+  }
+
+  private static WritableByteChannel toWritableChannel(OutputStream outputStream) {
+    if (outputStream instanceof FileOutputStream) {
+      return ((FileOutputStream) outputStream).getChannel();
+    }
+    return Channels.newChannel(outputStream);
+  }
+
+  /**
+   * A {@link ReadableByteChannel} over a {@link ByteBufferReadable} {@link InputStream}. Since a stream may implement
+   * {@link ByteBufferReadable} without its underlying stream supporting it, the channel falls back to a regular stream
+   * channel the first time a {@link UnsupportedOperationException} is thrown.
+   */
+  private static class ByteBufferReadableChannel implements ReadableByteChannel {
+    private final InputStream inputStream;
+    private ReadableByteChannel fallback;
+    private boolean open = true;
+
+    private ByteBufferReadableChannel(InputStream inputStream) {
+      this.inputStream = inputStream;
+    }
+
+    private boolean isFallenBack() {
+      return this.fallback != null;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+      if (this.fallback == null) {
+        try {
+          return ((ByteBufferReadable) this.inputStream).read(dst);
+        } catch (UnsupportedOperationException uoe) {
+          this.fallback = Channels.newChannel(this.inputStream);
+        }
+      }
+      return this.fallback.read(dst);
+    }
+
+    @Override
+    public boolean isOpen() {
+      return this.open;
+    }
+
+    @Override
+    public void close() throws IOException {
+      this.open = false;
+      this.inputStream.close();
+    }
+  }
+
   /**
    * Indicates there were not enough permits in the {@link Limiter} to finish the copy.
    */
@@ -21,6 +21,9 @@ import java.io.Closeable;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.apache.hadoop.fs.ByteBufferReadable;
 
 import org.apache.gobblin.util.limiter.Limiter;
 
@@ -29,9 +32,14 @@ import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * A throttled {@link InputStream}.
+ *
+ * <p>
+ *   Reads into a {@link ByteBuffer} are passed through if the underlying {@link InputStream} is
+ *   {@link ByteBufferReadable}, otherwise they throw an {@link UnsupportedOperationException}.
+ * </p>
  */
 @NotThreadSafe
-public class ThrottledInputStream extends FilterInputStream {
+public class ThrottledInputStream extends FilterInputStream implements ByteBufferReadable {
 
   private final Limiter limiter;
   private final MeteredInputStream meter;
@@ -74,6 +82,15 @@ public class ThrottledInputStream extends FilterInputStream {
     return this.in.read(b, off, len);
   }
 
+  @Override
+  public int read(ByteBuffer buf) throws IOException {
+    if (!(this.in instanceof ByteBufferReadable)) {
+      throw new UnsupportedOperationException("Underlying stream does not support reading into a ByteBuffer.");
+    }
+    blockUntilPermitsAvailable();
+    return ((ByteBufferReadable) this.in).read(buf);
+  }
+
   @Override
   public synchronized void reset() throws IOException {
     super.reset();
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.gobblin.util.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.InputStream;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.base.Charsets;
+import com.google.common.base.Function;
+import com.google.common.io.Files;
+
+
+public class ParallelStreamCopierTest {
+
+  private FileSystem fs;
+  private File tmpDir;
+  private Path testFile;
+  private String testString;
+
+  @BeforeClass
+  public void setUp() throws Exception {
+    this.fs = FileSystem.getLocal(new Configuration());
+    this.tmpDir = Files.createTempDir();
+    this.testFile = new Path(this.tmpDir.getAbsolutePath(), "testFile");
+
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      builder.append("testString").append(i);
+    }
+    this.testString = builder.toString();
+    Files.write(this.testString, new File(this.testFile.toString()), Charsets.UTF_8);
+  }
+
+  @Test
+  public void testCopy() throws Exception {
+    Meter meter = new MetricRegistry().meter("my.meter");
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    try (FSDataInputStream inputStream = this.fs.open(this.testFile)) {
+      long numBytes = new ParallelStreamCopier(inputStream, 0, this.testString.length(), outputStream)
+          .withThreads(3).withChunkSize(100).withCopySpeedMeter(meter).copy();
+      Assert.assertEquals(numBytes, this.testString.length());
+    }
+
+    Assert.assertEquals(new String(outputStream.toByteArray(), Charsets.UTF_8), this.testString);
+    Assert.assertEquals(meter.getCount(), this.testString.length());
+  }
+
+  @Test
+  public void testCopyRange() throws Exception {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    final int[] chunks = new int[1];
+
+    try (FSDataInputStream inputStream = this.fs.open(this.testFile)) {
+      new ParallelStreamCopier(inputStream, 10, 1001, outputStream).withThreads(2).withChunkSize(64)
+          .withChunkStreamDecorator(new Function<InputStream, InputStream>() {
+            @Override
+            public InputStream apply(InputStream input) {
+              synchronized (chunks) {
+                chunks[0]++;
+              }
+              return input;
+            }
+          }).copy();
+    }
+
+    Assert.assertEquals(new String(outputStream.toByteArray(), Charsets.UTF_8), this.testString.substring(10, 1011));
+    Assert.assertEquals(chunks[0], 16);
+  }
+
+  @Test(expectedExceptions = EOFException.class)
+  public void testCopyPastEndOfFile() throws Exception {
+    try (FSDataInputStream inputStream = this.fs.open(this.testFile)) {
+      new ParallelStreamCopier(inputStream, 0, this.testString.length() + 1, new ByteArrayOutputStream())
+          .withThreads(2).withChunkSize(100).copy();
+    }
+  }
+
+  @AfterClass
+  public void tearDown() throws Exception {
+    this.fs.delete(new Path(this.tmpDir.getAbsolutePath()), true);
+  }
+}
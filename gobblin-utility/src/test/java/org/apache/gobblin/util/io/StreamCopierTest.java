@@ -19,6 +19,10 @@ package org.apache.gobblin.util.io;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
@@ -26,6 +30,7 @@ import org.testng.annotations.Test;
 import com.codahale.metrics.Meter;
 import com.codahale.metrics.MetricRegistry;
 import com.google.common.base.Charsets;
+import com.google.common.io.Files;
 
 
 public class StreamCopierTest {
@@ -82,4 +87,59 @@ public class StreamCopierTest {
     Assert.assertEquals(meter.getCount(), testString.length());
   }
 
+  @Test
+  public void testCopyPaths() throws Exception {
+    String testString = "This is a string";
+    StreamCopier copier = new StreamCopier(new ByteArrayInputStream(testString.getBytes(Charsets.UTF_8)),
+        new ByteArrayOutputStream());
+    copier.copy();
+    Assert.assertEquals(copier.getCopyPath(), StreamCopier.CopyPath.STREAM);
+  }
+
+  @Test
+  public void testTransferBetweenFiles() throws Exception {
+    File tmpDir = Files.createTempDir();
+    File source = new File(tmpDir, "source");
+    File target = new File(tmpDir, "target");
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      builder.append("testString");
+    }
+    String testString = builder.toString();
+    Files.write(testString, source, Charsets.UTF_8);
+
+    Meter meter = new MetricRegistry().meter("my.meter");
+    try (FileInputStream inputStream = new FileInputStream(source);
+        FileOutputStream outputStream = new FileOutputStream(target)) {
+      StreamCopier copier = new StreamCopier(inputStream, outputStream, 100L).withCopySpeedMeter(meter);
+      Assert.assertEquals(copier.copy(), 100L);
+      Assert.assertEquals(copier.getCopyPath(), StreamCopier.CopyPath.TRANSFER_TO);
+    }
+
+    Assert.assertEquals(Files.toString(target, Charsets.UTF_8), testString.substring(0, 100));
+    Assert.assertEquals(meter.getCount(), 100L);
+    source.delete();
+    target.delete();
+    tmpDir.delete();
+  }
+
+  @Test
+  public void testDirectByteBufferPool() throws Exception {
+    DirectByteBufferPool pool = new DirectByteBufferPool(1);
+    ByteBuffer buffer1 = pool.borrow(16);
+    ByteBuffer buffer2 = pool.borrow(16);
+    Assert.assertTrue(buffer1.isDirect());
+    Assert.assertNotSame(buffer1, buffer2);
+
+    buffer1.put((byte) 1);
+    pool.release(buffer1);
+    pool.release(buffer2);
+
+    // Only one buffer is retained, and it is cleared when borrowed again
+    ByteBuffer reused = pool.borrow(16);
+    Assert.assertSame(reused, buffer1);
+    Assert.assertEquals(reused.position(), 0);
+    Assert.assertNotSame(pool.borrow(16), buffer2);
+    Assert.assertEquals(pool.borrow(32).capacity(), 32);
+  }
 }